@@ -18,8 +18,8 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Collection;
+import java.util.function.Supplier;
 
 import org.eclipse.core.net.proxy.IProxyChangeEvent;
 import org.eclipse.core.net.proxy.IProxyData;
@@ -41,6 +41,7 @@ import com.amazonaws.eclipse.core.regions.Region;
 import com.amazonaws.eclipse.core.regions.RegionUtils;
 import com.amazonaws.eclipse.core.regions.Service;
 import com.amazonaws.eclipse.core.regions.ServiceAbbreviations;
+import com.amazonaws.eclipse.core.util.S3BucketRegionCache;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.autoscaling.AmazonAutoScaling;
 import com.amazonaws.services.autoscaling.AmazonAutoScalingClient;
@@ -112,11 +113,8 @@ public class AWSClientFactory {
      */
     public static final String ACCOUNT_INFO_OVERRIDE_PROPERTY = "com.amazonaws.eclipse.test.AccountInfoOverride";
 
-    /** Manages the cached client objects by endpoint. */
-    private CachedClients cachedClientsByEndpoint = new CachedClients();
-
-    /** Manages the cached client objects by region. **/
-    private CachedClients cachedClients = new CachedClients();
+    /** Manages the cached client objects by region and by endpoint. */
+    private final AwsClientCache cachedClients = new AwsClientCache();
 
     private final String accountId;
 
@@ -158,8 +156,15 @@ public class AWSClientFactory {
     private void onAccountInfoChange() {
         // When the system AWS accounts refresh, we need to refresh the member variable accountInfo as well in case it is still referencing the previous credentials.
         accountInfo = AwsToolkitCore.getDefault().getAccountManager().getAccountInfo(accountId);
-        cachedClientsByEndpoint.invalidateClients();
-        cachedClients.invalidateClients();
+        cachedClients.invalidateAll();
+    }
+
+    /**
+     * Returns the cache holding the clients created by this factory, e.g. for
+     * inspecting its hit/miss/creation-time counters.
+     */
+    public AwsClientCache getClientCache() {
+        return cachedClients;
     }
 
     // Returns an anonymous S3 client in us-east-1 region for fetching public-read files.
@@ -175,8 +180,8 @@ public class AWSClientFactory {
     }
 
     /**
-     * Returns a client for the region where the given bucket resides. No
-     * caching is performed on the region lookup.
+     * Returns a client for the region where the given bucket resides. The
+     * region lookup is cached, see {@link S3BucketRegionCache}.
      */
     public AmazonS3 getS3ClientForBucket(String bucketName) {
         return getS3ClientByRegion(getS3BucketRegion(bucketName));
@@ -190,16 +195,30 @@ public class AWSClientFactory {
                 .getServiceEndpoint(ServiceAbbreviations.S3);
     }
 
+    /**
+     * Resolves the regions of the given buckets in parallel in the background
+     * so later calls to {@link #getS3ClientForBucket(String)} are served from
+     * the cache.
+     */
+    public void prewarmS3BucketRegions(Collection<String> bucketNames) {
+        S3BucketRegionCache.getDefault().prewarm(getBucketRegionAccountId(), bucketNames, getS3Client());
+    }
+
     /**
      * Returns the standard region the bucket is located.
      */
     private String getS3BucketRegion(String bucketName) {
-        AmazonS3 s3Client = getS3Client();
-        String region = s3Client.getBucketLocation(bucketName);
-        if (region == null || region.equals("US") ) {
-            region = Regions.US_EAST_1.getName();
-        }
-        return region;
+        return S3BucketRegionCache.getDefault().getBucketRegion(getBucketRegionAccountId(), bucketName, getS3Client());
+    }
+
+    /**
+     * Returns the account the bucket region lookups of this factory are made
+     * with, so that a bucket forbidden to one account isn't reported as such
+     * to another.
+     */
+    private String getBucketRegionAccountId() {
+        AccountInfo currentAccountInfo = accountInfo;
+        return currentAccountInfo == null ? accountId : currentAccountInfo.getInternalAccountId();
     }
 
     /*
@@ -385,12 +404,12 @@ public class AWSClientFactory {
 
     public AmazonIdentityManagement getIAMClientByRegion(String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.IAM, regionId,
-                AmazonIdentityManagementClientBuilder.standard(), AmazonIdentityManagement.class, true);
+                AmazonIdentityManagementClientBuilder::standard, AmazonIdentityManagement.class, true);
     }
 
     public AmazonCloudFront getCloudFrontClientByRegion(String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.CLOUDFRONT, regionId,
-                AmazonCloudFrontClientBuilder.standard(), AmazonCloudFront.class, true);
+                AmazonCloudFrontClientBuilder::standard, AmazonCloudFront.class, true);
     }
 
     /**
@@ -398,138 +417,128 @@ public class AWSClientFactory {
      */
     public AmazonS3 getS3ClientByRegion(String regionId) {
         if (Regions.US_EAST_1.getName().equals(regionId)) {
-            synchronized (AmazonS3.class) {
-                if ( cachedClients.getClient(regionId, AmazonS3.class) == null ) {
-                    cachedClients.cacheClient(regionId, AmazonS3.class, createS3UsEast1RegionalClient());
-                }
-            }
-
-            return cachedClients.getClient(regionId, AmazonS3.class);
+            return cachedClients.getOrCreate(AmazonS3.class, regionId, this::createS3UsEast1RegionalClient);
         } else {
-            return getOrCreateClientByRegion(ServiceAbbreviations.S3, regionId, AmazonS3ClientBuilder.standard(),
+            return getOrCreateClientByRegion(ServiceAbbreviations.S3, regionId, () -> AmazonS3ClientBuilder.standard()
+                    .withRequestHandlers(S3BucketRegionCache.getDefault().newRedirectHandler()),
                     AmazonS3.class);
         }
     }
 
     public AmazonEC2 getEC2ClientByRegion(String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.EC2, regionId,
-                AmazonEC2ClientBuilder.standard(), AmazonEC2.class);
+                AmazonEC2ClientBuilder::standard, AmazonEC2.class);
     }
 
     public AmazonSimpleDB getSimpleDBClientByRegion(final String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.SIMPLEDB, regionId,
-                AmazonSimpleDBClientBuilder.standard(), AmazonSimpleDB.class);
+                AmazonSimpleDBClientBuilder::standard, AmazonSimpleDB.class);
     }
 
     public AmazonRDS getRDSClientByRegion(final String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.RDS, regionId,
-                AmazonRDSClientBuilder.standard(), AmazonRDS.class);
+                AmazonRDSClientBuilder::standard, AmazonRDS.class);
     }
 
     public AmazonSQS getSQSClientByRegion(final String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.SQS, regionId,
-                AmazonSQSClientBuilder.standard(), AmazonSQS.class);
+                AmazonSQSClientBuilder::standard, AmazonSQS.class);
     }
 
     public AmazonSNS getSNSClientByRegion(final String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.SNS, regionId,
-                AmazonSNSClientBuilder.standard(), AmazonSNS.class);
+                AmazonSNSClientBuilder::standard, AmazonSNS.class);
     }
 
     public AWSElasticBeanstalk getElasticBeanstalkClientByRegion(String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.BEANSTALK, regionId,
-                AWSElasticBeanstalkClientBuilder.standard(), AWSElasticBeanstalk.class);
+                AWSElasticBeanstalkClientBuilder::standard, AWSElasticBeanstalk.class);
     }
 
     public AmazonElasticLoadBalancing getElasticLoadBalancingClientByRegion(String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.ELB, regionId,
-                AmazonElasticLoadBalancingClientBuilder.standard(), AmazonElasticLoadBalancing.class);
+                AmazonElasticLoadBalancingClientBuilder::standard, AmazonElasticLoadBalancing.class);
     }
 
     public AmazonAutoScaling getAutoScalingClientByRegion(String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.AUTOSCALING, regionId,
-                AmazonAutoScalingClientBuilder.standard(), AmazonAutoScaling.class);
+                AmazonAutoScalingClientBuilder::standard, AmazonAutoScaling.class);
     }
 
     public AmazonDynamoDB getDynamoDBClientByRegion(String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.DYNAMODB, regionId,
-                AmazonDynamoDBClientBuilder.standard(), AmazonDynamoDB.class);
+                AmazonDynamoDBClientBuilder::standard, AmazonDynamoDB.class);
     }
 
     public AWSSecurityTokenService getSecurityTokenServiceByRegion(String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.STS, regionId,
-                AWSSecurityTokenServiceClientBuilder.standard(), AWSSecurityTokenService.class, true);
+                AWSSecurityTokenServiceClientBuilder::standard, AWSSecurityTokenService.class, true);
     }
 
     public AmazonCloudFormation getCloudFormationClientByRegion(String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.CLOUD_FORMATION, regionId,
-                AmazonCloudFormationClientBuilder.standard(), AmazonCloudFormation.class);
+                AmazonCloudFormationClientBuilder::standard, AmazonCloudFormation.class);
     }
 
     public AmazonCodeDeploy getCodeDeployClientByRegion(String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.CODE_DEPLOY, regionId,
-                AmazonCodeDeployClientBuilder.standard(), AmazonCodeDeploy.class);
+                AmazonCodeDeployClientBuilder::standard, AmazonCodeDeploy.class);
     }
 
     public AWSOpsWorks getOpsWorksClientByRegion(String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.OPSWORKS, regionId,
-                AWSOpsWorksClientBuilder.standard(), AWSOpsWorks.class);
+                AWSOpsWorksClientBuilder::standard, AWSOpsWorks.class);
     }
 
     public AWSLambda getLambdaClientByRegion(String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.LAMBDA, regionId,
-                AWSLambdaClientBuilder.standard(), AWSLambda.class);
+                AWSLambdaClientBuilder::standard, AWSLambda.class);
     }
 
     public AWSCodeCommit getCodeCommitClientByRegion(String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.CODECOMMIT, regionId,
-                AWSCodeCommitClientBuilder.standard(), AWSCodeCommit.class);
+                AWSCodeCommitClientBuilder::standard, AWSCodeCommit.class);
     }
 
     public AWSCodeStar getCodeStarClientByRegion(String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.CODESTAR, regionId,
-                AWSCodeStarClientBuilder.standard(), AWSCodeStar.class);
+                AWSCodeStarClientBuilder::standard, AWSCodeStar.class);
     }
 
     public AWSLogs getLogsClientByRegion(String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.LOGS, regionId,
-                AWSLogsClientBuilder.standard(), AWSLogs.class);
+                AWSLogsClientBuilder::standard, AWSLogs.class);
     }
 
     public AWSKMS getKmsClientByRegion(String regionId) {
         return getOrCreateClientByRegion(ServiceAbbreviations.KMS, regionId,
-                AWSKMSClientBuilder.standard(), AWSKMS.class);
+                AWSKMSClientBuilder::standard, AWSKMS.class);
     }
 
     @Deprecated
     private <T extends AmazonWebServiceClient> T getOrCreateClient(String endpoint, Class<T> clientClass) {
-        synchronized (clientClass) {
-            if ( cachedClientsByEndpoint.getClient(endpoint, clientClass) == null ) {
-                cachedClientsByEndpoint.cacheClient(endpoint, createClient(endpoint, clientClass));
-            }
-        }
-
-        return cachedClientsByEndpoint.getClient(endpoint, clientClass);
+        return cachedClients.getOrCreate(clientClass, endpoint, () -> createClient(endpoint, clientClass));
     }
 
+    /**
+     * @param builder
+     *            Creates the builder of the client; only called on a cache miss,
+     *            so cache hits don't pay for setting up a builder.
+     */
     private <T> T getOrCreateClientByRegion(String serviceName, String regionId,
-            AwsSyncClientBuilder<? extends AwsSyncClientBuilder, T> builder, Class<T> clientClass, boolean isGlobalClient) {
+            Supplier<? extends AwsSyncClientBuilder<? extends AwsSyncClientBuilder, T>> builder, Class<T> clientClass,
+            boolean isGlobalClient) {
         Region region = RegionUtils.getRegion(regionId);
         if (region == null) {
             return null;
         }
 
-        synchronized (clientClass) {
-            if ( cachedClients.getClient(regionId, clientClass) == null ) {
-                cachedClients.cacheClient(regionId, clientClass, createClientByRegion(builder, serviceName, region, isGlobalClient));
-            }
-        }
-
-        return cachedClients.getClient(regionId, clientClass);
+        return cachedClients.getOrCreate(clientClass, regionId,
+                () -> createClientByRegion(builder.get(), serviceName, region, isGlobalClient));
     }
 
     private <T> T getOrCreateClientByRegion(String serviceName, String regionId,
-            AwsSyncClientBuilder<? extends AwsSyncClientBuilder, T> builder, Class<T> clientClass) {
+            Supplier<? extends AwsSyncClientBuilder<? extends AwsSyncClientBuilder, T>> builder, Class<T> clientClass) {
         return getOrCreateClientByRegion(serviceName, regionId, builder, clientClass, false);
     }
 
@@ -598,6 +607,7 @@ public class AWSClientFactory {
     private AmazonS3 createS3UsEast1RegionalClient() {
         return AmazonS3ClientBuilder.standard()
                 .withCredentials(new AWSStaticCredentialsProvider(getAwsCredentials()))
+                .withRequestHandlers(S3BucketRegionCache.getDefault().newRedirectHandler())
                 .withClientConfiguration(createClientConfiguration(RegionUtils.S3_US_EAST_1_REGIONAL_ENDPOINT))
                 .withEndpointConfiguration(new EndpointConfiguration(RegionUtils.S3_US_EAST_1_REGIONAL_ENDPOINT, Regions.US_EAST_1.getName()))
                 .build();
@@ -680,39 +690,4 @@ public class AWSClientFactory {
         }
         return config;
     }
-
-    /**
-     * Responsible for managing the various AWS client objects needed for each service/region combination.
-     * This class is thread safe.
-     */
-    private static class CachedClients {
-
-        private final Map<Class<?>, Map<String, Object>> cachedClients = new ConcurrentHashMap<>();
-
-        @SuppressWarnings("unchecked")
-        public synchronized <T> T getClient(String region, Class<T> clientClass) {
-            if (cachedClients.get(clientClass) == null) {
-                return null;
-            }
-            return (T)cachedClients.get(clientClass).get(region);
-        }
-
-        public synchronized <T> void cacheClient(String region, T client) {
-            cacheClient(region, null, client);
-        }
-
-        public <T> void cacheClient(String region, Class<T> clazz, T client) {
-            Class<?> key = clazz == null ? client.getClass() : clazz;
-            if (cachedClients.get(key) == null) {
-                cachedClients.put(key, new ConcurrentHashMap<String, Object>());
-            }
-
-            Map<String, Object> map = cachedClients.get(key);
-            map.put(region, client);
-        }
-
-        public synchronized void invalidateClients() {
-            cachedClients.clear();
-        }
-    }
-}
\ No newline at end of file
+}
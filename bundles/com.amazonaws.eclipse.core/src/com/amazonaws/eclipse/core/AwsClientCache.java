@@ -0,0 +1,299 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.core;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.amazonaws.AmazonWebServiceClient;
+
+/**
+ * Bounded, lock-free cache of AWS service clients keyed by client type,
+ * location (a region id or an endpoint) and credentials generation.
+ * <p>
+ * Lookups never take a shared monitor; concurrent misses for the same key are
+ * resolved through {@link ConcurrentHashMap#computeIfAbsent} so only one
+ * client is ever built per key. Clients that are evicted, either because the
+ * cache grew beyond its bound or because the credentials generation moved on,
+ * are shut down after a grace period so requests already running on them can
+ * complete. Until they are shut down, the SDK's idle connection reaper keeps
+ * their connection pools reachable, so merely dropping them would leak them.
+ * Callers should therefore get their client from the cache again rather than
+ * hold on to it.
+ * <p>
+ * This class is thread safe.
+ */
+public final class AwsClientCache {
+
+    /** The default maximum number of clients held by a cache. */
+    public static final int DEFAULT_MAX_SIZE = 128;
+
+    /** How long an evicted client is kept alive by default before it is shut down. */
+    public static final long DEFAULT_SHUTDOWN_GRACE_PERIOD_MILLIS = 60 * 1000;
+
+    private static final ScheduledExecutorService SHUTDOWN_EXECUTOR =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "AWS client cache reaper");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final ConcurrentMap<ClientKey, CachedClient> clients = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long shutdownGracePeriodMillis;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong accessClock = new AtomicLong();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong totalCreationTimeNanos = new AtomicLong();
+
+    public AwsClientCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public AwsClientCache(int maxSize) {
+        this(maxSize, DEFAULT_SHUTDOWN_GRACE_PERIOD_MILLIS);
+    }
+
+    /**
+     * @param shutdownGracePeriodMillis
+     *            How long an evicted client is kept alive before it is shut
+     *            down.
+     */
+    public AwsClientCache(int maxSize, long shutdownGracePeriodMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.shutdownGracePeriodMillis = shutdownGracePeriodMillis;
+    }
+
+    /**
+     * Returns the cached client of the given type for the given location,
+     * creating it with the supplied factory if it isn't cached yet for the
+     * current credentials generation.
+     *
+     * @param clientClass
+     *            The client interface, used as part of the cache key.
+     * @param location
+     *            The region id or endpoint the client is bound to.
+     * @param factory
+     *            Creates the client on a cache miss. It may be invoked
+     *            concurrently for different keys but only once per key.
+     * @return The cached or newly created client, or null if the factory
+     *         returned null.
+     */
+    public <T> T getOrCreate(Class<T> clientClass, String location, Supplier<? extends T> factory) {
+        ClientKey key = new ClientKey(clientClass, location, generation.get());
+
+        CachedClient cached = clients.get(key);
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            cached.lastAccess = accessClock.incrementAndGet();
+            return clientClass.cast(cached.client);
+        }
+
+        boolean[] created = new boolean[1];
+        cached = clients.computeIfAbsent(key, k -> {
+            created[0] = true;
+            long start = System.nanoTime();
+            Object client = factory.get();
+            totalCreationTimeNanos.addAndGet(System.nanoTime() - start);
+            return client == null ? null : new CachedClient(client);
+        });
+        if (created[0]) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        if (cached == null) {
+            return null;
+        }
+        cached.lastAccess = accessClock.incrementAndGet();
+
+        if (key.generation != generation.get()) {
+            // Credentials changed while the client was being built; don't keep it around.
+            retire(key, cached);
+        }
+        evictIfNecessary();
+        return clientClass.cast(cached.client);
+    }
+
+    /**
+     * Drops every cached client and moves the cache to a new credentials
+     * generation. The dropped clients are shut down once in-flight requests
+     * had a chance to finish.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        invalidateIf(key -> true);
+    }
+
+    /**
+     * Drops the cached clients bound to the given location, e.g. after the
+     * metadata of a region changed.
+     */
+    public void invalidateLocation(String location) {
+        invalidateIf(key -> key.location.equals(location));
+    }
+
+    /** Returns the number of clients currently cached. */
+    public int size() {
+        return clients.size();
+    }
+
+    /** Returns the number of lookups answered from the cache. */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /** Returns the number of lookups that had to create a new client. */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /** Returns the number of clients dropped from the cache. */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /** Returns the total time, in nanoseconds, spent building clients. */
+    public long getTotalCreationTimeNanos() {
+        return totalCreationTimeNanos.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AwsClientCache[size=%d, hits=%d, misses=%d, evictions=%d, creationTime=%dms]",
+                size(), getHitCount(), getMissCount(), getEvictionCount(),
+                TimeUnit.NANOSECONDS.toMillis(getTotalCreationTimeNanos()));
+    }
+
+    private void invalidateIf(Predicate<ClientKey> predicate) {
+        for (Entry<ClientKey, CachedClient> entry : new ArrayList<>(clients.entrySet())) {
+            if (predicate.test(entry.getKey())) {
+                retire(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Drops clients from stale credentials generations, then the least
+     * recently used ones until the cache is back within its bound.
+     */
+    private void evictIfNecessary() {
+        long currentGeneration = generation.get();
+        List<Entry<ClientKey, CachedClient>> snapshot = new ArrayList<>(clients.entrySet());
+        for (Entry<ClientKey, CachedClient> entry : snapshot) {
+            if (entry.getKey().generation != currentGeneration) {
+                retire(entry.getKey(), entry.getValue());
+            }
+        }
+
+        while (clients.size() > maxSize) {
+            Entry<ClientKey, CachedClient> eldest = null;
+            for (Entry<ClientKey, CachedClient> entry : clients.entrySet()) {
+                if (eldest == null || entry.getValue().lastAccess < eldest.getValue().lastAccess) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            retire(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private void retire(ClientKey key, CachedClient cached) {
+        if (clients.remove(key, cached)) {
+            evictionCount.incrementAndGet();
+            SHUTDOWN_EXECUTOR.schedule(() -> shutdown(cached.client),
+                    shutdownGracePeriodMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void shutdown(Object client) {
+        try {
+            if (client instanceof AmazonWebServiceClient) {
+                ((AmazonWebServiceClient) client).shutdown();
+            } else {
+                Method shutdown = client.getClass().getMethod("shutdown");
+                shutdown.invoke(client);
+            }
+        } catch (NoSuchMethodException e) {
+            // Nothing to release for this kind of client
+        } catch (Exception e) {
+            AwsToolkitCore plugin = AwsToolkitCore.getDefault();
+            if (plugin != null) {
+                plugin.logWarning("Unable to shut down client " + client.getClass().getName(), e);
+            }
+        }
+    }
+
+    private static final class CachedClient {
+        private final Object client;
+        private volatile long lastAccess;
+
+        private CachedClient(Object client) {
+            this.client = client;
+        }
+    }
+
+    private static final class ClientKey {
+        private final Class<?> clientClass;
+        private final String location;
+        private final long generation;
+
+        private ClientKey(Class<?> clientClass, String location, long generation) {
+            this.clientClass = clientClass;
+            this.location = location;
+            this.generation = generation;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = clientClass.hashCode();
+            result = 31 * result + location.hashCode();
+            result = 31 * result + Long.hashCode(generation);
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ClientKey)) {
+                return false;
+            }
+            ClientKey other = (ClientKey) obj;
+            return clientClass == other.clientClass
+                    && generation == other.generation
+                    && location.equals(other.location);
+        }
+    }
+}
@@ -41,6 +41,8 @@ import com.amazonaws.eclipse.core.preferences.PreferenceConstants;
 import com.amazonaws.eclipse.core.preferences.PreferencePropertyChangeListener;
 import com.amazonaws.eclipse.core.preferences.regions.DefaultRegionMonitor;
 import com.amazonaws.eclipse.core.regions.Region;
+import com.amazonaws.eclipse.core.regions.RegionChangeEvent;
+import com.amazonaws.eclipse.core.regions.RegionChangeListener;
 import com.amazonaws.eclipse.core.regions.RegionUtils;
 import com.amazonaws.eclipse.core.telemetry.ClientContextConfig;
 import com.amazonaws.eclipse.core.telemetry.ToolkitAnalyticsManager;
@@ -49,6 +51,7 @@ import com.amazonaws.eclipse.core.telemetry.internal.NoOpToolkitAnalyticsManager
 import com.amazonaws.eclipse.core.telemetry.internal.ToolkitAnalyticsManagerImpl;
 import com.amazonaws.eclipse.core.ui.preferences.accounts.LegacyPreferenceStoreAccountMerger;
 import com.amazonaws.eclipse.core.ui.setupwizard.InitialSetupUtils;
+import com.amazonaws.eclipse.explorer.s3.util.S3TransferService;
 
 /**
  * Entry point for functionality provided by the AWS Toolkit Core plugin,
@@ -158,6 +161,29 @@ public class AwsToolkitCore extends AbstractAwsPlugin {
     /** Monitors for changes of default region */
     private DefaultRegionMonitor defaultRegionMonitor;
 
+    /**
+     * Drops the cached clients when the region metadata is reloaded, since they
+     * may be using old endpoints. The clients are cached by endpoint, so those
+     * of the other regions are kept when the user switches regions.
+     */
+    private final RegionChangeListener regionMetadataListener = new RegionChangeListener() {
+        @Override
+        public void currentRegionChanged(RegionChangeEvent event) {
+            if (!event.isMetadataChanged()) {
+                return;
+            }
+            synchronized (AwsToolkitCore.this) {
+                for (AWSClientFactory factory : clientsFactoryByAccountId.values()) {
+                    factory.getClientCache().invalidateAll();
+                }
+            }
+            // A switch to another region was announced already by the preference change
+            if (!event.isRegionSwitched() && defaultRegionMonitor != null) {
+                defaultRegionMonitor.fireChange();
+            }
+        }
+    };
+
     /**
      * The AccountManager which persists account-related preference properties.
      * This field is only available after the plugin is fully initialized.
@@ -352,7 +378,7 @@ public class AwsToolkitCore extends AbstractAwsPlugin {
     public void start(final BundleContext context) throws Exception {
         super.start(context);
 
-        long startTime = System.currentTimeMillis();
+        StartupTimer timer = new StartupTimer();
         logInfo("Starting the AWS toolkit core plugin...");
 
         // Publish the "global" plugin singleton immediately after the basic
@@ -363,12 +389,17 @@ public class AwsToolkitCore extends AbstractAwsPlugin {
             plugin = this;
         }
         pluginBasicInitLatch.countDown();
+        timer.endPhase("basic init");
 
         // Then do full initialization
 
-        doFullInit(context);
+        doFullInit(context, timer);
         pluginFullInitLatch.countDown();
 
+        // Revalidate the region metadata served by the full initialization
+        // against the remote one, without holding anybody up
+        RegionUtils.refreshInBackground();
+
         // All other expensive initialization tasks are executed
         // asynchronously (after all the plugins are started)
         new Job("Initaliazing AWS toolkit core plugin...") {
@@ -382,8 +413,8 @@ public class AwsToolkitCore extends AbstractAwsPlugin {
         }.schedule();
 
         logInfo(String.format(
-                "AWS toolkit core plugin initialized after %d milliseconds.",
-                System.currentTimeMillis() - startTime));
+                "AWS toolkit core plugin initialized after %d milliseconds (%s).",
+                timer.getElapsedMillis(), timer));
     }
 
     /**
@@ -410,11 +441,13 @@ public class AwsToolkitCore extends AbstractAwsPlugin {
      * this method is executed, but methods that are protected by
      * waitTillFullInit() will be blocked until this job is completed.
      */
-    private void doFullInit(BundleContext context) {
+    private void doFullInit(BundleContext context, StartupTimer timer) {
         try {
 
-            // Initialize region metadata
+            // Initialize region metadata from the cached or bundled file; it
+            // is revalidated against the remote one in the background
             RegionUtils.init();
+            timer.endPhase("region metadata");
 
             // Initialize AccountManager
             AccountInfoProvider accountInfoProvider = new AccountInfoProvider(
@@ -431,6 +464,7 @@ public class AwsToolkitCore extends AbstractAwsPlugin {
 
             // start monitoring the location and content of the credentials file
             accountManager.startCredentialsFileMonitor();
+            timer.endPhase("accounts");
 
             // Start listening for region preference changes...
             defaultRegionMonitor = new DefaultRegionMonitor();
@@ -450,10 +484,13 @@ public class AwsToolkitCore extends AbstractAwsPlugin {
 
             accountManager.addDefaultAccountChangeListener(resetAccountListenr);
             addDefaultRegionChangeListener(resetAccountListenr);
+            RegionUtils.addRegionChangeListener(regionMetadataListener);
+            timer.endPhase("region listeners");
 
             // Initialize Telemetry
             toolkitAnalyticsManager = initializeToolkitAnalyticsManager();
             toolkitAnalyticsManager.startSession(accountManager, true);
+            timer.endPhase("analytics");
 
         } catch (Exception e) {
             reportException("Internal error when starting the AWS Toolkit plugin.", e);
@@ -476,6 +513,13 @@ public class AwsToolkitCore extends AbstractAwsPlugin {
             reportException("Internal error when scanning legacy AWS account configuration.", e);
         }
 
+        // Resume the S3 uploads interrupted by the last shutdown
+        try {
+            S3TransferService.getDefault().resumePausedUploads();
+        } catch (Exception e) {
+            reportException("Internal error when resuming paused Amazon S3 uploads.", e);
+        }
+
         // Initial setup wizard for account and analytics configuration
         try {
             InitialSetupUtils.runInitialSetupWizard();
@@ -566,9 +610,13 @@ public class AwsToolkitCore extends AbstractAwsPlugin {
      */
     @Override
     public void stop(BundleContext context) throws Exception {
-        toolkitAnalyticsManager.endSession(true);
+        // Keep what isn't sent yet for the next session rather than wait for the network
+        toolkitAnalyticsManager.endSession(false);
+        toolkitAnalyticsManager.shutdown();
+        S3TransferService.shutdownDefault();
         accountManager.stopAccountMonitors();
         getPreferenceStore().removePropertyChangeListener(defaultRegionMonitor);
+        RegionUtils.removeRegionChangeListener(regionMetadataListener);
         proxyServiceTracker.close();
 
         plugin = null;
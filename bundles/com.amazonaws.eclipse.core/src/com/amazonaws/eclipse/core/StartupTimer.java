@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measures how long each phase of the plugin start takes, so that the time
+ * logged when the plugin has started can be broken down.
+ */
+final class StartupTimer {
+
+    private final long startMillis = System.currentTimeMillis();
+    private long phaseStartMillis = startMillis;
+    private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+
+    /** Ends the current phase, recording it under the given name, and starts the next one. */
+    synchronized void endPhase(String phase) {
+        long now = System.currentTimeMillis();
+        Long previous = phaseMillis.get(phase);
+        phaseMillis.put(phase, (previous == null ? 0 : previous) + now - phaseStartMillis);
+        phaseStartMillis = now;
+    }
+
+    /** Returns the time since the timer was created. */
+    long getElapsedMillis() {
+        return System.currentTimeMillis() - startMillis;
+    }
+
+    /** Returns the phases recorded so far, e.g. "regions: 12 ms, accounts: 40 ms". */
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, Long> phase : phaseMillis.entrySet()) {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(phase.getKey()).append(": ").append(phase.getValue()).append(" ms");
+        }
+        return builder.toString();
+    }
+}
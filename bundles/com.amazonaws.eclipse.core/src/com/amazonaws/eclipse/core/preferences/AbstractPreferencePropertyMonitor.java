@@ -72,11 +72,19 @@ public abstract class AbstractPreferencePropertyMonitor implements IPropertyChan
         String property = event.getProperty();
 
         if (watchPreferenceProperty(property)) {
-            if (job == null) {
-                notifyListeners();
-            } else {
-                job.schedule(notificationDelay);
-            }
+            fireChange();
+        }
+    }
+
+    /**
+     * Notifies the registered listeners as if a watched property had changed,
+     * e.g. when what the property refers to has changed.
+     */
+    public void fireChange() {
+        if (job == null) {
+            notifyListeners();
+        } else {
+            job.schedule(notificationDelay);
         }
     }
     
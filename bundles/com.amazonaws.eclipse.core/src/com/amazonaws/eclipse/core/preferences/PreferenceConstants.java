@@ -136,6 +136,17 @@ public class PreferenceConstants {
     public static final String P_CONNECTION_TIMEOUT = "connectionTimeout";
     public static final String P_SOCKET_TIMEOUT = "socketTimeout";
 
+    /**
+     * Preference key for the number of files uploaded to S3 at once.
+     */
+    public static final String P_S3_TRANSFER_CONCURRENCY = "s3TransferConcurrency";
+
+    /**
+     * Preference key for the part size, in megabytes, of multipart uploads to
+     * S3.
+     */
+    public static final String P_S3_TRANSFER_PART_SIZE_MB = "s3TransferPartSizeMb";
+
     /**
      * Preference key for the default user email to show in the error report form.
      */
@@ -65,6 +65,9 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
         store.setDefault(PreferenceConstants.P_CONNECTION_TIMEOUT, 20 * 1000);
         store.setDefault(PreferenceConstants.P_SOCKET_TIMEOUT, 20 * 1000);
 
+        store.setDefault(PreferenceConstants.P_S3_TRANSFER_CONCURRENCY, 4);
+        store.setDefault(PreferenceConstants.P_S3_TRANSFER_PART_SIZE_MB, 16);
+
         String defaultCredentialsFile =
                 System.getProperty("user.home") + File.separator
                 + ".aws" + File.separator
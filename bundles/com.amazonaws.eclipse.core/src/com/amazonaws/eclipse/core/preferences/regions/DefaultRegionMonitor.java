@@ -16,6 +16,7 @@ package com.amazonaws.eclipse.core.preferences.regions;
 
 import com.amazonaws.eclipse.core.preferences.AbstractPreferencePropertyMonitor;
 import com.amazonaws.eclipse.core.preferences.PreferenceConstants;
+import com.amazonaws.eclipse.core.regions.RegionUtils;
 
 /**
  * Responsible for monitoring for default region changes. We could use this
@@ -33,4 +34,14 @@ public class DefaultRegionMonitor extends AbstractPreferencePropertyMonitor {
         return preferenceKey.equals(PreferenceConstants.P_DEFAULT_REGION);
     }
 
+    /**
+     * Updates the current region before notifying the listeners, so that they
+     * see the new region.
+     */
+    @Override
+    public void fireChange() {
+        RegionUtils.updateCurrentRegion();
+        super.fireChange();
+    }
+
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.core.regions;
+
+/**
+ * Describes a change of the current region: either the user selected another
+ * region, or the region metadata was reloaded and the current region may now
+ * have different endpoints, or both.
+ */
+public final class RegionChangeEvent {
+
+    private final Region previousRegion;
+    private final Region currentRegion;
+    private final boolean regionSwitched;
+    private final boolean metadataChanged;
+
+    RegionChangeEvent(Region previousRegion, Region currentRegion, boolean regionSwitched, boolean metadataChanged) {
+        this.previousRegion = previousRegion;
+        this.currentRegion = currentRegion;
+        this.regionSwitched = regionSwitched;
+        this.metadataChanged = metadataChanged;
+    }
+
+    /**
+     * Returns the region that was current before the change, or null if the
+     * current region hadn't been resolved yet or is no longer known.
+     */
+    public Region getPreviousRegion() {
+        return previousRegion;
+    }
+
+    /**
+     * Returns the region that is current now.
+     */
+    public Region getCurrentRegion() {
+        return currentRegion;
+    }
+
+    /**
+     * Returns whether the current region is another region than before, as
+     * opposed to the same region with reloaded metadata.
+     */
+    public boolean isRegionSwitched() {
+        return regionSwitched;
+    }
+
+    /**
+     * Returns whether the region metadata was reloaded, in which case the
+     * endpoints of any region, the current one included, may have changed.
+     */
+    public boolean isMetadataChanged() {
+        return metadataChanged;
+    }
+
+    @Override
+    public String toString() {
+        return "RegionChangeEvent [previousRegion=" + (previousRegion == null ? null : previousRegion.getId())
+                + ", currentRegion=" + currentRegion.getId() + ", metadataChanged=" + metadataChanged + "]";
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.core.regions;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the known regions, indexed by region id, by the
+ * hosts of their service endpoints, and by service, plus the services indexed
+ * by endpoint. {@link RegionUtils} replaces the whole snapshot whenever the
+ * regions change, so that lookups don't need a lock.
+ * <p>
+ * Where several regions or services share a key, the first one in the order
+ * of the regions wins, as it did when the regions were scanned in order.
+ */
+public final class RegionIndex {
+
+    private final List<Region> regions;
+    private final Map<String, Region> regionsById = new HashMap<>();
+    private final Map<String, Region> regionsByHost = new HashMap<>();
+    private final Map<String, Service> servicesByEndpoint = new HashMap<>();
+    private final Map<String, List<Region>> regionsByService = new HashMap<>();
+
+    public RegionIndex(List<Region> regions) {
+        this.regions = Collections.unmodifiableList(new ArrayList<>(regions));
+
+        Map<String, List<Region>> regionsByService = new HashMap<>();
+        for (Region region : this.regions) {
+            putIfAbsent(regionsById, region.getId(), region);
+
+            for (Map.Entry<String, String> serviceEndpoint : region.getServiceEndpoints().entrySet()) {
+                List<Region> serviceRegions = regionsByService.get(serviceEndpoint.getKey());
+                if (serviceRegions == null) {
+                    serviceRegions = new ArrayList<>();
+                    regionsByService.put(serviceEndpoint.getKey(), serviceRegions);
+                }
+                serviceRegions.add(region);
+
+                String host = getHost(serviceEndpoint.getValue());
+                if (host != null) {
+                    putIfAbsent(regionsByHost, host, region);
+                }
+            }
+
+            for (Service service : region.getServicesByName().values()) {
+                putIfAbsent(servicesByEndpoint, service.getEndpoint(), service);
+            }
+        }
+
+        for (Map.Entry<String, List<Region>> entry : regionsByService.entrySet()) {
+            this.regionsByService.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+        }
+    }
+
+    private static <T> void putIfAbsent(Map<String, T> map, String key, T value) {
+        if (key != null && !map.containsKey(key)) {
+            map.put(key, value);
+        }
+    }
+
+    /**
+     * Returns the host of the given endpoint URL, or null if it can't be
+     * parsed.
+     */
+    static String getHost(String endpoint) {
+        if (endpoint == null) {
+            return null;
+        }
+        try {
+            return new URL(endpoint).getHost();
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    /** Returns all the regions, in their original order. */
+    public List<Region> getRegions() {
+        return regions;
+    }
+
+    public Region getRegion(String regionId) {
+        return regionsById.get(regionId);
+    }
+
+    /** Returns the first region with any service endpoint on the given host, or null. */
+    public Region getRegionByHost(String host) {
+        return regionsByHost.get(host);
+    }
+
+    /** Returns the first service with the given endpoint, or null. */
+    public Service getServiceByEndpoint(String endpoint) {
+        return servicesByEndpoint.get(endpoint);
+    }
+
+    /** Returns the regions supporting the given service, in their original order. */
+    public List<Region> getRegionsForService(String serviceAbbreviation) {
+        List<Region> serviceRegions = regionsByService.get(serviceAbbreviation);
+        return serviceRegions == null ? Collections.<Region>emptyList() : serviceRegions;
+    }
+}
@@ -22,15 +22,24 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Date;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.http.client.ClientProtocolException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.resource.ImageRegistry;
+import org.eclipse.swt.widgets.Display;
 
 import com.amazonaws.eclipse.core.AwsToolkitCore;
 import com.amazonaws.eclipse.core.AwsToolkitHttpClient;
@@ -62,7 +71,28 @@ public class RegionUtils {
     private static final String LOCAL_REGION_FILE_OVERRIDE = "/etc/regions-override.xml";
     private static final String LOCAL_REGION_FILE = "/etc/regions.xml";
 
-    private static List<Region> regions;
+    /**
+     * The known regions and their lookup tables; replaced as a whole whenever
+     * the regions change, so that lookups don't need a lock.
+     */
+    private static volatile RegionIndex index;
+
+    /**
+     * The region selected in the preferences, resolved against the index;
+     * null until first asked for.
+     */
+    private static volatile Region currentRegion;
+
+    /**
+     * The id of the region last resolved as current; kept while the current
+     * region is unresolved, so that a switch away from it is still noticed.
+     */
+    private static volatile String currentRegionId;
+
+    private static final List<RegionChangeListener> regionChangeListeners = new CopyOnWriteArrayList<>();
+
+    /** Whether the cached regions file is being revalidated against the remote one. */
+    private static boolean refreshing;
 
     /**
      * Returns true if the specified service is available in the current/active
@@ -81,12 +111,33 @@ public class RegionUtils {
     /**
      * Returns a list of the available AWS regions.
      */
-    public synchronized static List<Region> getRegions() {
-        if (regions == null) {
-            init();
+    public static List<Region> getRegions() {
+        return getIndex().getRegions();
+    }
+
+    private static RegionIndex getIndex() {
+        RegionIndex current = index;
+        if (current == null) {
+            synchronized (RegionUtils.class) {
+                if (index == null) {
+                    init();
+                }
+                current = index;
+            }
         }
+        return current;
+    }
 
-        return regions;
+    /**
+     * Replaces the known regions, rebuilding their lookup tables.
+     */
+    private static void setRegions(List<Region> regions) {
+        synchronized (RegionUtils.class) {
+            index = regions == null ? null : new RegionIndex(regions);
+            // Point at the same region of the new index, if it is still there
+            Region current = currentRegion;
+            currentRegion = current == null || index == null ? null : index.getRegion(current.getId());
+        }
     }
 
     /**
@@ -111,6 +162,7 @@ public class RegionUtils {
 
         local.getServicesByName().put(serviceName, service);
         local.getServiceEndpoints().put(serviceName, service.getEndpoint());
+        setRegions(getRegions());
     }
 
     /**
@@ -118,43 +170,98 @@ public class RegionUtils {
      *
      * @see ServiceAbbreviations
      */
-    public synchronized static List<Region> getRegionsForService(String serviceAbbreviation) {
-        List<Region> regions = new LinkedList<>();
-        for (Region r : getRegions()) {
-            if (r.isServiceSupported(serviceAbbreviation)) {
-                regions.add(r);
-            }
-        }
-        return regions;
+    public static List<Region> getRegionsForService(String serviceAbbreviation) {
+        return getIndex().getRegionsForService(serviceAbbreviation);
     }
 
     /**
      * Returns the region with the id given, if it exists. Otherwise, returns null.
      */
     public static Region getRegion(String regionId) {
-        for (Region r : getRegions()) {
-            if (r.getId().equals(regionId)) {
-                return r;
-            }
-        }
-
-        return null;
+        return getIndex().getRegion(regionId);
     }
 
     /**
      * Returns the default/active region that the user previously selected.
      */
     public static Region getCurrentRegion() {
+        Region current = currentRegion;
+        if (current == null) {
+            synchronized (RegionUtils.class) {
+                if (currentRegion == null) {
+                    currentRegion = resolveCurrentRegion();
+                    if (currentRegion != null) {
+                        currentRegionId = currentRegion.getId();
+                    }
+                }
+                current = currentRegion;
+            }
+        }
+
+        if (current == null) {
+            throw new RuntimeException("Unable to determine default region");
+        }
+
+        return current;
+    }
+
+    private static Region resolveCurrentRegion() {
         IPreferenceStore preferenceStore = AwsToolkitCore.getDefault().getPreferenceStore();
-        String defaultRegion = preferenceStore.getString(PreferenceConstants.P_DEFAULT_REGION);
+        return getRegion(preferenceStore.getString(PreferenceConstants.P_DEFAULT_REGION));
+    }
 
-        Region rval = getRegion(defaultRegion);
+    /**
+     * Resolves the current region again after the default region preference
+     * changed, and notifies the region change listeners if another region is
+     * current now. Called by the default region monitor before it notifies
+     * its own listeners.
+     */
+    public static void updateCurrentRegion() {
+        Region previous;
+        String previousId;
+        Region current;
+        synchronized (RegionUtils.class) {
+            previous = currentRegion;
+            previousId = previous != null ? previous.getId() : currentRegionId;
+            current = resolveCurrentRegion();
+            currentRegion = current;
+            if (current != null) {
+                currentRegionId = current.getId();
+            }
+        }
 
-        if (rval == null) {
-            throw new RuntimeException("Unable to determine default region");
+        // Also when no region was resolved yet: listeners may have used the old preference on their own
+        if (current != null && !current.getId().equals(previousId)) {
+            fireRegionChange(new RegionChangeEvent(previous, current, true, false));
         }
+    }
+
+    /**
+     * Registers a listener to be notified when the current region changes,
+     * either because another region was selected, or because the region
+     * metadata was reloaded.
+     */
+    public static void addRegionChangeListener(RegionChangeListener listener) {
+        regionChangeListeners.add(listener);
+    }
 
-        return rval;
+    /**
+     * Stops a listener from receiving notifications when the current region
+     * changes.
+     */
+    public static void removeRegionChangeListener(RegionChangeListener listener) {
+        regionChangeListeners.remove(listener);
+    }
+
+    private static void fireRegionChange(RegionChangeEvent event) {
+        for (RegionChangeListener listener : regionChangeListeners) {
+            try {
+                listener.currentRegionChanged(event);
+            } catch (Exception e) {
+                AwsToolkitCore.getDefault().logError(
+                        "Couldn't notify listener of region change: " + listener.getClass(), e);
+            }
+        }
     }
 
     /**
@@ -169,12 +276,9 @@ public class RegionUtils {
      *             if no service is found with the specified endpoint.
      */
     public static Service getServiceByEndpoint(String endpoint) {
-        for (Region region : regions) {
-            for (Service service : region.getServicesByName().values()) {
-                if (service.getEndpoint().equals(endpoint)) {
-                    return service;
-                }
-            }
+        Service service = getIndex().getServiceByEndpoint(endpoint);
+        if (service != null) {
+            return service;
         }
 
         throw new IllegalArgumentException("Unknown service endpoint: " + endpoint);
@@ -204,19 +308,9 @@ public class RegionUtils {
                     "Unable to parse service endpoint: " + e.getMessage());
         }
 
-        String targetHost = targetEndpointUrl.getHost();
-        for (Region region : getRegions()) {
-            for (String serviceEndpoint
-                        : region.getServiceEndpoints().values()) {
-                try {
-                    URL serviceEndpointUrl = new URL(serviceEndpoint);
-                    if (serviceEndpointUrl.getHost().equals(targetHost)) {
-                        return region;
-                    }
-                } catch (MalformedURLException e) {
-                    AwsToolkitCore.getDefault().reportException("Unable to parse service endpoint: " + serviceEndpoint, e);
-                }
-            }
+        Region region = getIndex().getRegionByHost(targetEndpointUrl.getHost());
+        if (region != null) {
+            return region;
         }
 
         throw new RuntimeException(
@@ -225,9 +319,11 @@ public class RegionUtils {
 
 
     /**
-     * Fetches the most recent version of the regions file from the remote
-     * source and caches it to the workspace metadata directory, then
-     * initializes the static list of regions with it.
+     * Initializes the static list of regions without going to the network:
+     * from the regions file cached in the workspace metadata directory by a
+     * previous session, or else from the one bundled with the toolkit. Use
+     * {@link #refreshInBackground()} to revalidate the cached file against
+     * the remote one.
      */
     public static synchronized void init() {
         // Use overriding file for testing unlaunched services.
@@ -236,21 +332,109 @@ public class RegionUtils {
         // Use the local region override file
         } else if (localRegionOverrideFileExists()) {
             initBundledRegionsOverride();
-        // Use the remote ServiceEndpoints.xml file
-        } else if (!Boolean.valueOf(System.getProperty(P_USE_LOCAL_REGION_FILE))) {
-            initRegionsFromS3();
+        // Use the remote ServiceEndpoints.xml file, as cached by the last refresh
+        } else if (isRemoteRegionsFileUsed()) {
+            File regionsFile = getCachedRegionsFile();
+            if (regionsFile.exists()) {
+                initCachedRegions(regionsFile);
+            }
         }
         // Fall back onto the version we ship with the toolkit
-        if (regions == null) {
+        if (index == null) {
             initBundledRegions();
         }
 
-        // If the preference store references an unknown starting region,
-        // go ahead and set the starting region to any existing region
+        ensureDefaultRegionExists();
+    }
+
+    /**
+     * Checks in the background whether the remote regions file is newer than
+     * the cached one, and if so, downloads it, reloads the regions from it,
+     * and notifies the region change listeners, since the endpoints of the
+     * current region may have changed. Does nothing if the regions
+     * don't come from the remote file, or if a refresh is running already.
+     */
+    public static void refreshInBackground() {
+        synchronized (RegionUtils.class) {
+            if (refreshing || !isRemoteRegionsFileUsed() || System.getProperty(P_REGIONS_FILE_OVERRIDE) != null
+                    || localRegionOverrideFileExists()) {
+                return;
+            }
+            refreshing = true;
+        }
+
+        Job job = new Job("Updating AWS region metadata") {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                try {
+                    refresh();
+                } finally {
+                    synchronized (RegionUtils.class) {
+                        refreshing = false;
+                    }
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.schedule();
+    }
+
+    private static void refresh() {
+        long startTime = System.currentTimeMillis();
+        File regionsFile = getCachedRegionsFile();
+        boolean changed = false;
+        Region previousRegion = currentRegion;
+        String previousRegionId = currentRegionId;
+        if (cacheRegionsFile(regionsFile)) {
+            List<Region> newRegions = readRegionsFile(regionsFile);
+            if (newRegions != null) {
+                synchronized (RegionUtils.class) {
+                    setRegions(newRegions);
+                    ensureDefaultRegionExists();
+                }
+                changed = true;
+            }
+        }
+
+        // Fetch the flags that weren't cached yet, outside of the lock
+        try {
+            cacheFlags(regionsFile.getParentFile(), true);
+        } catch (Exception e) {
+            AwsToolkitCore.getDefault().logError(
+                    "Couldn't cache flag icons", e);
+        }
+
+        AwsToolkitCore.getDefault().logInfo(String.format(
+                "AWS region metadata %s after %d milliseconds.",
+                changed ? "updated" : "revalidated", System.currentTimeMillis() - startTime));
+        if (changed) {
+            Region current = getCurrentRegion();
+            boolean switched = previousRegionId != null && !previousRegionId.equals(current.getId());
+            fireRegionChange(new RegionChangeEvent(previousRegion, current, switched, true));
+        }
+    }
+
+    private static boolean isRemoteRegionsFileUsed() {
+        return !Boolean.valueOf(System.getProperty(P_USE_LOCAL_REGION_FILE));
+    }
+
+    private static File getCachedRegionsFile() {
+        IPath stateLocation = Platform.getStateLocation(AwsToolkitCore
+                .getDefault().getBundle());
+        File regionsDir = new File(stateLocation.toFile(), "regions");
+        return new File(regionsDir, "regions.xml");
+    }
+
+    /**
+     * If the preference store references an unknown starting region, go ahead
+     * and set the starting region to any existing region.
+     */
+    private static void ensureDefaultRegionExists() {
         IPreferenceStore preferenceStore = AwsToolkitCore.getDefault().getPreferenceStore();
         Region defaultRegion = getRegion(preferenceStore.getString(PreferenceConstants.P_DEFAULT_REGION));
         if (defaultRegion == null) {
-            preferenceStore.setValue(PreferenceConstants.P_DEFAULT_REGION, regions.get(0).getId());
+            preferenceStore.setValue(PreferenceConstants.P_DEFAULT_REGION, index.getRegions().get(0).getId());
         }
     }
 
@@ -260,11 +444,11 @@ public class RegionUtils {
             File regionsFile =
                 new File(System.getProperty(P_REGIONS_FILE_OVERRIDE));
             try (InputStream override = new FileInputStream(regionsFile)) {
-                regions = parseRegionMetadata(override);
+                setRegions(parseRegionMetadata(override));
             }
 
             try {
-                cacheFlags(regionsFile.getParentFile());
+                cacheFlags(regionsFile.getParentFile(), true);
             } catch (Exception e) {
                 AwsToolkitCore.getDefault().logError(
                         "Couldn't cache flag icons", e);
@@ -275,23 +459,15 @@ public class RegionUtils {
         }
     }
 
-    private static void initRegionsFromS3() {
-        IPath stateLocation = Platform.getStateLocation(AwsToolkitCore
-                .getDefault().getBundle());
-        File regionsDir = new File(stateLocation.toFile(), "regions");
-        File regionsFile = new File(regionsDir, "regions.xml");
-
-        cacheRegionsFile(regionsFile);
-        initCachedRegions(regionsFile);
-    }
-
     /**
      * Caches the regions file stored in cloudfront to the destination file
      * given. Tries S3 if cloudfront is unavailable.
      *
      * If the file in s3 is older than the one on disk, does nothing.
+     *
+     * @return Whether a new regions file was downloaded.
      */
-    private static void cacheRegionsFile(File regionsFile) {
+    private static boolean cacheRegionsFile(File regionsFile) {
         Date regionsFileLastModified = new Date(0);
         if (!regionsFile.exists()) {
             regionsFile.getParentFile().mkdirs();
@@ -304,34 +480,66 @@ public class RegionUtils {
             AwsToolkitHttpClient client = HttpClientFactory.create(AwsToolkitCore.getDefault(), url);
             Date remoteFileLastModified = client.getLastModifiedDate(url);
             if (remoteFileLastModified == null || remoteFileLastModified.after(regionsFileLastModified)) {
-                fetchFile(url, regionsFile);
+                // Download next to the cached file, so that a failed download doesn't leave a partial one
+                File downloadFile = new File(regionsFile.getParentFile(), regionsFile.getName() + ".download");
+                fetchFile(url, downloadFile);
+                replaceFile(downloadFile, regionsFile);
+                return true;
             }
         } catch (Exception e) {
             AwsToolkitCore.getDefault().logError(
                     "Failed to cache regions file", e);
         }
+        return false;
     }
 
     /**
-     * Tries to initialize the regions list from the file given. If the file
-     * doesn't exist or cannot, it is deleted so that it can be fetched cleanly
-     * on the next startup.
+     * Moves the source file over the target file, atomically where the file
+     * system allows it, so that the target is never missing or partial.
+     */
+    private static void replaceFile(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Tries to initialize the regions list from the file given, using the
+     * flag icons cached along with it, or the bundled ones for the icons that
+     * aren't cached yet.
      */
     private static void initCachedRegions(File regionsFile) {
+        List<Region> cachedRegions = readRegionsFile(regionsFile);
+        if (cachedRegions == null) {
+            return;
+        }
+        setRegions(cachedRegions);
+        try {
+            cacheFlags(regionsFile.getParentFile(), false);
+        } catch (Exception e) {
+            AwsToolkitCore.getDefault().logError(
+                    "Couldn't cache flag icons", e);
+        }
+    }
+
+    /**
+     * Reads the regions from the file given. If the file cannot be read, it is
+     * deleted so that it can be fetched cleanly on the next refresh, and null
+     * is returned.
+     */
+    private static List<Region> readRegionsFile(File regionsFile) {
         try (InputStream inputStream = new FileInputStream(regionsFile)) {
-            regions = parseRegionMetadata(inputStream);
-            try {
-                cacheFlags(regionsFile.getParentFile());
-            } catch (Exception e) {
-                AwsToolkitCore.getDefault().logError(
-                        "Couldn't cache flag icons", e);
-            }
+            return parseRegionMetadata(inputStream);
         } catch (Exception e) {
             AwsToolkitCore.getDefault().logError(
                     "Couldn't read regions file", e);
             // Clear out the regions file so that it will get cached again at
-            // next startup
+            // next refresh
             regionsFile.delete();
+            return null;
         }
     }
 
@@ -341,7 +549,8 @@ public class RegionUtils {
      */
     private static void initBundledRegions() {
         try {
-            regions = loadRegionsFromLocalRegionFile();
+            List<Region> regions = loadRegionsFromLocalRegionFile();
+            setRegions(regions);
             registerRegionFlagsFromBundle(regions);
         } catch (IOException e) {
             // Do nothing, the regions remains null in this case.
@@ -350,7 +559,8 @@ public class RegionUtils {
 
     private static void initBundledRegionsOverride() {
         try {
-            regions = loadRegionsFromLocalRegionOverrideFile();
+            List<Region> regions = loadRegionsFromLocalRegionOverrideFile();
+            setRegions(regions);
             registerRegionFlagsFromBundle(regions);
         } catch (IOException e) {
             // Do nothing, the regions remains null in this case.
@@ -367,15 +577,32 @@ public class RegionUtils {
                 continue;
             }
 
-            AwsToolkitCore
-                .getDefault()
-                .getImageRegistry()
-                .put(AwsToolkitCore.IMAGE_FLAG_PREFIX + r.getId(),
-                    ImageDescriptor.createFromFile(RegionUtils.class,
-                                                   "/icons/" + r.getFlagIconPath()));
+            registerFlag(r, ImageDescriptor.createFromFile(RegionUtils.class,
+                                                          "/icons/" + r.getFlagIconPath()));
         }
     }
 
+    /**
+     * Registers the flag image of the given region, replacing the one
+     * registered before, if any.
+     */
+    private static void registerFlag(Region region, final ImageDescriptor descriptor) {
+        final ImageRegistry imageRegistry = AwsToolkitCore.getDefault().getImageRegistry();
+        final String key = AwsToolkitCore.IMAGE_FLAG_PREFIX + region.getId();
+        if (imageRegistry.getDescriptor(key) == null) {
+            imageRegistry.put(key, descriptor);
+            return;
+        }
+        // Replacing an image disposes of the old one, which has to happen in the UI thread
+        Display.getDefault().asyncExec(new Runnable() {
+            @Override
+            public void run() {
+                imageRegistry.remove(key);
+                imageRegistry.put(key, descriptor);
+            }
+        });
+    }
+
     private static final RegionMetadataParser PARSER =
         new RegionMetadataParser();
 
@@ -406,32 +633,48 @@ public class RegionUtils {
 
     /**
      * Caches flag icons as necessary, also registering images for them
+     *
+     * @param fetchFlags
+     *            Whether to download the flag icons that aren't cached yet;
+     *            otherwise the bundled icons are registered for them.
      */
-    private static void cacheFlags(File regionsDir)
+    private static void cacheFlags(File regionsDir, boolean fetchFlags)
             throws ClientProtocolException, IOException {
         if (!regionsDir.exists()) {
             return;
         }
 
-        for (Region r : regions) {
+        RegionIndex current = index;
+        if (current == null) {
+            return;
+        }
+
+        for (Region r : current.getRegions()) {
             if (r == LocalRegion.INSTANCE) {
                 // Local region has no flag to initialize.
                 continue;
             }
 
             File icon = new File(regionsDir, r.getFlagIconPath());
+            if (icon.exists() == false && !fetchFlags) {
+                registerFlag(r, ImageDescriptor.createFromFile(RegionUtils.class,
+                                                              "/icons/" + r.getFlagIconPath()));
+                continue;
+            }
+            boolean fetched = false;
             if (icon.exists() == false) {
                 icon.getParentFile().mkdirs();
                 String iconUrl = CLOUDFRONT_DISTRO + r.getFlagIconPath();
                 fetchFile(iconUrl, icon);
+                fetched = true;
             }
 
-            AwsToolkitCore
-                .getDefault()
-                .getImageRegistry()
-                .put(AwsToolkitCore.IMAGE_FLAG_PREFIX + r.getId(),
-                    ImageDescriptor.createFromURL(
+            // When refreshing, the flags registered already only change if they were fetched
+            if (!fetchFlags || fetched || AwsToolkitCore.getDefault().getImageRegistry()
+                    .getDescriptor(AwsToolkitCore.IMAGE_FLAG_PREFIX + r.getId()) == null) {
+                registerFlag(r, ImageDescriptor.createFromURL(
                         icon.getAbsoluteFile().toURI().toURL()));
+            }
         }
     }
 
@@ -27,6 +27,8 @@ public enum AwsToolkitMetricType {
     EXPLORER_DYNAMODB_RUN_SCAN("dynamo_runScan"),
     EXPLORER_DYNAMODB_SAVE("dynamo_save"),
     EXPLORER_DYNAMODB_EXPORT_AS_CSV("dynamo_exportCsv"),
+    EXPLORER_DYNAMODB_EXPORT_TABLE("dynamo_exportTable"),
+    EXPLORER_DYNAMODB_IMPORT_ITEMS("dynamo_importItems"),
     EXPLORER_DYNAMODB_ADD_NEW_ATTRIBUTE("dynamo_addAttribute"),
     /* Explorer CodeDeploy Actions */
     EXPLORER_CODEDEPLOY_REFRESH_DEPLOYMENT_GROUP_EDITOR("codedeploy_refreshGroup"),
@@ -63,4 +63,11 @@ public interface ToolkitAnalyticsManager {
      * methods of the manager takes any effect.
      */
     public void setEnabled(boolean enabled);
+
+    /**
+     * Keep the events that haven't been sent out yet for the next session,
+     * without waiting for the Analytics service. Called when the plugin stops;
+     * no events are sent out after this call.
+     */
+    public void shutdown();
 }
@@ -33,4 +33,11 @@ public interface TelemetryBatchClient {
      */
     void flush();
 
+    /**
+     * Keeps the cached events that haven't been sent yet for the next
+     * session, without waiting for the service. This is called when the
+     * application shuts down; no events are sent afterwards.
+     */
+    void shutdown();
+
 }
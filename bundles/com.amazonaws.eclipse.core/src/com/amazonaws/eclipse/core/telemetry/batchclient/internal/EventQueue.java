@@ -14,68 +14,55 @@
  */
 package com.amazonaws.eclipse.core.telemetry.batchclient.internal;
 
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 import software.amazon.awssdk.services.toolkittelemetry.model.MetricDatum;
 
 /**
- * A very simplistic implementation of a double-ended queue with non-blocking
- * write access.
+ * A fixed-capacity ring buffer of events. Adding an event never blocks for
+ * longer than it takes to store one reference, and never allocates.
  */
 class EventQueue {
 
-    private final ConcurrentLinkedQueue<MetricDatum> headQueue = new ConcurrentLinkedQueue<>();
-    private final ConcurrentLinkedQueue<MetricDatum> tailQueue = new ConcurrentLinkedQueue<>();
+    private final MetricDatum[] events;
+    private int head;
+    private int size;
+
+    public EventQueue(int capacity) {
+        this.events = new MetricDatum[capacity];
+    }
 
     /**
-     * Not thread safe.
+     * Adds the event at the tail of the queue.
      *
-     * @throws IllegalStateException
-     *             if this queue still contains event added via any previous
-     *             addToHead calls
+     * @return False if the queue is full and the event was not added.
      */
-    public void addToHead(List<MetricDatum> events) {
-        if (!headQueue.isEmpty()) {
-            throw new IllegalStateException();
+    public synchronized boolean offer(MetricDatum event) {
+        if (size == events.length) {
+            return false;
         }
-        headQueue.addAll(events);
+        events[(head + size) % events.length] = event;
+        size++;
+        return true;
     }
 
-    public void addToTail(MetricDatum event) {
-        tailQueue.add(event);
+    public synchronized int size() {
+        return size;
     }
 
     /**
-     * Not thread safe.
-     */
-    public int size() {
-        return headQueue.size() + tailQueue.size();
-    }
-
-    /**
-     * Not thread safe.
+     * Moves all queued events, oldest first, to the given list.
+     *
+     * @return The number of events moved.
      */
-    public List<MetricDatum> pollAllQueuedEvents() {
-        List<MetricDatum> events = new LinkedList<>();
-        events.addAll(pollAll(headQueue));
-        events.addAll(pollAll(tailQueue));
-        return events;
-    }
-
-    private List<MetricDatum> pollAll(Queue<MetricDatum> queue) {
-        List<MetricDatum> events = new LinkedList<>();
-        while (true) {
-            MetricDatum polled = queue.poll();
-            if (polled != null) {
-                events.add(polled);
-            } else {
-                break;
-            }
+    public synchronized int drainTo(List<MetricDatum> target) {
+        int drained = size;
+        for (; size > 0; size--) {
+            target.add(events[head]);
+            events[head] = null;
+            head = (head + 1) % events.length;
         }
-        return events;
+        return drained;
     }
 
 }
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.core.telemetry.batchclient.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import software.amazon.awssdk.services.toolkittelemetry.model.MetadataEntry;
+import software.amazon.awssdk.services.toolkittelemetry.model.MetricDatum;
+
+/**
+ * An append-only, bounded spool of events on disk.
+ * <p>
+ * Events are appended as one JSON line each to numbered segment files, and
+ * read back in the order they were appended. Reading is two-phase: events
+ * returned by {@link #peek(int)} stay in the spool until {@link #commit()},
+ * so a batch that couldn't be sent is read again on the next attempt, also
+ * after a restart. The read position is kept in a small cursor file, and
+ * segments that have been read completely are deleted. Reads start at the
+ * read position and stop as soon as enough events are found, so sending a
+ * batch doesn't read the whole segment again.
+ * <p>
+ * A last line torn by a crash while appending is cut off when the spool is
+ * opened, so the next append doesn't glue a valid event to it. When the spool
+ * grows beyond its maximum size the oldest segments are dropped.
+ */
+public class EventSpool {
+
+    static final long DEFAULT_MAX_BYTES = 2L * 1024 * 1024;
+    static final long DEFAULT_SEGMENT_BYTES = 256L * 1024;
+
+    private static final String SEGMENT_SUFFIX = ".jsonl";
+    private static final String CURSOR_FILE = "cursor";
+    private static final int READ_BUFFER_BYTES = 8 * 1024;
+
+    private final File directory;
+    private final long maxBytes;
+    private final long segmentBytes;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private long cursorSegment;
+    private long cursorOffset;
+    private long pendingSegment = -1;
+    private long pendingOffset;
+
+    private long droppedCount;
+
+    public EventSpool(File directory) throws IOException {
+        this(directory, DEFAULT_MAX_BYTES, DEFAULT_SEGMENT_BYTES);
+    }
+
+    public EventSpool(File directory, long maxBytes, long segmentBytes) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create " + directory);
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.segmentBytes = segmentBytes;
+        loadCursor();
+        truncateTornWrite();
+    }
+
+    /** Returns the number of events dropped to keep the spool bounded. */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Appends the given events after all the events already in the spool.
+     */
+    public synchronized void append(List<MetricDatum> events) throws IOException {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        long[] segments = listSegments();
+        long segment = segments.length == 0 ? cursorSegment : segments[segments.length - 1];
+        if (segments.length == 0 && cursorOffset > 0) {
+            segment++;
+        }
+
+        long length = segmentFile(segment).length();
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (MetricDatum event : events) {
+            byte[] line = (mapper.writeValueAsString(toJson(event)) + "\n").getBytes(StandardCharsets.UTF_8);
+            if (length + lines.size() >= segmentBytes) {
+                writeSegment(segment, lines);
+                segment++;
+                length = 0;
+            }
+            lines.write(line, 0, line.length);
+        }
+        writeSegment(segment, lines);
+
+        trim();
+    }
+
+    /**
+     * Returns up to the given number of the oldest events in the spool, which
+     * stay there until {@link #commit()} is called.
+     */
+    public synchronized List<MetricDatum> peek(int maxEvents) throws IOException {
+        List<MetricDatum> events = new ArrayList<>(maxEvents);
+        long segment = cursorSegment;
+        long offset = cursorOffset;
+
+        long[] segments = listSegments();
+        for (int i = 0; i < segments.length && events.size() < maxEvents; i++) {
+            if (segments[i] < cursorSegment) {
+                continue;
+            }
+            if (segments[i] != segment) {
+                segment = segments[i];
+                offset = 0;
+            }
+            offset = readEvents(segmentFile(segment), offset, maxEvents, events);
+        }
+
+        pendingSegment = segment;
+        pendingOffset = offset;
+        return events;
+    }
+
+    /**
+     * Reads events from the given offset of a segment until the given list
+     * holds the given number of events or the segment ends.
+     *
+     * @return The offset after the last complete line read.
+     */
+    private long readEvents(File file, long offset, int maxEvents, List<MetricDatum> events) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            in.seek(offset);
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            byte[] buffer = new byte[READ_BUFFER_BYTES];
+            int read;
+            while (events.size() < maxEvents && (read = in.read(buffer)) > 0) {
+                int lineStart = 0;
+                for (int pos = 0; pos < read && events.size() < maxEvents; pos++) {
+                    if (buffer[pos] != '\n') {
+                        continue;
+                    }
+                    line.write(buffer, lineStart, pos - lineStart);
+                    offset += line.size() + 1;
+                    lineStart = pos + 1;
+                    try {
+                        events.add(fromJson(mapper.readTree(new String(line.toByteArray(), StandardCharsets.UTF_8))));
+                    } catch (IOException e) {
+                        // Not an event; there is nothing to recover
+                        droppedCount++;
+                    }
+                    line.reset();
+                }
+                if (events.size() < maxEvents) {
+                    line.write(buffer, lineStart, read - lineStart);
+                }
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Removes the events returned by the last {@link #peek(int)} from the
+     * spool.
+     */
+    public synchronized void commit() throws IOException {
+        if (pendingSegment < 0) {
+            return;
+        }
+        cursorSegment = pendingSegment;
+        cursorOffset = pendingOffset;
+        pendingSegment = -1;
+        saveCursor();
+
+        for (long segment : listSegments()) {
+            if (segment < cursorSegment) {
+                Files.deleteIfExists(segmentFile(segment).toPath());
+            }
+        }
+    }
+
+    /** Returns whether there are no more events to read. */
+    public synchronized boolean isEmpty() {
+        for (long segment : listSegments()) {
+            if (segment > cursorSegment
+                    || (segment == cursorSegment && segmentFile(segment).length() > cursorOffset)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cuts off the incomplete last line a crash may have left in the last
+     * segment; appends only ever add whole lines otherwise.
+     */
+    private void truncateTornWrite() throws IOException {
+        long[] segments = listSegments();
+        if (segments.length == 0) {
+            return;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segmentFile(segments[segments.length - 1]), "rw")) {
+            long length = file.length();
+            while (length > 0) {
+                file.seek(length - 1);
+                if (file.read() == '\n') {
+                    break;
+                }
+                length--;
+            }
+            if (length < file.length()) {
+                file.setLength(length);
+                droppedCount++;
+            }
+        }
+        if (segments[segments.length - 1] == cursorSegment && cursorOffset > segmentFile(cursorSegment).length()) {
+            cursorOffset = segmentFile(cursorSegment).length();
+        }
+    }
+
+    /**
+     * Drops the oldest segments until the spool fits its maximum size again.
+     */
+    private void trim() throws IOException {
+        long[] segments = listSegments();
+        long totalBytes = 0;
+        for (long segment : segments) {
+            totalBytes += segmentFile(segment).length();
+        }
+
+        for (int i = 0; i < segments.length - 1 && totalBytes > maxBytes; i++) {
+            File file = segmentFile(segments[i]);
+            long length = file.length();
+            if (segments[i] >= cursorSegment) {
+                byte[] content = Files.readAllBytes(file.toPath());
+                int from = segments[i] == cursorSegment ? (int) Math.min(cursorOffset, content.length) : 0;
+                for (int pos = from; pos < content.length; pos++) {
+                    if (content[pos] == '\n') {
+                        droppedCount++;
+                    }
+                }
+            }
+            Files.deleteIfExists(file.toPath());
+            totalBytes -= length;
+
+            if (segments[i] >= cursorSegment) {
+                cursorSegment = segments[i + 1];
+                cursorOffset = 0;
+                pendingSegment = -1;
+                saveCursor();
+            }
+        }
+    }
+
+    private void writeSegment(long segment, ByteArrayOutputStream lines) throws IOException {
+        if (lines.size() > 0) {
+            try (OutputStream out = new FileOutputStream(segmentFile(segment), true)) {
+                lines.writeTo(out);
+            }
+            lines.reset();
+        }
+    }
+
+    private long[] listSegments() {
+        String[] names = directory.list((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+        if (names == null) {
+            return new long[0];
+        }
+        List<Long> segments = new ArrayList<>(names.length);
+        for (String name : names) {
+            try {
+                segments.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+            } catch (NumberFormatException e) {
+                // Not one of ours
+            }
+        }
+        long[] sorted = new long[segments.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = segments.get(i);
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private File segmentFile(long segment) {
+        return new File(directory, String.format("%012d%s", segment, SEGMENT_SUFFIX));
+    }
+
+    private void loadCursor() throws IOException {
+        File file = new File(directory, CURSOR_FILE);
+        if (!file.isFile()) {
+            return;
+        }
+        String[] cursor = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim().split(" ");
+        try {
+            cursorSegment = Long.parseLong(cursor[0]);
+            cursorOffset = Long.parseLong(cursor[1]);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            cursorSegment = 0;
+            cursorOffset = 0;
+        }
+    }
+
+    private void saveCursor() throws IOException {
+        File file = new File(directory, CURSOR_FILE);
+        File temp = new File(directory, CURSOR_FILE + ".tmp");
+        Files.write(temp.toPath(), (cursorSegment + " " + cursorOffset).getBytes(StandardCharsets.UTF_8));
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private ObjectNode toJson(MetricDatum event) {
+        ObjectNode node = mapper.createObjectNode();
+        node.put("metricName", event.getMetricName());
+        node.put("epochTimestamp", event.getEpochTimestamp());
+        node.put("unit", event.getUnit());
+        node.put("value", event.getValue());
+        if (event.getMetadata() != null) {
+            ArrayNode metadata = node.putArray("metadata");
+            for (MetadataEntry entry : event.getMetadata()) {
+                metadata.addObject().put("key", entry.getKey()).put("value", entry.getValue());
+            }
+        }
+        return node;
+    }
+
+    private static MetricDatum fromJson(JsonNode node) throws IOException {
+        if (node == null || !node.isObject()) {
+            throw new IOException("Not an event: " + node);
+        }
+        MetricDatum event = new MetricDatum()
+                .metricName(textOrNull(node.get("metricName")))
+                .unit(textOrNull(node.get("unit")));
+        if (node.hasNonNull("epochTimestamp")) {
+            event.setEpochTimestamp(node.get("epochTimestamp").asLong());
+        }
+        if (node.hasNonNull("value")) {
+            event.setValue(node.get("value").asDouble());
+        }
+        if (node.has("metadata")) {
+            List<MetadataEntry> metadata = new ArrayList<>();
+            for (JsonNode entry : node.get("metadata")) {
+                metadata.add(new MetadataEntry().key(textOrNull(entry.get("key"))).value(textOrNull(entry.get("value"))));
+            }
+            event.setMetadata(metadata);
+        }
+        return event;
+    }
+
+    private static String textOrNull(JsonNode node) {
+        return node == null || node.isNull() ? null : node.asText();
+    }
+}
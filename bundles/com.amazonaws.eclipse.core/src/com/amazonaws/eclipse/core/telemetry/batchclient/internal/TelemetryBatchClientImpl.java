@@ -14,12 +14,16 @@
  */
 package com.amazonaws.eclipse.core.telemetry.batchclient.internal;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.ICoreRunnable;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 
 import com.amazonaws.auth.AWSCredentialsProvider;
@@ -31,108 +35,324 @@ import com.amazonaws.eclipse.core.telemetry.batchclient.TelemetryBatchClient;
 import software.amazon.awssdk.services.toolkittelemetry.model.MetricDatum;
 
 /**
- * An implementation of MobileAnalyticsBatchClient which uses a bounded queue
- * for caching incoming events and a single-threaded service client for sending
- * out event batches. It also guarantees that the events are sent in the same
- * order as they are accepted by the client.
+ * An implementation of TelemetryBatchClient which caches incoming events in a
+ * bounded ring buffer and sends them out in batches from a single background
+ * job. Before they are sent, events are moved to an on-disk spool in the
+ * plugin state area, so events that couldn't be sent yet survive a restart.
+ * Events are sent in the same order as they are accepted by the client, also
+ * across restarts.
+ * <p>
+ * A flush is triggered once {@value #MIN_EVENT_BATCH_SIZE} events are queued,
+ * or {@value #FLUSH_INTERVAL_MILLIS} ms after the first queued event; a
+ * request for an earlier flush brings a sleeping flush job forward. Failed
+ * batches are retried with exponential backoff. If the flush job falls so far
+ * behind that the ring buffer fills up, the buffer is set aside in memory for
+ * the flush job to spool, so adding an event never touches the disk.
+ * <p>
+ * {@link #shutdown()} writes the events still in memory to the spool before
+ * the plugin stops, so they are sent in the next session.
  */
 public class TelemetryBatchClientImpl implements TelemetryBatchClient {
 
-	private static final int MIN_EVENT_BATCH_SIZE = 20;
-	private static final int MAX_QUEUE_SIZE = 500;
+    private static final int MIN_EVENT_BATCH_SIZE = 20;
+    private static final int MAX_QUEUE_SIZE = 500;
+    private static final int MAX_OVERFLOW_SIZE = 4 * MAX_QUEUE_SIZE;
+    private static final int POST_LIMIT = 20;
 
-	private final TelemetryClientV2 telemetryClient;
+    private static final long FLUSH_INTERVAL_MILLIS = 60 * 1000;
+    private static final long MIN_BACKOFF_MILLIS = 5 * 1000;
+    private static final long MAX_BACKOFF_MILLIS = 30 * 60 * 1000;
 
-	/**
-	 * For caching incoming events for batching
-	 */
-	private final EventQueue eventQueue = new EventQueue();
+    private static final String SPOOL_DIRECTORY = "telemetry-spool";
 
-	/**
-	 * To keep track of the on-going putEvents request and make sure only one
-	 * request can be made at a time.
-	 */
-	private final AtomicBoolean isSendingPutEventsRequest = new AtomicBoolean(false);
+    private final TelemetryClientV2 telemetryClient;
 
-	public TelemetryBatchClientImpl(AWSCredentialsProvider credentialsProvider, ClientContextConfig clientContextConfig) {
-		this.telemetryClient = new TelemetryClientV2(credentialsProvider, clientContextConfig);
-	}
+    /**
+     * For caching incoming events until the flush job picks them up
+     */
+    private final EventQueue eventQueue = new EventQueue(MAX_QUEUE_SIZE);
+
+    /**
+     * Where events wait to be sent; null if the state area isn't writable, in
+     * which case events are sent straight from memory.
+     */
+    private final EventSpool spool;
+
+    /**
+     * The only job sending events, which keeps them in order.
+     */
+    private final Job flushJob = new FlushJob();
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong flushedCount = new AtomicLong();
+
+    /**
+     * Held while moving events out of the queue, which keeps them in order.
+     * Never held while talking to the service.
+     */
+    private final Object spoolLock = new Object();
+    private final List<MetricDatum> unspooledEvents = new ArrayList<>();
+
+    /**
+     * Held while moving events out of the queue in memory; never held while
+     * writing to disk, so {@link #putEvent(MetricDatum)} can't wait on I/O.
+     */
+    private final Object overflowLock = new Object();
+    private final List<MetricDatum> overflowEvents = new ArrayList<>();
+
+    private volatile int consecutiveFailures;
+    private volatile boolean shutDown;
 
-	@Override
-	public void putEvent(MetricDatum event) {
+    /** When the flush job is scheduled to run next. */
+    private volatile long flushDueMillis;
 
-		// we don't lock the queue when accepting incoming event, and the
-		// queue size is only a rough estimate.
-		int queueSize = eventQueue.size();
+    public TelemetryBatchClientImpl(AWSCredentialsProvider credentialsProvider, ClientContextConfig clientContextConfig) {
+        this(new TelemetryClientV2(credentialsProvider, clientContextConfig),
+                AwsToolkitCore.getDefault().getStateLocation().append(SPOOL_DIRECTORY).toFile());
+    }
+
+    /**
+     * @param spoolDirectory
+     *            The directory of the on-disk spool.
+     */
+    public TelemetryBatchClientImpl(TelemetryClientV2 telemetryClient, File spoolDirectory) {
+        this.telemetryClient = telemetryClient;
+        EventSpool eventSpool = null;
+        try {
+            eventSpool = new EventSpool(spoolDirectory);
+        } catch (IOException e) {
+            AwsToolkitCore.getDefault().logWarning("Unable to open the telemetry spool, keeping events in memory", e);
+        }
+        this.spool = eventSpool;
+
+        if (spool != null && !spool.isEmpty()) {
+            // Send what is left over from the last session
+            scheduleFlush(MIN_BACKOFF_MILLIS);
+        }
+    }
+
+    /**
+     * Waits for neither the network nor the disk. If the queue is full
+     * because the flush job fell behind, its events are set aside in memory
+     * for the flush job to spool; only past {@value #MAX_OVERFLOW_SIZE} of
+     * those are the oldest dropped.
+     */
+    @Override
+    public void putEvent(MetricDatum event) {
+        if (!eventQueue.offer(event)) {
+            // Keep the queue bounded without losing what's in it
+            moveQueueToOverflow();
+            if (!eventQueue.offer(event)) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+            enqueuedCount.incrementAndGet();
+            requestFlush(0);
+            return;
+        }
+        enqueuedCount.incrementAndGet();
+
+        if (eventQueue.size() >= MIN_EVENT_BATCH_SIZE && consecutiveFailures == 0) {
+            requestFlush(0);
+        } else {
+            requestFlush(FLUSH_INTERVAL_MILLIS);
+        }
+    }
 
-		// keep the queue bounded
-		if (queueSize >= MAX_QUEUE_SIZE) {
-			tryDispatchAllEventsAsync();
-			return;
-		}
+    /**
+     * Has the flush job spool and send all queued events right away, even
+     * while it backs off after failures. Returns immediately; use
+     * {@link #shutdown()} to keep the queued events when the plugin stops.
+     */
+    @Override
+    public void flush() {
+        if (shutDown) {
+            return;
+        }
+        flushDueMillis = System.currentTimeMillis();
+        if (flushJob.getState() == Job.SLEEPING) {
+            flushJob.wakeUp();
+        } else {
+            flushJob.schedule();
+        }
+    }
 
-		eventQueue.addToTail(event);
+    /**
+     * Stops the flush job and writes the events still in memory to the spool,
+     * on the calling thread and without talking to the service, so they are
+     * sent in the next session. Without a spool they are lost.
+     */
+    @Override
+    public void shutdown() {
+        shutDown = true;
+        flushJob.cancel();
+        spoolQueuedEvents();
+    }
 
-		if (queueSize >= MIN_EVENT_BATCH_SIZE) {
-			tryDispatchAllEventsAsync();
-		}
-	}
+    /** Returns the number of events accepted by {@link #putEvent(MetricDatum)}. */
+    public long getEnqueuedCount() {
+        return enqueuedCount.get();
+    }
 
-	@Override
-	public void flush() {
-		tryDispatchAllEventsAsync();
-	}
+    /**
+     * Returns the number of events dropped because the queue or the spool
+     * were full.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get() + (spool == null ? 0 : spool.getDroppedCount());
+    }
 
-	/**
-	 * To make sure the order of the analytic events is preserved, this method call
-	 * will immediately return if there is an ongoing PutEvents call.
-	 */
-	private void tryDispatchAllEventsAsync() {
+    /** Returns the number of events sent to the service. */
+    public long getFlushedCount() {
+        return flushedCount.get();
+    }
 
-		boolean contentionDetected = this.isSendingPutEventsRequest.getAndSet(true);
-		AwsToolkitCore.getDefault().logInfo("Trying to dispatch events, contention detected: " + contentionDetected);
+    /**
+     * Makes sure the flush job runs within the given delay, unless it is
+     * backing off after failures.
+     */
+    private void requestFlush(long delay) {
+        if (shutDown) {
+            return;
+        }
+        int state = flushJob.getState();
+        if (state == Job.NONE) {
+            scheduleFlush(delay);
+        } else if (state == Job.SLEEPING && consecutiveFailures == 0
+                && System.currentTimeMillis() + delay < flushDueMillis) {
+            flushDueMillis = System.currentTimeMillis() + delay;
+            flushJob.wakeUp(delay);
+        }
+    }
 
-		if (!contentionDetected) {
-			dispatchAllEventsAsync();
-		}
-	}
+    private void scheduleFlush(long delay) {
+        if (shutDown) {
+            return;
+        }
+        flushDueMillis = System.currentTimeMillis() + delay;
+        flushJob.schedule(delay);
+    }
 
     /**
-     * Only one thread can call this method at a time
+     * Sets the queued events aside for the flush job, dropping the oldest
+     * ones past {@value #MAX_OVERFLOW_SIZE}.
      */
-    private void dispatchAllEventsAsync() {
-        final List<MetricDatum> eventsBatch = this.eventQueue.pollAllQueuedEvents();
-        final int POLL_LIMIT = 20;
+    private void moveQueueToOverflow() {
+        synchronized (overflowLock) {
+            eventQueue.drainTo(overflowEvents);
+            if (overflowEvents.size() > MAX_OVERFLOW_SIZE) {
+                List<MetricDatum> oldest = overflowEvents.subList(0, overflowEvents.size() - MAX_OVERFLOW_SIZE);
+                droppedCount.addAndGet(oldest.size());
+                oldest.clear();
+            }
+        }
+    }
 
-        Job j = Job.create("Posting telemetry", new ICoreRunnable() {
-            @Override
-            public void run(IProgressMonitor monitor) throws CoreException {
+    /**
+     * Moves the events set aside and the queued events to the spool, or,
+     * without a spool, to the list of events to send from memory.
+     */
+    private void spoolQueuedEvents() {
+        synchronized (spoolLock) {
+            List<MetricDatum> events;
+            synchronized (overflowLock) {
+                // The events set aside are older than those still queued
+                events = new ArrayList<>(overflowEvents.size() + eventQueue.size());
+                events.addAll(overflowEvents);
+                overflowEvents.clear();
+                eventQueue.drainTo(events);
+            }
+            if (events.isEmpty()) {
+                return;
+            }
+            if (spool != null) {
                 try {
-                    postTelemetry();
-                } finally {
-                    isSendingPutEventsRequest.set(false);
+                    spool.append(events);
+                    return;
+                } catch (IOException e) {
+                    AwsToolkitCore.getDefault().logWarning("Unable to spool telemetry events", e);
                 }
             }
+            unspooledEvents.addAll(events);
+            if (unspooledEvents.size() > MAX_QUEUE_SIZE) {
+                List<MetricDatum> oldest = unspooledEvents.subList(0, unspooledEvents.size() - MAX_QUEUE_SIZE);
+                droppedCount.addAndGet(oldest.size());
+                oldest.clear();
+            }
+        }
+    }
+
+    private final class FlushJob extends Job {
+
+        FlushJob() {
+            super("Posting telemetry");
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            if (shutDown) {
+                return Status.CANCEL_STATUS;
+            }
+            spoolQueuedEvents();
+            try {
+                postTelemetry();
+                consecutiveFailures = 0;
+            } catch (Exception e) {
+                consecutiveFailures++;
+                AwsToolkitCore.getDefault().logError("Unable to post telemetry", e);
+            }
 
-            private void postTelemetry() {
-                int base = 0;
-                while (base < eventsBatch.size()) {
-                    final List<MetricDatum> events = eventsBatch.subList(base, Math.min(base + POLL_LIMIT, eventsBatch.size()));
-                    if (events.isEmpty()) {
-                        break;
-                    }
-                    try {
-                        telemetryClient.publish(events);
-                        AwsToolkitCore.getDefault().logInfo("Posting telemetry succeeded");
-                    } catch (Exception e) {
-                        eventQueue.addToHead(events);
-                        AwsToolkitCore.getDefault().logError("Unable to post telemetry", e);
-                    }
-                    base += POLL_LIMIT;
+            if (consecutiveFailures > 0) {
+                scheduleFlush(backoffDelay());
+            } else if (eventQueue.size() >= MIN_EVENT_BATCH_SIZE) {
+                scheduleFlush(0);
+            } else if (eventQueue.size() > 0) {
+                scheduleFlush(FLUSH_INTERVAL_MILLIS);
+            }
+            return Status.OK_STATUS;
+        }
+
+        /**
+         * Sends everything spooled so far, a batch at a time. A batch that
+         * fails stays at the head of the spool.
+         */
+        private void postTelemetry() throws IOException {
+            while (true) {
+                List<MetricDatum> events;
+                synchronized (spoolLock) {
+                    events = new ArrayList<>(unspooledEvents.subList(0, Math.min(POST_LIMIT, unspooledEvents.size())));
+                }
+                if (events.isEmpty()) {
+                    break;
+                }
+                telemetryClient.publish(events);
+                synchronized (spoolLock) {
+                    // Only this job removes events, so they are still at the head
+                    unspooledEvents.subList(0, events.size()).clear();
                 }
+                flushedCount.addAndGet(events.size());
             }
-        });
-        j.setSystem(true);
-        j.schedule();
+            if (spool == null) {
+                return;
+            }
+            while (true) {
+                List<MetricDatum> events = spool.peek(POST_LIMIT);
+                if (events.isEmpty()) {
+                    return;
+                }
+                telemetryClient.publish(events);
+                spool.commit();
+                flushedCount.addAndGet(events.size());
+            }
+        }
+
+        private long backoffDelay() {
+            long delay = MIN_BACKOFF_MILLIS << Math.min(consecutiveFailures - 1, 16);
+            delay = Math.min(delay, MAX_BACKOFF_MILLIS);
+            // Full jitter, so restarts of many workbenches don't retry in step
+            return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        }
     }
 }
@@ -41,4 +41,8 @@ public class NoOpToolkitAnalyticsManager implements ToolkitAnalyticsManager {
     @Override
     public void setEnabled(boolean enabled) {
     }
+
+    @Override
+    public void shutdown() {
+    }
 }
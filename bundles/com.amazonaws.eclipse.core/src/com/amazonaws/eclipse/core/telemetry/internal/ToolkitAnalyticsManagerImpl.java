@@ -122,6 +122,11 @@ public class ToolkitAnalyticsManagerImpl implements ToolkitAnalyticsManager {
         }
     }
 
+    @Override
+    public synchronized void shutdown() {
+        this.batchClient.shutdown();
+    }
+
     @Override
     public ToolkitEventBuilder eventBuilder() {
         // Start building the event based on the current session
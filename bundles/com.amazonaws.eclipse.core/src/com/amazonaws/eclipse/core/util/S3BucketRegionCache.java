@@ -0,0 +1,377 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.core.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.eclipse.core.AwsToolkitCore;
+import com.amazonaws.handlers.RequestHandler2;
+import com.amazonaws.regions.Regions;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.HeadBucketRequest;
+
+/**
+ * Caches the region of S3 buckets so that bucket-specific clients can be
+ * created without a GetBucketLocation round trip on every call.
+ * <p>
+ * Resolved regions are kept for {@link #POSITIVE_TTL_MILLIS} and persisted in
+ * the core plugin's state location so they survive restarts. Failed lookups
+ * are remembered for {@link #NEGATIVE_TTL_MILLIS} so a missing or forbidden
+ * bucket isn't probed over and over; since a bucket forbidden to one account
+ * may be readable by another, they are remembered per account. Entries are
+ * dropped automatically when S3 answers a request with a 301
+ * PermanentRedirect, see {@link #newRedirectHandler()}.
+ */
+public class S3BucketRegionCache {
+
+    public static final long POSITIVE_TTL_MILLIS = TimeUnit.DAYS.toMillis(1);
+    public static final long NEGATIVE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final String CACHE_FILE_NAME = "s3-bucket-regions.properties";
+    private static final int PREWARM_THREADS = 8;
+    private static final long SAVE_DELAY_MILLIS = 5000;
+
+    private static S3BucketRegionCache instance;
+
+    private final ConcurrentMap<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    /** The failed lookups, by account and bucket name, see {@link #getLookupKey(String, String)}. */
+    private final ConcurrentMap<String, CacheEntry> failures = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final File cacheFile;
+    private final Job saveJob;
+    private final ExecutorService prewarmExecutor;
+
+    /**
+     * Returns the shared cache, backed by a file in the core plugin's state
+     * location.
+     */
+    public static synchronized S3BucketRegionCache getDefault() {
+        if (instance == null) {
+            File stateLocation = AwsToolkitCore.getDefault().getStateLocation().toFile();
+            instance = new S3BucketRegionCache(new File(stateLocation, CACHE_FILE_NAME));
+        }
+        return instance;
+    }
+
+    /**
+     * @param cacheFile
+     *            The file resolved regions are persisted to, or null to keep
+     *            the cache in memory only.
+     */
+    public S3BucketRegionCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+        this.saveJob = cacheFile == null ? null : new SaveJob();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(PREWARM_THREADS, PREWARM_THREADS,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "S3 bucket region resolver");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        this.prewarmExecutor = executor;
+
+        load();
+    }
+
+    /**
+     * Returns the region of the given bucket for a client of an unknown
+     * account; see {@link #getBucketRegion(String, String, AmazonS3)}.
+     */
+    public String getBucketRegion(String bucketName, AmazonS3 s3) {
+        return getBucketRegion(null, bucketName, s3);
+    }
+
+    /**
+     * Returns the region of the given bucket, issuing a GetBucketLocation
+     * request with the given client only when there is no fresh cache entry.
+     *
+     * @param accountId
+     *            The account of the client, which failed lookups are
+     *            remembered for; null if unknown.
+     * @throws AmazonClientException
+     *             If the region can't be determined, or couldn't be determined
+     *             for the same account within the last
+     *             {@link #NEGATIVE_TTL_MILLIS}.
+     */
+    public String getBucketRegion(String accountId, String bucketName, AmazonS3 s3) {
+        CacheEntry entry = entries.get(bucketName);
+        if (entry != null && !entry.isExpired()) {
+            return entry.region;
+        }
+        String lookupKey = getLookupKey(accountId, bucketName);
+        CacheEntry failure = failures.get(lookupKey);
+        if (failure != null && !failure.isExpired()) {
+            throw new AmazonClientException("Unable to determine the region of bucket " + bucketName
+                    + ": " + failure.failureMessage);
+        }
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(lookupKey, future);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        try {
+            String region = resolveBucketRegion(bucketName, s3);
+            putBucketRegion(bucketName, region);
+            future.complete(region);
+            return region;
+        } catch (RuntimeException e) {
+            // Only remember definitive answers from S3, not transient network failures
+            if (e instanceof AmazonServiceException) {
+                failures.put(lookupKey, CacheEntry.failure(e.getMessage()));
+            }
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(lookupKey, future);
+        }
+    }
+
+    /**
+     * Resolves the regions of all the given buckets in parallel in the
+     * background, skipping buckets that already have a fresh cache entry.
+     *
+     * @param accountId
+     *            The account of the client, or null if unknown.
+     */
+    public void prewarm(String accountId, Collection<String> bucketNames, AmazonS3 s3) {
+        for (String bucketName : bucketNames) {
+            CacheEntry entry = entries.get(bucketName);
+            CacheEntry failure = failures.get(getLookupKey(accountId, bucketName));
+            if (entry != null && !entry.isExpired() || failure != null && !failure.isExpired()) {
+                continue;
+            }
+            prewarmExecutor.execute(() -> {
+                try {
+                    getBucketRegion(accountId, bucketName, s3);
+                } catch (Exception e) {
+                    AwsToolkitCore.getDefault().logInfo("Unable to resolve the region of bucket "
+                            + bucketName + ": " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    /** Records the region of the given bucket, e.g. right after creating it. */
+    public void putBucketRegion(String bucketName, String region) {
+        entries.put(bucketName, CacheEntry.success(region));
+        scheduleSave();
+    }
+
+    /** Drops the cached region of the given bucket, and its failed lookups for every account. */
+    public void invalidate(String bucketName) {
+        failures.keySet().removeIf(key -> key.endsWith("|" + bucketName));
+        if (entries.remove(bucketName) != null) {
+            scheduleSave();
+        }
+    }
+
+    /** Bucket names can't contain '|', so the bucket name is always what follows the last one. */
+    private static String getLookupKey(String accountId, String bucketName) {
+        return accountId + "|" + bucketName;
+    }
+
+    /**
+     * Returns a request handler that drops the cached region of a bucket
+     * whenever S3 redirects a request for it, so the next lookup fetches the
+     * current location. Attach it to every client created from a cached
+     * region.
+     */
+    public RequestHandler2 newRedirectHandler() {
+        return new RequestHandler2() {
+            @Override
+            public void afterError(Request<?> request, Response<?> response, Exception e) {
+                if (!(e instanceof AmazonS3Exception)) {
+                    return;
+                }
+                AmazonS3Exception s3Exception = (AmazonS3Exception) e;
+                if (s3Exception.getStatusCode() != 301
+                        && !"PermanentRedirect".equals(s3Exception.getErrorCode())
+                        && !"AuthorizationHeaderMalformed".equals(s3Exception.getErrorCode())) {
+                    return;
+                }
+
+                Map<String, String> details = s3Exception.getAdditionalDetails();
+                String bucketName = details == null ? null : details.get("Bucket");
+                if (bucketName == null) {
+                    return;
+                }
+                String region = details.get("Region");
+                if (region != null) {
+                    putBucketRegion(bucketName, region);
+                } else {
+                    invalidate(bucketName);
+                }
+            }
+        };
+    }
+
+    private static String resolveBucketRegion(String bucketName, AmazonS3 s3) {
+        String region;
+        try {
+            region = s3.getBucketLocation(bucketName);
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() != 403) {
+                throw e;
+            }
+            // GetBucketLocation is often denied to non-owners; HeadBucket reports the region as well.
+            region = s3.headBucket(new HeadBucketRequest(bucketName)).getBucketRegion();
+        }
+        if (region == null || region.isEmpty() || region.equals("US")) {
+            region = Regions.US_EAST_1.getName();
+        } else if (region.equals("EU")) {
+            region = Regions.EU_WEST_1.getName();
+        }
+        return region;
+    }
+
+    private static String join(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void scheduleSave() {
+        if (saveJob != null) {
+            saveJob.schedule(SAVE_DELAY_MILLIS);
+        }
+    }
+
+    private void load() {
+        if (cacheFile == null || !cacheFile.exists()) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(cacheFile)) {
+            properties.load(in);
+        } catch (IOException e) {
+            AwsToolkitCore.getDefault().logWarning("Unable to load the S3 bucket region cache", e);
+            return;
+        }
+
+        for (String bucketName : properties.stringPropertyNames()) {
+            String[] value = properties.getProperty(bucketName).split(",", 2);
+            if (value.length != 2) {
+                continue;
+            }
+            try {
+                CacheEntry entry = new CacheEntry(value[0], null, Long.parseLong(value[1]));
+                if (!entry.isExpired()) {
+                    entries.putIfAbsent(bucketName, entry);
+                }
+            } catch (NumberFormatException e) {
+                // Ignore the corrupted entry, it will be resolved again
+            }
+        }
+    }
+
+    private void save() throws IOException {
+        Properties properties = new Properties();
+        for (Entry<String, CacheEntry> entry : entries.entrySet()) {
+            CacheEntry value = entry.getValue();
+            if (value.region != null && !value.isExpired()) {
+                properties.setProperty(entry.getKey(), value.region + "," + value.timestamp);
+            }
+        }
+
+        File tempFile = new File(cacheFile.getParentFile(), CACHE_FILE_NAME + ".tmp");
+        try (OutputStream out = new FileOutputStream(tempFile)) {
+            properties.store(out, "S3 bucket regions");
+        }
+        if (!tempFile.renameTo(cacheFile)) {
+            cacheFile.delete();
+            if (!tempFile.renameTo(cacheFile)) {
+                throw new IOException("Unable to replace " + cacheFile);
+            }
+        }
+    }
+
+    private class SaveJob extends Job {
+        public SaveJob() {
+            super("Saving S3 bucket regions");
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            try {
+                save();
+            } catch (IOException e) {
+                return new Status(IStatus.WARNING, AwsToolkitCore.getDefault().getPluginId(),
+                        "Unable to save the S3 bucket region cache", e);
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+    private static final class CacheEntry {
+        private final String region;
+        private final String failureMessage;
+        private final long timestamp;
+
+        private CacheEntry(String region, String failureMessage, long timestamp) {
+            this.region = region;
+            this.failureMessage = failureMessage;
+            this.timestamp = timestamp;
+        }
+
+        private static CacheEntry success(String region) {
+            return new CacheEntry(region, null, System.currentTimeMillis());
+        }
+
+        private static CacheEntry failure(String failureMessage) {
+            return new CacheEntry(null, failureMessage, System.currentTimeMillis());
+        }
+
+        private boolean isExpired() {
+            long ttl = region == null ? NEGATIVE_TTL_MILLIS : POSITIVE_TTL_MILLIS;
+            return System.currentTimeMillis() - timestamp > ttl;
+        }
+    }
+}
@@ -74,10 +74,7 @@ public class S3BucketUtil {
     private static boolean isBucketInRegion(AmazonS3 s3, Bucket bucket,
             Region eclipseRegion) {
 
-        String s3RegionId = s3.getBucketLocation(bucket.getName());
-        if (s3RegionId == null || s3RegionId.equals("US")) {
-            s3RegionId = "us-east-1";
-        }
+        String s3RegionId = S3BucketRegionCache.getDefault().getBucketRegion(bucket.getName(), s3);
         return eclipseRegion.getId().equals(s3RegionId);
     }
 }
\ No newline at end of file
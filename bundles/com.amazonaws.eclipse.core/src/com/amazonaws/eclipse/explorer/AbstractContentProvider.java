@@ -28,6 +28,8 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.ITreeViewerListener;
+import org.eclipse.jface.viewers.TreeExpansionEvent;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.swt.widgets.Display;
@@ -51,11 +53,30 @@ public abstract class AbstractContentProvider implements ITreeContentProvider, I
     /** Reference to the TreeViewer in which content will be displayed. */
     protected TreeViewer viewer;
 
-    /** Cache for previously loaded data */
-    protected Map<Object, Object[]> cachedResponses = new ConcurrentHashMap<>();
+    /**
+     * Cache for previously loaded data, by region id, so that switching back
+     * to a region shows what was loaded there while it is reloaded.
+     */
+    private final Map<String, ExplorerNodeCache> cachedResponsesByRegion = new ConcurrentHashMap<>();
 
     protected BackgroundContentUpdateJobFactory backgroundJobFactory;
 
+    /**
+     * Cancels the pending load of a node when it is collapsed before its
+     * children arrived; the node is reset so expanding it again reloads it.
+     */
+    private final ITreeViewerListener collapseListener = new ITreeViewerListener() {
+        @Override
+        public void treeCollapsed(final TreeExpansionEvent event) {
+            if (ExplorerLoaderExecutor.getDefault().cancel(AbstractContentProvider.this, event.getElement())) {
+                Display.getDefault().asyncExec(new RefreshRunnable(viewer, event.getElement()));
+            }
+        }
+
+        @Override
+        public void treeExpanded(TreeExpansionEvent event) {}
+    };
+
     /**
      * Creates a new AbstractContentProvider and registers it with the registry
      * of AWS Explorer ContentProviders.
@@ -69,8 +90,9 @@ public abstract class AbstractContentProvider implements ITreeContentProvider, I
      * implement this method, and should use {@link DataLoaderThread}
      * implementations to load any remote AWS data asynchronously. Caching is
      * handling by {@link AbstractContentProvider}, so this method will only be
-     * invoked if no data was found in the cache and remote data needs to be
-     * loaded.
+     * invoked if no fresh data was found in the cache and remote data needs to
+     * be loaded. While stale data is being reloaded, the cached children keep
+     * being displayed.
      * <p>
      * Subclasses should implement this method and <b>not</b> the getElement or
      * getChildren methods.
@@ -97,18 +119,42 @@ public abstract class AbstractContentProvider implements ITreeContentProvider, I
     public abstract String getServiceAbbreviation();
 
     /**
-     * Thread to asynchronously load data for an AWS Explorer ContentProvider.
-     * This class takes care of several error cases, such as not being signed up
-     * for a service yet and handles them correctly so that subclasses don't
-     * have to worry about. Subclasses simply need to implement the loadData()
-     * method to return their specific data.
+     * Returns how long the loaded children of the given parent element are
+     * considered fresh. Subclasses can override this for data that changes
+     * more or less often.
+     */
+    protected long getCacheTimeToLive(Object parentElement) {
+        return ExplorerNodeCache.DEFAULT_TTL_MILLIS;
+    }
+
+    /**
+     * Returns the currently cached children of the given parent element, or
+     * null if none are cached.
+     */
+    protected Object[] getCachedChildren(Object parentElement) {
+        ExplorerNodeCache.Entry entry = getCachedResponses().get(parentElement);
+        return entry == null ? null : entry.getChildren();
+    }
+
+    /**
+     * Asynchronously loads data for an AWS Explorer ContentProvider on the
+     * shared {@link ExplorerLoaderExecutor}. This class takes care of several
+     * error cases, such as not being signed up for a service yet and handles
+     * them correctly so that subclasses don't have to worry about. Subclasses
+     * simply need to implement the loadData() method to return their specific
+     * data.
      *
      * This class also takes care of storing the returned results from
-     * loadData() into the ContentProvider's cache.
+     * loadData() into the ContentProvider's cache. Concurrent loads of the
+     * same parent element are merged, and the results of a load cancelled
+     * because its node was collapsed or the region was switched are dropped.
      */
-    protected abstract class DataLoaderThread extends Thread {
+    protected abstract class DataLoaderThread implements Runnable {
         private final Object parentElement;
 
+        /** The cache of the region the data is loaded from. */
+        private final ExplorerNodeCache cachedResponses = getCachedResponses();
+
         /** Various AWS error codes indicating that a developer isn't signed up yet. */
         private final List<String> NOT_SIGNED_UP_ERROR_CODES =
             Arrays.asList("NotSignedUp", "SubscriptionCheckFailed", "OptInRequired");
@@ -127,34 +173,56 @@ public abstract class AbstractContentProvider implements ITreeContentProvider, I
          */
         public abstract Object[] loadData();
 
+        /**
+         * Schedules this load on the shared explorer loader executor, unless a
+         * load of the same parent element is already pending.
+         */
+        public void start() {
+            ExplorerLoaderExecutor.getDefault().submit(
+                    getServiceAbbreviation(), AbstractContentProvider.this, parentElement, this);
+        }
+
         @Override
         public final void run() {
+            Object[] children;
+            boolean loaded = false;
             try {
-                cachedResponses.put(parentElement, loadData());
-                if ( null != backgroundJobFactory ) {
-                    backgroundJobFactory.startBackgroundContentUpdateJob(parentElement);
-                }
+                children = loadData();
+                loaded = true;
             } catch (Exception e) {
                 if ( e instanceof AmazonServiceException
                         && NOT_SIGNED_UP_ERROR_CODES.contains(((AmazonServiceException) e).getErrorCode()) ) {
-                    cachedResponses.put(parentElement,
-                            new Object[] { new NotSignedUpNode(((AmazonServiceException) e).getServiceName()) });
+                    children = new Object[] { new NotSignedUpNode(((AmazonServiceException) e).getServiceName()) };
                 } else {
-                    cachedResponses.put(parentElement, new Object[] { new UnableToConnectNode() });
+                    children = new Object[] { new UnableToConnectNode() };
                 }
 
                 AwsToolkitCore.getDefault().logWarning("Error loading explorer data", e);
             }
 
-            Display.getDefault().syncExec(new RefreshRunnable(viewer, parentElement));
+            if ( ExplorerLoaderExecutor.isCurrentLoadCancelled() ) {
+                return;
+            }
+
+            cachedResponses.put(parentElement, children, getCacheTimeToLive(parentElement));
+            if ( loaded && null != backgroundJobFactory ) {
+                backgroundJobFactory.startBackgroundContentUpdateJob(parentElement);
+            }
+
+            Display.getDefault().asyncExec(new RefreshRunnable(viewer, parentElement));
         }
     }
 
     /**
-     * Clears all cached responses and reinitializes the tree.
+     * Marks all cached responses as stale and refreshes the tree. Expanded
+     * nodes keep showing their cached children while they are reloaded in the
+     * background, and each node is re-rendered once its new children arrive.
      */
     public synchronized void refresh() {
-        this.cachedResponses.clear();
+        ExplorerLoaderExecutor.getDefault().cancelAll(this);
+        for (ExplorerNodeCache cachedResponses : cachedResponsesByRegion.values()) {
+            cachedResponses.markAllStale();
+        }
 
         Object[] children = this.getChildren(new AWSResourcesRootElement());
         if (children.length == 0) {
@@ -199,16 +267,20 @@ public abstract class AbstractContentProvider implements ITreeContentProvider, I
             return new Object[0];
         }
 
-        if ( cachedResponses.containsKey(parentElement)) {
-            if ( null != backgroundJobFactory ) {
-                backgroundJobFactory.startBackgroundContentUpdateJob(parentElement);
+        ExplorerNodeCache.Entry cached = getCachedResponses().get(parentElement);
+        if ( cached != null ) {
+            if ( !cached.isFresh() && AwsToolkitCore.getDefault().getAccountInfo().isValid() ) {
+                // Serve the stale children while they are reloaded in the background
+                loadChildren(parentElement);
+            } else if ( null != backgroundJobFactory ) {
+                backgroundJobFactory.ensureBackgroundContentUpdateJob(parentElement);
             }
 
             if (!(parentElement instanceof AWSResourcesRootElement)) {
                 publishBooleansEvent(EXPLORER_LOADING, parentElement.getClass().getSimpleName(), true);
             }
 
-            return cachedResponses.get(parentElement);
+            return cached.getChildren();
         }
 
         if (!AwsToolkitCore.getDefault().getAccountInfo().isValid()) {
@@ -226,15 +298,46 @@ public abstract class AbstractContentProvider implements ITreeContentProvider, I
 
     @Override
     public void dispose() {
+        ExplorerLoaderExecutor.getDefault().cancelAll(this);
+        if (viewer != null) {
+            viewer.removeTreeListener(collapseListener);
+        }
         ContentProviderRegistry.unregisterContentProvider(this);
     }
 
     public void clearCachedResponse() {
-        cachedResponses.clear();
+        ExplorerLoaderExecutor.getDefault().cancelAll(this);
+        cachedResponsesByRegion.clear();
+    }
+
+    /**
+     * Cancels the loads from the previous region when another region is
+     * selected. What was loaded from the new region before is kept, but
+     * marked stale so that it is reloaded as soon as it is shown.
+     */
+    public void currentRegionChanged() {
+        ExplorerLoaderExecutor.getDefault().cancelAll(this);
+        getCachedResponses().markAllStale();
+    }
+
+    /**
+     * Returns the cache of the data loaded from the current region.
+     */
+    private ExplorerNodeCache getCachedResponses() {
+        return cachedResponsesByRegion.computeIfAbsent(
+                RegionUtils.getCurrentRegion().getId(), regionId -> new ExplorerNodeCache());
     }
 
     @Override
     public void inputChanged(final Viewer viewer, final Object oldInput, final Object newInput) {
+        if (this.viewer != viewer) {
+            if (this.viewer != null) {
+                this.viewer.removeTreeListener(collapseListener);
+            }
+            if (viewer != null) {
+                ((TreeViewer) viewer).addTreeListener(collapseListener);
+            }
+        }
         this.viewer = (TreeViewer) viewer;
     }
 
@@ -304,6 +407,22 @@ public abstract class AbstractContentProvider implements ITreeContentProvider, I
             return backgroundJobs.get(parentElement);
         }
 
+        /**
+         * Starts the background job of the given parent element if it isn't
+         * already scheduled, without restarting a job that is waiting for its
+         * next run.
+         */
+        public synchronized void ensureBackgroundContentUpdateJob(final Object parentElement) {
+            Job currentJob = getBackgroundJobByParentElement(parentElement);
+            if ( currentJob == null || currentJob.getState() == Job.NONE ) {
+                startBackgroundContentUpdateJob(parentElement);
+            }
+        }
+
+        /**
+         * Starts, or immediately restarts, the background job of the given
+         * parent element, e.g. after its children have been reloaded.
+         */
         public synchronized void startBackgroundContentUpdateJob(final Object parentElement) {
             Job currentJob = getBackgroundJobByParentElement(parentElement);
             if ( currentJob == null ) {
@@ -317,6 +436,18 @@ public abstract class AbstractContentProvider implements ITreeContentProvider, I
 
                     @Override
                     protected IStatus run(IProgressMonitor monitor) {
+                        ExplorerNodeCache.Entry cached = getCachedResponses().get(updatedParentElement);
+                        if ( cached == null ) {
+                            /* Nothing is displayed for this element any more */
+                            backgroundJobs.remove(updatedParentElement);
+                            return Status.OK_STATUS;
+                        }
+                        if ( !cached.isFresh() ) {
+                            /* The children are being reloaded; polling the old ones is wasted work */
+                            this.schedule(getRefreshDelay());
+                            return Status.OK_STATUS;
+                        }
+
                         try {
                             if ( executeBackgroundJob(updatedParentElement) ) {
                                 /* Reschedule the job after some delay */
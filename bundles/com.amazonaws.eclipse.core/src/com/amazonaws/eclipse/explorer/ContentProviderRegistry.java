@@ -45,4 +45,10 @@ public class ContentProviderRegistry {
             contentProvider.clearCachedResponse();
         }
     }
+
+    public static void notifyCurrentRegionChanged() {
+        for (AbstractContentProvider contentProvider : contentProviders) {
+            contentProvider.currentRegionChanged();
+        }
+    }
 }
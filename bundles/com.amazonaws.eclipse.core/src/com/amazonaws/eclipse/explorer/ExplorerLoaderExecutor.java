@@ -0,0 +1,315 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.explorer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.amazonaws.eclipse.core.AwsToolkitCore;
+
+/**
+ * Shared, bounded executor for the remote calls made by AWS Explorer content
+ * providers and resource editors.
+ * <p>
+ * Loads run on a fixed pool of {@link #MAX_THREADS} daemon threads, and no
+ * more than {@link #MAX_CONCURRENT_LOADS_PER_SERVICE} loads of the same
+ * service run at once so one slow service can't starve the others. A load is
+ * identified by its owner (a content provider or an editor) and a key (such
+ * as the parent element being expanded); submitting a load that is already
+ * queued or running merges into the existing one instead of issuing the same
+ * request twice. Loads can be cancelled individually or per owner, e.g. when
+ * a node is collapsed or the region is switched.
+ */
+public final class ExplorerLoaderExecutor {
+
+    public static final int MAX_THREADS = 8;
+    public static final int MAX_CONCURRENT_LOADS_PER_SERVICE = 3;
+
+    private static final ExplorerLoaderExecutor INSTANCE = new ExplorerLoaderExecutor(
+            MAX_THREADS, MAX_CONCURRENT_LOADS_PER_SERVICE);
+
+    private static final ThreadLocal<LoadTask> CURRENT_TASK = new ThreadLocal<>();
+
+    private final ThreadPoolExecutor pool;
+    private final int maxConcurrentLoadsPerService;
+    private final ConcurrentMap<String, ServiceLane> lanes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<LoadKey, LoadTask> tasks = new ConcurrentHashMap<>();
+
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong mergedCount = new AtomicLong();
+    private final AtomicLong cancelledCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong totalQueueTimeNanos = new AtomicLong();
+    private final AtomicLong totalRunTimeNanos = new AtomicLong();
+
+    public static ExplorerLoaderExecutor getDefault() {
+        return INSTANCE;
+    }
+
+    public ExplorerLoaderExecutor(int maxThreads, int maxConcurrentLoadsPerService) {
+        this.maxConcurrentLoadsPerService = maxConcurrentLoadsPerService;
+        this.pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactoryImpl());
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Schedules the given load unless an equivalent load (same owner and key)
+     * is already queued or running.
+     *
+     * @param serviceAbbreviation
+     *            The service the load talks to, used for throttling.
+     * @param owner
+     *            The content provider or editor the load belongs to.
+     * @param key
+     *            Identifies the load within its owner, e.g. the parent element
+     *            whose children are being loaded.
+     * @param loader
+     *            The work to run.
+     * @return True if the load was scheduled, false if it was merged into an
+     *         existing one.
+     */
+    public boolean submit(String serviceAbbreviation, Object owner, Object key, Runnable loader) {
+        LoadKey loadKey = new LoadKey(owner, key);
+        LoadTask task = new LoadTask(loadKey, serviceAbbreviation, loader);
+
+        LoadTask existing = tasks.putIfAbsent(loadKey, task);
+        if (existing != null) {
+            mergedCount.incrementAndGet();
+            return false;
+        }
+
+        submittedCount.incrementAndGet();
+        queuedCount.incrementAndGet();
+        lanes.computeIfAbsent(serviceAbbreviation, s -> new ServiceLane()).enqueue(task);
+        return true;
+    }
+
+    /**
+     * Cancels the load with the given owner and key. A queued load is dropped;
+     * a running load finishes its current request but
+     * {@link #isCurrentLoadCancelled()} reports true so its result can be
+     * discarded.
+     *
+     * @return True if a queued or running load was cancelled.
+     */
+    public boolean cancel(Object owner, Object key) {
+        LoadTask task = tasks.get(new LoadKey(owner, key));
+        return task != null && cancel(task);
+    }
+
+    /**
+     * Cancels every queued or running load of the given owner.
+     */
+    public void cancelAll(Object owner) {
+        for (Entry<LoadKey, LoadTask> entry : new ArrayList<>(tasks.entrySet())) {
+            if (entry.getKey().owner == owner) {
+                cancel(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns whether the load running on the calling thread has been
+     * cancelled. Returns false when not called from a load.
+     */
+    public static boolean isCurrentLoadCancelled() {
+        LoadTask task = CURRENT_TASK.get();
+        return task != null && task.cancelled;
+    }
+
+    /** Returns the number of loads waiting to run. */
+    public int getQueueDepth() {
+        return queuedCount.get();
+    }
+
+    /** Returns the number of loads currently running. */
+    public int getActiveCount() {
+        return pool.getActiveCount();
+    }
+
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    public long getMergedCount() {
+        return mergedCount.get();
+    }
+
+    public long getCancelledCount() {
+        return cancelledCount.get();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /** Returns the average time, in milliseconds, loads waited before running. */
+    public long getAverageQueueLatencyMillis() {
+        long completed = completedCount.get();
+        return completed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalQueueTimeNanos.get() / completed);
+    }
+
+    /** Returns the average time, in milliseconds, loads took to run. */
+    public long getAverageRunTimeMillis() {
+        long completed = completedCount.get();
+        return completed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalRunTimeNanos.get() / completed);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExplorerLoaderExecutor[queued=%d, active=%d, submitted=%d, merged=%d, "
+                + "cancelled=%d, completed=%d, avgQueueLatency=%dms, avgRunTime=%dms]",
+                getQueueDepth(), getActiveCount(), getSubmittedCount(), getMergedCount(),
+                getCancelledCount(), getCompletedCount(), getAverageQueueLatencyMillis(),
+                getAverageRunTimeMillis());
+    }
+
+    private boolean cancel(LoadTask task) {
+        if (task.cancelled) {
+            return false;
+        }
+        task.cancelled = true;
+        tasks.remove(task.key, task);
+        cancelledCount.incrementAndGet();
+
+        ServiceLane lane = lanes.get(task.serviceAbbreviation);
+        if (lane != null && lane.remove(task)) {
+            queuedCount.decrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * Pending loads of one service. Loads are handed to the shared pool only
+     * while fewer than the per-service limit are running.
+     */
+    private final class ServiceLane {
+        private final Deque<LoadTask> pending = new ArrayDeque<>();
+        private int running;
+
+        synchronized void enqueue(LoadTask task) {
+            pending.addLast(task);
+            drain();
+        }
+
+        synchronized boolean remove(LoadTask task) {
+            return pending.remove(task);
+        }
+
+        synchronized void finished() {
+            running--;
+            drain();
+        }
+
+        private void drain() {
+            while (running < maxConcurrentLoadsPerService && !pending.isEmpty()) {
+                LoadTask task = pending.pollFirst();
+                queuedCount.decrementAndGet();
+                running++;
+                pool.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        finished();
+                    }
+                });
+            }
+        }
+    }
+
+    private final class LoadTask {
+        private final LoadKey key;
+        private final String serviceAbbreviation;
+        private final Runnable loader;
+        private final long submitTime = System.nanoTime();
+        private volatile boolean cancelled;
+
+        LoadTask(LoadKey key, String serviceAbbreviation, Runnable loader) {
+            this.key = key;
+            this.serviceAbbreviation = serviceAbbreviation;
+            this.loader = loader;
+        }
+
+        void run() {
+            if (cancelled) {
+                return;
+            }
+
+            long startTime = System.nanoTime();
+            CURRENT_TASK.set(this);
+            try {
+                loader.run();
+            } catch (Exception e) {
+                AwsToolkitCore.getDefault().logError("Unable to load " + serviceAbbreviation + " data", e);
+            } finally {
+                CURRENT_TASK.remove();
+                tasks.remove(key, this);
+
+                long endTime = System.nanoTime();
+                totalQueueTimeNanos.addAndGet(startTime - submitTime);
+                totalRunTimeNanos.addAndGet(endTime - startTime);
+                completedCount.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class LoadKey {
+        private final Object owner;
+        private final Object key;
+
+        LoadKey(Object owner, Object key) {
+            this.owner = owner;
+            this.key = key;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(owner) + (key == null ? 0 : key.hashCode());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof LoadKey)) {
+                return false;
+            }
+            LoadKey other = (LoadKey) obj;
+            return owner == other.owner
+                    && (key == null ? other.key == null : key.equals(other.key));
+        }
+    }
+
+    private static final class ThreadFactoryImpl implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "AWS Explorer loader " + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
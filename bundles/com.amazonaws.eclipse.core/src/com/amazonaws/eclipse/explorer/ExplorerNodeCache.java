@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.explorer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-node cache of the children loaded by an AWS Explorer content provider.
+ * <p>
+ * Every entry has a time-to-live; once it expires, or once the entry is
+ * explicitly marked stale, the entry is still served but reported as not
+ * fresh so the caller can reload it in the background (stale-while-revalidate).
+ * The cache holds at most a fixed number of nodes and evicts the least
+ * recently used ones beyond that.
+ * <p>
+ * This class is thread safe.
+ */
+public final class ExplorerNodeCache {
+
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private final Map<Object, Entry> entries;
+
+    public ExplorerNodeCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public ExplorerNodeCache(final int maxEntries) {
+        this.entries = new LinkedHashMap<Object, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached entry for the given parent element, or null if its
+     * children were never loaded or have been evicted.
+     */
+    public synchronized Entry get(Object parentElement) {
+        return entries.get(parentElement);
+    }
+
+    /**
+     * Caches freshly loaded children of the given parent element.
+     */
+    public synchronized void put(Object parentElement, Object[] children, long ttlMillis) {
+        entries.put(parentElement, new Entry(children, System.currentTimeMillis(), ttlMillis));
+    }
+
+    /**
+     * Marks every entry as stale. The entries are still served until they are
+     * reloaded.
+     */
+    public synchronized void markAllStale() {
+        for (Entry entry : entries.values()) {
+            entry.stale = true;
+        }
+    }
+
+    /**
+     * Marks the entry of the given parent element as stale, if there is one.
+     */
+    public synchronized void markStale(Object parentElement) {
+        Entry entry = entries.get(parentElement);
+        if (entry != null) {
+            entry.stale = true;
+        }
+    }
+
+    public synchronized void remove(Object parentElement) {
+        entries.remove(parentElement);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** The children of one node along with when they were loaded. */
+    public static final class Entry {
+        private final Object[] children;
+        private final long loadedAt;
+        private final long ttlMillis;
+        private volatile boolean stale;
+
+        private Entry(Object[] children, long loadedAt, long ttlMillis) {
+            this.children = children;
+            this.loadedAt = loadedAt;
+            this.ttlMillis = ttlMillis;
+        }
+
+        public Object[] getChildren() {
+            return children;
+        }
+
+        /** Returns how long ago, in milliseconds, the children were loaded. */
+        public long getAgeMillis() {
+            return System.currentTimeMillis() - loadedAt;
+        }
+
+        /**
+         * Returns false once the entry expired or was marked stale, meaning it
+         * should be reloaded.
+         */
+        public boolean isFresh() {
+            return !stale && getAgeMillis() < ttlMillis;
+        }
+    }
+}
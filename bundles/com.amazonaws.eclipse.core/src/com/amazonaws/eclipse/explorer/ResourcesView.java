@@ -30,6 +30,9 @@ import org.eclipse.ui.navigator.CommonViewer;
 
 import com.amazonaws.eclipse.core.AccountAndRegionChangeListener;
 import com.amazonaws.eclipse.core.AwsToolkitCore;
+import com.amazonaws.eclipse.core.regions.RegionChangeEvent;
+import com.amazonaws.eclipse.core.regions.RegionChangeListener;
+import com.amazonaws.eclipse.core.regions.RegionUtils;
 
 public class ResourcesView extends CommonNavigator {
 
@@ -41,6 +44,8 @@ public class ResourcesView extends CommonNavigator {
 
     private AccountAndRegionChangeListener accountAndRegionChangeListener;
 
+    private RegionChangeListener regionChangeListener;
+
     @Override
     protected Object getInitialInput() {
         return rootElement;
@@ -60,7 +65,9 @@ public class ResourcesView extends CommonNavigator {
          if (accountAndRegionChangeListener != null) {
              AwsToolkitCore.getDefault().getAccountManager().removeAccountInfoChangeListener(accountAndRegionChangeListener);
              AwsToolkitCore.getDefault().getAccountManager().removeDefaultAccountChangeListener(accountAndRegionChangeListener);
-             AwsToolkitCore.getDefault().removeDefaultRegionChangeListener(accountAndRegionChangeListener);
+        }
+        if (regionChangeListener != null) {
+            RegionUtils.removeRegionChangeListener(regionChangeListener);
         }
     }
 
@@ -73,14 +80,22 @@ public class ResourcesView extends CommonNavigator {
             @Override
             public void onAccountOrRegionChange() {
                 ContentProviderRegistry.clearAllCachedResponses();
+                refreshViewer();
+            }
 
-                Display.getDefault().asyncExec(new Runnable() {
-                    @Override
-                    public void run() {
-                        viewer.refresh();
-                        viewer.collapseAll();
-                    }
-                });
+         };
+
+         // What was loaded from the other regions is kept, unless the region metadata changed
+         regionChangeListener = new RegionChangeListener() {
+
+            @Override
+            public void currentRegionChanged(RegionChangeEvent event) {
+                if (event.isMetadataChanged()) {
+                    ContentProviderRegistry.clearAllCachedResponses();
+                } else {
+                    ContentProviderRegistry.notifyCurrentRegionChanged();
+                }
+                refreshViewer();
             }
 
          };
@@ -91,12 +106,22 @@ public class ResourcesView extends CommonNavigator {
             public void run() {
                 AwsToolkitCore.getDefault().getAccountManager().addAccountInfoChangeListener(accountAndRegionChangeListener);
                 AwsToolkitCore.getDefault().getAccountManager().addDefaultAccountChangeListener(accountAndRegionChangeListener);
-                AwsToolkitCore.getDefault().addDefaultRegionChangeListener(accountAndRegionChangeListener);
+                RegionUtils.addRegionChangeListener(regionChangeListener);
             }
         });
 
     }
 
+    private void refreshViewer() {
+        Display.getDefault().asyncExec(new Runnable() {
+            @Override
+            public void run() {
+                viewer.refresh();
+                viewer.collapseAll();
+            }
+        });
+    }
+
     private static final class ExplorerNodeOpenListener implements IOpenListener {
         @Override
         public void open(OpenEvent event) {
@@ -42,6 +42,7 @@ import com.amazonaws.eclipse.core.AwsToolkitCore;
 import com.amazonaws.eclipse.core.ui.IRefreshable;
 import com.amazonaws.eclipse.core.ui.WebLinkListener;
 import com.amazonaws.eclipse.explorer.AbstractAwsResourceEditorInput;
+import com.amazonaws.eclipse.explorer.ExplorerLoaderExecutor;
 import com.amazonaws.services.cloudfront.AmazonCloudFront;
 
 public abstract class AbstractDistributionEditor extends EditorPart implements IRefreshable {
@@ -97,6 +98,12 @@ public abstract class AbstractDistributionEditor extends EditorPart implements I
     @Override
     public void setFocus() {}
 
+    @Override
+    public void dispose() {
+        ExplorerLoaderExecutor.getDefault().cancelAll(this);
+        super.dispose();
+    }
+
     @Override
     public void init(IEditorSite site, IEditorInput input) throws PartInitException {
         setSite(site);
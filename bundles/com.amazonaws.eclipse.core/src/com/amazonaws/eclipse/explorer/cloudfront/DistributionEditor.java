@@ -20,6 +20,7 @@ import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorSite;
 import org.eclipse.ui.PartInitException;
 
+import com.amazonaws.eclipse.explorer.ExplorerLoaderExecutor;
 import com.amazonaws.eclipse.explorer.cloudfront.CloudFrontActions.DisableDistributionAction;
 import com.amazonaws.eclipse.explorer.cloudfront.CloudFrontActions.EnableDistributionAction;
 import com.amazonaws.services.cloudfront.model.Distribution;
@@ -60,9 +61,16 @@ public class DistributionEditor extends AbstractDistributionEditor {
     }
 
     private class LoadDistributionInfoThread extends ResourceEditorDataLoaderThread {
+        LoadDistributionInfoThread() {
+            super(DistributionEditor.this, editorInput.getDistributionId());
+        }
+
         @Override
         public void loadData() {
             final Distribution distribution = getClient().getDistribution(new GetDistributionRequest(editorInput.getDistributionId())).getDistribution();
+            if (ExplorerLoaderExecutor.isCurrentLoadCancelled()) {
+                return;
+            }
 
             Display.getDefault().asyncExec(new Runnable() {
                 @Override
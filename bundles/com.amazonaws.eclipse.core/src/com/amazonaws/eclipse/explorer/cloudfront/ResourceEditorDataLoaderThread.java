@@ -23,12 +23,38 @@ import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Text;
 
 import com.amazonaws.eclipse.core.AwsToolkitCore;
+import com.amazonaws.eclipse.core.regions.ServiceAbbreviations;
+import com.amazonaws.eclipse.explorer.ExplorerLoaderExecutor;
 import com.amazonaws.util.DateUtils;
 
-public abstract class ResourceEditorDataLoaderThread extends Thread {
+public abstract class ResourceEditorDataLoaderThread implements Runnable {
+
+    private final Object owner;
+    private final Object key;
+
+    /**
+     * @param owner
+     *            The editor the load belongs to; its pending loads are
+     *            cancelled through {@link ExplorerLoaderExecutor#cancelAll(Object)}
+     *            when it's disposed.
+     * @param key
+     *            Identifies the load within its editor, e.g. the distribution
+     *            id, so a repeated refresh merges into a pending load.
+     */
+    protected ResourceEditorDataLoaderThread(Object owner, Object key) {
+        this.owner = owner;
+        this.key = key;
+    }
 
     public abstract void loadData();
 
+    /**
+     * Runs this loader on the shared explorer loader executor.
+     */
+    public void start() {
+        ExplorerLoaderExecutor.getDefault().submit(ServiceAbbreviations.CLOUDFRONT, owner, key, this);
+    }
+
     @Override
     public void run() {
         try {
@@ -20,6 +20,7 @@ import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorSite;
 import org.eclipse.ui.PartInitException;
 
+import com.amazonaws.eclipse.explorer.ExplorerLoaderExecutor;
 import com.amazonaws.eclipse.explorer.cloudfront.CloudFrontActions.DisableStreamingDistributionAction;
 import com.amazonaws.eclipse.explorer.cloudfront.CloudFrontActions.EnableStreamingDistributionAction;
 import com.amazonaws.services.cloudfront.model.GetStreamingDistributionRequest;
@@ -63,9 +64,16 @@ public class StreamingDistributionEditor extends AbstractDistributionEditor {
     }
 
     private class LoadDistributionInfoThread extends ResourceEditorDataLoaderThread {
+        LoadDistributionInfoThread() {
+            super(StreamingDistributionEditor.this, editorInput.getDistributionId());
+        }
+
         @Override
         public void loadData() {
             final StreamingDistribution distribution = getClient().getStreamingDistribution(new GetStreamingDistributionRequest(editorInput.getDistributionId())).getStreamingDistribution();
+            if (ExplorerLoaderExecutor.isCurrentLoadCancelled()) {
+                return;
+            }
 
             Display.getDefault().asyncExec(new Runnable() {
                 @Override
@@ -14,19 +14,21 @@
  */
 package com.amazonaws.eclipse.explorer.s3;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 import org.eclipse.jface.viewers.IOpenListener;
 import org.eclipse.jface.viewers.OpenEvent;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.Viewer;
 
+import com.amazonaws.eclipse.core.AWSClientFactory;
 import com.amazonaws.eclipse.core.AwsToolkitCore;
 import com.amazonaws.eclipse.core.regions.ServiceAbbreviations;
 import com.amazonaws.eclipse.explorer.AWSResourcesRootElement;
 import com.amazonaws.eclipse.explorer.AbstractContentProvider;
 import com.amazonaws.eclipse.explorer.Loading;
-import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.Bucket;
 
 public class S3ContentProvider extends AbstractContentProvider {
@@ -86,8 +88,17 @@ public class S3ContentProvider extends AbstractContentProvider {
             new DataLoaderThread(parentElement) {
                 @Override
                 public Object[] loadData() {
-                    AmazonS3 s3 = AwsToolkitCore.getClientFactory().getS3Client();
-                    return s3.listBuckets().toArray();
+                    AWSClientFactory clientFactory = AwsToolkitCore.getClientFactory();
+                    List<Bucket> buckets = clientFactory.getS3Client().listBuckets();
+
+                    // Resolve the bucket regions up front so opening a bucket doesn't wait for it
+                    List<String> bucketNames = new ArrayList<>(buckets.size());
+                    for (Bucket bucket : buckets) {
+                        bucketNames.add(bucket.getName());
+                    }
+                    clientFactory.prewarmS3BucketRegions(bucketNames);
+
+                    return buckets.toArray();
                 }
             }.start();
         }
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.explorer.s3;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.Path;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+/**
+ * Page-by-page listing of the objects and common prefixes directly under one
+ * prefix of a bucket.
+ * <p>
+ * Pages are fetched on demand, one S3 request each, and appended in key order.
+ * The continuation token (or marker) each page was fetched with is remembered,
+ * so the least recently read pages can be evicted when a new one arrives and
+ * fetched again with their token if they're read later. Within a page, object
+ * summaries come first, followed by the common prefixes as {@link Path}s.
+ * <p>
+ * The rows of an evicted page may still be held by the UI until it gets to
+ * clear them, so evicted pages stay counted against
+ * {@link #getMaxResidentPages()} until {@link #releasePage(int)} is called for
+ * them. A UI that falls behind therefore makes later fetches evict more pages
+ * instead of letting rows pile up; only the pages evicted by the latest fetch
+ * can be held on top of the limit.
+ * <p>
+ * This class is thread safe; {@link #loadPage(AmazonS3, int)} makes the remote
+ * call without holding the lock.
+ */
+public class S3ObjectListingPager {
+
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+    public static final int DEFAULT_MAX_RESIDENT_PAGES = 20;
+
+    private final String bucketName;
+    private final String prefix;
+    private final String delimiter;
+    private final boolean useListObjectsV2;
+    private final int pageSize;
+    private final int maxResidentPages;
+
+    private final List<Page> pages = new ArrayList<>();
+    private String nextToken;
+    private boolean complete;
+    private boolean listingChanged;
+    private int loadedCount;
+    private int residentCount;
+    private int heldCount;
+    private long accessClock;
+
+    public S3ObjectListingPager(String bucketName, String prefix, String delimiter, boolean useListObjectsV2) {
+        this(bucketName, prefix, delimiter, useListObjectsV2, DEFAULT_PAGE_SIZE, DEFAULT_MAX_RESIDENT_PAGES);
+    }
+
+    public S3ObjectListingPager(String bucketName, String prefix, String delimiter, boolean useListObjectsV2,
+            int pageSize, int maxResidentPages) {
+        if (pageSize <= 0 || maxResidentPages <= 0) {
+            throw new IllegalArgumentException("pageSize and maxResidentPages must be positive");
+        }
+        this.bucketName = bucketName;
+        this.prefix = prefix;
+        this.delimiter = delimiter;
+        this.useListObjectsV2 = useListObjectsV2;
+        this.pageSize = pageSize;
+        this.maxResidentPages = maxResidentPages;
+    }
+
+    public int getMaxResidentPages() {
+        return maxResidentPages;
+    }
+
+    /** Returns the number of items in all the pages fetched so far. */
+    public synchronized int getLoadedCount() {
+        return loadedCount;
+    }
+
+    /** Returns whether the last page of the listing has been fetched. */
+    public synchronized boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns whether a page fetched again after eviction no longer matched
+     * what it held before, meaning the listing should be started over.
+     */
+    public synchronized boolean isListingChanged() {
+        return listingChanged;
+    }
+
+    public synchronized int getPageCount() {
+        return pages.size();
+    }
+
+    /** Returns the number of pages currently held in memory. */
+    public synchronized int getResidentPageCount() {
+        return residentCount;
+    }
+
+    /**
+     * Returns the number of evicted pages whose rows the UI hasn't released
+     * yet.
+     */
+    public synchronized int getHeldPageCount() {
+        return heldCount;
+    }
+
+    /**
+     * Tells the pager the UI no longer holds the rows of the given page, so
+     * it stops counting against the limit if it was evicted.
+     */
+    public synchronized void releasePage(int pageIndex) {
+        if (pageIndex < pages.size() && pages.get(pageIndex).held) {
+            pages.get(pageIndex).held = false;
+            heldCount--;
+        }
+    }
+
+    /**
+     * Returns the item at the given index, or null if the page holding it
+     * hasn't been fetched yet or was evicted.
+     */
+    public synchronized Object getItem(int index) {
+        if (index < 0 || index >= loadedCount) {
+            return null;
+        }
+        Page page = pages.get(getPageIndex(index));
+        if (page.items == null) {
+            return null;
+        }
+        page.lastAccess = ++accessClock;
+        return page.items[index - page.offset];
+    }
+
+    /**
+     * Returns the index of the page holding the item at the given index. For
+     * an index past the loaded items this is the index of the next page to
+     * fetch.
+     */
+    public synchronized int getPageIndex(int index) {
+        if (index >= loadedCount) {
+            return pages.size();
+        }
+        int low = 0;
+        int high = pages.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (pages.get(mid).offset <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /** Returns the index of the first item of the given page. */
+    public synchronized int getPageOffset(int pageIndex) {
+        return pageIndex < pages.size() ? pages.get(pageIndex).offset : loadedCount;
+    }
+
+    /** Returns the number of items in the given page, once it was fetched. */
+    public synchronized int getPageSize(int pageIndex) {
+        return pageIndex < pages.size() ? pages.get(pageIndex).size : 0;
+    }
+
+    /**
+     * Returns whether the given page has to be fetched before its items can
+     * be read: it's the next page of an incomplete listing, or it was evicted.
+     */
+    public synchronized boolean needsLoad(int pageIndex) {
+        if (pageIndex < pages.size()) {
+            return pages.get(pageIndex).items == null;
+        }
+        return pageIndex == pages.size() && !complete;
+    }
+
+    /**
+     * Fetches the given page, which must either be the next page of the
+     * listing or a page that was evicted, and makes room for it by evicting
+     * the least recently read pages.
+     *
+     * @return The indexes of the pages evicted to make room for this one.
+     */
+    public List<Integer> loadPage(AmazonS3 s3, int pageIndex) {
+        String token;
+        synchronized (this) {
+            if (!needsLoad(pageIndex)) {
+                return Collections.emptyList();
+            }
+            token = pageIndex < pages.size() ? pages.get(pageIndex).token : nextToken;
+        }
+
+        List<S3ObjectSummary> summaries = new ArrayList<>();
+        List<String> commonPrefixes = new ArrayList<>();
+        String next = listPage(s3, bucketName, prefix, delimiter, token, pageSize, useListObjectsV2,
+                summaries, commonPrefixes);
+        List<Object> items = toItems(summaries, commonPrefixes);
+
+        synchronized (this) {
+            if (!needsLoad(pageIndex)) {
+                return Collections.emptyList();
+            }
+
+            Page page;
+            if (pageIndex == pages.size()) {
+                page = new Page(token, loadedCount, items.size());
+                pages.add(page);
+                loadedCount += items.size();
+                nextToken = next;
+                complete = next == null;
+            } else {
+                page = pages.get(pageIndex);
+                if (page.size != items.size()) {
+                    listingChanged = true;
+                    return Collections.emptyList();
+                }
+            }
+            page.items = items.toArray();
+            page.lastAccess = ++accessClock;
+            residentCount++;
+            return evictIfNecessary(page);
+        }
+    }
+
+    private List<Integer> evictIfNecessary(Page keep) {
+        List<Integer> evicted = new ArrayList<>();
+        int alreadyHeld = heldCount;
+        while (residentCount + alreadyHeld > maxResidentPages) {
+            int eldest = -1;
+            for (int i = 0; i < pages.size(); i++) {
+                Page page = pages.get(i);
+                if (page != keep && page.items != null
+                        && (eldest < 0 || page.lastAccess < pages.get(eldest).lastAccess)) {
+                    eldest = i;
+                }
+            }
+            if (eldest < 0) {
+                break;
+            }
+            Page page = pages.get(eldest);
+            page.items = null;
+            residentCount--;
+            if (!page.held) {
+                page.held = true;
+                heldCount++;
+            }
+            evicted.add(eldest);
+        }
+        return evicted;
+    }
+
+    /**
+     * Lists one page of keys and common prefixes under a prefix.
+     *
+     * @param delimiter
+     *            The delimiter to group keys by, or null to list all the keys
+     *            under the prefix.
+     * @param token
+     *            The marker or continuation token returned with the previous
+     *            page, or null for the first page.
+     * @return The token to fetch the next page with, or null if this was the
+     *         last page.
+     */
+    static String listPage(AmazonS3 s3, String bucketName, String prefix, String delimiter, String token,
+            int maxKeys, boolean useListObjectsV2, List<S3ObjectSummary> summaries, List<String> commonPrefixes) {
+        if (useListObjectsV2) {
+            ListObjectsV2Result result = s3.listObjectsV2(new ListObjectsV2Request()
+                    .withBucketName(bucketName)
+                    .withPrefix(prefix)
+                    .withDelimiter(delimiter)
+                    .withContinuationToken(token)
+                    .withFetchOwner(true)
+                    .withMaxKeys(maxKeys));
+            summaries.addAll(result.getObjectSummaries());
+            commonPrefixes.addAll(result.getCommonPrefixes());
+            return result.isTruncated() ? result.getNextContinuationToken() : null;
+        }
+
+        ObjectListing listing = s3.listObjects(new ListObjectsRequest()
+                .withBucketName(bucketName)
+                .withPrefix(prefix)
+                .withDelimiter(delimiter)
+                .withMarker(token)
+                .withMaxKeys(maxKeys));
+        summaries.addAll(listing.getObjectSummaries());
+        commonPrefixes.addAll(listing.getCommonPrefixes());
+
+        if (!listing.isTruncated()) {
+            return null;
+        }
+        if (listing.getNextMarker() != null) {
+            return listing.getNextMarker();
+        }
+        // NextMarker is only returned when a delimiter is used; otherwise resume after the last key
+        String lastKey = null;
+        for (S3ObjectSummary summary : listing.getObjectSummaries()) {
+            lastKey = summary.getKey();
+        }
+        for (String commonPrefix : listing.getCommonPrefixes()) {
+            if (lastKey == null || commonPrefix.compareTo(lastKey) > 0) {
+                lastKey = commonPrefix;
+            }
+        }
+        return lastKey;
+    }
+
+    private List<Object> toItems(List<S3ObjectSummary> summaries, List<String> commonPrefixes) {
+        List<Object> items = new ArrayList<>(summaries.size() + commonPrefixes.size());
+        for (S3ObjectSummary summary : summaries) {
+            // The placeholder object of a "folder" is listed under its own prefix
+            if (!summary.getKey().equals(prefix)) {
+                items.add(summary);
+            }
+        }
+        for (String commonPrefix : commonPrefixes) {
+            items.add(new Path(null, commonPrefix));
+        }
+        return items;
+    }
+
+    private static final class Page {
+        private final String token;
+        private final int offset;
+        private final int size;
+        private Object[] items;
+        private long lastAccess;
+        private boolean held;
+
+        private Page(String token, int offset, int size) {
+            this.token = token;
+            this.offset = offset;
+            this.size = size;
+        }
+    }
+}
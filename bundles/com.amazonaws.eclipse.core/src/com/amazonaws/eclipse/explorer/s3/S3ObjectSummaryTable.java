@@ -15,6 +15,8 @@
 package com.amazonaws.eclipse.explorer.s3;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -39,7 +41,6 @@ import org.eclipse.jface.viewers.ILazyTreePathContentProvider;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.ITableLabelProvider;
-import org.eclipse.jface.viewers.ITreeSelection;
 import org.eclipse.jface.viewers.TreePath;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
@@ -53,17 +54,19 @@ import org.eclipse.swt.dnd.DropTargetAdapter;
 import org.eclipse.swt.dnd.DropTargetEvent;
 import org.eclipse.swt.dnd.FileTransfer;
 import org.eclipse.swt.dnd.Transfer;
+import org.eclipse.swt.events.DisposeEvent;
+import org.eclipse.swt.events.DisposeListener;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Composite;
-import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.Tree;
 import org.eclipse.swt.widgets.TreeColumn;
 import org.eclipse.swt.widgets.TreeItem;
+import org.eclipse.swt.widgets.Widget;
 import org.eclipse.ui.ISharedImages;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.forms.IFormColors;
@@ -73,6 +76,8 @@ import org.eclipse.ui.part.PluginTransferData;
 
 import com.amazonaws.eclipse.core.AwsToolkitCore;
 import com.amazonaws.eclipse.core.regions.RegionUtils;
+import com.amazonaws.eclipse.core.regions.ServiceAbbreviations;
+import com.amazonaws.eclipse.explorer.ExplorerLoaderExecutor;
 import com.amazonaws.eclipse.explorer.s3.actions.DeleteObjectAction;
 import com.amazonaws.eclipse.explorer.s3.actions.EditObjectPermissionsAction;
 import com.amazonaws.eclipse.explorer.s3.actions.EditObjectTagsAction;
@@ -81,21 +86,32 @@ import com.amazonaws.eclipse.explorer.s3.dnd.S3ObjectSummaryDropAction;
 import com.amazonaws.eclipse.explorer.s3.dnd.UploadDropAssistant;
 import com.amazonaws.eclipse.explorer.s3.dnd.UploadFilesJob;
 import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.ListObjectsRequest;
-import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
-import com.amazonaws.services.s3.transfer.TransferManager;
 
 /**
  * S3 object listing with virtual directory support.
+ * <p>
+ * Listings are fetched a page at a time as the user scrolls down, see
+ * {@link S3ObjectListingPager}.
  */
 public class S3ObjectSummaryTable extends Composite {
 
-    private final static Object LOADING = new Object();
-    private final static Object LOADING_DONE = new Object();
+    private final static Object INPUT = new Object();
 
     private final static String DEFAULT_DELIMITER = "/";
 
+    /**
+     * Set this system property to true to list objects with the original
+     * ListObjects API, e.g. for S3-compatible endpoints without ListObjectsV2.
+     */
+    private final static boolean USE_LIST_OBJECTS_V1 = Boolean.getBoolean("com.amazonaws.eclipse.s3.useListObjectsV1");
+
+    /**
+     * How close to the end of the loaded items the user has to scroll before
+     * the next page is requested.
+     */
+    private final static int PREFETCH_DISTANCE = 200;
+
     private static final int KEY_COL = 0;
     private static final int ETAG_COL = 1;
     private static final int OWNER_COL = 2;
@@ -107,11 +123,18 @@ public class S3ObjectSummaryTable extends Composite {
     private final String accountId;
     private final String regionId;
 
-    private final Map<TreePath, Object[]> children;
+    private final Map<TreePath, S3ObjectListingPager> listings;
     private final TreeViewer viewer;
 
     private final Map<ImageDescriptor, Image> imageCache = new HashMap<>();
 
+    /**
+     * Placeholder for an item whose page is being fetched; every pending index
+     * gets its own instance since the viewer looks items up by element.
+     */
+    private static final class LoadingNode {
+    }
+
     private final class S3ObjectSummaryContentProvider implements // ITreePathContentProvider,
             ILazyTreePathContentProvider {
 
@@ -150,14 +173,22 @@ public class S3ObjectSummaryTable extends Composite {
          */
         @Override
         public void updateElement(TreePath parentPath, int index) {
-            cacheChildren(parentPath);
-
-            Object[] childNodes = children.get(parentPath);
-            if ( index >= childNodes.length )
+            S3ObjectListingPager listing = getListing(parentPath);
+            if ( index >= getChildCount(listing) )
                 return;
 
-            viewer.replace(parentPath, index, childNodes[index]);
-            updateHasChildren(parentPath.createChildPath(childNodes[index]));
+            if ( !listing.isComplete() && index >= listing.getLoadedCount() - PREFETCH_DISTANCE ) {
+                loadPage(parentPath, listing, listing.getPageCount());
+            }
+
+            Object element = listing.getItem(index);
+            if ( element == null ) {
+                loadPage(parentPath, listing, listing.getPageIndex(index));
+                element = new LoadingNode();
+            }
+
+            viewer.replace(parentPath, index, element);
+            updateHasChildren(parentPath.createChildPath(element));
         }
 
         /*
@@ -169,17 +200,11 @@ public class S3ObjectSummaryTable extends Composite {
          */
         @Override
         public void updateChildCount(TreePath treePath, int currentChildCount) {
-            cacheChildren(treePath);
-            Object[] objects = children.get(treePath);
-
-            viewer.setChildCount(treePath, objects.length);
-            for ( int i = 0; i < objects.length; i++ ) {
-                if ( objects[i] instanceof IPath ) {
-                    viewer.setHasChildren(treePath.createChildPath(objects[i]), true);
-                }
+            S3ObjectListingPager listing = getListing(treePath);
+            if ( listing.getPageCount() == 0 ) {
+                loadPage(treePath, listing, 0);
             }
-
-            return;
+            viewer.setChildCount(treePath, getChildCount(listing));
         }
 
         /*
@@ -194,49 +219,6 @@ public class S3ObjectSummaryTable extends Composite {
             viewer.setHasChildren(path, path.getSegmentCount() > 0 && path.getLastSegment() instanceof IPath);
         }
 
-        /*
-         * Non-virtual tree content provider implementation below
-         */
-
-        /*
-         * (non-Javadoc)
-         *
-         * @see
-         * org.eclipse.jface.viewers.ITreePathContentProvider#getElements(java
-         * .lang.Object)
-         */
-        @SuppressWarnings("unused")
-        public Object[] getElements(Object inputElement) {
-            TreePath treePath = new TreePath(new Object[0]);
-            cacheChildren(treePath);
-            return children.get(treePath);
-        }
-
-        /*
-         * (non-Javadoc)
-         *
-         * @see
-         * org.eclipse.jface.viewers.ITreePathContentProvider#getChildren(org
-         * .eclipse.jface.viewers.TreePath)
-         */
-        @SuppressWarnings("unused")
-        public Object[] getChildren(TreePath parentPath) {
-            cacheChildren(parentPath);
-
-            return children.get(parentPath);
-        }
-
-        /*
-         * (non-Javadoc)
-         *
-         * @see
-         * org.eclipse.jface.viewers.ITreePathContentProvider#hasChildren(org
-         * .eclipse.jface.viewers.TreePath)
-         */
-        @SuppressWarnings("unused")
-        public boolean hasChildren(TreePath path) {
-            return path.getLastSegment() instanceof IPath;
-        }
     }
 
     private final class S3ObjectSummaryLabelProvider implements ITableLabelProvider {
@@ -260,8 +242,11 @@ public class S3ObjectSummaryTable extends Composite {
 
         @Override
         public String getColumnText(Object element, int columnIndex) {
-            if ( element == LOADING ) {
-                return "Loading...";
+            if ( element instanceof LoadingNode ) {
+                if ( columnIndex == 0 )
+                    return "Loading...";
+                else
+                    return "";
             } else if ( element instanceof IPath ) {
                 if ( columnIndex == 0 )
                     return ((IPath) element).lastSegment();
@@ -294,7 +279,7 @@ public class S3ObjectSummaryTable extends Composite {
 
         @Override
         public Image getColumnImage(Object element, int columnIndex) {
-            if ( columnIndex == 0 && element != LOADING ) {
+            if ( columnIndex == 0 && !(element instanceof LoadingNode) ) {
                 if ( element instanceof IPath ) {
                     return PlatformUI.getWorkbench().getSharedImages().getImage(ISharedImages.IMG_OBJ_FOLDER);
                 }
@@ -318,7 +303,7 @@ public class S3ObjectSummaryTable extends Composite {
         this.accountId = accountId;
         this.regionId = RegionUtils.getRegionByEndpoint(s3Endpoint).getId();
         this.bucketName = bucketName;
-        this.children = Collections.synchronizedMap(new HashMap<TreePath, Object[]>());
+        this.listings = Collections.synchronizedMap(new HashMap<TreePath, S3ObjectListingPager>());
 
         GridLayout gridLayout = new GridLayout(1, false);
         gridLayout.marginWidth = 0;
@@ -361,43 +346,14 @@ public class S3ObjectSummaryTable extends Composite {
 
         initializeDragAndDrop();
 
-        final TreePath rootPath = new TreePath(new Object[0]);
-        final Thread t = cacheChildren(rootPath);
-
-        viewer.setInput(LOADING);
-
-        new Thread() {
+        viewer.setInput(INPUT);
+        addDisposeListener(new DisposeListener() {
 
             @Override
-            public void run() {
-                try {
-                    t.join();
-                } catch ( InterruptedException e1 ) {
-                    return;
-                }
-
-                Display.getDefault().syncExec(new Runnable() {
-
-                    @Override
-                    public void run() {
-                        // Preserve the current column widths
-                        int[] colWidth = new int[viewer.getTree().getColumns().length];
-                        int i = 0;
-                        for ( TreeColumn col : viewer.getTree().getColumns() ) {
-                            colWidth[i++] = col.getWidth();
-                        }
-
-                        viewer.setInput(LOADING_DONE);
-
-                        i = 0;
-                        for ( TreeColumn col : viewer.getTree().getColumns() ) {
-                            col.setWidth(colWidth[i++]);
-                        }
-                    }
-                });
+            public void widgetDisposed(DisposeEvent e) {
+                ExplorerLoaderExecutor.getDefault().cancelAll(S3ObjectSummaryTable.this);
             }
-
-        }.start();
+        });
 
         hookContextMenu();
     }
@@ -411,21 +367,25 @@ public class S3ObjectSummaryTable extends Composite {
             public void dragStart(DragSourceEvent event) {
                 event.doit = false;
                 ISelection selection = viewer.getSelection();
-                if ( selection instanceof IStructuredSelection ) {
-                    if ( ((IStructuredSelection) selection).size() == 1
-                            && ((IStructuredSelection) selection).getFirstElement() instanceof S3ObjectSummary ) {
-                        event.doit = true;
-                    }
+                if ( selection instanceof IStructuredSelection && !selection.isEmpty() ) {
+                    // Objects and folders can be dragged, placeholders can't
+                    event.doit = getSelectedObjects().size() + getSelectedPrefixes().size()
+                            == ((IStructuredSelection) selection).size();
                 }
             }
 
             @Override
             public void dragSetData(DragSourceEvent event) {
-                Object o = ((ITreeSelection) viewer.getSelection()).getFirstElement();
-                if ( o instanceof S3ObjectSummary ) {
-                    S3ObjectSummary s = (S3ObjectSummary) o;
+                List<String> keys = new ArrayList<>();
+                for ( S3ObjectSummary s : getSelectedObjects() ) {
+                    keys.add(s.getKey());
+                }
+                for ( String prefix : getSelectedPrefixes() ) {
+                    keys.add(prefix.endsWith("/") ? prefix : prefix + "/");
+                }
+                if ( !keys.isEmpty() ) {
                     event.data = new PluginTransferData(S3ObjectSummaryDropAction.ID, S3ObjectSummaryDropAction
-                            .encode(s));
+                            .encode(bucketName, keys));
                 } else {
                     event.doit = false;
                 }
@@ -453,10 +413,8 @@ public class S3ObjectSummaryTable extends Composite {
                     }
                 }
 
-                final TransferManager transferManager = new TransferManager(getS3Client());
-
                 UploadFilesJob uploadFileJob = new UploadFilesJob(String.format("Upload files to bucket %s", bucketName),
-                        bucketName, files, transferManager);
+                        bucketName, files, getS3Client());
                 uploadFileJob.setRefreshRunnable(new Runnable() {
                     @Override
                     public void run() {
@@ -507,76 +465,98 @@ public class S3ObjectSummaryTable extends Composite {
     }
 
     /**
-     * Fills in the children for the tree path given, which must either be empty
-     * or end in a File object.
+     * Returns the listing of the tree path given, which must either be empty
+     * or end in a Path object, starting a new one if necessary.
      */
-    protected Thread cacheChildren(final TreePath treePath) {
-        if ( children.containsKey(treePath) )
-            return null;
-
-        children.put(treePath, new Object[] { LOADING });
-        Thread thread = new Thread() {
-
-            @Override
-            public void run() {
+    protected S3ObjectListingPager getListing(TreePath treePath) {
+        synchronized ( listings ) {
+            S3ObjectListingPager listing = listings.get(treePath);
+            if ( listing == null ) {
                 String prefix;
                 if ( treePath.getSegmentCount() == 0 ) {
                     prefix = "";
                 } else {
                     prefix = ((IPath) treePath.getLastSegment()).toString();
                 }
+                listing = new S3ObjectListingPager(bucketName, prefix, DEFAULT_DELIMITER, !USE_LIST_OBJECTS_V1);
+                listings.put(treePath, listing);
+            }
+            return listing;
+        }
+    }
 
-                List<S3ObjectSummary> filteredObjectSummaries = new LinkedList<>();
-                List<String> filteredCommonPrefixes = new LinkedList<>();
-                ObjectListing listObjectsResponse = null;
-
-                AmazonS3 s3 = getS3Client();
-                do {
-                    if (listObjectsResponse == null) {
-                        ListObjectsRequest listObjectsRequest = new ListObjectsRequest()
-                            .withBucketName(S3ObjectSummaryTable.this.bucketName)
-                            .withDelimiter(DEFAULT_DELIMITER)
-                            .withPrefix(prefix);
-                        listObjectsResponse = s3.listObjects(listObjectsRequest);
-                    } else {
-                        listObjectsResponse = s3.listNextBatchOfObjects(listObjectsResponse);
-                    }
-
-                    for ( S3ObjectSummary s : listObjectsResponse.getObjectSummaries() ) {
-                        if ( !s.getKey().equals(prefix) ) {
-                            filteredObjectSummaries.add(s);
-                        }
-                    }
-
-                    filteredCommonPrefixes.addAll(listObjectsResponse.getCommonPrefixes());
-                } while (listObjectsResponse.isTruncated());
-
+    /**
+     * Returns the number of rows to show for the listing given: the items
+     * loaded so far plus, while there are more pages, one for the next page.
+     */
+    private static int getChildCount(S3ObjectListingPager listing) {
+        return listing.getLoadedCount() + (listing.isComplete() ? 0 : 1);
+    }
 
-                final Object[] objects = new Object[filteredObjectSummaries.size() + filteredCommonPrefixes.size()];
-                filteredObjectSummaries.toArray(objects);
+    /**
+     * Fetches a page of the listing in the background unless it's already
+     * available or being fetched, then lets the viewer pick up its items.
+     */
+    protected void loadPage(final TreePath treePath, final S3ObjectListingPager listing, final int pageIndex) {
+        if ( !listing.needsLoad(pageIndex) )
+            return;
 
-                int i = filteredObjectSummaries.size();
-                for ( String commonPrefix : filteredCommonPrefixes ) {
-                    objects[i++] = new Path(null, commonPrefix);
-                }
+        ExplorerLoaderExecutor.getDefault().submit(ServiceAbbreviations.S3, this, Arrays.asList(listing, pageIndex),
+                new Runnable() {
 
-                children.put(treePath, objects);
+            @Override
+            public void run() {
+                final List<Integer> evictedPages = listing.loadPage(getS3Client(), pageIndex);
+                if ( ExplorerLoaderExecutor.isCurrentLoadCancelled() || viewer.getTree().isDisposed() )
+                    return;
 
-                viewer.getTree().getDisplay().syncExec(new Runnable() {
+                viewer.getTree().getDisplay().asyncExec(new Runnable() {
 
                     @Override
                     public void run() {
-                        if ( treePath.getSegmentCount() == 0 )
-                            viewer.setChildCount(treePath, objects.length);
-                        viewer.refresh();
+                        if ( viewer.getTree().isDisposed() || listings.get(treePath) != listing )
+                            return;
+
+                        if ( listing.isListingChanged() ) {
+                            restartListing(treePath);
+                            return;
+                        }
+
+                        // Clearing items makes the viewer request the visible ones again
+                        viewer.setChildCount(treePath, getChildCount(listing));
+                        int offset = listing.getPageOffset(pageIndex);
+                        clearItems(treePath, offset, offset + listing.getPageSize(pageIndex));
+                        listing.releasePage(pageIndex);
+                        for ( int evictedPage : evictedPages ) {
+                            int evictedOffset = listing.getPageOffset(evictedPage);
+                            clearItems(treePath, evictedOffset, evictedOffset + listing.getPageSize(evictedPage));
+                            listing.releasePage(evictedPage);
+                        }
                     }
                 });
             }
+        });
+    }
 
-        };
-
-        thread.start();
-        return thread;
+    /**
+     * Resets the given range of the children of a tree path so the viewer
+     * asks for them again when they are shown, and lets go of their data.
+     */
+    private void clearItems(TreePath parentPath, int from, int to) {
+        if ( parentPath.getSegmentCount() == 0 ) {
+            Tree tree = viewer.getTree();
+            for ( int i = from; i < Math.min(to, tree.getItemCount()); i++ ) {
+                tree.clear(i, false);
+            }
+        } else {
+            Widget widget = viewer.testFindItem(parentPath.getLastSegment());
+            if ( widget instanceof TreeItem ) {
+                TreeItem item = (TreeItem) widget;
+                for ( int i = from; i < Math.min(to, item.getItemCount()); i++ ) {
+                    item.clear(i, false);
+                }
+            }
+        }
     }
 
     /**
@@ -618,12 +598,32 @@ public class S3ObjectSummaryTable extends Composite {
         return summaries;
     }
 
+    /**
+     * Returns the key prefixes of all selected folders in the table.
+     */
+    public Collection<String> getSelectedPrefixes() {
+        IStructuredSelection s = (IStructuredSelection) viewer.getSelection();
+        List<String> prefixes = new LinkedList<>();
+        Iterator<?> iter = s.iterator();
+        while ( iter.hasNext() ) {
+            Object next = iter.next();
+            if ( next instanceof IPath )
+                prefixes.add(((IPath) next).toString());
+        }
+        return prefixes;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
     /**
      * Refreshes the table, optionally at at given root.
      */
     public void refresh(String prefix) {
         if ( prefix == null ) {
-            children.clear();
+            ExplorerLoaderExecutor.getDefault().cancelAll(this);
+            listings.clear();
             viewer.refresh();
         } else {
             List<IPath> paths = new LinkedList<>();
@@ -633,8 +633,21 @@ public class S3ObjectSummaryTable extends Composite {
                 paths.add(p);
             }
             TreePath treePath = new TreePath(paths.toArray());
-            children.remove(treePath);
+            listings.remove(treePath);
             viewer.refresh(new Path(prefix));
         }
     }
+
+    /**
+     * Drops the listing of the given tree path and lists it again from the
+     * first page.
+     */
+    private void restartListing(TreePath treePath) {
+        listings.remove(treePath);
+        if ( treePath.getSegmentCount() == 0 ) {
+            viewer.refresh();
+        } else {
+            viewer.refresh(treePath.getLastSegment());
+        }
+    }
 }
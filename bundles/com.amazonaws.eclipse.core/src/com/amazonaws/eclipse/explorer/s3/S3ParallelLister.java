@@ -0,0 +1,289 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.explorer.s3;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+/**
+ * Lists every key under a prefix of a bucket by splitting the listing into
+ * shards along the delimiter-separated "folders" and listing the shards
+ * concurrently.
+ * <p>
+ * Each shard is listed with the delimiter: its own keys are handed out as they
+ * arrive and its common prefixes become new shards, up to
+ * {@link #getShardDepth()} levels below the starting prefix. Deeper prefixes
+ * are listed flat, since one request per small folder would be slower than
+ * paging through them. At most {@link #getParallelism()} requests are in
+ * flight at once.
+ * <p>
+ * The client is only ever used through ListObjects(V2), so the lister can be
+ * pointed at any S3-compatible endpoint.
+ */
+public class S3ParallelLister {
+
+    public static final int DEFAULT_PARALLELISM = 8;
+    public static final int DEFAULT_SHARD_DEPTH = 2;
+
+    private static final String DEFAULT_DELIMITER = "/";
+    private static final int MAX_KEYS = 1000;
+    private static final long PROGRESS_INTERVAL_MILLIS = 250;
+
+    private final AmazonS3 s3;
+    private final String bucketName;
+    private final int parallelism;
+    private final int shardDepth;
+    private final boolean useListObjectsV2;
+
+    private final AtomicLong keyCount = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    public S3ParallelLister(AmazonS3 s3, String bucketName) {
+        this(s3, bucketName, DEFAULT_PARALLELISM, DEFAULT_SHARD_DEPTH, true);
+    }
+
+    public S3ParallelLister(AmazonS3 s3, String bucketName, int parallelism, int shardDepth,
+            boolean useListObjectsV2) {
+        if (parallelism <= 0 || shardDepth < 0) {
+            throw new IllegalArgumentException("parallelism must be positive and shardDepth not negative");
+        }
+        this.s3 = s3;
+        this.bucketName = bucketName;
+        this.parallelism = parallelism;
+        this.shardDepth = shardDepth;
+        this.useListObjectsV2 = useListObjectsV2;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getShardDepth() {
+        return shardDepth;
+    }
+
+    /**
+     * Lists every key under the given prefix, handing each page of keys to the
+     * given consumer as soon as it arrives. Pages of different shards arrive in
+     * no particular order, and the consumer is called from several threads at
+     * once.
+     * <p>
+     * Returns early, without an exception, if the monitor is cancelled.
+     *
+     * @param monitor
+     *            Receives the listing rate as sub-task; may be null.
+     * @throws AmazonClientException
+     *             If listing any of the shards failed.
+     * @throws RuntimeException
+     *             Any other exception thrown while listing a shard or by the
+     *             consumer; the listing stops at the first one.
+     */
+    public void list(String prefix, Consumer<List<S3ObjectSummary>> consumer, IProgressMonitor monitor) {
+        keyCount.set(0);
+        requestCount.set(0);
+        startNanos = System.nanoTime();
+        endNanos = 0;
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "S3 lister " + bucketName);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Listing listing = new Listing(executor, consumer);
+        try {
+            listing.submit(prefix == null ? "" : prefix, 0);
+            listing.await(monitor);
+        } finally {
+            executor.shutdownNow();
+            endNanos = System.nanoTime();
+        }
+
+        if (listing.failure.get() != null) {
+            throw listing.failure.get();
+        }
+    }
+
+    /**
+     * Lists every key under the given prefix and returns them in key order.
+     *
+     * @see #list(String, Consumer, IProgressMonitor)
+     */
+    public List<S3ObjectSummary> listAll(String prefix, IProgressMonitor monitor) {
+        List<List<S3ObjectSummary>> runs = Collections.synchronizedList(new ArrayList<List<S3ObjectSummary>>());
+        list(prefix, runs::add, monitor);
+        return mergeInKeyOrder(runs);
+    }
+
+    /** Returns the number of keys listed by the current or last listing. */
+    public long getKeyCount() {
+        return keyCount.get();
+    }
+
+    /** Returns the number of list requests made by the current or last listing. */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /** Returns the listing rate of the current or last listing. */
+    public double getKeysPerSecond() {
+        long start = startNanos;
+        if (start == 0) {
+            return 0;
+        }
+        long end = endNanos == 0 ? System.nanoTime() : endNanos;
+        double seconds = (end - start) / 1e9;
+        return seconds <= 0 ? 0 : keyCount.get() / seconds;
+    }
+
+    /**
+     * Merges runs of summaries that are each sorted by key into one list
+     * sorted by key.
+     */
+    static List<S3ObjectSummary> mergeInKeyOrder(List<List<S3ObjectSummary>> runs) {
+        int size = 0;
+        PriorityQueue<RunCursor> queue = new PriorityQueue<>(Math.max(1, runs.size()));
+        for (List<S3ObjectSummary> run : runs) {
+            size += run.size();
+            RunCursor cursor = new RunCursor(run.iterator());
+            if (cursor.current != null) {
+                queue.add(cursor);
+            }
+        }
+
+        List<S3ObjectSummary> merged = new ArrayList<>(size);
+        while (!queue.isEmpty()) {
+            RunCursor cursor = queue.poll();
+            merged.add(cursor.current);
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    /** State of one call to {@link S3ParallelLister#list}. */
+    private final class Listing {
+        private final ExecutorService executor;
+        private final Consumer<List<S3ObjectSummary>> consumer;
+        private final AtomicInteger pendingShards = new AtomicInteger();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private volatile boolean stopped;
+
+        Listing(ExecutorService executor, Consumer<List<S3ObjectSummary>> consumer) {
+            this.executor = executor;
+            this.consumer = consumer;
+        }
+
+        void submit(final String prefix, final int depth) {
+            pendingShards.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    listShard(prefix, depth);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                    stopped = true;
+                } finally {
+                    if (pendingShards.decrementAndGet() == 0) {
+                        synchronized (this) {
+                            notifyAll();
+                        }
+                    }
+                }
+            });
+        }
+
+        private void listShard(String prefix, int depth) {
+            String delimiter = depth < shardDepth ? DEFAULT_DELIMITER : null;
+            String token = null;
+            do {
+                if (stopped) {
+                    return;
+                }
+                List<S3ObjectSummary> summaries = new ArrayList<>();
+                List<String> commonPrefixes = new ArrayList<>();
+                token = S3ObjectListingPager.listPage(s3, bucketName, prefix, delimiter, token, MAX_KEYS,
+                        useListObjectsV2, summaries, commonPrefixes);
+                requestCount.incrementAndGet();
+
+                for (String commonPrefix : commonPrefixes) {
+                    submit(commonPrefix, depth + 1);
+                }
+                if (!summaries.isEmpty() && !stopped) {
+                    keyCount.addAndGet(summaries.size());
+                    consumer.accept(summaries);
+                }
+            } while (token != null);
+        }
+
+        synchronized void await(IProgressMonitor monitor) {
+            while (pendingShards.get() > 0) {
+                if (monitor != null) {
+                    if (monitor.isCanceled()) {
+                        stopped = true;
+                        return;
+                    }
+                    monitor.subTask(String.format("%,d keys listed (%,.0f keys/s)", getKeyCount(), getKeysPerSecond()));
+                }
+                try {
+                    wait(PROGRESS_INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    stopped = true;
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class RunCursor implements Comparable<RunCursor> {
+        private final Iterator<S3ObjectSummary> iterator;
+        private S3ObjectSummary current;
+
+        RunCursor(Iterator<S3ObjectSummary> iterator) {
+            this.iterator = iterator;
+            advance();
+        }
+
+        boolean advance() {
+            current = iterator.hasNext() ? iterator.next() : null;
+            return current != null;
+        }
+
+        @Override
+        public int compareTo(RunCursor other) {
+            return current.getKey().compareTo(other.current.getKey());
+        }
+    }
+}
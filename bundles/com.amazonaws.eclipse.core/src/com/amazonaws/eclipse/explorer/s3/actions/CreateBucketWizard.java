@@ -29,6 +29,7 @@ import com.amazonaws.eclipse.core.ui.wizards.CompositeWizardPage;
 import com.amazonaws.eclipse.core.ui.wizards.InputValidator;
 import com.amazonaws.eclipse.core.ui.wizards.TextWizardPageInput;
 import com.amazonaws.eclipse.core.ui.wizards.WizardPageInput;
+import com.amazonaws.eclipse.core.util.S3BucketRegionCache;
 import com.amazonaws.eclipse.explorer.s3.S3ContentProvider;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.internal.BucketNameUtils;
@@ -95,6 +96,7 @@ class CreateBucketWizard extends Wizard {
         }
 
         client.createBucket(createBucketRequest);
+        S3BucketRegionCache.getDefault().putBucketRegion(bucketName, regionId);
 
         S3ContentProvider.getInstance().refresh();
         return true;
@@ -241,4 +243,4 @@ class CreateBucketWizard extends Wizard {
             IN_USE_ERROR_CODES = Collections.unmodifiableSet(set);
         }
     };
-}
+}
@@ -16,6 +16,7 @@ package com.amazonaws.eclipse.explorer.s3.actions;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -29,11 +30,17 @@ import com.amazonaws.eclipse.core.AwsToolkitCore;
 import com.amazonaws.eclipse.core.telemetry.AwsToolkitMetricType;
 import com.amazonaws.eclipse.explorer.AwsAction;
 import com.amazonaws.eclipse.explorer.s3.S3ObjectSummaryTable;
+import com.amazonaws.eclipse.explorer.s3.S3ParallelLister;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 
 public class DeleteObjectAction extends AwsAction {
 
+    /** The most keys a single DeleteObjects request accepts. */
+    private static final int MAX_KEYS_PER_DELETE = 1000;
+
     private final S3ObjectSummaryTable table;
 
     public DeleteObjectAction(S3ObjectSummaryTable s3ObjectSummaryTable) {
@@ -44,7 +51,7 @@ public class DeleteObjectAction extends AwsAction {
 
     @Override
     public String getText() {
-        if ( table.getSelectedObjects().size() > 1 )
+        if ( table.getSelectedObjects().size() > 1 || !table.getSelectedPrefixes().isEmpty() )
             return "Delete Objects";
         else
             return "Delete Object";
@@ -56,7 +63,10 @@ public class DeleteObjectAction extends AwsAction {
 
     @Override
     protected void doRun() {
-        Dialog dialog = newConfirmationDialog(getText() + "?", "Are you sure you want to delete the selected objects?");
+        String message = table.getSelectedPrefixes().isEmpty()
+                ? "Are you sure you want to delete the selected objects?"
+                : "Are you sure you want to delete the selected objects and everything in the selected folders?";
+        Dialog dialog = newConfirmationDialog(getText() + "?", message);
         if (dialog.open() != 1) {
             actionCanceled();
             actionFinished();
@@ -67,26 +77,32 @@ public class DeleteObjectAction extends AwsAction {
             @Override
             protected IStatus run(IProgressMonitor monitor) {
                 final Collection<S3ObjectSummary> selectedObjects = new ArrayList<>();
+                final Collection<String> selectedPrefixes = new ArrayList<>();
                 Display.getDefault().syncExec(new Runnable() {
                     @Override
                     public void run() {
                         selectedObjects.addAll(table.getSelectedObjects());
+                        selectedPrefixes.addAll(table.getSelectedPrefixes());
                     }
                 });
-                monitor.beginTask("Deleting objects", selectedObjects.size());
+                monitor.beginTask("Deleting objects", IProgressMonitor.UNKNOWN);
 
                 try {
                     AmazonS3 s3 = table.getS3Client();
-                    for ( S3ObjectSummary summary : selectedObjects ) {
-                        s3.deleteObject(summary.getBucketName(), summary.getKey());
-                        monitor.worked(1);
+                    deleteObjects(s3, new ArrayList<>(selectedObjects));
+
+                    S3ParallelLister lister = new S3ParallelLister(s3, table.getBucketName());
+                    for ( String prefix : selectedPrefixes ) {
+                        if ( monitor.isCanceled() )
+                            break;
+                        lister.list(prefix, summaries -> deleteObjects(s3, summaries), monitor);
                     }
 
                     Display.getDefault().asyncExec(new Runnable() {
                         @Override
                         public void run() {
                             String prefix = null;
-                            if (selectedObjects.size() == 1) {
+                            if (selectedObjects.size() == 1 && selectedPrefixes.isEmpty()) {
                                 String key = selectedObjects.iterator().next().getKey();
                                 int slashIndex = key.lastIndexOf('/');
                                 if (slashIndex > 0) {
@@ -97,7 +113,7 @@ public class DeleteObjectAction extends AwsAction {
                         }
                     });
                     actionSucceeded();
-                    return Status.OK_STATUS;
+                    return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
                 } catch (Exception e) {
                     actionFailed();
                     return new Status(IStatus.ERROR, AwsToolkitCore.getDefault().getPluginId(),
@@ -110,8 +126,25 @@ public class DeleteObjectAction extends AwsAction {
         }.schedule();
     }
 
+    /**
+     * Deletes the given objects with as few DeleteObjects requests as
+     * possible.
+     */
+    private static void deleteObjects(AmazonS3 s3, List<S3ObjectSummary> summaries) {
+        for ( int start = 0; start < summaries.size(); start += MAX_KEYS_PER_DELETE ) {
+            List<S3ObjectSummary> batch = summaries.subList(start, Math.min(summaries.size(), start + MAX_KEYS_PER_DELETE));
+            List<KeyVersion> keys = new ArrayList<>(batch.size());
+            for ( S3ObjectSummary summary : batch ) {
+                keys.add(new KeyVersion(summary.getKey()));
+            }
+            s3.deleteObjects(new DeleteObjectsRequest(batch.get(0).getBucketName())
+                    .withKeys(keys)
+                    .withQuiet(true));
+        }
+    }
+
     @Override
     public boolean isEnabled() {
-        return table.getSelectedObjects().size() > 0;
+        return table.getSelectedObjects().size() + table.getSelectedPrefixes().size() > 0;
     }
 }
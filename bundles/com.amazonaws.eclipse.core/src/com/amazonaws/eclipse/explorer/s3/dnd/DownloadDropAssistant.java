@@ -15,17 +15,13 @@
 package com.amazonaws.eclipse.explorer.s3.dnd;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStream;
-import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.util.LocalSelectionTransfer;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.StructuredSelection;
@@ -37,13 +33,10 @@ import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.ui.navigator.CommonDropAdapter;
 import org.eclipse.ui.navigator.CommonDropAdapterAssistant;
 
-import com.amazonaws.eclipse.core.AwsToolkitCore;
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 
 /**
- * Handles dropping an S3 key onto a supported resource in the project explorer.
+ * Handles dropping S3 keys onto a supported resource in the project explorer.
  */
 public class DownloadDropAssistant extends CommonDropAdapterAssistant {
 
@@ -98,22 +91,40 @@ public class DownloadDropAssistant extends CommonDropAdapterAssistant {
 
         final IResource dropFolder = resource;
 
-        final S3ObjectSummary s3object = (S3ObjectSummary) s3ObjectSelection
-                .getFirstElement();
-
         final File f = dropFolder.getLocation().toFile();
         if ( !f.exists() )
             return Status.CANCEL_STATUS;
 
-        String fileName = getOutputFileName(s3object, f);
+        final S3ObjectSummary s3object = (S3ObjectSummary) s3ObjectSelection
+                .getFirstElement();
 
-        if ( fileName == null || fileName.length() == 0 ) {
-            return Status.CANCEL_STATUS;
-        }
+        if ( s3ObjectSelection.size() == 1 ) {
+            String fileName = getOutputFileName(s3object, f);
 
-        final File outputFile = new File(fileName);
+            if ( fileName == null || fileName.length() == 0 ) {
+                return Status.CANCEL_STATUS;
+            }
+
+            DownloadObjectsJob job = new DownloadObjectsJob("Downloading " + s3object.getKey(),
+                    s3object.getBucketName(), dropFolder);
+            job.addObject(s3object.getKey(), new File(fileName));
+            job.schedule();
+            return Status.OK_STATUS;
+        }
 
-        new DownloadObjectJob("Downloading " + s3object.getKey(), s3object, dropFolder, outputFile).schedule();
+        // Several objects go into the drop folder, keeping their path below
+        // the folder they all share so that equal names don't collide.
+        DownloadObjectsJob job = new DownloadObjectsJob("Downloading " + s3ObjectSelection.size() + " objects",
+                s3object.getBucketName(), dropFolder);
+        List<String> keys = new ArrayList<>();
+        for ( Object o : s3ObjectSelection.toList() ) {
+            keys.add(((S3ObjectSummary) o).getKey());
+        }
+        String parent = DownloadObjectsJob.getCommonParent(keys);
+        for ( String key : keys ) {
+            job.addObject(key, f, key.substring(parent.length()));
+        }
+        job.schedule();
 
         return Status.OK_STATUS;
     }
@@ -129,81 +140,4 @@ public class DownloadDropAssistant extends CommonDropAdapterAssistant {
         String fileName = dialog.open();
         return fileName;
     }
-
-    /**
-     * Async job to download an object from S3
-     */
-    private final class DownloadObjectJob extends Job {
-
-        private final S3ObjectSummary s3object;
-        private final IResource dropFolder;
-        private final File outputFile;
-
-        private DownloadObjectJob(String name, S3ObjectSummary s3object, IResource dropFolder, File outputFile) {
-            super(name);
-            this.s3object = s3object;
-            this.dropFolder = dropFolder;
-            this.outputFile = outputFile;
-        }
-
-        @Override
-        protected IStatus run(final IProgressMonitor monitor) {
-            FileOutputStream fos = null;
-            try {
-                AmazonS3 client = AwsToolkitCore.getClientFactory().getS3ClientForBucket(s3object.getBucketName());
-                S3Object object = client.getObject(s3object.getBucketName(), s3object.getKey());
-
-                // This number is used for reporting only; the download
-                // will appear to complete early if the file is bigger
-                // than 2GB.
-                long totalNumBytes = object.getObjectMetadata().getContentLength();
-                if ( totalNumBytes > Integer.MAX_VALUE )
-                    totalNumBytes = Integer.MAX_VALUE;
-                monitor.beginTask("Downloading", (int) totalNumBytes);
-
-                // For a new file this is a no-op, but it truncates an
-                // existing file for overwrite.
-                try (RandomAccessFile raf = new RandomAccessFile(outputFile, "rw")) {
-                    raf.setLength(0);
-                }
-
-                fos = new FileOutputStream(outputFile);
-                InputStream is = object.getObjectContent();
-                byte[] buffer = new byte[4096];
-                int bytesRead = 0;
-                while ( (bytesRead = is.read(buffer)) > 0 ) {
-                    fos.write(buffer, 0, bytesRead);
-                    monitor.worked(bytesRead);
-                }
-            } catch ( Exception e ) {
-                return new Status(Status.ERROR, AwsToolkitCore.getDefault().getPluginId(), "Error downloading file from S3", e);
-            } finally {
-                if ( fos != null ) {
-                    try {
-                        fos.close();
-                    } catch ( Exception e ) {
-                        AwsToolkitCore.getDefault().logError("Couldn't close file output stream", e);
-                    }
-                }
-                monitor.done();
-            }
-
-            // Refresh the drop folder
-            // TODO: this won't work if they chose another folder in the
-            // file selection dialog.
-            Display.getDefault().asyncExec(new Runnable() {
-
-                @Override
-                public void run() {
-                    try {
-                        dropFolder.refreshLocal(1, monitor);
-                    } catch ( CoreException e ) {
-                        AwsToolkitCore.getDefault().logError("Couldn't refresh local files", e);
-                    }
-                }
-            });
-
-            return Status.OK_STATUS;
-        }
-    }
 }
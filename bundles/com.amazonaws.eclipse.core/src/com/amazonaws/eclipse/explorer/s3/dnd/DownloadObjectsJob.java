@@ -0,0 +1,305 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.explorer.s3.dnd;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.swt.widgets.Display;
+
+import com.amazonaws.eclipse.core.AwsToolkitCore;
+import com.amazonaws.eclipse.explorer.s3.S3ParallelLister;
+import com.amazonaws.eclipse.explorer.s3.util.S3ParallelDownloader;
+import com.amazonaws.eclipse.explorer.s3.util.S3ParallelDownloader.ObjectDownload;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+/**
+ * Background job to download objects and whole prefixes of a bucket into the
+ * workspace through an {@link S3ParallelDownloader}.
+ * <p>
+ * Objects downloaded into a directory keep the rest of their key as relative
+ * path; keys that would lead outside of that directory (e.g. through "..")
+ * are skipped, as are keys that would land on a file that another key of the
+ * same job goes to. The user is asked before existing files are overwritten,
+ * except for files chosen through a save dialog.
+ */
+class DownloadObjectsJob extends Job {
+
+    private final String bucketName;
+    private final IResource dropFolder;
+
+    private final Map<String, File> keys = new LinkedHashMap<>();
+    private final Map<String, Target> keysUnderDirectory = new LinkedHashMap<>();
+    private final Map<String, Target> prefixes = new LinkedHashMap<>();
+
+    /**
+     * @param dropFolder
+     *            The workspace folder to refresh once the download is done.
+     */
+    DownloadObjectsJob(String name, String bucketName, IResource dropFolder) {
+        super(name);
+        this.bucketName = bucketName;
+        this.dropFolder = dropFolder;
+        this.setUser(true);
+    }
+
+    /**
+     * Downloads the given key to the given file, which the user chose, and
+     * confirmed overwriting, through a save dialog.
+     */
+    void addObject(String key, File file) {
+        keys.put(key, file);
+    }
+
+    /**
+     * Downloads the given key to the given path relative to the given
+     * directory.
+     */
+    void addObject(String key, File directory, String relativePath) {
+        keysUnderDirectory.put(key, new Target(directory, relativePath));
+    }
+
+    /**
+     * Downloads every key under the given prefix into the given path relative
+     * to the given directory, keeping the part of the key after the prefix as
+     * relative path below it.
+     */
+    void addPrefix(String prefix, File directory, String relativePath) {
+        prefixes.put(prefix, new Target(directory, relativePath));
+    }
+
+    /**
+     * Returns the longest prefix of the given keys that ends with a slash, so
+     * that the keys keep their path below it when they are downloaded
+     * together; keys ending with a slash stand for folders.
+     */
+    static String getCommonParent(Collection<String> keys) {
+        String common = null;
+        for (String key : keys) {
+            String path = key.endsWith("/") ? key.substring(0, key.length() - 1) : key;
+            String parent = path.substring(0, path.lastIndexOf('/') + 1);
+            if (common == null) {
+                common = parent;
+            } else {
+                while (!parent.startsWith(common)) {
+                    common = common.substring(0, common.lastIndexOf('/', common.length() - 2) + 1);
+                }
+            }
+        }
+        return common == null ? "" : common;
+    }
+
+    /**
+     * Returns the file the given relative path leads to below the given
+     * directory, or null if it leads outside of it.
+     */
+    static File resolve(File directory, String relativePath) throws IOException {
+        File root = directory.getCanonicalFile();
+        File file = new File(root, relativePath).getCanonicalFile();
+        return file.getPath().startsWith(root.getPath() + File.separator) ? file : null;
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        List<IStatus> errorStatuses = new ArrayList<>();
+        List<ObjectDownload> downloads = new ArrayList<>();
+        // The listing only reports its rate, the downloader the actual progress
+        SubMonitor progress = SubMonitor.convert(monitor, "Downloading from Amazon S3", 100);
+        try {
+            AmazonS3 client = AwsToolkitCore.getClientFactory().getS3ClientForBucket(bucketName);
+            S3ParallelDownloader downloader = new S3ParallelDownloader(client);
+
+            SubMonitor listingMonitor = progress.newChild(10);
+            Set<File> targets = new HashSet<>();
+            List<ObjectDownload> unconfirmed = new ArrayList<>();
+            for (Entry<String, File> entry : keys.entrySet()) {
+                File file = entry.getValue().getCanonicalFile();
+                if (targets.add(file)) {
+                    downloads.add(downloader.describe(bucketName, entry.getKey(), file));
+                }
+            }
+            for (Entry<String, Target> entry : keysUnderDirectory.entrySet()) {
+                File file = resolve(entry.getValue().directory, entry.getValue().relativePath);
+                if (checkTarget(entry.getKey(), file, targets, errorStatuses)) {
+                    unconfirmed.add(downloader.describe(bucketName, entry.getKey(), file));
+                }
+            }
+            for (Entry<String, Target> entry : prefixes.entrySet()) {
+                String prefix = entry.getKey();
+                File directory = resolve(entry.getValue().directory, entry.getValue().relativePath);
+                if (directory == null) {
+                    checkTarget(prefix, null, targets, errorStatuses);
+                    continue;
+                }
+                S3ParallelLister lister = new S3ParallelLister(client, bucketName);
+                for (S3ObjectSummary summary : lister.listAll(prefix, listingMonitor)) {
+                    File file = resolve(directory, summary.getKey().substring(prefix.length()));
+                    if (summary.getKey().endsWith("/")) {
+                        // Folder placeholder
+                        if (file != null) {
+                            file.mkdirs();
+                        }
+                    } else if (checkTarget(summary.getKey(), file, targets, errorStatuses)) {
+                        unconfirmed.add(ObjectDownload.of(summary, file));
+                    }
+                }
+                if (monitor.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+            }
+
+            downloads.addAll(confirmOverwrite(unconfirmed));
+            downloader.download(downloads, progress.newChild(90));
+        } catch (Exception e) {
+            return new Status(IStatus.ERROR, AwsToolkitCore.getDefault().getPluginId(), "Error downloading from S3", e);
+        } finally {
+            refreshTargetFolders();
+        }
+
+        if (monitor.isCanceled()) {
+            return Status.CANCEL_STATUS;
+        }
+
+        for (ObjectDownload download : downloads) {
+            if (download.getFailure() != null) {
+                errorStatuses.add(new Status(IStatus.ERROR, AwsToolkitCore.getDefault().getPluginId(),
+                        String.format("Error downloading %s: %s", download.getKey(), download.getFailure().getMessage()),
+                        download.getFailure()));
+            }
+        }
+        if (errorStatuses.size() == 1) {
+            return errorStatuses.get(0);
+        } else if (!errorStatuses.isEmpty()) {
+            StringBuilder errorMessages = new StringBuilder();
+            for (IStatus status : errorStatuses) {
+                errorMessages.append(status.getMessage()).append("\n");
+            }
+            AwsToolkitCore.getDefault().reportException(errorMessages.toString(), null);
+        }
+        return Status.OK_STATUS;
+    }
+
+    /**
+     * Returns whether the given key can be downloaded to the given file,
+     * recording why not otherwise.
+     */
+    private boolean checkTarget(String key, File file, Set<File> targets, List<IStatus> errorStatuses) {
+        if (file == null) {
+            errorStatuses.add(new Status(IStatus.WARNING, AwsToolkitCore.getDefault().getPluginId(),
+                    "Skipped " + key + ": its key leads outside of the download folder"));
+            return false;
+        }
+        if (!targets.add(file)) {
+            errorStatuses.add(new Status(IStatus.WARNING, AwsToolkitCore.getDefault().getPluginId(),
+                    "Skipped " + key + ": another object is downloaded to " + file));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Asks the user whether to overwrite the files of the given downloads that
+     * exist already, and returns the downloads to go ahead with.
+     */
+    private List<ObjectDownload> confirmOverwrite(List<ObjectDownload> downloads) {
+        final List<ObjectDownload> existing = new ArrayList<>();
+        for (ObjectDownload download : downloads) {
+            if (download.getFile().exists()) {
+                existing.add(download);
+            }
+        }
+        if (existing.isEmpty()) {
+            return downloads;
+        }
+
+        final boolean[] overwrite = new boolean[1];
+        Display.getDefault().syncExec(new Runnable() {
+            @Override
+            public void run() {
+                String message = existing.size() == 1
+                        ? existing.get(0).getFile() + " already exists. Do you want to replace it?"
+                        : existing.size() + " of the files to download already exist, e.g. "
+                                + existing.get(0).getFile() + ". Do you want to replace them?";
+                overwrite[0] = MessageDialog.openQuestion(Display.getDefault().getActiveShell(),
+                        "Replace existing files", message);
+            }
+        });
+        if (overwrite[0]) {
+            return downloads;
+        }
+
+        List<ObjectDownload> remaining = new ArrayList<>(downloads);
+        remaining.removeAll(existing);
+        return remaining;
+    }
+
+    /**
+     * Refreshes the drop folder and the workspace folders of any file saved
+     * elsewhere from the file selection dialog.
+     */
+    private void refreshTargetFolders() {
+        final Set<IResource> folders = new HashSet<>();
+        folders.add(dropFolder);
+        for (File file : keys.values()) {
+            for (IContainer container : ResourcesPlugin.getWorkspace().getRoot()
+                    .findContainersForLocationURI(file.getAbsoluteFile().getParentFile().toURI())) {
+                folders.add(container);
+            }
+        }
+
+        Display.getDefault().asyncExec(new Runnable() {
+
+            @Override
+            public void run() {
+                for (IResource folder : folders) {
+                    try {
+                        folder.refreshLocal(IResource.DEPTH_INFINITE, null);
+                    } catch ( CoreException e ) {
+                        AwsToolkitCore.getDefault().logError("Couldn't refresh local files", e);
+                    }
+                }
+            }
+        });
+    }
+
+    private static final class Target {
+        private final File directory;
+        private final String relativePath;
+
+        Target(File directory, String relativePath) {
+            this.directory = directory;
+            this.relativePath = relativePath;
+        }
+    }
+}
@@ -1,18 +1,14 @@
 package com.amazonaws.eclipse.explorer.s3.dnd;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStream;
-import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
-import org.eclipse.core.resources.IResource;
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaModelException;
@@ -22,8 +18,6 @@ import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.ui.part.IDropActionDelegate;
 
 import com.amazonaws.eclipse.core.AwsToolkitCore;
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 
 public class S3ObjectSummaryDropAction implements IDropActionDelegate {
@@ -58,15 +52,34 @@ public class S3ObjectSummaryDropAction implements IDropActionDelegate {
         if ( !f.exists() )
             return false;
 
-        String fileName = getOutputFileName(bk.key, f);
+        if ( bk.keys.size() == 1 && !bk.keys.get(0).endsWith("/") ) {
+            String key = bk.keys.get(0);
+            String fileName = getOutputFileName(key, f);
 
-        if ( fileName == null || fileName.length() == 0 ) {
-            return false;
-        }
+            if ( fileName == null || fileName.length() == 0 ) {
+                return false;
+            }
 
-        final File outputFile = new File(fileName);
+            DownloadObjectsJob job = new DownloadObjectsJob("Downloading " + key, bk.bucket, dropFolder);
+            job.addObject(key, new File(fileName));
+            job.schedule();
+            return true;
+        }
 
-        new DownloadObjectJob("Downloading " + bk.key, bk.bucket, bk.key, dropFolder, outputFile).schedule();
+        // Several keys, or folders, go into the drop folder, keeping their
+        // path below the folder they all share so that equal names don't
+        // collide. A folder keeps its own name and everything below it.
+        String name = bk.keys.size() == 1 ? bk.keys.get(0) : bk.keys.size() + " objects";
+        DownloadObjectsJob job = new DownloadObjectsJob("Downloading " + name, bk.bucket, dropFolder);
+        String parent = DownloadObjectsJob.getCommonParent(bk.keys);
+        for ( String key : bk.keys ) {
+            if ( key.endsWith("/") ) {
+                job.addPrefix(key, f, key.substring(parent.length()));
+            } else {
+                job.addObject(key, f, key.substring(parent.length()));
+            }
+        }
+        job.schedule();
 
         return true;
     }
@@ -87,108 +100,45 @@ public class S3ObjectSummaryDropAction implements IDropActionDelegate {
         return fileName;
     }
 
-    private final class DownloadObjectJob extends Job {
-
-        private final String key;
-        private final String bucket;
-        private final IResource dropFolder;
-        private final File outputFile;
-
-        private DownloadObjectJob(String name, String bucket, String key, IContainer dropFolder, File outputFile) {
-            super(name);
-            this.bucket = bucket;
-            this.key = key;
-            this.dropFolder = dropFolder;
-            this.outputFile = outputFile;
-        }
-
-        @Override
-        protected IStatus run(final IProgressMonitor monitor) {
-            FileOutputStream fos = null;
-            try {
-                // TODO: this won't work if the current account doesn't have read permission for the bucket and key
-                AmazonS3 client = AwsToolkitCore.getClientFactory().getS3ClientForBucket(bucket);
-                S3Object object = client.getObject(bucket, key);
-
-                // This number is used for reporting only; the download
-                // will appear to complete early if the file is bigger
-                // than 2GB.
-                long totalNumBytes = object.getObjectMetadata().getContentLength();
-                if ( totalNumBytes > Integer.MAX_VALUE )
-                    totalNumBytes = Integer.MAX_VALUE;
-                monitor.beginTask("Downloading", (int) totalNumBytes);
-
-                // For a new file this is a no-op, but it truncates an
-                // existing file for overwrite.
-                try (RandomAccessFile raf = new RandomAccessFile(outputFile, "rw")) {
-                    raf.setLength(0);
-                }
-
-                fos = new FileOutputStream(outputFile);
-                InputStream is = object.getObjectContent();
-                byte[] buffer = new byte[4096];
-                int bytesRead = 0;
-                while ( (bytesRead = is.read(buffer)) > 0 ) {
-                    fos.write(buffer, 0, bytesRead);
-                    monitor.worked(bytesRead);
-                }
-            } catch ( Exception e ) {
-                return new Status(Status.ERROR, AwsToolkitCore.getDefault().getPluginId(), "Error downloading file from S3", e);
-            } finally {
-                if ( fos != null ) {
-                    try {
-                        fos.close();
-                    } catch ( Exception e ) {
-                        AwsToolkitCore.getDefault().logError("Couldn't close file output stream", e);
-                    }
-                }
-                monitor.done();
-            }
-
-            // Refresh the drop folder
-            // TODO: this won't work if they chose another folder in the
-            // file selection dialog.
-            Display.getDefault().asyncExec(new Runnable() {
-
-                @Override
-                public void run() {
-                    try {
-                        dropFolder.refreshLocal(1, monitor);
-                    } catch ( CoreException e ) {
-                        AwsToolkitCore.getDefault().logError("Couldn't refresh local files", e);
-                    }
-                }
-            });
-
-            return Status.OK_STATUS;
-        }
-    }
-
     /**
      * Encodes the object summary as a byte array.
      */
     public static byte[] encode(S3ObjectSummary s) {
-        return BucketAndKey.encode(s);
+        return BucketAndKey.encode(s.getBucketName(), Arrays.asList(s.getKey()));
+    }
+
+    /**
+     * Encodes the given keys of a bucket as a byte array. Keys ending with a
+     * slash are downloaded as folders.
+     */
+    public static byte[] encode(String bucket, Collection<String> keys) {
+        return BucketAndKey.encode(bucket, keys);
     }
 
     static private class BucketAndKey {
 
         private String bucket;
-        private String key;
+        private List<String> keys = new ArrayList<>();
 
-        public static byte[] encode(S3ObjectSummary s) {
+        public static byte[] encode(String bucket, Collection<String> keys) {
+            // Bucket names can't contain tabs and keys can't contain NULs
             StringBuilder b = new StringBuilder();
-            b.append(s.getBucketName()).append('\t').append(s.getKey());
-            return b.toString().getBytes();
+            b.append(bucket);
+            char separator = '\t';
+            for ( String key : keys ) {
+                b.append(separator).append(key);
+                separator = '\0';
+            }
+            return b.toString().getBytes(StandardCharsets.UTF_8);
         }
 
         public BucketAndKey(byte[] data) {
-            String s = new String(data);
+            String s = new String(data, StandardCharsets.UTF_8);
             int index = s.indexOf('\t');
             if ( index < 0 )
                 throw new RuntimeException("Unable to decode bucket and key");
             bucket = s.substring(0, index);
-            key = s.substring(index + 1);
+            keys.addAll(Arrays.asList(s.substring(index + 1).split("\0", -1)));
         }
 
     }
@@ -34,7 +34,6 @@ import com.amazonaws.eclipse.core.AwsToolkitCore;
 import com.amazonaws.eclipse.explorer.s3.BucketEditor;
 import com.amazonaws.eclipse.explorer.s3.BucketEditorInput;
 import com.amazonaws.services.s3.model.Bucket;
-import com.amazonaws.services.s3.transfer.TransferManager;
 
 /**
  * Handles dropping a resource into a bucket, uploading it.
@@ -69,9 +68,8 @@ public class UploadDropAssistant extends CommonDropAdapterAssistant {
         if (filesToUpload == null || filesToUpload.length == 0)
             return Status.CANCEL_STATUS;
 
-        final TransferManager transferManager = new TransferManager(AwsToolkitCore.getClientFactory().getS3ClientForBucket(bucket.getName()));
         UploadFilesJob uploadFileJob = new UploadFilesJob(String.format("Upload files to bucket %s", bucket.getName()),
-                    bucket.getName(), filesToUpload, transferManager);
+                    bucket.getName(), filesToUpload, AwsToolkitCore.getClientFactory().getS3ClientForBucket(bucket.getName()));
 
         uploadFileJob.setRefreshRunnable(new Runnable() {
 
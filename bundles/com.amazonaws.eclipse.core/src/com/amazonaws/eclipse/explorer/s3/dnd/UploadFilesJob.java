@@ -17,6 +17,11 @@ package com.amazonaws.eclipse.explorer.s3.dnd;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -25,20 +30,29 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.swt.widgets.Display;
 
 import com.amazonaws.eclipse.core.AwsToolkitCore;
+import com.amazonaws.eclipse.explorer.s3.util.S3TransferService;
 import com.amazonaws.event.ProgressEvent;
 import com.amazonaws.event.ProgressEventType;
 import com.amazonaws.event.ProgressListener;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.transfer.Transfer.TransferState;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.Upload;
 
 /**
- * Background job to upload files to S3
+ * Background job to upload files to S3. Files are uploaded in parallel
+ * through the shared {@link S3TransferService}.
  */
 public class UploadFilesJob extends Job {
 
+    private static final long PROGRESS_INTERVAL_MILLIS = 250;
+
     private final String bucketName;
     private final File[] filesToUpload;
-    private final TransferManager transferManager;
+    private final AmazonS3 s3;
+
+    private final AtomicLong transferredBytes = new AtomicLong();
+    private final AtomicInteger finishedFiles = new AtomicInteger();
 
     private Runnable refreshRunnable;
 
@@ -54,27 +68,89 @@ public class UploadFilesJob extends Job {
         this.refreshRunnable = refreshRunnable;
     }
 
-    public UploadFilesJob(String name, String bucketName, File[] toUpload, TransferManager transferManager) {
+    public UploadFilesJob(String name, String bucketName, File[] toUpload, AmazonS3 s3) {
         super(name);
         this.bucketName = bucketName;
         this.filesToUpload = toUpload;
-        this.transferManager = transferManager;
+        this.s3 = s3;
         this.setUser(true);
     }
 
     @Override
     protected IStatus run(IProgressMonitor monitor) {
         List<KeyFilePair> pairSet = getActualFilesToUpload();
+        long totalBytes = 0;
+        for (KeyFilePair pair : pairSet) {
+            totalBytes += pair.file.length();
+        }
+
         int totalFilesToUpload = pairSet.size();
-        monitor.beginTask(String.format("Uploading %d files to Amazon S3!", totalFilesToUpload), 100 * totalFilesToUpload);
+        monitor.beginTask(String.format("Uploading %d files to Amazon S3", totalFilesToUpload),
+                (int) Math.max(1, totalBytes / 1024));
+
+        S3TransferService transferService = S3TransferService.getDefault();
+        int maxConcurrentFiles = transferService.getMaxConcurrentFiles();
+        Semaphore permits = new Semaphore(maxConcurrentFiles);
+        List<PendingUpload> uploads = new ArrayList<>();
+        Progress progress = new Progress(monitor, totalFilesToUpload, totalBytes);
+
+        TransferManager transferManager = transferService.newTransferManager(s3);
+        try {
+            for (KeyFilePair pair : pairSet) {
+                while (!permits.tryAcquire(PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    progress.update();
+                    if (monitor.isCanceled()) {
+                        break;
+                    }
+                }
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                PendingUpload pending = new PendingUpload(pair.keyName, permits);
+                pending.upload = transferService.upload(transferManager, bucketName, pair.keyName, pair.file, pending);
+                uploads.add(pending);
+            }
+
+            // All the permits are back once every upload is finished
+            while (!monitor.isCanceled()
+                    && !permits.tryAcquire(maxConcurrentFiles, PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                progress.update();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (monitor.isCanceled() || Thread.currentThread().isInterrupted()) {
+                for (PendingUpload pending : uploads) {
+                    if (!pending.upload.isDone()) {
+                        pending.upload.abort();
+                    }
+                }
+            }
+            transferService.release(transferManager);
+            monitor.done();
+        }
+
+        if ( getRefreshRunnable() != null ) {
+            Display.getDefault().syncExec(getRefreshRunnable());
+        }
+
+        if (monitor.isCanceled()) {
+            return Status.CANCEL_STATUS;
+        }
+
         List<IStatus> errorStatuses = new ArrayList<>();
-        int uploadedFiles = 0;
-        for (KeyFilePair pair : pairSet) {
-            String name = pair.keyName;
-            monitor.setTaskName(String.format("%d/%d uploaded! Uploading %s!", uploadedFiles++, totalFilesToUpload, name));
-            doUpload(name, pair.file, errorStatuses, monitor);
+        for (PendingUpload pending : uploads) {
+            if (pending.upload.getState() == TransferState.Failed && !transferService.isShuttingDown()) {
+                String message;
+                try {
+                    message = pending.upload.waitForException().getMessage();
+                } catch (InterruptedException e) {
+                    message = e.getMessage();
+                }
+                errorStatuses.add(new Status(IStatus.ERROR, AwsToolkitCore.getDefault().getPluginId(),
+                        String.format("Error uploading %s: %s", pending.keyName, message)));
+            }
         }
-        monitor.done();
         if (!errorStatuses.isEmpty()) {
             String errorMessages = aggregateErrorMessages(errorStatuses);
             AwsToolkitCore.getDefault().reportException(errorMessages, null);
@@ -110,42 +186,79 @@ public class UploadFilesJob extends Job {
         }
     }
 
-    private void doUpload(final String keyName, final File file, List<IStatus> statuses, final IProgressMonitor monitor) {
-        final Upload upload = transferManager.upload(bucketName, keyName, file);
-        upload.addProgressListener(new ProgressListener(){
-            private final long totalBytes = file.length();
-            private long transferredBytes = 0;
-            private int percentTransferred = 0;
-            @Override
-            public void progressChanged(ProgressEvent event) {
-                ProgressEventType type = event.getEventType();
-                if (type == ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT) {
-                    transferredBytes += event.getBytesTransferred();
-                    int progress = Math.min((int) (100 * transferredBytes / totalBytes), 100);
-                    if (progress <= percentTransferred) {
-                        return;
-                    }
-                    monitor.worked(progress - percentTransferred);
-                    percentTransferred = progress;
-                } else if (type == ProgressEventType.TRANSFER_COMPLETED_EVENT
-                        || type == ProgressEventType.TRANSFER_CANCELED_EVENT
-                        || type == ProgressEventType.TRANSFER_FAILED_EVENT) {
-                    if (percentTransferred < 100) {
-                        monitor.worked(100 - percentTransferred);
-                    }
-                }
+    /**
+     * Reports the aggregate progress of all the uploads of this job, from the
+     * job's own thread.
+     */
+    private final class Progress {
+        private final IProgressMonitor monitor;
+        private final int totalFiles;
+        private final long totalBytes;
+        private final long startTime = System.nanoTime();
+        private int reportedKilobytes;
+
+        Progress(IProgressMonitor monitor, int totalFiles, long totalBytes) {
+            this.monitor = monitor;
+            this.totalFiles = totalFiles;
+            this.totalBytes = totalBytes;
+        }
+
+        void update() {
+            // Retried requests report their bytes again, so don't go past the total
+            long transferred = Math.min(transferredBytes.get(), totalBytes);
+            int kilobytes = (int) (transferred / 1024);
+            if (kilobytes > reportedKilobytes) {
+                monitor.worked(kilobytes - reportedKilobytes);
+                reportedKilobytes = kilobytes;
             }
-        });
 
-        try {
-            upload.waitForCompletion();
-        } catch (Exception e) {
-            statuses.add(new Status(IStatus.ERROR, AwsToolkitCore.getDefault().getPluginId(),
-                    String.format("Error uploading %s: %s", keyName, e.getMessage())));
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+            double bytesPerSecond = seconds > 0 ? transferred / seconds : 0;
+            String eta = bytesPerSecond > 0
+                    ? formatDuration((long) ((totalBytes - transferred) / bytesPerSecond))
+                    : "unknown";
+            monitor.subTask(String.format("%d/%d files uploaded, %.1f MB/s, %s left",
+                    finishedFiles.get(), totalFiles, bytesPerSecond / (1024 * 1024), eta));
         }
 
-        if ( getRefreshRunnable() != null ) {
-            Display.getDefault().syncExec(getRefreshRunnable());
+        private String formatDuration(long seconds) {
+            if (seconds >= 3600) {
+                return String.format("%dh %02dm", seconds / 3600, (seconds % 3600) / 60);
+            } else if (seconds >= 60) {
+                return String.format("%dm %02ds", seconds / 60, seconds % 60);
+            }
+            return seconds + "s";
+        }
+    }
+
+    /**
+     * One file being uploaded. Counts its bytes towards the job's progress and
+     * hands its permit back once it's finished, whatever the outcome.
+     */
+    private final class PendingUpload implements ProgressListener {
+        private final String keyName;
+        private final Semaphore permits;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile Upload upload;
+
+        PendingUpload(String keyName, Semaphore permits) {
+            this.keyName = keyName;
+            this.permits = permits;
+        }
+
+        @Override
+        public void progressChanged(ProgressEvent event) {
+            ProgressEventType type = event.getEventType();
+            if (type == ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT) {
+                transferredBytes.addAndGet(event.getBytesTransferred());
+            } else if (type == ProgressEventType.TRANSFER_COMPLETED_EVENT
+                    || type == ProgressEventType.TRANSFER_CANCELED_EVENT
+                    || type == ProgressEventType.TRANSFER_FAILED_EVENT) {
+                if (finished.compareAndSet(false, true)) {
+                    finishedFiles.incrementAndGet();
+                    permits.release();
+                }
+            }
         }
     }
 
@@ -157,4 +270,4 @@ public class UploadFilesJob extends Job {
             this.file = file;
         }
     }
-}
+}
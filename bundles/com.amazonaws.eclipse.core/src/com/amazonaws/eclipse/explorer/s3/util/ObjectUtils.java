@@ -15,6 +15,7 @@
 package com.amazonaws.eclipse.explorer.s3.util;
 
 import com.amazonaws.eclipse.core.AwsToolkitCore;
+import com.amazonaws.eclipse.core.util.S3BucketRegionCache;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.S3VersionSummary;
 import com.amazonaws.services.s3.model.VersionListing;
@@ -63,5 +64,6 @@ public class ObjectUtils {
         } while (versionListing.isTruncated());
 
         s3.deleteBucket(bucketName);
+        S3BucketRegionCache.getDefault().invalidate(bucketName);
     }
 }
@@ -0,0 +1,543 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.explorer.s3.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.util.BinaryUtils;
+
+/**
+ * Downloads S3 objects by splitting them into byte ranges that are fetched
+ * concurrently and written in place into a preallocated file.
+ * <p>
+ * Every ranged GET is made on the ETag the download started with, so parts of
+ * different versions of an object are never mixed. An object is written to a
+ * {@value #PARTIAL_SUFFIX} file next to its target, together with a journal of
+ * the parts already written; a download that fails or is cancelled resumes
+ * from that journal the next time the same object is downloaded to the same
+ * file. Once all parts are in, the content is checked against the ETag when
+ * the ETag is a plain MD5 (objects uploaded in one part without KMS
+ * encryption) and the file is moved into place.
+ * <p>
+ * All the parts of all the objects of one {@link #download(List, IProgressMonitor)}
+ * call share a pool of at most {@link #getMaxConcurrentRequests()} threads.
+ */
+public class S3ParallelDownloader {
+
+    public static final long DEFAULT_PART_SIZE = 8L * 1024 * 1024;
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+
+    static final String PARTIAL_SUFFIX = ".s3part";
+    static final String JOURNAL_SUFFIX = ".s3part.properties";
+
+    private static final int MAX_PART_ATTEMPTS = 3;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long PROGRESS_INTERVAL_MILLIS = 250;
+
+    private final AmazonS3 s3;
+    private final int maxConcurrentRequests;
+    private final long partSize;
+
+    private final AtomicLong transferredBytes = new AtomicLong();
+    private volatile boolean cancelled;
+
+    public S3ParallelDownloader(AmazonS3 s3) {
+        this(s3, DEFAULT_MAX_CONCURRENT_REQUESTS, DEFAULT_PART_SIZE);
+    }
+
+    public S3ParallelDownloader(AmazonS3 s3, int maxConcurrentRequests, long partSize) {
+        if (maxConcurrentRequests <= 0 || partSize <= 0) {
+            throw new IllegalArgumentException("maxConcurrentRequests and partSize must be positive");
+        }
+        this.s3 = s3;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.partSize = partSize;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Looks up the size and ETag of the given object and returns a download of
+     * it to the given file.
+     */
+    public ObjectDownload describe(String bucketName, String key, File file) {
+        ObjectMetadata metadata = s3.getObjectMetadata(bucketName, key);
+        return new ObjectDownload(bucketName, key, metadata.getContentLength(), metadata.getETag(), file);
+    }
+
+    /**
+     * Downloads the given objects. Failures are recorded on each download, see
+     * {@link ObjectDownload#getFailure()}, so one failed object doesn't stop
+     * the others. Returns early if the monitor is cancelled, leaving the parts
+     * written so far to resume from.
+     *
+     * @param monitor
+     *            Receives the overall progress, in kilobytes, along with the
+     *            transfer rate; may be null. The task is begun through
+     *            {@link SubMonitor#convert}, so a caller that already began a
+     *            task should pass a child of its own monitor.
+     */
+    public void download(List<ObjectDownload> downloads, IProgressMonitor monitor) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "S3 download");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        cancelled = false;
+        transferredBytes.set(0);
+        long totalBytes = 0;
+        for (ObjectDownload download : downloads) {
+            totalBytes += download.size;
+        }
+        SubMonitor progress = monitor == null ? null
+                : SubMonitor.convert(monitor, "Downloading from Amazon S3", (int) Math.max(1, totalBytes / 1024));
+
+        final AtomicInteger pendingParts = new AtomicInteger();
+        try {
+            for (ObjectDownload download : downloads) {
+                if (cancelled || (progress != null && progress.isCanceled())) {
+                    break;
+                }
+                try {
+                    List<Integer> parts = download.prepare(partSize);
+                    transferredBytes.addAndGet(download.getResumedBytes());
+                    if (parts.isEmpty()) {
+                        download.complete(s3);
+                        continue;
+                    }
+                    for (final int part : parts) {
+                        pendingParts.incrementAndGet();
+                        executor.execute(() -> {
+                            try {
+                                downloadPart(download, part);
+                            } finally {
+                                pendingParts.decrementAndGet();
+                            }
+                        });
+                    }
+                } catch (Exception e) {
+                    download.fail(e);
+                }
+            }
+            awaitParts(pendingParts, totalBytes, progress);
+        } finally {
+            executor.shutdownNow();
+            for (ObjectDownload download : downloads) {
+                download.closeQuietly();
+            }
+            if (monitor != null) {
+                monitor.done();
+            }
+        }
+    }
+
+    /** Returns the number of bytes written by the current or last download. */
+    public long getTransferredBytes() {
+        return transferredBytes.get();
+    }
+
+    private void awaitParts(AtomicInteger pendingParts, long totalBytes, SubMonitor monitor) {
+        long startTime = System.nanoTime();
+        long startBytes = transferredBytes.get();
+        int reportedKilobytes = 0;
+        while (pendingParts.get() > 0) {
+            if (monitor != null) {
+                if (monitor.isCanceled()) {
+                    cancelled = true;
+                    return;
+                }
+                int kilobytes = (int) (Math.min(transferredBytes.get(), totalBytes) / 1024);
+                if (kilobytes > reportedKilobytes) {
+                    monitor.worked(kilobytes - reportedKilobytes);
+                    reportedKilobytes = kilobytes;
+                }
+                double seconds = (System.nanoTime() - startTime) / 1e9;
+                double rate = seconds > 0 ? (transferredBytes.get() - startBytes) / seconds : 0;
+                monitor.subTask(String.format("%,d of %,d KB, %.1f MB/s",
+                        kilobytes, totalBytes / 1024, rate / (1024 * 1024)));
+            }
+            try {
+                Thread.sleep(PROGRESS_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                cancelled = true;
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void downloadPart(ObjectDownload download, int part) {
+        for (int attempt = 1; !cancelled && download.failure == null; attempt++) {
+            try {
+                if (writePart(download, part) < 0) {
+                    return;
+                }
+                if (download.partDone(part)) {
+                    download.complete(s3);
+                }
+                return;
+            } catch (IOException | RuntimeException e) {
+                // Don't count the bytes of the failed attempt twice
+                transferredBytes.addAndGet(-download.lastAttemptBytes(part));
+                if (attempt >= MAX_PART_ATTEMPTS || e instanceof ObjectChangedException) {
+                    download.fail(e);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fetches one byte range of the object and writes it at its position.
+     *
+     * @return The number of bytes written, or -1 if the download was
+     *         cancelled along the way.
+     */
+    private long writePart(ObjectDownload download, int part) throws IOException {
+        long start = part * partSize;
+        long end = Math.min(download.size, start + partSize) - 1;
+
+        GetObjectRequest request = new GetObjectRequest(download.bucketName, download.key).withRange(start, end);
+        if (download.eTag != null) {
+            request.setMatchingETagConstraints(Collections.singletonList(download.eTag));
+        }
+        S3Object object = s3.getObject(request);
+        if (object == null) {
+            // The ETag constraint wasn't met
+            throw new ObjectChangedException(download.key);
+        }
+
+        FileChannel channel = download.channel();
+        S3ObjectInputStream in = object.getObjectContent();
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long position = start;
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                if (cancelled || download.failure != null) {
+                    in.abort();
+                    return -1;
+                }
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                while (byteBuffer.hasRemaining()) {
+                    position += channel.write(byteBuffer, position);
+                }
+                transferredBytes.addAndGet(read);
+                download.attemptProgress(part, read);
+            }
+            if (position != end + 1) {
+                throw new IOException(String.format("Expected %d bytes of %s but got %d",
+                        end + 1 - start, download.key, position - start));
+            }
+            return position - start;
+        } finally {
+            in.close();
+        }
+    }
+
+    /** Thrown when the object was replaced while it was being downloaded. */
+    private static final class ObjectChangedException extends AmazonClientException {
+        private static final long serialVersionUID = 1L;
+
+        ObjectChangedException(String key) {
+            super("The object " + key + " changed while it was being downloaded");
+        }
+    }
+
+    /**
+     * One object to download, along with the state of its download.
+     */
+    public static final class ObjectDownload {
+        private final String bucketName;
+        private final String key;
+        private final long size;
+        private final String eTag;
+        private final File file;
+        private final File partialFile;
+        private final File journalFile;
+
+        private BitSet doneParts = new BitSet();
+        private long partSize;
+        private int partCount;
+        private final Map<Integer, Long> attemptBytes = new HashMap<>();
+        private FileChannel channel;
+        private volatile Exception failure;
+        private volatile boolean completed;
+
+        public ObjectDownload(String bucketName, String key, long size, String eTag, File file) {
+            this.bucketName = bucketName;
+            this.key = key;
+            this.size = size;
+            this.eTag = eTag;
+            this.file = file;
+            this.partialFile = new File(file.getPath() + PARTIAL_SUFFIX);
+            this.journalFile = new File(file.getPath() + JOURNAL_SUFFIX);
+        }
+
+        public static ObjectDownload of(S3ObjectSummary summary, File file) {
+            return new ObjectDownload(summary.getBucketName(), summary.getKey(), summary.getSize(),
+                    summary.getETag(), file);
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        /** Returns whether the object was downloaded and moved into place. */
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        /** Returns why the download failed, or null. */
+        public Exception getFailure() {
+            return failure;
+        }
+
+        /**
+         * Loads the journal of an earlier attempt if it matches this object
+         * and part size, and returns the parts still to fetch.
+         */
+        synchronized List<Integer> prepare(long partSize) throws IOException {
+            this.partSize = partSize;
+            partCount = (int) ((size + partSize - 1) / partSize);
+            doneParts = new BitSet();
+
+            if (journalFile.isFile() && partialFile.isFile() && partialFile.length() == size) {
+                Properties journal = new Properties();
+                try (InputStream in = new FileInputStream(journalFile)) {
+                    journal.load(in);
+                }
+                if (String.valueOf(eTag).equals(journal.getProperty("eTag"))
+                        && String.valueOf(size).equals(journal.getProperty("size"))
+                        && String.valueOf(partSize).equals(journal.getProperty("partSize"))) {
+                    for (String part : journal.getProperty("doneParts", "").split(",")) {
+                        if (!part.isEmpty()) {
+                            doneParts.set(Integer.parseInt(part));
+                        }
+                    }
+                }
+            }
+
+            if (doneParts.isEmpty()) {
+                File parent = file.getAbsoluteFile().getParentFile();
+                if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                    throw new IOException("Unable to create " + parent);
+                }
+                try (FileChannel preallocate = FileChannel.open(partialFile.toPath(),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                    preallocate.truncate(0);
+                    if (size > 0) {
+                        preallocate.write(ByteBuffer.allocate(1), size - 1);
+                    }
+                }
+                saveJournal();
+            }
+
+            List<Integer> parts = new ArrayList<>();
+            for (int part = doneParts.nextClearBit(0); part < partCount; part = doneParts.nextClearBit(part + 1)) {
+                parts.add(part);
+            }
+            return parts;
+        }
+
+        /** Returns the number of bytes written by earlier attempts. */
+        synchronized long getResumedBytes() {
+            long bytes = 0;
+            for (int part = doneParts.nextSetBit(0); part >= 0; part = doneParts.nextSetBit(part + 1)) {
+                bytes += Math.min(size, (part + 1) * partSize) - part * partSize;
+            }
+            return bytes;
+        }
+
+        synchronized FileChannel channel() throws IOException {
+            if (channel == null) {
+                channel = FileChannel.open(partialFile.toPath(), StandardOpenOption.WRITE);
+            }
+            return channel;
+        }
+
+        synchronized void attemptProgress(int part, long bytes) {
+            attemptBytes.merge(part, bytes, Long::sum);
+        }
+
+        synchronized long lastAttemptBytes(int part) {
+            Long bytes = attemptBytes.remove(part);
+            return bytes == null ? 0 : bytes;
+        }
+
+        /**
+         * Records a finished part.
+         *
+         * @return True if it was the last one.
+         */
+        synchronized boolean partDone(int part) throws IOException {
+            attemptBytes.remove(part);
+            doneParts.set(part);
+            if (channel != null) {
+                // The journal must not claim a part before its bytes are on disk
+                channel.force(false);
+            }
+            saveJournal();
+            return doneParts.cardinality() == partCount;
+        }
+
+        void fail(Exception e) {
+            synchronized (this) {
+                if (failure != null) {
+                    return;
+                }
+                failure = e;
+            }
+            if (e instanceof ObjectChangedException) {
+                // The parts written so far are useless now
+                closeQuietly();
+                partialFile.delete();
+                journalFile.delete();
+            }
+        }
+
+        /**
+         * Verifies the downloaded content and moves it into place.
+         */
+        void complete(AmazonS3 s3) {
+            try {
+                closeQuietly();
+                verify(s3);
+                Files.move(partialFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                journalFile.delete();
+                completed = true;
+            } catch (Exception e) {
+                fail(e);
+            }
+        }
+
+        private void verify(AmazonS3 s3) throws IOException {
+            if (partialFile.length() != size) {
+                throw new IOException(String.format("Downloaded %d bytes of %s but expected %d",
+                        partialFile.length(), key, size));
+            }
+
+            String expected = eTag == null ? null : eTag.replace("\"", "");
+            if (expected == null || expected.contains("-") || expected.length() != 32) {
+                // Multipart ETags aren't a digest of the content
+                return;
+            }
+
+            String actual = md5Hex(partialFile);
+            if (!actual.equalsIgnoreCase(expected)) {
+                // KMS-encrypted objects have ETags that aren't an MD5 either
+                ObjectMetadata metadata = s3.getObjectMetadata(bucketName, key);
+                if (metadata.getSSEAwsKmsKeyId() == null) {
+                    partialFile.delete();
+                    journalFile.delete();
+                    throw new IOException("Checksum mismatch for " + key + ": expected " + expected
+                            + " but got " + actual);
+                }
+            }
+        }
+
+        private void saveJournal() throws IOException {
+            if (partCount <= 1) {
+                // Not worth resuming
+                return;
+            }
+            StringBuilder parts = new StringBuilder();
+            for (int part = doneParts.nextSetBit(0); part >= 0; part = doneParts.nextSetBit(part + 1)) {
+                if (parts.length() > 0) {
+                    parts.append(',');
+                }
+                parts.append(part);
+            }
+            Properties journal = new Properties();
+            journal.setProperty("eTag", String.valueOf(eTag));
+            journal.setProperty("size", String.valueOf(size));
+            journal.setProperty("partSize", String.valueOf(partSize));
+            journal.setProperty("doneParts", parts.toString());
+            try (OutputStream out = new FileOutputStream(journalFile)) {
+                journal.store(out, "Partial download of s3://" + bucketName + "/" + key);
+            }
+        }
+
+        synchronized void closeQuietly() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    // Nothing left to write
+                }
+                channel = null;
+            }
+        }
+
+        private static String md5Hex(File file) throws IOException {
+            MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IOException(e);
+            }
+            try (InputStream in = new FileInputStream(file)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            return BinaryUtils.toHex(digest.digest());
+        }
+    }
+}
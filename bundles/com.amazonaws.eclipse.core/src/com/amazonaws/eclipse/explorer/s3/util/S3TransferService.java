@@ -0,0 +1,356 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.explorer.s3.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.preference.IPreferenceStore;
+
+import com.amazonaws.eclipse.core.AwsToolkitCore;
+import com.amazonaws.eclipse.core.preferences.PreferenceConstants;
+import com.amazonaws.event.ProgressEvent;
+import com.amazonaws.event.ProgressEventType;
+import com.amazonaws.event.ProgressListener;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.transfer.PauseResult;
+import com.amazonaws.services.s3.transfer.PersistableUpload;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
+import com.amazonaws.services.s3.transfer.Upload;
+
+/**
+ * Shared service for S3 uploads started from the toolkit.
+ * <p>
+ * Every transfer manager handed out runs on its own daemon thread pool, which
+ * is shut down when the manager is released, so dropping files on a bucket no
+ * longer leaks a pool per drop. The pools aren't shared between managers: a
+ * multipart upload keeps a pool thread busy waiting for its parts, which run
+ * on the same pool, so uploads of unrelated jobs could otherwise take up every
+ * thread and wait on each other forever. The number of files uploaded at once
+ * and the multipart part size come from the core plugin's preferences, see
+ * {@link PreferenceConstants#P_S3_TRANSFER_CONCURRENCY} and
+ * {@link PreferenceConstants#P_S3_TRANSFER_PART_SIZE_MB}.
+ * <p>
+ * Multipart uploads still running when the workbench shuts down are paused
+ * and their state saved in the core plugin's state location;
+ * {@link #resumePausedUploads()} picks them up again on the next start.
+ */
+public final class S3TransferService {
+
+    private static final String PAUSED_UPLOADS_DIR = "s3-paused-uploads";
+    private static final String PAUSED_UPLOAD_SUFFIX = ".upload";
+    /** Threads per transfer manager for the parts, on top of one per file. */
+    private static final int PART_THREADS = 10;
+    private static final long MB = 1024L * 1024L;
+
+    private static S3TransferService instance;
+
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+    private final Set<TransferManager> transferManagers = ConcurrentHashMap.newKeySet();
+    private final File pausedUploadsDir;
+    private final ConcurrentMap<Upload, UploadTarget> activeUploads = new ConcurrentHashMap<>();
+    private volatile boolean shuttingDown;
+
+    public static synchronized S3TransferService getDefault() {
+        if (instance == null) {
+            File stateLocation = AwsToolkitCore.getDefault().getStateLocation().toFile();
+            instance = new S3TransferService(new File(stateLocation, PAUSED_UPLOADS_DIR));
+        }
+        return instance;
+    }
+
+    /**
+     * Pauses the uploads of the shared service, if it was ever used. Called
+     * when the core plugin stops.
+     */
+    public static synchronized void shutdownDefault() {
+        if (instance != null) {
+            instance.shutdown();
+            instance = null;
+        }
+    }
+
+    private S3TransferService(File pausedUploadsDir) {
+        this.pausedUploadsDir = pausedUploadsDir;
+    }
+
+    /** Returns how many files are uploaded at once. */
+    public int getMaxConcurrentFiles() {
+        return Math.max(1, getPreferenceStore().getInt(PreferenceConstants.P_S3_TRANSFER_CONCURRENCY));
+    }
+
+    /** Returns the size, in bytes, of the parts of multipart uploads. */
+    public long getPartSize() {
+        // S3 doesn't accept parts smaller than 5MB
+        return Math.max(5, getPreferenceStore().getInt(PreferenceConstants.P_S3_TRANSFER_PART_SIZE_MB)) * MB;
+    }
+
+    /**
+     * Returns whether the workbench is shutting down, in which case running
+     * uploads are being paused rather than failing.
+     */
+    public boolean isShuttingDown() {
+        return shuttingDown;
+    }
+
+    /**
+     * Returns a transfer manager for the given client that runs on a thread
+     * pool of its own, with room for one waiting thread per file uploaded at
+     * once besides the threads uploading the parts. Call
+     * {@link #release(TransferManager)} when done with it; this shuts down
+     * the manager's pool, but not the client.
+     */
+    public TransferManager newTransferManager(AmazonS3 s3) {
+        final int poolSize = getMaxConcurrentFiles() + PART_THREADS;
+        TransferManager transferManager = TransferManagerBuilder.standard()
+                .withS3Client(s3)
+                .withExecutorFactory(() -> newThreadPool(poolSize))
+                .withShutDownThreadPools(true)
+                .withMinimumUploadPartSize(getPartSize())
+                .withMultipartUploadThreshold(getPartSize())
+                .build();
+        transferManagers.add(transferManager);
+        return transferManager;
+    }
+
+    public void release(TransferManager transferManager) {
+        transferManagers.remove(transferManager);
+        transferManager.shutdownNow(false);
+    }
+
+    /**
+     * Starts uploading the given file and keeps track of it so it can be
+     * paused if the workbench shuts down before it's complete.
+     *
+     * @param listener
+     *            Receives the progress events of the upload from the start,
+     *            including its final state; may be null.
+     */
+    public Upload upload(TransferManager transferManager, String bucketName, String key, File file,
+            ProgressListener listener) {
+        PutObjectRequest request = new PutObjectRequest(bucketName, key, file);
+        Upload[] upload = new Upload[1];
+        request.setGeneralProgressListener(new TrackingListener(upload, listener));
+        upload[0] = transferManager.upload(request);
+        activeUploads.put(upload[0], new UploadTarget(bucketName, key));
+        if (upload[0].isDone()) {
+            activeUploads.remove(upload[0]);
+        }
+        return upload[0];
+    }
+
+    /**
+     * Schedules a job resuming the uploads that were paused when the
+     * workbench last shut down.
+     */
+    public void resumePausedUploads() {
+        File[] files = pausedUploadsDir.listFiles((dir, name) -> name.endsWith(PAUSED_UPLOAD_SUFFIX));
+        if (files == null || files.length == 0) {
+            return;
+        }
+
+        final List<PausedUpload> pausedUploads = new ArrayList<>();
+        for (File file : files) {
+            Properties properties = new Properties();
+            try (InputStream in = new FileInputStream(file)) {
+                properties.load(in);
+                pausedUploads.add(new PausedUpload(
+                        new UploadTarget(properties.getProperty("bucket"), properties.getProperty("key")),
+                        properties.getProperty("upload")));
+            } catch (IOException e) {
+                AwsToolkitCore.getDefault().logWarning("Unable to read paused S3 upload " + file, e);
+            }
+            file.delete();
+        }
+        if (pausedUploads.isEmpty()) {
+            return;
+        }
+
+        Job job = new Job("Resuming uploads to Amazon S3") {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                monitor.beginTask("Resuming uploads to Amazon S3", pausedUploads.size());
+                List<String> errors = new ArrayList<>();
+                for (PausedUpload pausedUpload : pausedUploads) {
+                    if (monitor.isCanceled() || shuttingDown) {
+                        // Keep it for the next start
+                        persist(pausedUpload);
+                        continue;
+                    }
+                    monitor.subTask(pausedUpload.target.key);
+                    TransferManager transferManager = newTransferManager(AwsToolkitCore.getClientFactory()
+                            .getS3ClientForBucket(pausedUpload.target.bucketName));
+                    try {
+                        PersistableUpload state = PersistableUpload.deserializeFrom(pausedUpload.state);
+                        Upload upload = transferManager.resumeUpload(state);
+                        activeUploads.put(upload, pausedUpload.target);
+                        try {
+                            upload.waitForCompletion();
+                        } finally {
+                            activeUploads.remove(upload);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    } catch (Exception e) {
+                        if (!shuttingDown) {
+                            errors.add(String.format("Error uploading %s: %s", pausedUpload.target.key, e.getMessage()));
+                        }
+                    } finally {
+                        release(transferManager);
+                    }
+                    monitor.worked(1);
+                }
+                monitor.done();
+                if (!errors.isEmpty()) {
+                    return new Status(IStatus.ERROR, AwsToolkitCore.getDefault().getPluginId(),
+                            String.join("\n", errors));
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setUser(false);
+        job.schedule();
+    }
+
+    /**
+     * Pauses every running multipart upload and saves what's needed to resume
+     * it. Uploads that can't be paused are left to fail.
+     */
+    private void shutdown() {
+        shuttingDown = true;
+        for (Entry<Upload, UploadTarget> entry : new ArrayList<>(activeUploads.entrySet())) {
+            Upload upload = entry.getKey();
+            if (upload.isDone()) {
+                continue;
+            }
+            try {
+                PauseResult<PersistableUpload> result = upload.tryPause(true);
+                if (result.getPauseStatus().isPaused() && result.getInfoToResume() != null) {
+                    persist(new PausedUpload(entry.getValue(), result.getInfoToResume().serialize()));
+                }
+            } catch (Exception e) {
+                AwsToolkitCore.getDefault().logWarning("Unable to pause S3 upload of " + entry.getValue().key, e);
+            }
+        }
+        for (TransferManager transferManager : new ArrayList<>(transferManagers)) {
+            release(transferManager);
+        }
+    }
+
+    private ThreadPoolExecutor newThreadPool(int poolSize) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "S3 transfer " + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private void persist(PausedUpload pausedUpload) {
+        if (!pausedUploadsDir.isDirectory() && !pausedUploadsDir.mkdirs()) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty("bucket", pausedUpload.target.bucketName);
+        properties.setProperty("key", pausedUpload.target.key);
+        properties.setProperty("upload", pausedUpload.state);
+        try {
+            File file = File.createTempFile("upload-", PAUSED_UPLOAD_SUFFIX, pausedUploadsDir);
+            try (OutputStream out = new FileOutputStream(file)) {
+                properties.store(out, "Paused S3 upload");
+            }
+        } catch (IOException e) {
+            AwsToolkitCore.getDefault().logWarning("Unable to save paused S3 upload of " + pausedUpload.target.key, e);
+        }
+    }
+
+    private static IPreferenceStore getPreferenceStore() {
+        return AwsToolkitCore.getDefault().getPreferenceStore();
+    }
+
+    /**
+     * Forwards progress events and stops tracking the upload once it reaches
+     * a final state.
+     */
+    private final class TrackingListener implements ProgressListener {
+        private final Upload[] upload;
+        private final ProgressListener delegate;
+
+        TrackingListener(Upload[] upload, ProgressListener delegate) {
+            this.upload = upload;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void progressChanged(ProgressEvent event) {
+            ProgressEventType type = event.getEventType();
+            if (type == ProgressEventType.TRANSFER_COMPLETED_EVENT
+                    || type == ProgressEventType.TRANSFER_FAILED_EVENT
+                    || type == ProgressEventType.TRANSFER_CANCELED_EVENT) {
+                if (upload[0] != null) {
+                    activeUploads.remove(upload[0]);
+                }
+            }
+            if (delegate != null) {
+                delegate.progressChanged(event);
+            }
+        }
+    }
+
+    private static final class UploadTarget {
+        private final String bucketName;
+        private final String key;
+
+        UploadTarget(String bucketName, String key) {
+            this.bucketName = bucketName;
+            this.key = key;
+        }
+    }
+
+    /** A paused upload along with its serialized {@link PersistableUpload}. */
+    private static final class PausedUpload {
+        private final UploadTarget target;
+        private final String state;
+
+        PausedUpload(UploadTarget target, String state) {
+            this.target = target;
+            this.state = state;
+        }
+    }
+}
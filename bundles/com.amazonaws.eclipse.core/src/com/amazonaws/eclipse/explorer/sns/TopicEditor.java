@@ -58,7 +58,9 @@ import org.eclipse.ui.part.EditorPart;
 
 import com.amazonaws.eclipse.core.AWSClientFactory;
 import com.amazonaws.eclipse.core.AwsToolkitCore;
+import com.amazonaws.eclipse.core.regions.ServiceAbbreviations;
 import com.amazonaws.eclipse.core.ui.IRefreshable;
+import com.amazonaws.eclipse.explorer.ExplorerLoaderExecutor;
 import com.amazonaws.services.sns.AmazonSNS;
 import com.amazonaws.services.sns.model.GetTopicAttributesRequest;
 import com.amazonaws.services.sns.model.ListSubscriptionsByTopicRequest;
@@ -131,7 +133,7 @@ public class TopicEditor extends EditorPart implements IRefreshable {
     }
 
 
-    private class LoadTopicAttributesThread extends Thread {
+    private class LoadTopicAttributesThread implements Runnable {
         @Override
         public void run() {
             try {
@@ -207,11 +209,25 @@ public class TopicEditor extends EditorPart implements IRefreshable {
 
         @Override
         public void run() {
-            new LoadTopicAttributesThread().start();
-            new LoadSubscriptionsThread().start();
+            load(new LoadTopicAttributesThread());
+            load(new LoadSubscriptionsThread());
         }
     }
 
+    /**
+     * Runs the given loader on the shared explorer loader executor; a loader
+     * of the same kind that is still pending for this editor is not repeated.
+     */
+    private void load(Runnable loader) {
+        ExplorerLoaderExecutor.getDefault().submit(ServiceAbbreviations.SNS, this, loader.getClass(), loader);
+    }
+
+    @Override
+    public void dispose() {
+        ExplorerLoaderExecutor.getDefault().cancelAll(this);
+        super.dispose();
+    }
+
     private AmazonSNS getClient() {
         AWSClientFactory clientFactory = AwsToolkitCore.getClientFactory(topicEditorInput.getAccountId());
         return clientFactory.getSNSClientByEndpoint(topicEditorInput.getRegionEndpoint());
@@ -323,7 +339,7 @@ public class TopicEditor extends EditorPart implements IRefreshable {
         topicArnLabel = toolkit.createText(summaryComposite, "", SWT.READ_ONLY);
         gdf.applyTo(topicArnLabel);
 
-        new LoadTopicAttributesThread().start();
+        load(new LoadTopicAttributesThread());
     }
 
     private void createSubscriptionsComposite(FormToolkit toolkit, Composite parent) {
@@ -389,10 +405,10 @@ public class TopicEditor extends EditorPart implements IRefreshable {
 
     @Override
     public void refreshData() {
-        new LoadSubscriptionsThread().start();
+        load(new LoadSubscriptionsThread());
     }
 
-    private class LoadSubscriptionsThread extends Thread {
+    private class LoadSubscriptionsThread implements Runnable {
         @Override
         public void run() {
             AmazonSNS sns = getClient();
@@ -14,6 +14,13 @@
  */
 package com.amazonaws.eclipse.explorer.sqs;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.swt.SWT;
@@ -36,6 +43,7 @@ import org.eclipse.swt.widgets.Text;
 
 import com.amazonaws.eclipse.core.AwsToolkitCore;
 import com.amazonaws.eclipse.core.ui.IRefreshable;
+import com.amazonaws.eclipse.explorer.sqs.QueueMessageBrowser.BatchFailure;
 import com.amazonaws.services.sqs.AmazonSQS;
 import com.amazonaws.services.sqs.model.SendMessageRequest;
 
@@ -58,6 +66,11 @@ public class AddMessageAction extends Action {
     public void run() {
         AddMessageDialog addMessageDialog = new AddMessageDialog();
         if (addMessageDialog.open() >= 0) {
+            if (addMessageDialog.isMessagePerLine()) {
+                sendMessages(addMessageDialog.getMessage(), addMessageDialog.getDelay());
+                return;
+            }
+
             SendMessageRequest sendMessageRequest = new SendMessageRequest(queueUrl, addMessageDialog.getMessage());
             if (addMessageDialog.getDelay() > -1) {
                 sendMessageRequest.setDelaySeconds(addMessageDialog.getDelay());
@@ -71,11 +84,56 @@ public class AddMessageAction extends Action {
         }
     }
 
+    /**
+     * Sends every non-empty line of the given text as a message of its own,
+     * using as few batch requests as possible.
+     */
+    private void sendMessages(String text, int delay) {
+        final List<String> bodies = new ArrayList<>();
+        for (String line : text.split("\\r?\\n")) {
+            if (line.trim().length() > 0) {
+                bodies.add(line);
+            }
+        }
+        final Integer delaySeconds = delay > -1 ? delay : null;
+
+        new Job("Sending messages") {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                List<BatchFailure<String>> failures;
+                try {
+                    failures = QueueMessageBrowser.sendMessages(sqs, queueUrl, bodies, delaySeconds);
+                } catch (Exception e) {
+                    return new Status(IStatus.ERROR, AwsToolkitCore.getDefault().getPluginId(),
+                            "Unable to send messages: " + e.getMessage(), e);
+                }
+
+                if (refreshable != null) {
+                    Display.getDefault().asyncExec(new Runnable() {
+                        @Override
+                        public void run() {
+                            refreshable.refreshData();
+                        }
+                    });
+                }
+
+                if (!failures.isEmpty()) {
+                    return new Status(IStatus.ERROR, AwsToolkitCore.getDefault().getPluginId(),
+                            "Unable to send " + failures.size() + " of " + bodies.size() + " messages: "
+                            + failures.get(0).getMessage());
+                }
+                return Status.OK_STATUS;
+            }
+        }.schedule();
+    }
+
     private static class AddMessageDialog extends MessageDialog {
         private Text text;
         private String message;
         private int messageDelay = -1;
         private Spinner messageDelaySpinner;
+        private Button messagePerLineButton;
+        private boolean messagePerLine;
 
         public AddMessageDialog() {
             super(Display.getDefault().getActiveShell(), "Send Message",
@@ -150,6 +208,10 @@ public class AddMessageAction extends Action {
                 }
             });
 
+            messagePerLineButton = new Button(parent, SWT.CHECK);
+            messagePerLineButton.setText("Send each line as a separate message");
+            messagePerLineButton.setSelection(false);
+
 
             return parent;
         }
@@ -157,6 +219,7 @@ public class AddMessageAction extends Action {
         @Override
         public boolean close() {
             message = text.getText();
+            messagePerLine = messagePerLineButton.getSelection();
 
             return super.close();
         }
@@ -168,5 +231,9 @@ public class AddMessageAction extends Action {
         public int getDelay() {
             return messageDelay;
         }
+
+        public boolean isMessagePerLine() {
+            return messagePerLine;
+        }
     }
 }
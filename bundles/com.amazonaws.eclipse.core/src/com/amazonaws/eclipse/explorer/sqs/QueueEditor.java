@@ -26,29 +26,32 @@ import static com.amazonaws.eclipse.explorer.sqs.QueueAttributes.SENT;
 import static com.amazonaws.eclipse.explorer.sqs.QueueAttributes.VISIBILITY_TIMEOUT;
 
 import java.text.DateFormat;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.IMenuListener;
 import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.action.MenuManager;
 import org.eclipse.jface.action.Separator;
 import org.eclipse.jface.layout.GridDataFactory;
-import org.eclipse.jface.layout.TreeColumnLayout;
+import org.eclipse.jface.layout.TableColumnLayout;
 import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.jface.viewers.ColumnWeightData;
 import org.eclipse.jface.viewers.ILabelProviderListener;
+import org.eclipse.jface.viewers.ILazyContentProvider;
 import org.eclipse.jface.viewers.ITableLabelProvider;
-import org.eclipse.jface.viewers.ITreePathContentProvider;
 import org.eclipse.jface.viewers.StructuredSelection;
-import org.eclipse.jface.viewers.TreePath;
-import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Image;
@@ -58,9 +61,10 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Menu;
+import org.eclipse.swt.widgets.Spinner;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
 import org.eclipse.swt.widgets.Text;
-import org.eclipse.swt.widgets.Tree;
-import org.eclipse.swt.widgets.TreeColumn;
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorSite;
 import org.eclipse.ui.PartInitException;
@@ -71,12 +75,13 @@ import org.eclipse.ui.part.EditorPart;
 
 import com.amazonaws.eclipse.core.AWSClientFactory;
 import com.amazonaws.eclipse.core.AwsToolkitCore;
+import com.amazonaws.eclipse.core.regions.ServiceAbbreviations;
 import com.amazonaws.eclipse.core.ui.IRefreshable;
+import com.amazonaws.eclipse.explorer.ExplorerLoaderExecutor;
+import com.amazonaws.eclipse.explorer.sqs.QueueMessageBrowser.BatchFailure;
 import com.amazonaws.services.sqs.AmazonSQS;
-import com.amazonaws.services.sqs.model.DeleteMessageRequest;
 import com.amazonaws.services.sqs.model.GetQueueAttributesRequest;
 import com.amazonaws.services.sqs.model.Message;
-import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
 
 
 public class QueueEditor extends EditorPart implements IRefreshable {
@@ -88,9 +93,19 @@ public class QueueEditor extends EditorPart implements IRefreshable {
     private Text visibilityTimeoutLabel;
     private Text queueArnLabel;
     private Text numberOfMessagesLabel;
-    private TreeViewer viewer;
+    private TableViewer viewer;
+    private Spinner sampleSizeSpinner;
     private Text queueDelayLabel;
 
+    /**
+     * The sampled messages shown in the table; only accessed from the UI
+     * thread.
+     */
+    private final List<Message> messages = new ArrayList<>();
+    private final Set<String> messageIds = new HashSet<>();
+    /** Incremented by every new sampling, so late results of an old one are dropped. */
+    private int sampling;
+
     @Override
     public void doSave(IProgressMonitor arg0) {}
 
@@ -159,14 +174,43 @@ public class QueueEditor extends EditorPart implements IRefreshable {
         @Override
         public void run() {
             StructuredSelection selection = (StructuredSelection)viewer.getSelection();
-            Iterator<Message> iterator = selection.iterator();
-
-            while (iterator.hasNext()) {
-                Message message = iterator.next();
-                getClient().deleteMessage(new DeleteMessageRequest(queueEditorInput.getQueueUrl(), message.getReceiptHandle()));
+            final List<Message> selectedMessages = new ArrayList<>();
+            for (Object message : selection.toList()) {
+                selectedMessages.add((Message)message);
             }
 
-            new RefreshAction().run();
+            new Job("Deleting messages") {
+                @Override
+                protected IStatus run(IProgressMonitor monitor) {
+                    final List<BatchFailure<Message>> failures;
+                    try {
+                        failures = QueueMessageBrowser.deleteMessages(getClient(), queueEditorInput.getQueueUrl(), selectedMessages);
+                    } catch (Exception e) {
+                        return new Status(IStatus.ERROR, AwsToolkitCore.getDefault().getPluginId(),
+                                "Unable to delete messages: " + e.getMessage(), e);
+                    }
+
+                    final Set<Message> deletedMessages = new HashSet<>(selectedMessages);
+                    for (BatchFailure<Message> failure : failures) {
+                        deletedMessages.remove(failure.getItem());
+                    }
+                    Display.getDefault().asyncExec(new Runnable() {
+                        @Override
+                        public void run() {
+                            removeMessages(deletedMessages);
+                        }
+                    });
+                    load(new LoadQueueAttributesThread());
+
+                    if (!failures.isEmpty()) {
+                        BatchFailure<Message> failure = failures.get(0);
+                        return new Status(IStatus.ERROR, AwsToolkitCore.getDefault().getPluginId(),
+                                "Unable to delete " + failures.size() + " of " + selectedMessages.size()
+                                + " messages, e.g. " + failure.getItem().getMessageId() + ": " + failure.getMessage());
+                    }
+                    return Status.OK_STATUS;
+                }
+            }.schedule();
         }
     }
 
@@ -179,8 +223,8 @@ public class QueueEditor extends EditorPart implements IRefreshable {
 
         @Override
         public void run() {
-            new LoadMessagesThread().start();
-            new LoadQueueAttributesThread().start();
+            loadMessages();
+            load(new LoadQueueAttributesThread());
         }
     }
 
@@ -219,7 +263,63 @@ public class QueueEditor extends EditorPart implements IRefreshable {
         queueDelayLabel = toolkit.createText(composite, "", SWT.READ_ONLY);
         gridDataFactory.applyTo(queueDelayLabel);
 
-        new LoadQueueAttributesThread().start();
+        load(new LoadQueueAttributesThread());
+    }
+
+    /**
+     * Runs the given loader on the shared explorer loader executor; a loader
+     * of the same kind that is still pending for this editor is not repeated.
+     */
+    private void load(Runnable loader) {
+        ExplorerLoaderExecutor.getDefault().submit(ServiceAbbreviations.SQS, this, loader.getClass(), loader);
+    }
+
+    /**
+     * Clears the table and samples the queue again with the current sample
+     * size, cancelling a sampling that is still running.
+     */
+    private void loadMessages() {
+        messages.clear();
+        messageIds.clear();
+        viewer.setItemCount(0);
+        viewer.refresh();
+
+        LoadMessagesThread loader = new LoadMessagesThread(++sampling, sampleSizeSpinner.getSelection());
+        ExplorerLoaderExecutor.getDefault().cancel(this, LoadMessagesThread.class);
+        load(loader);
+    }
+
+    /**
+     * Appends the messages that aren't in the table yet; called on the UI
+     * thread.
+     */
+    private void addMessages(int fromSampling, List<Message> newMessages) {
+        if (viewer.getControl().isDisposed() || fromSampling != sampling) return;
+
+        for (Message message : newMessages) {
+            if (messageIds.add(message.getMessageId())) {
+                messages.add(message);
+            }
+        }
+        viewer.setItemCount(messages.size());
+    }
+
+    /** Removes the given messages from the table; called on the UI thread. */
+    private void removeMessages(Set<Message> removedMessages) {
+        if (viewer.getControl().isDisposed()) return;
+
+        messages.removeAll(removedMessages);
+        for (Message message : removedMessages) {
+            messageIds.remove(message.getMessageId());
+        }
+        viewer.setItemCount(messages.size());
+        viewer.refresh();
+    }
+
+    @Override
+    public void dispose() {
+        ExplorerLoaderExecutor.getDefault().cancelAll(this);
+        super.dispose();
     }
 
     private AmazonSQS getClient() {
@@ -227,7 +327,7 @@ public class QueueEditor extends EditorPart implements IRefreshable {
         return clientFactory.getSQSClientByEndpoint(queueEditorInput.getRegionEndpoint());
     }
 
-    private class LoadQueueAttributesThread extends Thread {
+    private class LoadQueueAttributesThread implements Runnable {
         @Override
         public void run() {
             GetQueueAttributesRequest request = new GetQueueAttributesRequest(queueEditorInput.getQueueUrl()).withAttributeNames(ALL);
@@ -255,63 +355,55 @@ public class QueueEditor extends EditorPart implements IRefreshable {
         }
     }
 
-    private class LoadMessagesThread extends Thread {
+    /**
+     * Streams a sample of the queue's messages into the table as they are
+     * received.
+     */
+    private class LoadMessagesThread implements Runnable {
+        private final int sampling;
+        private final int sampleSize;
+
+        public LoadMessagesThread(int sampling, int sampleSize) {
+            this.sampling = sampling;
+            this.sampleSize = sampleSize;
+        }
+
         @Override
         public void run() {
-            final Map<String, Message> messagesById = new HashMap<>();
-
-            for (int i = 0; i < 5; i++) {
-                ReceiveMessageRequest request = new ReceiveMessageRequest(queueEditorInput.getQueueUrl()).withVisibilityTimeout(0).withMaxNumberOfMessages(10).withAttributeNames(ALL);
-                List<Message> messages = getClient().receiveMessage(request).getMessages();
+            QueueMessageBrowser browser = new QueueMessageBrowser(getClient(), queueEditorInput.getQueueUrl(),
+                    sampleSize, QueueMessageBrowser.DEFAULT_RECEIVERS, QueueMessageBrowser.DEFAULT_WAIT_TIME_SECONDS);
 
-                for (Message message : messages) {
-                    messagesById.put(message.getMessageId(), message);
-                }
-            }
-
-            Display.getDefault().asyncExec(new Runnable() {
+            browser.browse(newMessages -> Display.getDefault().asyncExec(new Runnable() {
                 @Override
                 public void run() {
-                    viewer.setInput(messagesById.values());
+                    addMessages(sampling, newMessages);
+                }
+            }), new NullProgressMonitor() {
+                @Override
+                public boolean isCanceled() {
+                    return ExplorerLoaderExecutor.isCurrentLoadCancelled();
                 }
             });
         }
     }
 
-    private final class MessageContentProvider implements ITreePathContentProvider {
-
-        private Message[] messages;
+    /**
+     * Hands the sampled messages to the virtual table as its rows become
+     * visible, so a large sample doesn't create all its rows up front.
+     */
+    private final class MessageContentProvider implements ILazyContentProvider {
 
         @Override
         public void dispose() {}
 
         @Override
-        public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
-            if (newInput instanceof Collection) {
-                messages = ((Collection<Message>)newInput).toArray(new Message[0]);
-            } else {
-                messages = new Message[0];
-            }
-        }
-
-        @Override
-        public Object[] getChildren(TreePath arg0) {
-            return null;
-        }
-
-        @Override
-        public Object[] getElements(Object arg0) {
-            return messages;
-        }
+        public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {}
 
         @Override
-        public TreePath[] getParents(Object arg0) {
-            return new TreePath[0];
-        }
-
-        @Override
-        public boolean hasChildren(TreePath arg0) {
-            return false;
+        public void updateElement(int index) {
+            if (index < messages.size()) {
+                viewer.replace(messages.get(index), index);
+            }
         }
     }
 
@@ -371,30 +463,43 @@ public class QueueEditor extends EditorPart implements IRefreshable {
         parent.setLayout(new GridLayout());
         parent.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true));
 
-        Label label = toolkit.createLabel(parent, "Message Sampling");
+        Composite header = toolkit.createComposite(parent);
+        header.setLayout(new GridLayout(3, false));
+        header.setLayoutData(new GridData(SWT.FILL, SWT.DEFAULT, true, false));
+
+        Label label = toolkit.createLabel(header, "Message Sampling");
         label.setFont(JFaceResources.getHeaderFont());
         label.setForeground(toolkit.getColors().getColor(IFormColors.TITLE));
         label.setLayoutData(new GridData(SWT.FILL, SWT.DEFAULT, true, false));
 
+        toolkit.createLabel(header, "Sample Size:");
+        sampleSizeSpinner = new Spinner(header, SWT.BORDER);
+        sampleSizeSpinner.setMinimum(1);
+        sampleSizeSpinner.setMaximum(10000);
+        sampleSizeSpinner.setIncrement(10);
+        sampleSizeSpinner.setPageIncrement(100);
+        sampleSizeSpinner.setSelection(QueueMessageBrowser.DEFAULT_SAMPLE_SIZE);
+        toolkit.adapt(sampleSizeSpinner);
 
 
         Composite composite = toolkit.createComposite(parent);
         composite.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true));
 
-        TreeColumnLayout tableColumnLayout = new TreeColumnLayout();
+        TableColumnLayout tableColumnLayout = new TableColumnLayout();
         composite.setLayout(tableColumnLayout);
 
         MessageContentProvider contentProvider = new MessageContentProvider();
         MessageLabelProvider labelProvider = new MessageLabelProvider();
 
-        viewer = new TreeViewer(composite, SWT.BORDER | SWT.MULTI);
-        viewer.getTree().setLinesVisible(true);
-        viewer.getTree().setHeaderVisible(true);
+        viewer = new TableViewer(composite, SWT.BORDER | SWT.MULTI | SWT.VIRTUAL);
+        viewer.getTable().setLinesVisible(true);
+        viewer.getTable().setHeaderVisible(true);
+        viewer.setUseHashlookup(true);
         viewer.setLabelProvider(labelProvider);
         viewer.setContentProvider(contentProvider);
 
-        createColumns(tableColumnLayout, viewer.getTree());
-        viewer.setInput(new Object());
+        createColumns(tableColumnLayout, viewer.getTable());
+        viewer.setInput(messages);
 
 
         MenuManager menuManager = new MenuManager();
@@ -406,22 +511,22 @@ public class QueueEditor extends EditorPart implements IRefreshable {
             }
         });
 
-        Menu menu = menuManager.createContextMenu(viewer.getTree());
-        viewer.getTree().setMenu(menu);
+        Menu menu = menuManager.createContextMenu(viewer.getTable());
+        viewer.getTable().setMenu(menu);
         getSite().registerContextMenu(menuManager, viewer);
 
-        new LoadMessagesThread().start();
+        loadMessages();
     }
 
-    private void createColumns(TreeColumnLayout columnLayout, Tree tree) {
-        createColumn(tree, columnLayout, "ID");
-        createColumn(tree, columnLayout, "Body");
-        createColumn(tree, columnLayout, "Sent");
-        createColumn(tree, columnLayout, "Sender");
+    private void createColumns(TableColumnLayout columnLayout, Table table) {
+        createColumn(table, columnLayout, "ID");
+        createColumn(table, columnLayout, "Body");
+        createColumn(table, columnLayout, "Sent");
+        createColumn(table, columnLayout, "Sender");
     }
 
-    private TreeColumn createColumn(Tree tree, TreeColumnLayout columnLayout, String text) {
-        TreeColumn column = new TreeColumn(tree, SWT.NONE);
+    private TableColumn createColumn(Table table, TableColumnLayout columnLayout, String text) {
+        TableColumn column = new TableColumn(table, SWT.NONE);
         column.setText(text);
         column.setMoveable(true);
         columnLayout.setColumnData(column, new ColumnWeightData(30));
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.explorer.sqs;
+
+import static com.amazonaws.eclipse.explorer.sqs.QueueAttributes.ALL;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequest;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchResult;
+import com.amazonaws.services.sqs.model.Message;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+
+/**
+ * Samples the messages of a queue without consuming them.
+ * <p>
+ * Several receivers long-poll the queue at once with a visibility timeout of
+ * zero, so the messages they see stay available to the queue's consumers.
+ * Long polling queries all of the queue's servers instead of a random subset,
+ * which makes the sample of a deep queue much more complete, and an empty
+ * queue costs one request per receiver instead of a burst of empty ones.
+ * Messages are deduplicated by id and handed out as they arrive. A receiver
+ * stops once the sample is complete or after a few receives that didn't turn
+ * up anything new.
+ * <p>
+ * Every receive counts towards a message's receive count, so browsing a queue
+ * with a low redrive maxReceiveCount can move messages to its dead-letter
+ * queue.
+ * <p>
+ * Also has batched versions of delete and send.
+ */
+public class QueueMessageBrowser {
+
+    public static final int DEFAULT_SAMPLE_SIZE = 100;
+    public static final int DEFAULT_RECEIVERS = 4;
+    public static final int DEFAULT_WAIT_TIME_SECONDS = 2;
+
+    /** The most entries SQS accepts in one receive or batch request. */
+    static final int MAX_BATCH_ENTRIES = 10;
+    /** The largest total payload SQS accepts in one SendMessageBatch request. */
+    static final int MAX_BATCH_PAYLOAD_BYTES = 256 * 1024;
+
+    private static final int MAX_IDLE_RECEIVES = 3;
+    private static final long PROGRESS_INTERVAL_MILLIS = 250;
+
+    private final AmazonSQS sqs;
+    private final String queueUrl;
+    private final int sampleSize;
+    private final int receivers;
+    private final int waitTimeSeconds;
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    public QueueMessageBrowser(AmazonSQS sqs, String queueUrl) {
+        this(sqs, queueUrl, DEFAULT_SAMPLE_SIZE, DEFAULT_RECEIVERS, DEFAULT_WAIT_TIME_SECONDS);
+    }
+
+    public QueueMessageBrowser(AmazonSQS sqs, String queueUrl, int sampleSize, int receivers, int waitTimeSeconds) {
+        if (sampleSize <= 0 || receivers <= 0 || waitTimeSeconds < 0) {
+            throw new IllegalArgumentException("sampleSize and receivers must be positive and waitTimeSeconds not negative");
+        }
+        this.sqs = sqs;
+        this.queueUrl = queueUrl;
+        this.sampleSize = sampleSize;
+        this.receivers = receivers;
+        this.waitTimeSeconds = waitTimeSeconds;
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /** Returns the number of receive requests made by the current or last browse. */
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Samples up to {@link #getSampleSize()} distinct messages, handing each
+     * batch of newly seen messages to the given consumer as soon as it
+     * arrives. The consumer is called from several threads at once.
+     * <p>
+     * Returns early, without an exception, if the monitor is cancelled.
+     *
+     * @param monitor
+     *            Receives the number of messages seen so far as sub-task; may
+     *            be null.
+     * @throws AmazonClientException
+     *             If a receiver failed before any message was seen.
+     */
+    public void browse(final Consumer<List<Message>> consumer, IProgressMonitor monitor) {
+        requestCount.set(0);
+        final Sample sample = new Sample();
+        final AtomicInteger activeReceivers = new AtomicInteger(receivers);
+        final AtomicReference<AmazonClientException> failure = new AtomicReference<>();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(receivers, receivers, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "SQS browser " + queueUrl);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            for (int i = 0; i < receivers; i++) {
+                executor.execute(() -> {
+                    try {
+                        receive(consumer, sample);
+                    } catch (AmazonClientException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        activeReceivers.decrementAndGet();
+                    }
+                });
+            }
+
+            while (activeReceivers.get() > 0) {
+                if (monitor != null) {
+                    if (monitor.isCanceled()) {
+                        sample.stopped.set(true);
+                        return;
+                    }
+                    monitor.subTask(String.format("%,d messages sampled", sample.size()));
+                }
+                try {
+                    Thread.sleep(PROGRESS_INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    sample.stopped.set(true);
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        } finally {
+            sample.stopped.set(true);
+            executor.shutdownNow();
+        }
+
+        if (failure.get() != null && sample.size() == 0) {
+            throw failure.get();
+        }
+    }
+
+    private void receive(Consumer<List<Message>> consumer, Sample sample) {
+        int idleReceives = 0;
+        while (!sample.stopped.get() && idleReceives < MAX_IDLE_RECEIVES && sample.size() < sampleSize) {
+            ReceiveMessageRequest request = new ReceiveMessageRequest(queueUrl)
+                    .withVisibilityTimeout(0)
+                    .withWaitTimeSeconds(waitTimeSeconds)
+                    .withMaxNumberOfMessages(MAX_BATCH_ENTRIES)
+                    .withAttributeNames(ALL)
+                    .withMessageAttributeNames(ALL);
+            List<Message> messages = sqs.receiveMessage(request).getMessages();
+            requestCount.incrementAndGet();
+
+            List<Message> newMessages = new ArrayList<>(messages.size());
+            for (Message message : messages) {
+                if (sample.add(message)) {
+                    newMessages.add(message);
+                }
+            }
+
+            if (newMessages.isEmpty()) {
+                idleReceives++;
+            } else {
+                idleReceives = 0;
+                if (!sample.stopped.get()) {
+                    consumer.accept(newMessages);
+                }
+            }
+        }
+    }
+
+    /** State of one call to {@link QueueMessageBrowser#browse}. */
+    private final class Sample {
+        private final Set<String> seenIds = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean stopped = new AtomicBoolean();
+
+        /**
+         * Returns true if the message wasn't seen before and still fits in the
+         * sample.
+         */
+        boolean add(Message message) {
+            if (!seenIds.add(message.getMessageId())) {
+                return false;
+            }
+            if (size.incrementAndGet() > sampleSize) {
+                size.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        int size() {
+            return size.get();
+        }
+    }
+
+    /**
+     * Deletes the given messages with as few DeleteMessageBatch requests as
+     * possible.
+     *
+     * @return The messages that could not be deleted, along with why.
+     */
+    public static List<BatchFailure<Message>> deleteMessages(AmazonSQS sqs, String queueUrl, List<Message> messages) {
+        List<BatchFailure<Message>> failures = new ArrayList<>();
+        for (int start = 0; start < messages.size(); start += MAX_BATCH_ENTRIES) {
+            List<Message> batch = messages.subList(start, Math.min(messages.size(), start + MAX_BATCH_ENTRIES));
+            List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                entries.add(new DeleteMessageBatchRequestEntry(String.valueOf(i), batch.get(i).getReceiptHandle()));
+            }
+            DeleteMessageBatchResult result = sqs.deleteMessageBatch(new DeleteMessageBatchRequest(queueUrl, entries));
+            for (BatchResultErrorEntry error : result.getFailed()) {
+                failures.add(new BatchFailure<>(batch.get(Integer.parseInt(error.getId())), error));
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Sends the given message bodies with as few SendMessageBatch requests as
+     * possible, keeping each request within the SQS limits on entries and
+     * payload size.
+     *
+     * @param delaySeconds
+     *            The delay of every message, or null for the queue's default.
+     * @return The bodies that could not be sent, along with why.
+     */
+    public static List<BatchFailure<String>> sendMessages(AmazonSQS sqs, String queueUrl, List<String> bodies,
+            Integer delaySeconds) {
+        List<BatchFailure<String>> failures = new ArrayList<>();
+        int start = 0;
+        while (start < bodies.size()) {
+            List<SendMessageBatchRequestEntry> entries = new ArrayList<>(MAX_BATCH_ENTRIES);
+            int payloadBytes = 0;
+            int end = start;
+            while (end < bodies.size() && entries.size() < MAX_BATCH_ENTRIES) {
+                int bytes = bodies.get(end).getBytes(StandardCharsets.UTF_8).length;
+                if (!entries.isEmpty() && payloadBytes + bytes > MAX_BATCH_PAYLOAD_BYTES) {
+                    break;
+                }
+                entries.add(new SendMessageBatchRequestEntry(String.valueOf(end - start), bodies.get(end))
+                        .withDelaySeconds(delaySeconds));
+                payloadBytes += bytes;
+                end++;
+            }
+
+            SendMessageBatchResult result = sqs.sendMessageBatch(new SendMessageBatchRequest(queueUrl, entries));
+            for (BatchResultErrorEntry error : result.getFailed()) {
+                failures.add(new BatchFailure<>(bodies.get(start + Integer.parseInt(error.getId())), error));
+            }
+            start = end;
+        }
+        return failures;
+    }
+
+    /**
+     * One entry of a batch request that failed.
+     */
+    public static final class BatchFailure<T> {
+        private final T item;
+        private final BatchResultErrorEntry error;
+
+        BatchFailure(T item, BatchResultErrorEntry error) {
+            this.item = item;
+            this.error = error;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public String getMessage() {
+            return error.getCode() + ": " + error.getMessage();
+        }
+    }
+}
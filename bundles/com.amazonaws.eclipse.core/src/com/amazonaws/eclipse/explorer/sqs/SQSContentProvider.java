@@ -16,7 +16,17 @@ package com.amazonaws.eclipse.explorer.sqs;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.swt.widgets.Display;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
 import com.amazonaws.eclipse.core.AwsToolkitCore;
 import com.amazonaws.eclipse.core.regions.ServiceAbbreviations;
 import com.amazonaws.eclipse.explorer.AWSResourcesRootElement;
@@ -24,9 +34,62 @@ import com.amazonaws.eclipse.explorer.AbstractContentProvider;
 import com.amazonaws.eclipse.explorer.ExplorerNode;
 import com.amazonaws.eclipse.explorer.Loading;
 import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.GetQueueAttributesRequest;
+import com.amazonaws.services.sqs.model.ListQueuesRequest;
+import com.amazonaws.services.sqs.model.ListQueuesResult;
+import com.amazonaws.services.sqs.model.QueueAttributeName;
 
 public class SQSContentProvider extends AbstractContentProvider {
 
+    private static final long QUEUE_DEPTH_REFRESH_DELAY = 30 * 1000;
+    private static final int MAX_LIST_QUEUES_RESULTS = 1000;
+    private static final int MAX_CONCURRENT_ATTRIBUTE_REQUESTS = 8;
+
+    /** Shared by all providers; queue depths are small, independent requests. */
+    private static final ThreadPoolExecutor attributesExecutor = new ThreadPoolExecutor(
+            MAX_CONCURRENT_ATTRIBUTE_REQUESTS, MAX_CONCURRENT_ATTRIBUTE_REQUESTS, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(), runnable -> {
+                Thread thread = new Thread(runnable, "SQS queue depths");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    static {
+        attributesExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    public SQSContentProvider() {
+        /* Sets the background job that keeps the queue depths up to date. */
+        setBackgroundJobFactory(new BackgroundContentUpdateJobFactory() {
+
+            @Override
+            protected boolean executeBackgroundJob(final Object parentElement) throws AmazonClientException {
+                Object[] nodes = getCachedChildren(parentElement);
+                if ( null == nodes ) {
+                    return false;
+                }
+
+                final List<QueueNode> changedNodes = updateQueueDepths(nodes);
+                if ( !changedNodes.isEmpty() ) {
+                    Display.getDefault().asyncExec(new Runnable() {
+                        @Override
+                        public void run() {
+                            if ( viewer != null && !viewer.getControl().isDisposed() ) {
+                                viewer.update(changedNodes.toArray(), null);
+                            }
+                        }
+                    });
+                }
+                return true;
+            }
+
+            @Override
+            protected long getRefreshDelay() {
+                return QUEUE_DEPTH_REFRESH_DELAY;
+            }
+        });
+    }
+
     public static class SQSRootElement {
         public static final SQSRootElement ROOT_ELEMENT = new SQSRootElement();                
     }
@@ -34,6 +97,8 @@ public class SQSContentProvider extends AbstractContentProvider {
     public static class QueueNode extends ExplorerNode {
 
         private final String queueUrl;
+        private volatile Integer visibleMessages;
+        private volatile Integer inFlightMessages;
 
         public QueueNode(String queueUrl) {
             super(parseQueueName(queueUrl), 0,
@@ -46,6 +111,31 @@ public class SQSContentProvider extends AbstractContentProvider {
             return queueUrl;
         }
 
+        /** Returns the approximate number of available messages, or null if not known yet. */
+        public Integer getVisibleMessages() {
+            return visibleMessages;
+        }
+
+        /** Returns the approximate number of messages being processed, or null if not known yet. */
+        public Integer getInFlightMessages() {
+            return inFlightMessages;
+        }
+
+        /**
+         * Sets the queue depth and returns whether it changed.
+         */
+        boolean setQueueDepth(Integer visibleMessages, Integer inFlightMessages) {
+            boolean changed = !equal(visibleMessages, this.visibleMessages)
+                    || !equal(inFlightMessages, this.inFlightMessages);
+            this.visibleMessages = visibleMessages;
+            this.inFlightMessages = inFlightMessages;
+            return changed;
+        }
+
+        private static boolean equal(Integer a, Integer b) {
+            return a == null ? b == null : a.equals(b);
+        }
+
         private static String parseQueueName(String queueUrl) {
             int position = queueUrl.lastIndexOf('/');
             if (position > 0) return queueUrl.substring(position + 1);
@@ -72,9 +162,16 @@ public class SQSContentProvider extends AbstractContentProvider {
                     AmazonSQS sqs = AwsToolkitCore.getClientFactory().getSQSClient();
 
                     List<QueueNode> queueNodes = new ArrayList<>();
-                    for (String queueUrl : sqs.listQueues().getQueueUrls()) {
-                        queueNodes.add(new QueueNode(queueUrl));
-                    }
+                    ListQueuesResult listQueues = new ListQueuesResult();
+                    do {
+                        listQueues = sqs.listQueues(new ListQueuesRequest()
+                                .withMaxResults(MAX_LIST_QUEUES_RESULTS)
+                                .withNextToken(listQueues.getNextToken()));
+                        for (String queueUrl : listQueues.getQueueUrls()) {
+                            /* Defer getting the queue depth to the background job */
+                            queueNodes.add(new QueueNode(queueUrl));
+                        }
+                    } while (listQueues.getNextToken() != null);
 
                     return queueNodes.toArray();
                 }
@@ -84,6 +181,64 @@ public class SQSContentProvider extends AbstractContentProvider {
         return Loading.LOADING;
     }
 
+    /**
+     * Fetches the depth of all the given queues in parallel.
+     *
+     * @return The nodes whose depth changed.
+     */
+    private static List<QueueNode> updateQueueDepths(Object[] nodes) {
+        final AmazonSQS sqs = AwsToolkitCore.getClientFactory().getSQSClient();
+
+        List<QueueNode> queueNodes = new ArrayList<>();
+        List<Future<Map<String, String>>> futures = new ArrayList<>();
+        for (Object node : nodes) {
+            if (node instanceof QueueNode) {
+                final QueueNode queueNode = (QueueNode) node;
+                queueNodes.add(queueNode);
+                futures.add(attributesExecutor.submit(() -> sqs.getQueueAttributes(
+                        new GetQueueAttributesRequest(queueNode.getQueueUrl()).withAttributeNames(
+                                QueueAttributeName.ApproximateNumberOfMessages,
+                                QueueAttributeName.ApproximateNumberOfMessagesNotVisible))
+                        .getAttributes()));
+            }
+        }
+
+        List<QueueNode> changedNodes = new ArrayList<>();
+        for (int i = 0; i < queueNodes.size(); i++) {
+            Map<String, String> attributes;
+            try {
+                attributes = futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof AmazonServiceException
+                        && "AWS.SimpleQueueService.NonExistentQueue".equals(((AmazonServiceException) e.getCause()).getErrorCode())) {
+                    /* Deleted since the queues were listed; the next refresh drops it */
+                    continue;
+                }
+                if (e.getCause() instanceof AmazonClientException) {
+                    throw (AmazonClientException) e.getCause();
+                }
+                throw new AmazonClientException("Unable to get the queue depth", e.getCause());
+            }
+            if (queueNodes.get(i).setQueueDepth(
+                    parseCount(attributes.get(QueueAttributeName.ApproximateNumberOfMessages.toString())),
+                    parseCount(attributes.get(QueueAttributeName.ApproximateNumberOfMessagesNotVisible.toString())))) {
+                changedNodes.add(queueNodes.get(i));
+            }
+        }
+        return changedNodes;
+    }
+
+    private static Integer parseCount(String value) {
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     @Override
     public String getServiceAbbreviation() {
         return ServiceAbbreviations.SQS;
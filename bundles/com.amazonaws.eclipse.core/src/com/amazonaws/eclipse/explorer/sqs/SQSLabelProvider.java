@@ -18,6 +18,7 @@ import org.eclipse.swt.graphics.Image;
 
 import com.amazonaws.eclipse.core.AwsToolkitCore;
 import com.amazonaws.eclipse.explorer.ExplorerNodeLabelProvider;
+import com.amazonaws.eclipse.explorer.sqs.SQSContentProvider.QueueNode;
 import com.amazonaws.eclipse.explorer.sqs.SQSContentProvider.SQSRootElement;
 
 public class SQSLabelProvider extends ExplorerNodeLabelProvider {
@@ -26,6 +27,16 @@ public class SQSLabelProvider extends ExplorerNodeLabelProvider {
     public String getText(Object element) {
         if (element instanceof SQSRootElement) return "Amazon SQS";
 
+        if (element instanceof QueueNode) {
+            QueueNode queueNode = (QueueNode) element;
+            Integer visibleMessages = queueNode.getVisibleMessages();
+            Integer inFlightMessages = queueNode.getInFlightMessages();
+            if (visibleMessages != null && inFlightMessages != null) {
+                return String.format("%s (%,d available, %,d in flight)",
+                        getExplorerNodeText(element), visibleMessages, inFlightMessages);
+            }
+        }
+
         return getExplorerNodeText(element);
     }
 
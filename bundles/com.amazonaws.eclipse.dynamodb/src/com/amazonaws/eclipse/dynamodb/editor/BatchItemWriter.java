@@ -0,0 +1,336 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.dynamodb.editor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.retry.RetryUtils;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.DeleteRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+
+/**
+ * Saves the changes of the table editor with as few requests as possible,
+ * several at a time.
+ * <p>
+ * Deletes and unconditional puts are grouped into BatchWriteItem requests of
+ * {@value #MAX_BATCH_WRITE_ITEMS} items; items the service leaves unprocessed
+ * are retried with exponential backoff, and the items sent per second can be
+ * limited. Conditional puts and updates aren't supported by BatchWriteItem, so
+ * they are sent one item per request, concurrently.
+ * <p>
+ * Every item succeeds or fails on its own: a batch the service rejects as a
+ * whole, e.g. for one malformed item, is sent again one item at a time. Items
+ * that weren't attempted because the monitor was cancelled are neither.
+ */
+class BatchItemWriter {
+
+    static final int MAX_BATCH_WRITE_ITEMS = 25;
+    static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+
+    private static final int MAX_BATCH_ATTEMPTS = 8;
+    private static final long MIN_BACKOFF_MILLIS = 50;
+    private static final long MAX_BACKOFF_MILLIS = 5 * 1000;
+
+    private final AmazonDynamoDB dynamo;
+    private final String tableName;
+    private final int maxConcurrentRequests;
+
+    private final Object throttleLock = new Object();
+    private int maxItemsPerSecond;
+    private long nextBatchNanos;
+
+    BatchItemWriter(AmazonDynamoDB dynamo, String tableName, int maxConcurrentRequests) {
+        this.dynamo = dynamo;
+        this.tableName = tableName;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * Limits the items sent with BatchWriteItem to the given number per
+     * second, summed over all concurrent requests; zero for no limit.
+     */
+    void setMaxItemsPerSecond(int maxItemsPerSecond) {
+        synchronized (throttleLock) {
+            this.maxItemsPerSecond = maxItemsPerSecond;
+        }
+    }
+
+    /**
+     * Deletes the items with the given keys.
+     *
+     * @param monitor
+     *            Is worked one unit per item; may be null.
+     */
+    Result<Map<String, AttributeValue>> deleteItems(Collection<Map<String, AttributeValue>> keys,
+            IProgressMonitor monitor) {
+        List<WriteRequest> requests = new ArrayList<>();
+        for (Map<String, AttributeValue> key : new LinkedHashSet<>(keys)) {
+            requests.add(new WriteRequest().withDeleteRequest(new DeleteRequest().withKey(key)));
+        }
+        return execute(batchTasks(requests), monitor);
+    }
+
+    /**
+     * Writes the given items, replacing any existing items with the same keys.
+     * An item is identified by itself in the result.
+     *
+     * @param monitor
+     *            Is worked one unit per item; may be null.
+     */
+    Result<Map<String, AttributeValue>> putItems(Collection<Map<String, AttributeValue>> items,
+            IProgressMonitor monitor) {
+        List<WriteRequest> requests = new ArrayList<>();
+        for (Map<String, AttributeValue> item : items) {
+            requests.add(new WriteRequest().withPutRequest(new PutRequest().withItem(item)));
+        }
+        return execute(batchTasks(requests), monitor);
+    }
+
+    /**
+     * Sends the given put and update requests, each identified by the key of
+     * the item it writes.
+     *
+     * @param monitor
+     *            Is worked one unit per item; may be null.
+     */
+    <K> Result<K> writeItems(Map<K, ? extends AmazonWebServiceRequest> requests, IProgressMonitor monitor) {
+        List<Callable<Result<K>>> tasks = new ArrayList<>();
+        for (final Entry<K, ? extends AmazonWebServiceRequest> request : requests.entrySet()) {
+            tasks.add(() -> {
+                Result<K> result = new Result<>();
+                try {
+                    if (request.getValue() instanceof PutItemRequest) {
+                        dynamo.putItem((PutItemRequest) request.getValue());
+                    } else if (request.getValue() instanceof UpdateItemRequest) {
+                        dynamo.updateItem((UpdateItemRequest) request.getValue());
+                    } else {
+                        throw new IllegalArgumentException("Unsupported request " + request.getValue());
+                    }
+                    result.succeeded.add(request.getKey());
+                } catch (AmazonClientException e) {
+                    result.failures.put(request.getKey(), e);
+                }
+                return result;
+            });
+        }
+        return execute(tasks, monitor);
+    }
+
+    private List<Callable<Result<Map<String, AttributeValue>>>> batchTasks(List<WriteRequest> requests) {
+        List<Callable<Result<Map<String, AttributeValue>>>> tasks = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i += MAX_BATCH_WRITE_ITEMS) {
+            tasks.add(batchTask(requests.subList(i, Math.min(requests.size(), i + MAX_BATCH_WRITE_ITEMS))));
+        }
+        return tasks;
+    }
+
+    private Callable<Result<Map<String, AttributeValue>>> batchTask(final List<WriteRequest> requests) {
+        return () -> {
+            Result<Map<String, AttributeValue>> result = new Result<>();
+            List<WriteRequest> pending = requests;
+            try {
+                for (int attempt = 1; !pending.isEmpty(); attempt++) {
+                    if (attempt > 1) {
+                        if (attempt > MAX_BATCH_ATTEMPTS) {
+                            AmazonClientException e = new AmazonClientException(
+                                    "Not processed by the service after " + MAX_BATCH_ATTEMPTS + " attempts");
+                            for (WriteRequest request : pending) {
+                                result.failures.put(getTarget(request), e);
+                            }
+                            break;
+                        }
+                        Thread.sleep(backoffDelay(attempt - 1));
+                    }
+                    throttle(pending.size());
+
+                    BatchWriteItemResult batchResult = dynamo.batchWriteItem(new BatchWriteItemRequest()
+                            .withRequestItems(Collections.singletonMap(tableName, pending)));
+                    List<WriteRequest> unprocessed = batchResult.getUnprocessedItems() == null ? null
+                            : batchResult.getUnprocessedItems().get(tableName);
+                    Set<Map<String, AttributeValue>> unprocessedKeys = new LinkedHashSet<>();
+                    if (unprocessed != null) {
+                        for (WriteRequest request : unprocessed) {
+                            unprocessedKeys.add(getTarget(request));
+                        }
+                    }
+                    for (WriteRequest request : pending) {
+                        if (!unprocessedKeys.contains(getTarget(request))) {
+                            result.succeeded.add(getTarget(request));
+                        }
+                    }
+                    pending = unprocessed == null ? Collections.<WriteRequest>emptyList() : unprocessed;
+                }
+            } catch (AmazonServiceException e) {
+                if (pending.size() > 1 && !isRetryable(e)) {
+                    // The whole batch is rejected for a single bad item; only that one should fail
+                    for (WriteRequest request : pending) {
+                        Result<Map<String, AttributeValue>> single = batchTask(Collections.singletonList(request)).call();
+                        result.succeeded.addAll(single.succeeded);
+                        result.failures.putAll(single.failures);
+                    }
+                } else {
+                    putFailures(result, pending, e);
+                }
+            } catch (AmazonClientException e) {
+                putFailures(result, pending, e);
+            }
+            return result;
+        };
+    }
+
+    private static void putFailures(Result<Map<String, AttributeValue>> result, List<WriteRequest> requests,
+            AmazonClientException e) {
+        for (WriteRequest request : requests) {
+            result.failures.put(getTarget(request), e);
+        }
+    }
+
+    /** Throttling and server errors may go away on their own; other errors are caused by the items sent. */
+    private static boolean isRetryable(AmazonServiceException e) {
+        return RetryUtils.isRetryableServiceException(e) || RetryUtils.isThrottlingException(e);
+    }
+
+    /** Returns the key a delete is for, or the item a put writes. */
+    private static Map<String, AttributeValue> getTarget(WriteRequest request) {
+        return request.getDeleteRequest() != null ? request.getDeleteRequest().getKey()
+                : request.getPutRequest().getItem();
+    }
+
+    /**
+     * Waits until the given number of items can be sent without exceeding the
+     * items per second limit.
+     */
+    private void throttle(int items) throws InterruptedException {
+        long delayNanos;
+        synchronized (throttleLock) {
+            if (maxItemsPerSecond <= 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            long start = Math.max(now, nextBatchNanos);
+            nextBatchNanos = start + TimeUnit.SECONDS.toNanos(items) / maxItemsPerSecond;
+            delayNanos = start - now;
+        }
+        if (delayNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+        }
+    }
+
+    /**
+     * Runs the given tasks on a bounded pool, merging their results as they
+     * complete.
+     */
+    private <K> Result<K> execute(List<Callable<Result<K>>> tasks, IProgressMonitor monitor) {
+        Result<K> result = new Result<>();
+        if (tasks.isEmpty()) {
+            return result;
+        }
+
+        int threads = Math.min(maxConcurrentRequests, tasks.size());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "DynamoDB save " + tableName);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        CompletionService<Result<K>> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Result<K>>> futures = new ArrayList<>();
+        try {
+            for (Callable<Result<K>> task : tasks) {
+                futures.add(completionService.submit(task));
+            }
+
+            for (int completed = 0; completed < futures.size(); completed++) {
+                Future<Result<K>> future;
+                while ((future = completionService.poll(250, TimeUnit.MILLISECONDS)) == null) {
+                    if (monitor != null && monitor.isCanceled()) {
+                        // Requests already sent still finish; the rest isn't attempted
+                        for (Future<Result<K>> pending : futures) {
+                            pending.cancel(false);
+                        }
+                    }
+                }
+                if (future.isCancelled()) {
+                    continue;
+                }
+                Result<K> taskResult = future.get();
+                result.succeeded.addAll(taskResult.succeeded);
+                result.failures.putAll(taskResult.failures);
+                if (monitor != null) {
+                    monitor.worked(taskResult.succeeded.size() + taskResult.failures.size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new AmazonClientException("Unable to save items", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    private static long backoffDelay(int retry) {
+        long delay = Math.min(MAX_BACKOFF_MILLIS, MIN_BACKOFF_MILLIS << Math.min(retry - 1, 16));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    /**
+     * The outcome of writing a set of items.
+     */
+    static final class Result<K> {
+        private final Set<K> succeeded = new LinkedHashSet<>();
+        private final Map<K, AmazonClientException> failures = new LinkedHashMap<>();
+
+        /** Returns the items that were written. */
+        Set<K> getSucceeded() {
+            return succeeded;
+        }
+
+        /** Returns the items that couldn't be written, along with why. */
+        Map<K, AmazonClientException> getFailures() {
+            return failures;
+        }
+    }
+}
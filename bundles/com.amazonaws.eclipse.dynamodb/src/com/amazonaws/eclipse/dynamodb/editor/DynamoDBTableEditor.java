@@ -28,7 +28,9 @@ import static com.amazonaws.eclipse.dynamodb.editor.AttributeValueUtil.setAttrib
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
+import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -36,6 +38,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -45,7 +48,9 @@ import java.util.Set;
 import org.eclipse.core.commands.IHandler;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.IMenuListener;
 import org.eclipse.jface.action.IMenuManager;
@@ -53,15 +58,18 @@ import org.eclipse.jface.action.MenuManager;
 import org.eclipse.jface.action.ToolBarManager;
 import org.eclipse.jface.commands.ActionHandler;
 import org.eclipse.jface.dialogs.Dialog;
+import org.eclipse.jface.dialogs.IInputValidator;
+import org.eclipse.jface.dialogs.InputDialog;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.layout.GridDataFactory;
 import org.eclipse.jface.layout.GridLayoutFactory;
 import org.eclipse.jface.layout.TableColumnLayout;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.viewers.ColumnWeightData;
-import org.eclipse.jface.viewers.IStructuredContentProvider;
+import org.eclipse.jface.viewers.ILazyContentProvider;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.window.Window;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.TableEditor;
 import org.eclipse.swt.dnd.Clipboard;
@@ -83,13 +91,16 @@ import org.eclipse.swt.layout.FormAttachment;
 import org.eclipse.swt.layout.FormData;
 import org.eclipse.swt.layout.FormLayout;
 import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Sash;
+import org.eclipse.swt.widgets.Spinner;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableColumn;
 import org.eclipse.swt.widgets.TableItem;
@@ -105,36 +116,34 @@ import org.eclipse.ui.part.EditorPart;
 import org.eclipse.ui.statushandlers.StatusManager;
 
 import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonWebServiceRequest;
 import com.amazonaws.eclipse.core.AwsToolkitCore;
 import com.amazonaws.eclipse.core.telemetry.AwsToolkitMetricType;
 import com.amazonaws.eclipse.core.ui.AbstractTableLabelProvider;
 import com.amazonaws.eclipse.dynamodb.AbstractAddNewAttributeDialog;
 import com.amazonaws.eclipse.dynamodb.DynamoDBPlugin;
 import com.amazonaws.eclipse.explorer.AwsAction;
+import com.amazonaws.eclipse.explorer.dynamodb.TableStatusWatcher;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.AttributeAction;
 import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.amazonaws.services.dynamodbv2.model.AttributeValueUpdate;
 import com.amazonaws.services.dynamodbv2.model.Condition;
-import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
-import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
-import com.amazonaws.services.dynamodbv2.model.DescribeTableResult;
 import com.amazonaws.services.dynamodbv2.model.ExpectedAttributeValue;
 import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
 import com.amazonaws.services.dynamodbv2.model.KeyType;
 import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
-import com.amazonaws.services.dynamodbv2.model.ScanRequest;
-import com.amazonaws.services.dynamodbv2.model.ScanResult;
 import com.amazonaws.services.dynamodbv2.model.TableDescription;
 import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
 
 /**
- * Scan editor for DynamoDB tables.
+ * Scan and query editor for DynamoDB tables.
  */
 public class DynamoDBTableEditor extends EditorPart {
 
     private static final String[] exportExtensions = new String[] { "*.csv" };
+    private static final String AUTOMATIC_ACCESS_PATH = "Automatic";
 
     /*
      * SWT editor glue
@@ -163,9 +172,19 @@ public class DynamoDBTableEditor extends EditorPart {
     /*
      * Table info that we fetch and store
      */
-    private KeySchemaWithAttributeType tableKey;
+    private volatile KeySchemaWithAttributeType tableKey;
     final Set<String> knownAttributes = new HashSet<>();
-    private ScanResult scanResult = new ScanResult();
+
+    /*
+     * The scan whose results are shown, and the job running it. The scan is
+     * set up by the scan jobs and shown by the UI thread.
+     */
+    private volatile QueryPlanner queryPlanner;
+    private volatile QueryPlanner.Plan plan;
+    private volatile ParallelScanner scanner;
+    private ScanJob scanJob;
+    /** Incremented by every scan job, so late pages of an old one are dropped. */
+    private int scanGeneration;
 
     /*
      * Actions to enable and disable
@@ -174,78 +193,54 @@ public class DynamoDBTableEditor extends EditorPart {
     private Action saveAction;
     private Action nextPageResultsAction;
     private Action exportAsCSVAction;
+    private Action exportTableAction;
+    private Action importItemsAction;
     private Action addNewAttributeAction;
 
+    /*
+     * Scan settings
+     */
+    private Spinner totalSegmentsSpinner;
+    private Spinner rowBudgetSpinner;
+    private Combo accessPathCombo;
+    private Text projectionText;
+
     @Override
     public void doSave(IProgressMonitor monitor) {
 
         monitor.beginTask("Saving changes", editedItems.size() + deletedItems.size());
 
+        MultiStatus errors = new MultiStatus(DynamoDBPlugin.PLUGIN_ID, 0, "Unable to save all changes to "
+                + tableEditorInput.getTableName(), null);
         try{
             AmazonDynamoDB dynamoDBClient = AwsToolkitCore.getClientFactory(tableEditorInput.getAccountId())
                     .getDynamoDBV2Client();
+            BatchItemWriter writer = new BatchItemWriter(dynamoDBClient, tableEditorInput.getTableName(),
+                    BatchItemWriter.DEFAULT_MAX_CONCURRENT_REQUESTS);
 
             /*
              * Save all edited items, only touching edited attributes.
              */
             if ( !editedItems.isEmpty() ) {
+                Map<Map<String, AttributeValue>, AmazonWebServiceRequest> requests = new LinkedHashMap<>();
                 for ( Iterator<Entry<Map<String, AttributeValue>, EditedItem>> iter = editedItems.iterator(); iter.hasNext(); ) {
                     Entry<Map<String, AttributeValue>, EditedItem> editedItem = iter.next();
+                    requests.put(editedItem.getKey(), createSaveRequest(editedItem.getKey(), editedItem.getValue()));
+                }
 
-                    try {
-                        /*
-                         * Due to a bug in Dynamo, updateItem will not create a
-                         * new item when only the key is specified. Therefore,
-                         * we need two code paths here, as in
-                         * DynamoDBMapper.save().
-                         */
-                        if ( editedItem.getValue().getEditedAttributes().isEmpty() ) {
-                            PutItemRequest rq = new PutItemRequest().withTableName(tableEditorInput.getTableName());
-                            rq.setItem(editedItem.getValue().getAttributes());
-                            Map<String, ExpectedAttributeValue> expected = new HashMap<>();
-                            for ( String attr : editedItem.getValue().getAttributes().keySet() ) {
-                                expected.put(attr, new ExpectedAttributeValue().withExists(false));
-                            }
-                            rq.setExpected(expected);
-
-                            dynamoDBClient.putItem(rq);
-
-                        } else {
-                            UpdateItemRequest rq = new UpdateItemRequest().withTableName(tableEditorInput
-                                    .getTableName());
-                            rq.setKey(editedItem.getKey());
-                            Map<String, AttributeValueUpdate> values = new HashMap<>();
-                            for ( String attributeName : editedItem.getValue().getEditedAttributes() ) {
-                                AttributeValueUpdate update = new AttributeValueUpdate();
-                                AttributeValue attributeValue = editedItem.getValue().getAttributes()
-                                        .get(attributeName);
-                                if ( attributeValue == null ) {
-                                    update.setAction(AttributeAction.DELETE);
-                                } else {
-                                    update.setAction(AttributeAction.PUT);
-                                    update.setValue(attributeValue);
-                                }
-                                values.put(attributeName, update);
-                            }
-
-                            rq.setAttributeUpdates(values);
-
-                            dynamoDBClient.updateItem(rq);
-                        }
-
-                        for ( int col = 0; col < viewer.getTable().getColumnCount(); col++ ) {
-                            editedItem.getValue().getTableItem()
-                                    .setForeground(col, Display.getDefault().getSystemColor(SWT.COLOR_BLACK));
-                        }
-                        iter.remove();
-                        monitor.worked(1);
-
-                    } catch ( AmazonClientException e ) {
-                        StatusManager.getManager().handle(
-                                new Status(IStatus.ERROR, DynamoDBPlugin.PLUGIN_ID, "Error saving item with key "
-                                        + editedItem.getKey() + ": " + e.getMessage()), StatusManager.SHOW);
-                        return;
-                    }
+                BatchItemWriter.Result<Map<String, AttributeValue>> result = writer.writeItems(requests, monitor);
+                for ( Map<String, AttributeValue> key : result.getSucceeded() ) {
+                    editedItems.remove(key);
+                }
+                if ( !result.getSucceeded().isEmpty() ) {
+                    // The table items of the saved rows may have moved since
+                    // they were edited; the rows still edited are marked again
+                    // as they are shown
+                    viewer.getTable().clearAll();
+                }
+                for ( Entry<Map<String, AttributeValue>, AmazonClientException> failure : result.getFailures().entrySet() ) {
+                    errors.add(new Status(IStatus.ERROR, DynamoDBPlugin.PLUGIN_ID, "Error saving item with key "
+                            + failure.getKey() + ": " + failure.getValue().getMessage()));
                 }
             }
 
@@ -253,37 +248,74 @@ public class DynamoDBTableEditor extends EditorPart {
              * Delete all deleted items.
              */
             if ( !deletedItems.isEmpty() ) {
-                for ( Iterator<Map<String, AttributeValue>> iter = deletedItems.iterator(); iter.hasNext(); ) {
-                    Map<String, AttributeValue> deletedItem = iter.next();
-                    try {
-                        dynamoDBClient.deleteItem(new DeleteItemRequest()
-                                .withTableName(tableEditorInput.getTableName()).withKey(deletedItem));
-                    } catch ( AmazonClientException e ) {
-                        StatusManager.getManager().handle(
-                                new Status(IStatus.ERROR, DynamoDBPlugin.PLUGIN_ID, "Error deleting item with key "
-                                        + deletedItem + ": " + e.getMessage()), StatusManager.SHOW);
-                        return;
-                    }
-                    iter.remove();
-                    monitor.worked(1);
+                BatchItemWriter.Result<Map<String, AttributeValue>> result = writer.deleteItems(deletedItems, monitor);
+                deletedItems.removeAll(result.getSucceeded());
+                for ( Entry<Map<String, AttributeValue>, AmazonClientException> failure : result.getFailures().entrySet() ) {
+                    errors.add(new Status(IStatus.ERROR, DynamoDBPlugin.PLUGIN_ID, "Error deleting item with key "
+                            + failure.getKey() + ": " + failure.getValue().getMessage()));
                 }
             }
 
         /*
-         * Exception handling: if we fail to execute any action above, the
-         * editor is left in a sane state -- we clean up edited state as we
-         * make each service call, so all we have to do is notify of the
-         * exception and return without updating the editor's dirty state.
+         * Exception handling: every item is saved or fails on its own, and
+         * only the saved ones are cleaned from the edited state. So if any
+         * item failed or wasn't attempted, all we have to do is report the
+         * failures and return without updating the editor's dirty state.
          */
         } finally {
             monitor.done();
         }
 
+        if ( !errors.isOK() ) {
+            StatusManager.getManager().handle(errors, StatusManager.SHOW);
+            return;
+        }
+        if ( !editedItems.isEmpty() || !deletedItems.isEmpty() ) {
+            monitor.setCanceled(true);
+            return;
+        }
+
         dirty = false;
         this.saveAction.setEnabled(false);
         firePropertyChange(PROP_DIRTY);
     }
 
+    /**
+     * Returns the request that saves the given edited item. Due to a bug in
+     * Dynamo, updateItem will not create a new item when only the key is
+     * specified. Therefore, we need two code paths here, as in
+     * DynamoDBMapper.save().
+     */
+    private AmazonWebServiceRequest createSaveRequest(Map<String, AttributeValue> key, EditedItem editedItem) {
+        if ( editedItem.getEditedAttributes().isEmpty() ) {
+            PutItemRequest rq = new PutItemRequest().withTableName(tableEditorInput.getTableName());
+            rq.setItem(editedItem.getAttributes());
+            Map<String, ExpectedAttributeValue> expected = new HashMap<>();
+            for ( String attr : editedItem.getAttributes().keySet() ) {
+                expected.put(attr, new ExpectedAttributeValue().withExists(false));
+            }
+            rq.setExpected(expected);
+            return rq;
+        }
+
+        UpdateItemRequest rq = new UpdateItemRequest().withTableName(tableEditorInput.getTableName());
+        rq.setKey(key);
+        Map<String, AttributeValueUpdate> values = new HashMap<>();
+        for ( String attributeName : editedItem.getEditedAttributes() ) {
+            AttributeValueUpdate update = new AttributeValueUpdate();
+            AttributeValue attributeValue = editedItem.getAttributes().get(attributeName);
+            if ( attributeValue == null ) {
+                update.setAction(AttributeAction.DELETE);
+            } else {
+                update.setAction(AttributeAction.PUT);
+                update.setValue(attributeValue);
+            }
+            values.put(attributeName, update);
+        }
+        rq.setAttributeUpdates(values);
+        return rq;
+    }
+
     @Override
     public void doSaveAs() {
         // unsupported
@@ -380,9 +412,42 @@ public class DynamoDBTableEditor extends EditorPart {
         final Composite scanEditor = new Composite(composite, SWT.None);
         GridLayoutFactory.fillDefaults().applyTo(scanEditor);
 
+        Composite scanSettings = new Composite(scanEditor, SWT.None);
+        GridLayoutFactory.swtDefaults().numColumns(8).applyTo(scanSettings);
+        GridDataFactory.fillDefaults().grab(true, false).applyTo(scanSettings);
+
+        new Label(scanSettings, SWT.None).setText("Read from:");
+        accessPathCombo = new Combo(scanSettings, SWT.READ_ONLY | SWT.DROP_DOWN);
+        accessPathCombo.setItems(new String[] { AUTOMATIC_ACCESS_PATH });
+        accessPathCombo.select(0);
+        accessPathCombo.setToolTipText("The table or index to read. Automatic queries the cheapest "
+                + "one whose hash key has an \"Equals\" condition, and scans the table if there is none.");
+
+        new Label(scanSettings, SWT.None).setText("Attributes:");
+        projectionText = new Text(scanSettings, SWT.BORDER);
+        projectionText.setMessage("All");
+        projectionText.setToolTipText("Comma-separated attributes to return; the key attributes are always returned");
+        GridDataFactory.fillDefaults().grab(true, false).applyTo(projectionText);
+
+        new Label(scanSettings, SWT.None).setText("Parallel segments:");
+        totalSegmentsSpinner = new Spinner(scanSettings, SWT.BORDER);
+        totalSegmentsSpinner.setMinimum(1);
+        totalSegmentsSpinner.setMaximum(ParallelScanner.MAX_TOTAL_SEGMENTS);
+        totalSegmentsSpinner.setSelection(ParallelScanner.DEFAULT_TOTAL_SEGMENTS);
+        totalSegmentsSpinner.setToolTipText("Number of segments scanned at once");
+
+        new Label(scanSettings, SWT.None).setText("Items per page:");
+        rowBudgetSpinner = new Spinner(scanSettings, SWT.BORDER);
+        rowBudgetSpinner.setMinimum(1);
+        rowBudgetSpinner.setMaximum(100000);
+        rowBudgetSpinner.setIncrement(100);
+        rowBudgetSpinner.setPageIncrement(1000);
+        rowBudgetSpinner.setSelection(ParallelScanner.DEFAULT_ROW_BUDGET);
+        rowBudgetSpinner.setToolTipText("Number of items a scan or next page stops at");
+
         final Button addCondition = new Button(scanEditor, SWT.PUSH);
-        addCondition.setToolTipText("Add scan condition");
-        addCondition.setText("Add scan condition");
+        addCondition.setToolTipText("Add condition");
+        addCondition.setText("Add condition");
         addCondition.setImage(AwsToolkitCore.getDefault().getImageRegistry().get(AwsToolkitCore.IMAGE_ADD));
         GridDataFactory.swtDefaults().indent(5, 0).applyTo(addCondition);
 
@@ -515,13 +580,8 @@ public class DynamoDBTableEditor extends EditorPart {
                         raf.setLength(0L);
                     }
 
-                    List<Map<String, AttributeValue>> items = new LinkedList<>();
-
-                    for ( TableItem tableItem : viewer.getTable().getItems() ) {
-                        @SuppressWarnings("unchecked")
-                        Map<String, AttributeValue> e = (Map<String, AttributeValue>) tableItem.getData();
-                        items.add(e);
-                    }
+                    // The table is virtual, so its items don't all hold their data
+                    List<? extends Map<String, AttributeValue>> items = contentProvider.getItems();
 
                     try (BufferedWriter out = new BufferedWriter(new FileWriter(csvFile))) {
                         boolean seenOne = false;
@@ -565,6 +625,100 @@ public class DynamoDBTableEditor extends EditorPart {
 
         };
 
+        exportTableAction = new AwsAction(AwsToolkitMetricType.EXPLORER_DYNAMODB_EXPORT_TABLE) {
+
+            @Override
+            public ImageDescriptor getImageDescriptor() {
+                return AwsToolkitCore.getDefault().getImageRegistry().getDescriptor(AwsToolkitCore.IMAGE_DOWNLOAD);
+            }
+
+            @Override
+            public String getText() {
+                return "Export whole table (JSON Lines or CSV)";
+            }
+
+            @Override
+            protected void doRun() {
+                FileDialog dialog = new FileDialog(Display.getCurrent().getActiveShell(), SWT.SAVE);
+                dialog.setOverwrite(true);
+                dialog.setFilterExtensions(TableDataTransfer.FILE_EXTENSIONS);
+                dialog.setFileName(tableEditorInput.getTableName() + ".jsonl.gz");
+                final String file = dialog.open();
+                if ( file == null ) {
+                    actionCanceled();
+                    actionFinished();
+                    return;
+                }
+
+                final int totalSegments = totalSegmentsSpinner.getSelection();
+                new TransferJob("Exporting " + tableEditorInput.getTableName()) {
+                    @Override
+                    protected IStatus transfer(TableDataTransfer transfer, IProgressMonitor monitor)
+                            throws IOException {
+                        return transfer.exportTable(new File(file), totalSegments, monitor);
+                    }
+                }.schedule();
+                actionSucceeded();
+                actionFinished();
+            }
+        };
+
+        importItemsAction = new AwsAction(AwsToolkitMetricType.EXPLORER_DYNAMODB_IMPORT_ITEMS) {
+
+            @Override
+            public ImageDescriptor getImageDescriptor() {
+                return AwsToolkitCore.getDefault().getImageRegistry().getDescriptor(AwsToolkitCore.IMAGE_PUBLISH);
+            }
+
+            @Override
+            public String getText() {
+                return "Import items from a file";
+            }
+
+            @Override
+            protected void doRun() {
+                FileDialog dialog = new FileDialog(Display.getCurrent().getActiveShell(), SWT.OPEN);
+                dialog.setFilterExtensions(TableDataTransfer.FILE_EXTENSIONS);
+                final String file = dialog.open();
+                if ( file == null ) {
+                    actionCanceled();
+                    actionFinished();
+                    return;
+                }
+
+                String message = "Items in " + new File(file).getName() + " replace the items with the same key in "
+                        + tableEditorInput.getTableName() + ".\n\nMaximum items to write per second (0 for no limit):";
+                InputDialog limitDialog = new InputDialog(Display.getCurrent().getActiveShell(), "Import items",
+                        message, "0", new IInputValidator() {
+
+                            @Override
+                            public String isValid(String newText) {
+                                try {
+                                    return Integer.parseInt(newText.trim()) >= 0 ? null : "Enter zero or more";
+                                } catch ( NumberFormatException e ) {
+                                    return "Enter a whole number";
+                                }
+                            }
+                        });
+                if ( limitDialog.open() != Window.OK ) {
+                    actionCanceled();
+                    actionFinished();
+                    return;
+                }
+
+                final int maxItemsPerSecond = Integer.parseInt(limitDialog.getValue().trim());
+                new TransferJob("Importing " + new File(file).getName() + " into " + tableEditorInput.getTableName()) {
+                    @Override
+                    protected IStatus transfer(TableDataTransfer transfer, IProgressMonitor monitor)
+                            throws IOException {
+                        return transfer.importItems(new File(file), maxItemsPerSecond, monitor);
+                    }
+                }.schedule();
+                actionSucceeded();
+                actionFinished();
+            }
+        };
+
         addNewAttributeAction = new AwsAction(AwsToolkitMetricType.EXPLORER_DYNAMODB_ADD_NEW_ATTRIBUTE) {
 
             @Override
@@ -620,6 +774,8 @@ public class DynamoDBTableEditor extends EditorPart {
         toolBarManager.add(nextPageResultsAction);
         toolBarManager.add(saveAction);
         toolBarManager.add(exportAsCSVAction);
+        toolBarManager.add(exportTableAction);
+        toolBarManager.add(importItemsAction);
         toolBarManager.add(addNewAttributeAction);
         toolBarManager.update(true);
     }
@@ -628,7 +784,8 @@ public class DynamoDBTableEditor extends EditorPart {
         TableColumnLayout tableColumnLayout = new TableColumnLayout();
         resultsComposite.setLayout(tableColumnLayout);
 
-        this.viewer = new TableViewer(resultsComposite);
+        this.viewer = new TableViewer(resultsComposite, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.BORDER
+                | SWT.VIRTUAL);
         this.viewer.getTable().setLinesVisible(true);
         this.viewer.getTable().setHeaderVisible(true);
 
@@ -688,9 +845,17 @@ public class DynamoDBTableEditor extends EditorPart {
         // no-op
     }
 
+    @Override
+    public void dispose() {
+        if ( scanJob != null ) {
+            scanJob.cancel();
+        }
+        super.dispose();
+    }
+
     /**
-     * Updates the query results asynchronously. Must be called from the UI
-     * thread.
+     * Starts a new scan with the current scan conditions, replacing the
+     * results in the table. Must be called from the UI thread.
      */
     private void runScan() {
 
@@ -708,56 +873,70 @@ public class DynamoDBTableEditor extends EditorPart {
             col.dispose();
         }
 
-        new Thread() {
+        // The conditions only change on the UI thread, so they are collected
+        // once here; the request built from them is reused for every page
+        final List<Entry<String, Condition>> conditions = new ArrayList<>();
+        for ( ScanConditionRow row : scanConditions ) {
+            if ( row.shouldExecute() ) {
+                conditions.add(new SimpleImmutableEntry<>(row.getAttributeName(), row.getScanCondition()));
+            }
+        }
+        final List<String> projection = new ArrayList<>();
+        for ( String attribute : projectionText.getText().split(",") ) {
+            if ( attribute.trim().length() > 0 ) {
+                projection.add(attribute.trim());
+            }
+        }
+        final int accessPathIndex = accessPathCombo.getSelectionIndex();
+        final int totalSegments = totalSegmentsSpinner.getSelection();
 
+        scheduleScan(new ScanJob() {
             @Override
-            public void run() {
+            protected void prepare(AmazonDynamoDB dynamoDBClient) {
                 if ( tableKey == null ) {
-                    DescribeTableResult describeTable = AwsToolkitCore
-                            .getClientFactory(DynamoDBTableEditor.this.tableEditorInput.getAccountId())
-                            .getDynamoDBV2Client()
-                            .describeTable(new DescribeTableRequest().withTableName(tableEditorInput.getTableName()));
-                    TableDescription tableDescription = describeTable.getTable();
+                    /* Usually already described by the explorer */
+                    TableDescription tableDescription = TableStatusWatcher.getInstance(dynamoDBClient)
+                            .describe(tableEditorInput.getTableName(), TableStatusWatcher.ACTIVE_MAX_AGE_MILLIS);
                     tableKey = convertToKeySchemaWithAttributeType(tableDescription);
+                    queryPlanner = new QueryPlanner(tableDescription);
                 }
 
-                scanResult = new ScanResult();
-                try {
-                    ScanRequest scanRequest = new ScanRequest().withTableName(tableEditorInput.getTableName());
-                    scanRequest.setScanFilter(new HashMap<String, Condition>());
-                    for ( ScanConditionRow row : scanConditions ) {
-                        if ( row.shouldExecute() ) {
-                            scanRequest.getScanFilter().put(row.getAttributeName(), row.getScanCondition());
-                        }
-                    }
-                    scanResult = AwsToolkitCore.getClientFactory(DynamoDBTableEditor.this.tableEditorInput.getAccountId())
-                            .getDynamoDBV2Client().scan(scanRequest);
-                } catch ( Exception e ) {
-                    DynamoDBPlugin.getDefault().reportException(e.getMessage(), e);
-                    return;
+                // Index 0 is the automatic choice
+                QueryPlanner.AccessPath accessPath = null;
+                if ( accessPathIndex > 0 && accessPathIndex <= queryPlanner.getAccessPaths().size() ) {
+                    accessPath = queryPlanner.getAccessPaths().get(accessPathIndex - 1);
+                }
+                plan = queryPlanner.plan(conditions, accessPath, projection);
+                if ( plan.getQuery() != null ) {
+                    scanner = new ParallelScanner(dynamoDBClient, plan.getQuery());
+                } else {
+                    scanner = new ParallelScanner(dynamoDBClient, plan.getScan(), totalSegments);
                 }
 
-                final ScanResult result = scanResult;
                 Display.getDefault().asyncExec(new Runnable() {
 
                     @Override
                     public void run() {
-                        viewer.setInput(result.getItems());
+                        if ( generation != scanGeneration || viewer.getTable().isDisposed() ) {
+                            return;
+                        }
+                        if ( accessPathCombo.getItemCount() == 1 ) {
+                            for ( QueryPlanner.AccessPath path : queryPlanner.getAccessPaths() ) {
+                                accessPathCombo.add(path.toString());
+                            }
+                        }
+                        viewer.setInput(new ArrayList<Map<String, AttributeValue>>());
+                        contentProvider.updateItemCount();
                         viewer.getTable().setEnabled(true);
-                        viewer.getTable().getParent().layout();
-                        runScanAction.setEnabled(true);
-                        nextPageResultsAction.setEnabled(scanResult.getLastEvaluatedKey() != null);
-                        exportAsCSVAction.setEnabled(true);
-                        addNewAttributeAction.setEnabled(true);
                     }
                 });
             }
-
-        }.start();
+        });
     }
 
     /**
-     * Fetches the next page of results from the scan and updates the table with them.
+     * Continues the scan where it stopped and adds the next items to the
+     * table.
      */
     private void getNextPageResults() {
 
@@ -766,167 +945,241 @@ public class DynamoDBTableEditor extends EditorPart {
         nextPageResultsAction.setEnabled(false);
         exportAsCSVAction.setEnabled(false);
 
-        new Thread() {
+        scheduleScan(new ScanJob());
+    }
 
-            @Override
-            public void run() {
+    /**
+     * Cancels a scan that is still running and schedules the given one. Must
+     * be called from the UI thread.
+     */
+    private void scheduleScan(ScanJob job) {
+        if ( scanJob != null ) {
+            scanJob.cancel();
+        }
+        scanGeneration++;
+        scanJob = job;
+        job.schedule();
+    }
 
-                try {
-                    ScanRequest scanRequest = new ScanRequest().withTableName(tableEditorInput.getTableName());
-                    scanRequest.setScanFilter(new HashMap<String, Condition>());
-                    for ( ScanConditionRow row : scanConditions ) {
-                        if ( row.shouldExecute() ) {
-                            scanRequest.getScanFilter().put(row.getAttributeName(), row.getScanCondition());
+    /**
+     * Scans up to the row budget with the current scanner, streaming the items
+     * into the table as the pages arrive.
+     */
+    private class ScanJob extends Job {
+
+        protected final int generation = scanGeneration + 1;
+        private final int rowBudget = rowBudgetSpinner.getSelection();
+
+        ScanJob() {
+            super("Scanning " + tableEditorInput.getTableName());
+        }
+
+        /**
+         * Called before scanning, e.g. to create the scanner.
+         */
+        protected void prepare(AmazonDynamoDB dynamoDBClient) {
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            monitor.beginTask(getName(), IProgressMonitor.UNKNOWN);
+            boolean hasMore = false;
+            try {
+                prepare(AwsToolkitCore.getClientFactory(tableEditorInput.getAccountId()).getDynamoDBV2Client());
+                hasMore = scanner.scan(rowBudget, items -> Display.getDefault().asyncExec(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        if ( generation != scanGeneration || viewer.getTable().isDisposed() ) {
+                            return;
+                        }
+                        if ( contentProvider.addItems(items) ) {
+                            viewer.getTable().getParent().layout();
                         }
                     }
-                    scanRequest.setExclusiveStartKey(scanResult.getLastEvaluatedKey());
-                    scanResult = AwsToolkitCore.getClientFactory(DynamoDBTableEditor.this.tableEditorInput.getAccountId())
-                            .getDynamoDBV2Client().scan(scanRequest);
-                } catch ( Exception e ) {
-                    DynamoDBPlugin.getDefault().reportException(e.getMessage(), e);
-                    return;
-                }
-
-                final ScanResult result = scanResult;
+                }), monitor);
+            } catch ( Exception e ) {
+                return new Status(IStatus.ERROR, DynamoDBPlugin.PLUGIN_ID, "Unable to scan table "
+                        + tableEditorInput.getTableName() + ": " + e.getMessage(), e);
+            } finally {
+                final boolean moreResults = hasMore;
                 Display.getDefault().asyncExec(new Runnable() {
 
                     @Override
                     public void run() {
-                        contentProvider.addItems(result.getItems());
-                        viewer.refresh();
-                        DynamoDBTableEditor.this.viewer.getTable().setEnabled(true);
-                        DynamoDBTableEditor.this.viewer.getTable().getParent().layout();
+                        if ( generation != scanGeneration || viewer.getTable().isDisposed() ) {
+                            return;
+                        }
+                        viewer.getTable().setEnabled(true);
                         runScanAction.setEnabled(true);
-                        nextPageResultsAction.setEnabled(scanResult.getLastEvaluatedKey() != null);
+                        nextPageResultsAction.setEnabled(moreResults);
                         exportAsCSVAction.setEnabled(true);
+                        addNewAttributeAction.setEnabled(true);
+                        updateScanStatistics();
                     }
                 });
+                monitor.done();
             }
+            return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+        }
+    }
 
-        }.start();
+    /**
+     * Shows the access path, consumed capacity and throughput of the current
+     * scan or query in the status line.
+     */
+    private void updateScanStatistics() {
+        if ( scanner == null ) {
+            return;
+        }
+        getEditorSite().getActionBars().getStatusLineManager().setMessage(String.format(
+                "%s: %,d items (%,d scanned), %,.1f read capacity units consumed, %,.0f items/sec",
+                plan, scanner.getItemCount(), scanner.getScannedCount(), scanner.getConsumedCapacity(),
+                scanner.getItemsPerSecond()));
     }
 
     /**
      * Content provider creates columns for the table and keeps track of them
-     * for other parts of the UI.
+     * for other parts of the UI. The table is virtual: rows are only handed to
+     * the viewer when they are shown, and adding items only touches the new
+     * rows.
      */
-    private class ContentProvider implements IStructuredContentProvider {
+    private class ContentProvider implements ILazyContentProvider {
 
-        private List<Map<String, AttributeValue>> input;
-        private final List<Map<String, AttributeValue>> elementList = new ArrayList<>();
+        private final ItemStore items = new ItemStore();
         private final List<String> columns = new ArrayList<>();
 
+        /** Empty row at the end for adding new rows. */
+        private Map<String, AttributeValue> newItemRow = new HashMap<>();
+
         /**
-         * Adds a single item to the table.
+         * Adds a single item to the table, in place of the row for adding new
+         * rows.
          */
         void addItem(Map<String, AttributeValue> item) {
-            elementList.set(elementList.size() - 1, item);
-            elementList.add(new HashMap<String, AttributeValue>());
-            viewer.refresh();
+            int index = items.size();
+            ItemStore.Row row = items.add(item);
+            newItemRow = new HashMap<>();
+            updateItemCount();
+            viewer.replace(row, index);
         }
 
         /**
          * Adds a list of new items to the table.
+         *
+         * @return Whether the items added columns to the table.
          */
-        public void addItems(List<Map<String, AttributeValue>> items) {
-            // Remove the (possible) empty row and add it to the end
-            if ( !elementList.isEmpty() && elementList.get(elementList.size() - 1).isEmpty() ) {
-                elementList.remove(elementList.size() - 1);
-            }
-
-            elementList.addAll(items);
+        public boolean addItems(List<Map<String, AttributeValue>> items) {
+            int newItemRowIndex = this.items.size();
+            List<String> newAttributes = this.items.addAll(items);
 
             // expand columns if necessary
-            List<String> columns = new LinkedList<>();
-            for ( Map<String, AttributeValue> item : items ) {
-                columns.addAll(item.keySet());
-            }
-
             Table table = (Table) viewer.getControl();
             TableColumnLayout layout = (TableColumnLayout) table.getParent().getLayout();
-            for ( String column : columns ) {
+            boolean columnsAdded = false;
+            for ( String column : newAttributes ) {
                 if ( !this.columns.contains(column) ) {
                     this.columns.add(column);
                     createColumn(table, layout, column);
+                    columnsAdded = true;
+                    synchronized (knownAttributes) {
+                        knownAttributes.add(column);
+                    }
                 }
             }
 
-            // empty row for adding new rows
-            elementList.add(new HashMap<String, AttributeValue>());
+            // The row for adding new rows moves to the end
+            updateItemCount();
+            table.clear(newItemRowIndex);
+            return columnsAdded;
         }
 
-        @Override
-        @SuppressWarnings("unchecked")
-        public void inputChanged(final Viewer viewer, final Object oldInput, final Object newInput) {
-            this.input = (List<Map<String, AttributeValue>>) newInput;
-            this.elementList.clear();
-            this.columns.clear();
-
-            initializeElements();
-
-            if ( this.input != null ) {
-                Table table = (Table) viewer.getControl();
-                TableColumnLayout layout = (TableColumnLayout) table.getParent().getLayout();
+        /**
+         * Removes the item at the given index from the table; the caller
+         * updates the table.
+         */
+        Map<String, AttributeValue> removeItem(int index) {
+            return items.remove(index);
+        }
 
-                for ( String col : this.columns ) {
-                    createColumn(table, layout, col);
-                }
-            }
+        /** Returns the number of items, not counting the row for new items. */
+        int getItemCount() {
+            return items.size();
         }
 
-        private void createColumn(Table table, TableColumnLayout layout, String col) {
-            TableColumn column = new TableColumn(table, SWT.NONE);
-            column.setText(col);
-            layout.setColumnData(column, new ColumnWeightData(10));
+        List<? extends Map<String, AttributeValue>> getItems() {
+            return items.getRows();
         }
 
-        @Override
-        public void dispose() {
+        /** Sets the number of rows of the table to match the items. */
+        void updateItemCount() {
+            viewer.setItemCount(items.size() + 1);
         }
 
         @Override
-        public Object[] getElements(final Object inputElement) {
-            initializeElements();
-            return this.elementList.toArray();
+        public void updateElement(int index) {
+            Map<String, AttributeValue> row = index < items.size() ? items.get(index) : newItemRow;
+            viewer.replace(row, index);
+            showEditedAttributes(viewer.getTable().getItem(index), row);
         }
 
-        private synchronized void initializeElements() {
-            if ( elementList.isEmpty() && input != null ) {
+        @Override
+        @SuppressWarnings("unchecked")
+        public void inputChanged(final Viewer viewer, final Object oldInput, final Object newInput) {
+            this.items.clear();
+            this.columns.clear();
+            this.newItemRow = new HashMap<>();
 
-                Set<String> columns = new HashSet<>();
+            List<Map<String, AttributeValue>> input = (List<Map<String, AttributeValue>>) newInput;
+            if ( input == null ) {
+                return;
+            }
 
-                for ( Map<String, AttributeValue> item : input ) {
-                    columns.addAll(item.keySet());
-                }
-                // We add the hash and range keys back in at the beginning, so
-                // remove them for now
-                columns.remove(tableKey.getHashKeyAttributeName());
-                if ( tableKey.hasRangeKey() ) {
-                    columns.remove(tableKey.getRangeKeyAttributeName());
-                }
+            Set<String> columns = new HashSet<>();
+            for ( Map<String, AttributeValue> item : input ) {
+                columns.addAll(item.keySet());
+            }
+            // We add the hash and range keys back in at the beginning, so
+            // remove them for now
+            columns.remove(tableKey.getHashKeyAttributeName());
+            if ( tableKey.hasRangeKey() ) {
+                columns.remove(tableKey.getRangeKeyAttributeName());
+            }
 
-                List<String> sortedColumns = new ArrayList<>();
-                sortedColumns.addAll(columns);
-                Collections.sort(sortedColumns);
+            List<String> sortedColumns = new ArrayList<>();
+            sortedColumns.addAll(columns);
+            Collections.sort(sortedColumns);
 
-                sortedColumns.add(0, tableKey.getHashKeyAttributeName());
-                if ( tableKey.hasRangeKey() ) {
-                    sortedColumns.add(1, tableKey.getRangeKeyAttributeName());
-                }
+            sortedColumns.add(0, tableKey.getHashKeyAttributeName());
+            if ( tableKey.hasRangeKey() ) {
+                sortedColumns.add(1, tableKey.getRangeKeyAttributeName());
+            }
 
-                synchronized (knownAttributes) {
-                    knownAttributes.addAll(sortedColumns);
-                }
+            synchronized (knownAttributes) {
+                knownAttributes.addAll(sortedColumns);
+            }
 
-                elementList.addAll(input);
-                // empty row at the end for adding new rows
-                elementList.add(new HashMap<String, AttributeValue>());
+            this.items.addAll(input);
+            this.columns.addAll(sortedColumns);
 
-                this.columns.addAll(sortedColumns);
+            Table table = (Table) viewer.getControl();
+            TableColumnLayout layout = (TableColumnLayout) table.getParent().getLayout();
+            for ( String col : this.columns ) {
+                createColumn(table, layout, col);
             }
         }
 
-        private synchronized List<String> getColumns() {
+        private void createColumn(Table table, TableColumnLayout layout, String col) {
+            TableColumn column = new TableColumn(table, SWT.NONE);
+            column.setText(col);
+            layout.setColumnData(column, new ColumnWeightData(10));
+        }
+
+        @Override
+        public void dispose() {
+        }
+
+        private List<String> getColumns() {
             return this.columns;
         }
     }
@@ -944,6 +1197,30 @@ public class DynamoDBTableEditor extends EditorPart {
         }
     }
 
+    /**
+     * Streams table data between the table and a file in the background.
+     */
+    private abstract class TransferJob extends Job {
+
+        TransferJob(String name) {
+            super(name);
+            setUser(true);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            try {
+                AmazonDynamoDB dynamoDBClient = AwsToolkitCore.getClientFactory(tableEditorInput.getAccountId())
+                        .getDynamoDBV2Client();
+                return transfer(new TableDataTransfer(dynamoDBClient, tableEditorInput.getTableName()), monitor);
+            } catch ( IOException | AmazonClientException e ) {
+                return new Status(IStatus.ERROR, DynamoDBPlugin.PLUGIN_ID, getName() + " failed: " + e.getMessage(), e);
+            }
+        }
+
+        protected abstract IStatus transfer(TableDataTransfer transfer, IProgressMonitor monitor) throws IOException;
+    }
+
     /**
      * CreateNewItemDialog now extends AttributeValueInputDialog, which is a
      * more generic class that includes basic dialog template and value
@@ -1138,13 +1415,16 @@ public class DynamoDBTableEditor extends EditorPart {
             // Remove all these indices from the data model of the content
             // provider. We go through them backwards to avoid having to
             // recalculate offsets caused by the list shifting to fill in the
-            // gaps.
+            // gaps. The rows come from the content provider, since the items
+            // of a virtual table that were never shown have no data.
             Collections.sort(selectionIndices);
             for (int i = selectionIndices.size() - 1; i >= 0; i--) {
                 Integer selectionIndex = selectionIndices.get(i);
-                contentProvider.elementList.remove(selectionIndex.intValue());
-
-                Map<String, AttributeValue> key = getKey(table.getItem(selectionIndex));
+                if ( selectionIndex >= contentProvider.getItemCount() ) {
+                    // The empty row for adding new rows
+                    continue;
+                }
+                Map<String, AttributeValue> key = getKey(contentProvider.removeItem(selectionIndex));
                 editedItems.remove(key);
                 // If this is a newly-added item, don't try to issue a delete
                 // request for it.
@@ -1157,7 +1437,11 @@ public class DynamoDBTableEditor extends EditorPart {
 
             markDirty();
 
-            viewer.refresh();
+            table.deselectAll();
+            contentProvider.updateItemCount();
+            // Rows below the deleted ones move up; their edited attributes
+            // are marked again as they are filled in
+            table.clearAll();
         }
 
         /**
@@ -1341,6 +1625,8 @@ public class DynamoDBTableEditor extends EditorPart {
         }
 
         setAttribute(attributeValue, newValue, dataType);
+        // The item may hold a copy of the value
+        dynamoDbItem.put(attributeName, attributeValue);
 
         Map<String, AttributeValue> editedItemKey = getKey(item);
         if ( !editedItems.containsKey(editedItemKey) ) {
@@ -1370,14 +1656,40 @@ public class DynamoDBTableEditor extends EditorPart {
         markDirty();
     }
 
+    /**
+     * Marks the edited attributes of the given row again once its table item
+     * is filled in, since clearing the table items, e.g. after deleting rows
+     * above them, resets their colors.
+     */
+    private void showEditedAttributes(TableItem item, Map<String, AttributeValue> row) {
+        if ( editedItems.isEmpty() || row.isEmpty() ) {
+            return;
+        }
+        EditedItem editedItem = editedItems.get(getKey(row));
+        if ( editedItem == null ) {
+            return;
+        }
+        List<String> columns = contentProvider.getColumns();
+        for ( int col = 0; col < columns.size(); col++ ) {
+            if ( editedItem.getEditedAttributes().contains(columns.get(col)) ) {
+                item.setForeground(col, Display.getDefault().getSystemColor(SWT.COLOR_RED));
+            }
+        }
+    }
+
     /**
      * Returns a key for recording a change to the item given, reusing the key
      * if it exists or returning a new one otherwise.
      */
+    @SuppressWarnings("unchecked")
     private Map<String, AttributeValue> getKey(final TableItem item) {
-        @SuppressWarnings("unchecked")
-        Map<String, AttributeValue> dynamoDbItem = (Map<String, AttributeValue>) item.getData();
+        return getKey((Map<String, AttributeValue>) item.getData());
+    }
 
+    /**
+     * Returns the key attributes of the item given.
+     */
+    private Map<String, AttributeValue> getKey(final Map<String, AttributeValue> dynamoDbItem) {
         Map<String, AttributeValue> keyAttributes = new HashMap<>();
 
         String hashKeyAttributeName = tableKey.getHashKeyAttributeName();
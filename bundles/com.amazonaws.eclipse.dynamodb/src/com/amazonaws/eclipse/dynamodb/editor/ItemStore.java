@@ -0,0 +1,294 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.dynamodb.editor;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+
+/**
+ * Holds the items loaded into the table editor in a compact form.
+ * <p>
+ * Attribute names are kept once, in a dictionary shared by all rows; a row
+ * only holds the ids of its attributes and their values. Values that are a
+ * plain string, number, boolean or null are kept without their
+ * {@link AttributeValue}, which is rebuilt whenever the value is read, so a
+ * value must be put back into its row after it is changed. Other values are
+ * kept as they are.
+ * <p>
+ * Rows are maps that keep their identity while the store changes, so they can
+ * be handed to the viewer and edited in place. Not thread safe.
+ */
+final class ItemStore {
+
+    private static final Object NULL_VALUE = new Object();
+
+    private final Map<String, Integer> attributeIds = new HashMap<>();
+    private final List<String> attributeNames = new ArrayList<>();
+    private final List<Row> rows = new ArrayList<>();
+
+    /**
+     * Appends the given items.
+     *
+     * @return The attribute names that no item of the store had before, in
+     *         the order they were found.
+     */
+    List<String> addAll(Collection<? extends Map<String, AttributeValue>> items) {
+        int knownAttributes = attributeNames.size();
+        for (Map<String, AttributeValue> item : items) {
+            add(item);
+        }
+        return new ArrayList<>(attributeNames.subList(knownAttributes, attributeNames.size()));
+    }
+
+    /** Appends the given item and returns its row. */
+    Row add(Map<String, AttributeValue> item) {
+        Row row = new Row(item.size());
+        for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+            row.put(attribute.getKey(), attribute.getValue());
+        }
+        rows.add(row);
+        return row;
+    }
+
+    Row get(int index) {
+        return rows.get(index);
+    }
+
+    Row remove(int index) {
+        return rows.remove(index);
+    }
+
+    int size() {
+        return rows.size();
+    }
+
+    /** Returns a read-only view of the rows. */
+    List<Row> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    /** Removes all rows and forgets all attribute names. */
+    void clear() {
+        rows.clear();
+        attributeIds.clear();
+        attributeNames.clear();
+    }
+
+    private int intern(String attributeName) {
+        Integer id = attributeIds.get(attributeName);
+        if (id == null) {
+            id = attributeNames.size();
+            attributeIds.put(attributeName, id);
+            attributeNames.add(attributeName);
+        }
+        return id;
+    }
+
+    private static Object encode(AttributeValue value) {
+        Object[] fields = new Object[] { value.getS(), value.getN(), value.getB(), value.getSS(), value.getNS(),
+                value.getBS(), value.getM(), value.getL(), value.getBOOL(), value.getNULL() };
+        int set = 0;
+        for (Object field : fields) {
+            if (field != null) {
+                set++;
+            }
+        }
+        if (set != 1) {
+            return value;
+        } else if (value.getS() != null) {
+            return value.getS();
+        } else if (value.getN() != null) {
+            return new NumberValue(value.getN());
+        } else if (value.getBOOL() != null) {
+            return value.getBOOL();
+        } else if (Boolean.TRUE.equals(value.getNULL())) {
+            return NULL_VALUE;
+        }
+        return value;
+    }
+
+    private static AttributeValue decode(Object value) {
+        if (value instanceof String) {
+            return new AttributeValue().withS((String) value);
+        } else if (value instanceof NumberValue) {
+            return new AttributeValue().withN(((NumberValue) value).number);
+        } else if (value instanceof Boolean) {
+            return new AttributeValue().withBOOL((Boolean) value);
+        } else if (value == NULL_VALUE) {
+            return new AttributeValue().withNULL(true);
+        }
+        return (AttributeValue) value;
+    }
+
+    /** A number kept as its string, told apart from a string value. */
+    private static final class NumberValue {
+        private final String number;
+
+        NumberValue(String number) {
+            this.number = number;
+        }
+    }
+
+    /**
+     * One item of the store.
+     */
+    final class Row extends AbstractMap<String, AttributeValue> {
+        private int[] ids;
+        private Object[] values;
+        private int size;
+
+        private Row(int capacity) {
+            ids = new int[capacity];
+            values = new Object[capacity];
+        }
+
+        private int indexOf(Object attributeName) {
+            Integer id = attributeIds.get(attributeName);
+            if (id != null) {
+                for (int i = 0; i < size; i++) {
+                    if (ids[i] == id) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object attributeName) {
+            return indexOf(attributeName) >= 0;
+        }
+
+        @Override
+        public AttributeValue get(Object attributeName) {
+            int index = indexOf(attributeName);
+            return index < 0 ? null : decode(values[index]);
+        }
+
+        @Override
+        public AttributeValue put(String attributeName, AttributeValue value) {
+            if (value == null) {
+                throw new NullPointerException("value");
+            }
+            int index = indexOf(attributeName);
+            if (index >= 0) {
+                AttributeValue previous = decode(values[index]);
+                values[index] = encode(value);
+                return previous;
+            }
+            if (size == ids.length) {
+                int capacity = Math.max(4, size * 2);
+                ids = Arrays.copyOf(ids, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            ids[size] = intern(attributeName);
+            values[size] = encode(value);
+            size++;
+            return null;
+        }
+
+        @Override
+        public AttributeValue remove(Object attributeName) {
+            int index = indexOf(attributeName);
+            if (index < 0) {
+                return null;
+            }
+            AttributeValue previous = decode(values[index]);
+            removeAt(index);
+            return previous;
+        }
+
+        private void removeAt(int index) {
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            values[size] = null;
+        }
+
+        @Override
+        public Set<Entry<String, AttributeValue>> entrySet() {
+            return new AbstractSet<Entry<String, AttributeValue>>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public Iterator<Entry<String, AttributeValue>> iterator() {
+                    return new Iterator<Entry<String, AttributeValue>>() {
+                        private int next;
+                        private boolean removable;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < size;
+                        }
+
+                        @Override
+                        public Entry<String, AttributeValue> next() {
+                            if (next >= size) {
+                                throw new NoSuchElementException();
+                            }
+                            removable = true;
+                            int index = next++;
+                            return new SimpleImmutableEntry<>(attributeNames.get(ids[index]), decode(values[index]));
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (!removable) {
+                                throw new IllegalStateException();
+                            }
+                            removable = false;
+                            removeAt(--next);
+                        }
+                    };
+                }
+            };
+        }
+
+        /**
+         * Rows are compared by identity: two rows holding the same attributes
+         * are still different rows of the table, and a row's hash code must
+         * not change while it is edited in place.
+         */
+        @Override
+        public boolean equals(Object o) {
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
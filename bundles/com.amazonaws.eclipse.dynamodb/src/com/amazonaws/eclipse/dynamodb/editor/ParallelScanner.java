@@ -0,0 +1,352 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.dynamodb.editor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+
+/**
+ * Scans a table with several segments at once and hands the pages to the
+ * caller as they arrive. A query is paged through the same way, as a single
+ * segment.
+ * <p>
+ * A scan stops once it has returned a given number of items, and can be
+ * continued later where it stopped; items of a page beyond the budget are
+ * kept for the next call. Consumed capacity and throughput are counted over
+ * all calls.
+ */
+public class ParallelScanner {
+
+    public static final int DEFAULT_TOTAL_SEGMENTS = 4;
+    public static final int MAX_TOTAL_SEGMENTS = 32;
+    public static final int DEFAULT_ROW_BUDGET = 1000;
+
+    private static final long PROGRESS_INTERVAL_MILLIS = 250;
+
+    private final AmazonDynamoDB dynamo;
+    private final ScanRequest request;
+    private final QueryRequest query;
+    private final Segment[] segments;
+
+    private final Object statisticsLock = new Object();
+    private double consumedCapacity;
+    private long scannedCount;
+    private long itemCount;
+    private long elapsedNanos;
+
+    /**
+     * @param request
+     *            The scan to run; is copied, and its segment settings and
+     *            exclusive start key are ignored.
+     */
+    public ParallelScanner(AmazonDynamoDB dynamo, ScanRequest request, int totalSegments) {
+        if (totalSegments <= 0 || totalSegments > MAX_TOTAL_SEGMENTS) {
+            throw new IllegalArgumentException("totalSegments must be between 1 and " + MAX_TOTAL_SEGMENTS);
+        }
+        this.dynamo = dynamo;
+        this.request = request.clone()
+                .withExclusiveStartKey(null)
+                .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        this.query = null;
+        this.segments = new Segment[totalSegments];
+        for (int i = 0; i < totalSegments; i++) {
+            segments[i] = new Segment(i);
+        }
+    }
+
+    /**
+     * @param query
+     *            The query to run; is copied, and its exclusive start key is
+     *            ignored.
+     */
+    public ParallelScanner(AmazonDynamoDB dynamo, QueryRequest query) {
+        this.dynamo = dynamo;
+        this.request = null;
+        this.query = query.clone()
+                .withExclusiveStartKey(null)
+                .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+        this.segments = new Segment[] { new Segment(0) };
+    }
+
+    private String getTableName() {
+        return query != null ? query.getTableName() : request.getTableName();
+    }
+
+    /**
+     * Scans until the given number of items has been handed to the consumer
+     * or the table is exhausted. The consumer is called from several threads,
+     * one at a time. Returns early, without an exception, if the monitor is
+     * cancelled; requests still running are interrupted, and the consumer is
+     * not called anymore once this method returns. The scan can then be
+     * continued with another call.
+     *
+     * @param monitor
+     *            Receives the number of items returned so far as sub-task;
+     *            may be null.
+     * @return Whether there are more items to scan.
+     * @throws AmazonClientException
+     *             If a segment failed; the other segments are stopped.
+     */
+    public boolean scan(int rowBudget, final Consumer<List<Map<String, AttributeValue>>> consumer,
+            IProgressMonitor monitor) {
+        final AtomicInteger remaining = new AtomicInteger(rowBudget);
+        final AtomicReference<AmazonClientException> failure = new AtomicReference<>();
+        final AtomicInteger activeSegments = new AtomicInteger();
+        final Cancellation cancellation = new Cancellation();
+        long startTime = System.nanoTime();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(segments.length, segments.length, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "DynamoDB scan " + getTableName());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            for (final Segment segment : segments) {
+                if (segment.isDone()) {
+                    continue;
+                }
+                activeSegments.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        segment.scan(remaining, consumer, failure, cancellation);
+                    } catch (AmazonClientException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        activeSegments.decrementAndGet();
+                    }
+                });
+            }
+
+            while (activeSegments.get() > 0) {
+                if (monitor != null) {
+                    if (monitor.isCanceled()) {
+                        cancellation.cancel();
+                        break;
+                    }
+                    monitor.subTask(String.format("%,d items", Math.max(0, rowBudget - remaining.get())));
+                }
+                try {
+                    Thread.sleep(PROGRESS_INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    cancellation.cancel();
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } finally {
+            if (cancellation.isCancelled()) {
+                // Don't wait for pages nobody is going to see
+                executor.shutdownNow();
+            } else {
+                executor.shutdown();
+            }
+            synchronized (statisticsLock) {
+                elapsedNanos += System.nanoTime() - startTime;
+            }
+        }
+
+        // Interrupted requests fail too, but that's no failure of the scan
+        if (failure.get() != null && !cancellation.isCancelled()) {
+            throw failure.get();
+        }
+        return hasMore();
+    }
+
+    /** Returns whether there are more items to scan. */
+    public boolean hasMore() {
+        for (Segment segment : segments) {
+            if (!segment.isDone()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Returns the read capacity units consumed so far. */
+    public double getConsumedCapacity() {
+        synchronized (statisticsLock) {
+            return consumedCapacity;
+        }
+    }
+
+    /** Returns the number of items read so far, before filtering. */
+    public long getScannedCount() {
+        synchronized (statisticsLock) {
+            return scannedCount;
+        }
+    }
+
+    /** Returns the number of items handed to the consumer so far. */
+    public long getItemCount() {
+        synchronized (statisticsLock) {
+            return itemCount;
+        }
+    }
+
+    /** Returns the items handed to the consumer per second of scanning. */
+    public double getItemsPerSecond() {
+        synchronized (statisticsLock) {
+            return elapsedNanos == 0 ? 0 : itemCount * 1e9 / elapsedNanos;
+        }
+    }
+
+    /**
+     * Whether a call to {@link ParallelScanner#scan} was cancelled. Pages are
+     * only handed to the consumer while holding this object's lock, so none
+     * is handed over once {@link #cancel()} returned.
+     */
+    private final class Cancellation {
+        private volatile boolean cancelled;
+
+        synchronized void cancel() {
+            cancelled = true;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Hands the items to the consumer unless cancelled.
+         *
+         * @return Whether the items were handed over.
+         */
+        synchronized boolean deliver(Consumer<List<Map<String, AttributeValue>>> consumer,
+                List<Map<String, AttributeValue>> items) {
+            if (cancelled) {
+                return false;
+            }
+            synchronized (statisticsLock) {
+                itemCount += items.size();
+            }
+            consumer.accept(items);
+            return true;
+        }
+    }
+
+    /**
+     * One segment of the scan; only scanned by one thread at a time.
+     */
+    private final class Segment {
+        private final int index;
+        private Map<String, AttributeValue> lastEvaluatedKey;
+        private boolean exhausted;
+        /** Items of the last page that didn't fit in the budget. */
+        private List<Map<String, AttributeValue>> leftover = new ArrayList<>();
+
+        Segment(int index) {
+            this.index = index;
+        }
+
+        synchronized boolean isDone() {
+            return exhausted && leftover.isEmpty();
+        }
+
+        synchronized void scan(AtomicInteger remaining, Consumer<List<Map<String, AttributeValue>>> consumer,
+                AtomicReference<AmazonClientException> failure, Cancellation cancellation) {
+            while (remaining.get() > 0 && failure.get() == null && !cancellation.isCancelled()) {
+                List<Map<String, AttributeValue>> items;
+                if (!leftover.isEmpty()) {
+                    items = leftover;
+                    leftover = new ArrayList<>();
+                } else if (exhausted) {
+                    return;
+                } else {
+                    items = fetchPage();
+                }
+
+                int granted = claim(remaining, items.size());
+                if (granted < items.size()) {
+                    leftover = new ArrayList<>(items.subList(granted, items.size()));
+                    items = items.subList(0, granted);
+                }
+                if (!items.isEmpty() && !cancellation.deliver(consumer, items)) {
+                    // Keep them for the next call
+                    List<Map<String, AttributeValue>> kept = new ArrayList<>(items);
+                    kept.addAll(leftover);
+                    leftover = kept;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Reads the next page of this segment and counts its cost.
+         */
+        private List<Map<String, AttributeValue>> fetchPage() {
+            List<Map<String, AttributeValue>> items;
+            Integer scanned;
+            ConsumedCapacity capacity;
+            if (query != null) {
+                QueryResult result = dynamo.query(query.clone().withExclusiveStartKey(lastEvaluatedKey));
+                lastEvaluatedKey = result.getLastEvaluatedKey();
+                items = result.getItems();
+                scanned = result.getScannedCount();
+                capacity = result.getConsumedCapacity();
+            } else {
+                ScanResult result = dynamo.scan(request.clone()
+                        .withSegment(index)
+                        .withTotalSegments(segments.length)
+                        .withExclusiveStartKey(lastEvaluatedKey));
+                lastEvaluatedKey = result.getLastEvaluatedKey();
+                items = result.getItems();
+                scanned = result.getScannedCount();
+                capacity = result.getConsumedCapacity();
+            }
+            exhausted = lastEvaluatedKey == null;
+
+            synchronized (statisticsLock) {
+                if (capacity != null && capacity.getCapacityUnits() != null) {
+                    consumedCapacity += capacity.getCapacityUnits();
+                }
+                if (scanned != null) {
+                    scannedCount += scanned;
+                }
+            }
+            return items;
+        }
+
+        /** Takes up to the given number of items out of the remaining budget. */
+        private int claim(AtomicInteger remaining, int wanted) {
+            while (true) {
+                int available = remaining.get();
+                int granted = Math.min(available, wanted);
+                if (granted <= 0 || remaining.compareAndSet(available, available - granted)) {
+                    return Math.max(granted, 0);
+                }
+            }
+        }
+    }
+}
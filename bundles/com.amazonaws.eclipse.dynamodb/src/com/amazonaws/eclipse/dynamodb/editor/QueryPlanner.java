@@ -0,0 +1,370 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.dynamodb.editor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import com.amazonaws.services.dynamodbv2.model.GlobalSecondaryIndexDescription;
+import com.amazonaws.services.dynamodbv2.model.IndexStatus;
+import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
+import com.amazonaws.services.dynamodbv2.model.KeyType;
+import com.amazonaws.services.dynamodbv2.model.LocalSecondaryIndexDescription;
+import com.amazonaws.services.dynamodbv2.model.Projection;
+import com.amazonaws.services.dynamodbv2.model.ProjectionType;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.Select;
+import com.amazonaws.services.dynamodbv2.model.TableDescription;
+
+/**
+ * Turns the conditions of the table editor into the cheapest request that
+ * answers them.
+ * <p>
+ * A condition of equality on the hash key of the table or of one of its
+ * indexes lets the request be a Query, which reads a single partition
+ * instead of the whole table. A condition on the matching range key narrows
+ * the Query further; all other conditions become its filter. A table is only
+ * scanned when none of its access paths has a usable key condition.
+ */
+final class QueryPlanner {
+
+    private static final Set<ComparisonOperator> RANGE_KEY_OPERATORS = EnumSet.of(ComparisonOperator.EQ,
+            ComparisonOperator.LT, ComparisonOperator.LE, ComparisonOperator.GT, ComparisonOperator.GE,
+            ComparisonOperator.BETWEEN, ComparisonOperator.BEGINS_WITH);
+
+    private final String tableName;
+    private final List<AccessPath> accessPaths = new ArrayList<>();
+
+    QueryPlanner(TableDescription table) {
+        this.tableName = table.getTableName();
+
+        AccessPath base = new AccessPath(null, false, table.getKeySchema(), null);
+        accessPaths.add(base);
+        if (table.getGlobalSecondaryIndexes() != null) {
+            for (GlobalSecondaryIndexDescription index : table.getGlobalSecondaryIndexes()) {
+                if (index.getIndexStatus() == null || IndexStatus.ACTIVE.toString().equals(index.getIndexStatus())) {
+                    accessPaths.add(new AccessPath(index.getIndexName(), false, index.getKeySchema(), index.getProjection()));
+                }
+            }
+        }
+        if (table.getLocalSecondaryIndexes() != null) {
+            for (LocalSecondaryIndexDescription index : table.getLocalSecondaryIndexes()) {
+                accessPaths.add(new AccessPath(index.getIndexName(), true, index.getKeySchema(), index.getProjection()));
+            }
+        }
+    }
+
+    /**
+     * Returns the table itself, followed by its active indexes.
+     */
+    List<AccessPath> getAccessPaths() {
+        return accessPaths;
+    }
+
+    /**
+     * Plans the request for the given conditions.
+     *
+     * @param conditions
+     *            The conditions as pairs of attribute name and condition; the
+     *            same attribute may appear more than once.
+     * @param accessPath
+     *            The table or index to read, or null to pick the cheapest one.
+     * @param projection
+     *            The attributes to return, or empty for all of them. The keys
+     *            of the table are always returned, so items can be edited.
+     */
+    Plan plan(List<Entry<String, Condition>> conditions, AccessPath accessPath, Collection<String> projection) {
+        KeyConditions best = null;
+        for (AccessPath candidate : accessPath == null ? accessPaths : Collections.singletonList(accessPath)) {
+            if (accessPath == null && !candidate.returnsWholeItems()) {
+                // Only usable when picked explicitly
+                continue;
+            }
+            KeyConditions keyConditions = new KeyConditions(candidate, conditions);
+            if (keyConditions.hashKey != null && (best == null || keyConditions.isCheaperThan(best))) {
+                best = keyConditions;
+            }
+        }
+
+        Expressions expressions = new Expressions();
+        List<String> filters = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        for (Entry<String, Condition> condition : conditions) {
+            if (best != null && (condition == best.hashKey || condition == best.rangeKey)) {
+                keys.add(expressions.condition(condition.getKey(), condition.getValue()));
+            } else {
+                filters.add(expressions.condition(condition.getKey(), condition.getValue()));
+            }
+        }
+        String filterExpression = filters.isEmpty() ? null : String.join(" AND ", filters);
+        String projectionExpression = null;
+        if (!projection.isEmpty()) {
+            Set<String> projected = new LinkedHashSet<>();
+            AccessPath table = accessPaths.get(0);
+            projected.add(table.hashKey);
+            if (table.rangeKey != null) {
+                projected.add(table.rangeKey);
+            }
+            projected.addAll(projection);
+            projectionExpression = expressions.projection(projected);
+        }
+        Map<String, String> names = expressions.names.isEmpty() ? null : expressions.names;
+        Map<String, AttributeValue> values = expressions.values.isEmpty() ? null : expressions.values;
+
+        if (best != null) {
+            AccessPath path = best.accessPath;
+            QueryRequest query = new QueryRequest()
+                    .withTableName(tableName)
+                    .withIndexName(path.getIndexName())
+                    .withKeyConditionExpression(String.join(" AND ", keys))
+                    .withFilterExpression(filterExpression)
+                    .withProjectionExpression(projectionExpression)
+                    .withExpressionAttributeNames(names)
+                    .withExpressionAttributeValues(values);
+            if (projectionExpression == null && path.isLocal() && !path.projectsAllAttributes()) {
+                // Fetches the attributes missing from the index from the table
+                query.setSelect(Select.ALL_ATTRIBUTES);
+            }
+            return new Plan(path, query, null);
+        }
+
+        AccessPath path = accessPath == null ? accessPaths.get(0) : accessPath;
+        ScanRequest scan = new ScanRequest()
+                .withTableName(tableName)
+                .withIndexName(path.getIndexName())
+                .withFilterExpression(filterExpression)
+                .withProjectionExpression(projectionExpression)
+                .withExpressionAttributeNames(names)
+                .withExpressionAttributeValues(values);
+        return new Plan(path, null, scan);
+    }
+
+    /**
+     * The base table or one of its indexes.
+     */
+    final class AccessPath {
+        private final String indexName;
+        private final boolean local;
+        private final String hashKey;
+        private final String rangeKey;
+        private final String projectionType;
+
+        private AccessPath(String indexName, boolean local, List<KeySchemaElement> keySchema, Projection projection) {
+            this.indexName = indexName;
+            this.local = local;
+            String hash = null;
+            String range = null;
+            for (KeySchemaElement key : keySchema) {
+                if (KeyType.HASH.toString().equals(key.getKeyType())) {
+                    hash = key.getAttributeName();
+                } else if (KeyType.RANGE.toString().equals(key.getKeyType())) {
+                    range = key.getAttributeName();
+                }
+            }
+            this.hashKey = hash;
+            this.rangeKey = range;
+            this.projectionType = projection == null ? ProjectionType.ALL.toString() : projection.getProjectionType();
+        }
+
+        /** Returns the name of the index, or null for the table itself. */
+        String getIndexName() {
+            return indexName;
+        }
+
+        boolean isLocal() {
+            return local;
+        }
+
+        /**
+         * Returns whether reading this path returns whole items, either
+         * because it is the table or because the index projects all
+         * attributes, or, for a local index, by fetching them from the table.
+         */
+        boolean returnsWholeItems() {
+            return projectsAllAttributes() || local;
+        }
+
+        private boolean projectsAllAttributes() {
+            return indexName == null || ProjectionType.ALL.toString().equals(projectionType);
+        }
+
+        /**
+         * Returns how much more a read of this path costs than a read of the
+         * table, all else being equal.
+         */
+        private int overhead() {
+            if (indexName == null) {
+                return 0;
+            }
+            return projectsAllAttributes() ? 1 : 2;
+        }
+
+        @Override
+        public String toString() {
+            if (indexName == null) {
+                return "Table " + tableName;
+            }
+            return (local ? "Local index " : "Global index ") + indexName;
+        }
+    }
+
+    /**
+     * The key conditions one access path can use.
+     */
+    private static final class KeyConditions {
+        private final AccessPath accessPath;
+        private Entry<String, Condition> hashKey;
+        private Entry<String, Condition> rangeKey;
+
+        KeyConditions(AccessPath accessPath, List<Entry<String, Condition>> conditions) {
+            this.accessPath = accessPath;
+            for (Entry<String, Condition> condition : conditions) {
+                ComparisonOperator operator = ComparisonOperator.fromValue(condition.getValue().getComparisonOperator());
+                if (hashKey == null && condition.getKey().equals(accessPath.hashKey)
+                        && operator == ComparisonOperator.EQ) {
+                    hashKey = condition;
+                } else if (rangeKey == null && condition.getKey().equals(accessPath.rangeKey)
+                        && RANGE_KEY_OPERATORS.contains(operator)) {
+                    rangeKey = condition;
+                }
+            }
+        }
+
+        boolean isCheaperThan(KeyConditions other) {
+            if ((rangeKey != null) != (other.rangeKey != null)) {
+                return rangeKey != null;
+            }
+            return accessPath.overhead() < other.accessPath.overhead();
+        }
+    }
+
+    /**
+     * Names and values of the expressions of one request.
+     */
+    private static final class Expressions {
+        private final Map<String, String> names = new HashMap<>();
+        private final Map<String, String> placeholders = new HashMap<>();
+        private final Map<String, AttributeValue> values = new HashMap<>();
+
+        String condition(String attributeName, Condition condition) {
+            String name = name(attributeName);
+            List<AttributeValue> operands = condition.getAttributeValueList();
+            switch (ComparisonOperator.fromValue(condition.getComparisonOperator())) {
+            case EQ:
+                return name + " = " + value(operands.get(0));
+            case NE:
+                return name + " <> " + value(operands.get(0));
+            case LT:
+                return name + " < " + value(operands.get(0));
+            case LE:
+                return name + " <= " + value(operands.get(0));
+            case GT:
+                return name + " > " + value(operands.get(0));
+            case GE:
+                return name + " >= " + value(operands.get(0));
+            case BETWEEN:
+                return name + " BETWEEN " + value(operands.get(0)) + " AND " + value(operands.get(1));
+            case BEGINS_WITH:
+                return "begins_with(" + name + ", " + value(operands.get(0)) + ")";
+            case CONTAINS:
+                return "contains(" + name + ", " + value(operands.get(0)) + ")";
+            case NOT_CONTAINS:
+                return "NOT contains(" + name + ", " + value(operands.get(0)) + ")";
+            case IN:
+                List<String> list = new ArrayList<>();
+                for (AttributeValue operand : operands) {
+                    list.add(value(operand));
+                }
+                return name + " IN (" + String.join(", ", list) + ")";
+            case NULL:
+                return "attribute_not_exists(" + name + ")";
+            case NOT_NULL:
+                return "attribute_exists(" + name + ")";
+            default:
+                throw new IllegalArgumentException("Unsupported comparison " + condition.getComparisonOperator());
+            }
+        }
+
+        String projection(Collection<String> attributeNames) {
+            List<String> projected = new ArrayList<>();
+            for (String attributeName : attributeNames) {
+                projected.add(name(attributeName));
+            }
+            return String.join(", ", projected);
+        }
+
+        private String name(String attributeName) {
+            String placeholder = placeholders.get(attributeName);
+            if (placeholder == null) {
+                placeholder = "#a" + placeholders.size();
+                placeholders.put(attributeName, placeholder);
+                names.put(placeholder, attributeName);
+            }
+            return placeholder;
+        }
+
+        private String value(AttributeValue value) {
+            String placeholder = ":v" + values.size();
+            values.put(placeholder, value);
+            return placeholder;
+        }
+    }
+
+    /**
+     * The request answering a set of conditions.
+     */
+    static final class Plan {
+        private final AccessPath accessPath;
+        private final QueryRequest query;
+        private final ScanRequest scan;
+
+        private Plan(AccessPath accessPath, QueryRequest query, ScanRequest scan) {
+            this.accessPath = accessPath;
+            this.query = query;
+            this.scan = scan;
+        }
+
+        AccessPath getAccessPath() {
+            return accessPath;
+        }
+
+        /** Returns the query to run, or null if the table has to be scanned. */
+        QueryRequest getQuery() {
+            return query;
+        }
+
+        /** Returns the scan to run, or null if a query was planned. */
+        ScanRequest getScan() {
+            return scan;
+        }
+
+        @Override
+        public String toString() {
+            return (query != null ? "Query on " : "Scan of ") + accessPath;
+        }
+    }
+}
@@ -0,0 +1,639 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.dynamodb.editor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.input.CountingInputStream;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
+import org.eclipse.core.runtime.Status;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.eclipse.dynamodb.DynamoDBPlugin;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.TableDescription;
+import com.amazonaws.util.BinaryUtils;
+import com.amazonaws.util.json.Jackson;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Streams a whole table to a file, and loads the items of a file into a table,
+ * without holding the items in memory.
+ * <p>
+ * JSON Lines files hold one item per line in the DynamoDB JSON format, like
+ * <code>{"id":{"S":"a"},"count":{"N":"1"}}</code>, and keep every type. CSV
+ * files hold the values as the table editor shows them, under a header row of
+ * attribute names; on import, key attributes get the type of the table's key
+ * and every other value is read as a string. An empty field is a missing
+ * attribute, and a quoted empty field an empty string. Files whose name ends
+ * with .gz are compressed.
+ */
+public class TableDataTransfer {
+
+    /** The supported file formats. */
+    public enum Format {
+        CSV, JSON_LINES;
+
+        /** Returns the format of the given file, judging by its name. */
+        public static Format forFile(File file) {
+            String name = file.getName().toLowerCase();
+            if (name.endsWith(GZIP_EXTENSION)) {
+                name = name.substring(0, name.length() - GZIP_EXTENSION.length());
+            }
+            return name.endsWith(".csv") ? CSV : JSON_LINES;
+        }
+    }
+
+    /** File dialog filters for the supported formats. */
+    public static final String[] FILE_EXTENSIONS = new String[] { "*.jsonl;*.jsonl.gz", "*.csv;*.csv.gz" };
+
+    private static final String GZIP_EXTENSION = ".gz";
+
+    /** Items read from a file before they're written to the table. */
+    private static final int IMPORT_CHUNK_ITEMS = BatchItemWriter.MAX_BATCH_WRITE_ITEMS * 40;
+    private static final int MAX_REPORTED_FAILURES = 20;
+
+    private static final ObjectMapper MAPPER = Jackson.getObjectMapper();
+
+    private final AmazonDynamoDB dynamo;
+    private final String tableName;
+
+    public TableDataTransfer(AmazonDynamoDB dynamo, String tableName) {
+        this.dynamo = dynamo;
+        this.tableName = tableName;
+    }
+
+    /**
+     * Scans the whole table with the given number of parallel segments and
+     * writes its items to the given file, in the format of its name.
+     *
+     * @return The outcome of the export; cancel status if the monitor was
+     *         cancelled, in which case the file holds part of the table.
+     */
+    public IStatus exportTable(File file, int totalSegments, IProgressMonitor monitor) throws IOException {
+        TableDescription table = dynamo.describeTable(tableName).getTable();
+        long estimatedItems = table.getItemCount() == null ? 0 : table.getItemCount();
+        monitor.beginTask("Exporting " + tableName, estimatedItems > 0 && estimatedItems < Integer.MAX_VALUE
+                ? (int) estimatedItems : IProgressMonitor.UNKNOWN);
+
+        final ParallelScanner scanner = new ParallelScanner(dynamo, new ScanRequest().withTableName(tableName),
+                totalSegments);
+        final Format format = Format.forFile(file);
+        final AtomicReference<IOException> writeFailure = new AtomicReference<>();
+        final long startTime = System.nanoTime();
+
+        File body = format == Format.CSV ? File.createTempFile("dynamodb-export", ".csv") : null;
+        try {
+            final ItemSink sink = format == Format.CSV ? new CsvSink(body) : new JsonLinesSink(openOutput(file));
+            try {
+                scanner.scan(Integer.MAX_VALUE, items -> {
+                    try {
+                        sink.write(items);
+                    } catch (IOException e) {
+                        writeFailure.compareAndSet(null, e);
+                        throw new AmazonClientException("Unable to write " + file, e);
+                    }
+                }, new ProgressMonitorWrapper(monitor) {
+                    private long reported;
+
+                    @Override
+                    public void subTask(String name) {
+                        long items = scanner.getItemCount();
+                        super.subTask(describeProgress(items, startTime,
+                                String.format(", %,.1f read units", scanner.getConsumedCapacity())));
+                        super.worked((int) (items - reported));
+                        reported = items;
+                    }
+                });
+            } catch (AmazonClientException e) {
+                if (writeFailure.get() != null) {
+                    throw writeFailure.get();
+                }
+                throw e;
+            } finally {
+                sink.close();
+            }
+
+            if (format == Format.CSV) {
+                ((CsvSink) sink).writeTo(openOutput(file));
+            }
+        } finally {
+            if (body != null) {
+                body.delete();
+            }
+            monitor.done();
+        }
+
+        if (monitor.isCanceled()) {
+            return Status.CANCEL_STATUS;
+        }
+        return new Status(IStatus.OK, DynamoDBPlugin.PLUGIN_ID,
+                String.format("Exported %,d items of %s to %s", scanner.getItemCount(), tableName, file));
+    }
+
+    /**
+     * Writes the items of the given file to the table with BatchWriteItem,
+     * replacing existing items with the same keys. The file is read a chunk
+     * at a time; within a chunk, the last item with a given key wins.
+     *
+     * @param maxItemsPerSecond
+     *            The most items to write per second; zero for no limit.
+     * @return The outcome of the import; holds the first failed items if any
+     *         failed, and is the cancel status if the monitor was cancelled.
+     */
+    public IStatus importItems(File file, int maxItemsPerSecond, IProgressMonitor monitor) throws IOException {
+        TableDescription table = dynamo.describeTable(tableName).getTable();
+        Map<String, String> attributeTypes = new HashMap<>();
+        for (AttributeDefinition definition : table.getAttributeDefinitions()) {
+            attributeTypes.put(definition.getAttributeName(), definition.getAttributeType());
+        }
+        List<String> keyAttributes = new ArrayList<>();
+        for (KeySchemaElement element : table.getKeySchema()) {
+            keyAttributes.add(element.getAttributeName());
+        }
+
+        BatchItemWriter writer = new BatchItemWriter(dynamo, tableName,
+                BatchItemWriter.DEFAULT_MAX_CONCURRENT_REQUESTS);
+        writer.setMaxItemsPerSecond(maxItemsPerSecond);
+
+        long fileKilobytes = Math.max(1, file.length() / 1024);
+        monitor.beginTask("Importing " + file.getName() + " into " + tableName,
+                fileKilobytes < Integer.MAX_VALUE ? (int) fileKilobytes : IProgressMonitor.UNKNOWN);
+        MultiStatus failures = new MultiStatus(DynamoDBPlugin.PLUGIN_ID, 0, "Unable to import all items of "
+                + file.getName() + " into " + tableName, null);
+        long imported = 0;
+        long failed = 0;
+        long startTime = System.nanoTime();
+
+        try (CountingInputStream counter = new CountingInputStream(new FileInputStream(file));
+                Reader reader = new BufferedReader(new InputStreamReader(decompress(counter),
+                        StandardCharsets.UTF_8))) {
+            ItemSource source = Format.forFile(file) == Format.CSV ? new CsvSource(reader, attributeTypes)
+                    : new JsonLinesSource(reader);
+            long reportedKilobytes = 0;
+            boolean more = true;
+            while (more) {
+                if (monitor.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+
+                Map<Map<String, AttributeValue>, Map<String, AttributeValue>> chunk = new LinkedHashMap<>();
+                Map<String, AttributeValue> item;
+                while (chunk.size() < IMPORT_CHUNK_ITEMS && (item = source.read()) != null) {
+                    chunk.put(getKey(item, keyAttributes), item);
+                }
+                more = chunk.size() == IMPORT_CHUNK_ITEMS;
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                BatchItemWriter.Result<Map<String, AttributeValue>> result = writer.putItems(chunk.values(), null);
+                imported += result.getSucceeded().size();
+                for (Entry<Map<String, AttributeValue>, AmazonClientException> failure : result.getFailures()
+                        .entrySet()) {
+                    if (failed++ < MAX_REPORTED_FAILURES) {
+                        failures.add(new Status(IStatus.ERROR, DynamoDBPlugin.PLUGIN_ID,
+                                "Error importing item with key " + getKey(failure.getKey(), keyAttributes) + ": "
+                                        + failure.getValue().getMessage()));
+                    }
+                }
+
+                long kilobytes = counter.getByteCount() / 1024;
+                monitor.worked((int) (kilobytes - reportedKilobytes));
+                reportedKilobytes = kilobytes;
+                monitor.subTask(describeProgress(imported, startTime, ""));
+            }
+        } finally {
+            monitor.done();
+        }
+
+        if (failed > MAX_REPORTED_FAILURES) {
+            failures.add(new Status(IStatus.ERROR, DynamoDBPlugin.PLUGIN_ID,
+                    String.format("%,d more items couldn't be imported", failed - MAX_REPORTED_FAILURES)));
+        }
+        if (!failures.isOK()) {
+            return failures;
+        }
+        return new Status(IStatus.OK, DynamoDBPlugin.PLUGIN_ID,
+                String.format("Imported %,d items of %s into %s", imported, file, tableName));
+    }
+
+    private static String describeProgress(long items, long startTime, String details) {
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        return String.format("%,d items, %,.0f items/s%s", items, seconds > 0 ? items / seconds : 0, details);
+    }
+
+    private static Map<String, AttributeValue> getKey(Map<String, AttributeValue> item, List<String> keyAttributes) {
+        Map<String, AttributeValue> key = new LinkedHashMap<>();
+        for (String attribute : keyAttributes) {
+            key.put(attribute, item.get(attribute));
+        }
+        return key;
+    }
+
+    private static Writer openOutput(File file) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        if (file.getName().toLowerCase().endsWith(GZIP_EXTENSION)) {
+            out = new GZIPOutputStream(out, 64 * 1024);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    /** Returns the given stream, decompressed if it is gzipped. */
+    private static InputStream decompress(InputStream in) throws IOException {
+        InputStream buffered = new BufferedInputStream(in, 64 * 1024);
+        buffered.mark(2);
+        int magic = buffered.read() | (buffered.read() << 8);
+        buffered.reset();
+        return magic == GZIPInputStream.GZIP_MAGIC ? new GZIPInputStream(buffered, 64 * 1024) : buffered;
+    }
+
+    /** Writes pages of items; called from several threads at once. */
+    private interface ItemSink {
+        void write(List<Map<String, AttributeValue>> items) throws IOException;
+
+        void close() throws IOException;
+    }
+
+    /** Reads items one at a time, returning null at the end. */
+    private interface ItemSource {
+        Map<String, AttributeValue> read() throws IOException;
+    }
+
+    private static final class JsonLinesSink implements ItemSink {
+        private final Writer out;
+
+        JsonLinesSink(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(List<Map<String, AttributeValue>> items) throws IOException {
+            List<String> lines = new ArrayList<>(items.size());
+            for (Map<String, AttributeValue> item : items) {
+                lines.add(MAPPER.writeValueAsString(toJson(item)));
+            }
+            synchronized (this) {
+                for (String line : lines) {
+                    out.write(line);
+                    out.write('\n');
+                }
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * Writes the rows to a temporary file as the items arrive, adding columns
+     * when new attributes show up; earlier rows simply end before the new
+     * columns. The header can only be written once all columns are known, so
+     * it is put in front of the rows at the end.
+     */
+    private static final class CsvSink implements ItemSink {
+        private final File body;
+        private final Writer out;
+        private final Map<String, Integer> columns = new LinkedHashMap<>();
+
+        CsvSink(File body) throws IOException {
+            this.body = body;
+            this.out = openOutput(body);
+        }
+
+        @Override
+        public synchronized void write(List<Map<String, AttributeValue>> items) throws IOException {
+            for (Map<String, AttributeValue> item : items) {
+                String[] row = new String[columns.size() + item.size()];
+                int length = 0;
+                for (Entry<String, AttributeValue> attribute : item.entrySet()) {
+                    Integer column = columns.get(attribute.getKey());
+                    if (column == null) {
+                        column = columns.size();
+                        columns.put(attribute.getKey(), column);
+                    }
+                    row[column] = AttributeValueUtil.format(attribute.getValue());
+                    length = Math.max(length, column + 1);
+                }
+                for (int i = 0; i < length; i++) {
+                    if (i > 0) {
+                        out.write(',');
+                    }
+                    if (row[i] != null) {
+                        out.write(quote(row[i]));
+                    }
+                }
+                out.write('\n');
+            }
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            out.close();
+        }
+
+        /** Writes the header and the rows to the given writer and closes it. */
+        void writeTo(Writer target) throws IOException {
+            try (Writer output = target;
+                    Reader rows = new InputStreamReader(new FileInputStream(body), StandardCharsets.UTF_8)) {
+                boolean first = true;
+                for (String column : columns.keySet()) {
+                    if (!first) {
+                        target.write(',');
+                    }
+                    first = false;
+                    target.write(quote(column));
+                }
+                target.write('\n');
+
+                char[] buffer = new char[64 * 1024];
+                int read;
+                while ((read = rows.read(buffer)) != -1) {
+                    target.write(buffer, 0, read);
+                }
+            }
+        }
+
+        private static String quote(String value) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+    }
+
+    private static final class JsonLinesSource implements ItemSource {
+        private final BufferedReader in;
+        private int lineNumber;
+
+        JsonLinesSource(Reader in) {
+            this.in = new BufferedReader(in);
+        }
+
+        @Override
+        public Map<String, AttributeValue> read() throws IOException {
+            String line;
+            do {
+                line = in.readLine();
+                lineNumber++;
+                if (line == null) {
+                    return null;
+                }
+            } while (line.trim().isEmpty());
+
+            try {
+                JsonNode node = MAPPER.readTree(line);
+                if (!node.isObject()) {
+                    throw new IllegalArgumentException("not an object");
+                }
+                return fromJson(node);
+            } catch (IOException | IllegalArgumentException e) {
+                throw new IOException("Invalid item on line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Reads the items of a CSV file whose first record names the attributes.
+     * Quoted fields may span lines.
+     */
+    private static final class CsvSource implements ItemSource {
+        private final Reader in;
+        private final Map<String, String> attributeTypes;
+        private final List<String> columns;
+        private int next;
+
+        CsvSource(Reader in, Map<String, String> attributeTypes) throws IOException {
+            this.in = in;
+            this.attributeTypes = attributeTypes;
+            this.next = in.read();
+            this.columns = readRecord();
+            if (columns == null) {
+                throw new IOException("The file has no header row");
+            }
+        }
+
+        @Override
+        public Map<String, AttributeValue> read() throws IOException {
+            List<String> record;
+            do {
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0) == null);
+
+            Map<String, AttributeValue> item = new LinkedHashMap<>();
+            for (int i = 0; i < record.size() && i < columns.size(); i++) {
+                String value = record.get(i);
+                if (value == null) {
+                    continue;
+                }
+                String type = attributeTypes.get(columns.get(i));
+                AttributeValue attributeValue = new AttributeValue();
+                if ("N".equals(type)) {
+                    attributeValue.setN(value);
+                } else if ("B".equals(type)) {
+                    attributeValue.setB(ByteBuffer.wrap(BinaryUtils.fromBase64(value)));
+                } else {
+                    attributeValue.setS(value);
+                }
+                item.put(columns.get(i), attributeValue);
+            }
+            return item;
+        }
+
+        /**
+         * Returns the fields of the next record, with null for unquoted empty
+         * fields, or null at the end of the file.
+         */
+        private List<String> readRecord() throws IOException {
+            if (next == -1) {
+                return null;
+            }
+            List<String> record = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean inQuotes = false;
+            while (true) {
+                int c = next;
+                next = c == -1 ? -1 : in.read();
+                if (inQuotes) {
+                    if (c == -1) {
+                        throw new IOException("Unterminated quoted field");
+                    } else if (c == '"' && next == '"') {
+                        field.append('"');
+                        next = in.read();
+                    } else if (c == '"') {
+                        inQuotes = false;
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    inQuotes = true;
+                } else if (c == ',' || c == '\n' || c == -1) {
+                    record.add(quoted || field.length() > 0 ? field.toString() : null);
+                    field.setLength(0);
+                    quoted = false;
+                    if (c != ',') {
+                        return record;
+                    }
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+        }
+    }
+
+    /** Returns the given item in the DynamoDB JSON format. */
+    static ObjectNode toJson(Map<String, AttributeValue> item) {
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        for (Entry<String, AttributeValue> attribute : item.entrySet()) {
+            node.set(attribute.getKey(), toJson(attribute.getValue()));
+        }
+        return node;
+    }
+
+    private static ObjectNode toJson(AttributeValue value) {
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        if (value.getS() != null) {
+            node.put("S", value.getS());
+        } else if (value.getN() != null) {
+            node.put("N", value.getN());
+        } else if (value.getB() != null) {
+            node.put("B", BinaryUtils.toBase64(BinaryUtils.copyAllBytesFrom(value.getB())));
+        } else if (value.getSS() != null) {
+            ArrayNode set = node.putArray("SS");
+            for (String element : value.getSS()) {
+                set.add(element);
+            }
+        } else if (value.getNS() != null) {
+            ArrayNode set = node.putArray("NS");
+            for (String element : value.getNS()) {
+                set.add(element);
+            }
+        } else if (value.getBS() != null) {
+            ArrayNode set = node.putArray("BS");
+            for (ByteBuffer element : value.getBS()) {
+                set.add(BinaryUtils.toBase64(BinaryUtils.copyAllBytesFrom(element)));
+            }
+        } else if (value.getBOOL() != null) {
+            node.put("BOOL", value.getBOOL());
+        } else if (value.getM() != null) {
+            node.set("M", toJson(value.getM()));
+        } else if (value.getL() != null) {
+            ArrayNode list = node.putArray("L");
+            for (AttributeValue element : value.getL()) {
+                list.add(toJson(element));
+            }
+        } else {
+            node.put("NULL", true);
+        }
+        return node;
+    }
+
+    /** Returns the item of the given DynamoDB JSON object. */
+    static Map<String, AttributeValue> fromJson(JsonNode node) {
+        Map<String, AttributeValue> item = new LinkedHashMap<>();
+        for (Iterator<Entry<String, JsonNode>> fields = node.fields(); fields.hasNext();) {
+            Entry<String, JsonNode> field = fields.next();
+            item.put(field.getKey(), toAttributeValue(field.getValue()));
+        }
+        return item;
+    }
+
+    private static AttributeValue toAttributeValue(JsonNode node) {
+        if (!node.isObject() || node.size() != 1) {
+            throw new IllegalArgumentException("expected a single typed value, got " + node);
+        }
+        Entry<String, JsonNode> typed = node.fields().next();
+        JsonNode value = typed.getValue();
+        switch (typed.getKey()) {
+        case "S":
+            return new AttributeValue().withS(value.asText());
+        case "N":
+            return new AttributeValue().withN(value.asText());
+        case "B":
+            return new AttributeValue().withB(ByteBuffer.wrap(BinaryUtils.fromBase64(value.asText())));
+        case "SS":
+            return new AttributeValue().withSS(textElements(value));
+        case "NS":
+            return new AttributeValue().withNS(textElements(value));
+        case "BS":
+            List<ByteBuffer> binaries = new ArrayList<>();
+            for (String element : textElements(value)) {
+                binaries.add(ByteBuffer.wrap(BinaryUtils.fromBase64(element)));
+            }
+            return new AttributeValue().withBS(binaries);
+        case "BOOL":
+            return new AttributeValue().withBOOL(value.asBoolean());
+        case "NULL":
+            return new AttributeValue().withNULL(true);
+        case "M":
+            return new AttributeValue().withM(fromJson(value));
+        case "L":
+            List<AttributeValue> list = new ArrayList<>();
+            for (JsonNode element : value) {
+                list.add(toAttributeValue(element));
+            }
+            return new AttributeValue().withL(list);
+        default:
+            throw new IllegalArgumentException("unknown type " + typed.getKey());
+        }
+    }
+
+    private static List<String> textElements(JsonNode array) {
+        List<String> elements = new ArrayList<>();
+        for (JsonNode element : array) {
+            elements.add(element.asText());
+        }
+        return elements;
+    }
+}
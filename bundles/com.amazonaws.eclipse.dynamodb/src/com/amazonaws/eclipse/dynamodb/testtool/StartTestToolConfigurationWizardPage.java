@@ -29,6 +29,7 @@ import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.wizard.WizardPage;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Combo;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Text;
@@ -39,11 +40,12 @@ import com.amazonaws.eclipse.core.validator.IntegerRangeValidator;
 import com.amazonaws.eclipse.databinding.ChainValidator;
 import com.amazonaws.eclipse.dynamodb.DynamoDBPlugin;
 import com.amazonaws.eclipse.dynamodb.preferences.TestToolPreferencePage;
+import com.amazonaws.eclipse.dynamodb.testtool.TestToolProcess.StorageMode;
 
 /**
  * An (optional) wizard page that lets the user set up additional configuration
- * for the test tool instance they're about to launch. For now, that's just
- * the TCP port it will listen on.
+ * for the test tool instance they're about to launch: the TCP port it will
+ * listen on, and where it keeps its tables.
  */
 public class StartTestToolConfigurationWizardPage extends WizardPage {
 
@@ -51,6 +53,8 @@ public class StartTestToolConfigurationWizardPage extends WizardPage {
 
     private final IObservableValue portValue = new WritableValue();
     private Text portInput;
+    private Combo storageInput;
+    private StorageMode storageMode = StorageMode.DEFAULT;
 
     /**
      * Create a new instance.
@@ -73,6 +77,13 @@ public class StartTestToolConfigurationWizardPage extends WizardPage {
         return Integer.parseInt((String) portValue.getValue());
     }
 
+    /**
+     * @return the chosen place to keep the tables
+     */
+    public StorageMode getStorageMode() {
+        return storageMode;
+    }
+
     /**
      * Create the wizard page's controls.
      *
@@ -90,6 +101,20 @@ public class StartTestToolConfigurationWizardPage extends WizardPage {
         portInput = new Text(composite, SWT.BORDER);
         GridDataFactory.fillDefaults().grab(true, false).applyTo(portInput);
 
+        Label storageLabel = new Label(composite, SWT.NONE);
+        storageLabel.setText("Storage: ");
+
+        storageInput = new Combo(composite, SWT.READ_ONLY);
+        GridDataFactory.fillDefaults().grab(true, false).applyTo(storageInput);
+        storageInput.setItems(new String[] {
+            "One database file per access key and region",
+            "One database file shared by all clients",
+            "In memory only (fastest; nothing is kept)"
+        });
+        storageInput.select(storageMode.ordinal());
+        storageInput.addListener(SWT.Selection, event ->
+            storageMode = StorageMode.values()[storageInput.getSelectionIndex()]);
+
         // TODO: Would be nice to drive this off of the manifest.xml for the
         // chosen version, in case future versions of the test tool support
         // additional options.
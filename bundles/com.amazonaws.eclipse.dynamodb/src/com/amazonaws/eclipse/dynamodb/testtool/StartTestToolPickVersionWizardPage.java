@@ -137,7 +137,8 @@ public class StartTestToolPickVersionWizardPage extends WizardPage {
             }
 
             TestToolVersion version = (TestToolVersion) value;
-            if (!version.isInstalled()) {
+            // Another instance of a running version can be started.
+            if (!version.isInstalled() && !version.isRunning()) {
                 return ValidationStatus.error("Version is not installed");
             }
 
@@ -14,8 +14,14 @@
  */
 package com.amazonaws.eclipse.dynamodb.testtool;
 
+import java.lang.reflect.InvocationTargetException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.jface.wizard.Wizard;
 
+import com.amazonaws.eclipse.dynamodb.testtool.TestToolProcess.StorageMode;
+
 /**
  * A wizard that starts an instance of the DynamoDBLocal Test Tool.
  */
@@ -28,7 +34,7 @@ public class StartTestToolWizard extends Wizard {
      * Create the wizard.
      */
     public StartTestToolWizard() {
-        super.setNeedsProgressMonitor(false);
+        super.setNeedsProgressMonitor(true);
         super.setWindowTitle("Start the DynamoDB Local Test Tool");
     }
 
@@ -46,10 +52,36 @@ public class StartTestToolWizard extends Wizard {
 
     @Override
     public boolean performFinish() {
-        TestToolManager.INSTANCE.startVersion(
-            versionPage.getSelectedVersion(),
-            portPage.getPort()
-        );
+        final TestToolVersion version = versionPage.getSelectedVersion();
+        final int port = portPage.getPort();
+        final StorageMode storageMode = portPage.getStorageMode();
+
+        try {
+            // Returns as soon as the instance accepts connections.
+            getContainer().run(true, true, new IRunnableWithProgress() {
+                @Override
+                public void run(final IProgressMonitor monitor) {
+                    monitor.beginTask("Starting DynamoDB Local on port "
+                                      + port,
+                                      IProgressMonitor.UNKNOWN);
+                    try {
+                        TestToolManager.INSTANCE.startInstance(
+                            version,
+                            port,
+                            storageMode,
+                            monitor
+                        );
+                    } finally {
+                        monitor.done();
+                    }
+                }
+            });
+        } catch (InvocationTargetException exception) {
+            portPage.setErrorMessage(exception.getCause().getMessage());
+            return false;
+        } catch (InterruptedException exception) {
+            return false;
+        }
         return true;
     }
 
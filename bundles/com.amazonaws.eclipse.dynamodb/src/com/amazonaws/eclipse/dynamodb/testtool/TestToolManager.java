@@ -19,20 +19,27 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.launching.IVMInstall;
 import org.eclipse.jdt.launching.JavaRuntime;
 import org.eclipse.jdt.launching.environments.IExecutionEnvironment;
@@ -52,13 +59,17 @@ import com.amazonaws.eclipse.core.regions.RegionUtils;
 import com.amazonaws.eclipse.core.regions.ServiceAbbreviations;
 import com.amazonaws.eclipse.dynamodb.DynamoDBPlugin;
 import com.amazonaws.eclipse.dynamodb.preferences.TestToolPreferencePage;
+import com.amazonaws.eclipse.dynamodb.testtool.TestToolProcess.StorageMode;
 import com.amazonaws.eclipse.dynamodb.testtool.TestToolVersion.InstallState;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.transfer.Download;
 import com.amazonaws.services.s3.transfer.TransferManager;
 
 /**
- * The singleton manager for DynamoDB Local Test Tool instances.
+ * The singleton manager for DynamoDB Local Test Tool instances. Several
+ * instances can run at once, each on its own port; the "Local" region points
+ * at the most recently started one.
  */
 public class TestToolManager {
 
@@ -71,14 +82,25 @@ public class TestToolManager {
 
     private static final Pattern WHITESPACE = Pattern.compile("\\s+");
 
+    private static final Pattern MD5_ETAG = Pattern.compile("[0-9a-fA-F]{32}");
+
+    /** Suffix of the directory a version is unzipped into before it is complete. */
+    private static final String PARTIAL_INSTALL_SUFFIX = ".partial";
+
+    /** How many downloaded bytes to wait for before updating the progress. */
+    private static final int PROGRESS_INTERVAL_BYTES = 256 * 1024;
+
+    /** How long to wait at most for a started instance to accept connections. */
+    private static final long STARTUP_TIMEOUT_MILLIS = 60 * 1000;
+
     private final Set<String> installing =
         Collections.synchronizedSet(new HashSet<String>());
 
     private TransferManager transferManager;
     private List<TestToolVersion> versions;
 
-    private TestToolVersion currentlyRunningVersion;
-    private TestToolProcess currentProcess;
+    /** The running instances, by port, in the order they were started. */
+    private final Map<Integer, Instance> instances = new LinkedHashMap<>();
 
     private TestToolManager() {
     }
@@ -157,7 +179,10 @@ public class TestToolManager {
     }
 
     /**
-     * Install the given version of the test tool.
+     * Install the given version of the test tool. The download is unzipped
+     * as it arrives, checking its checksum on the way, into a directory that
+     * only takes the place of the version directory once it is complete; a
+     * version that is already on disk is reused as it is.
      *
      * @param version The version of the test tool to install.
      * @param monitor A progress monitor to keep updated.
@@ -169,29 +194,34 @@ public class TestToolManager {
             return;
         }
 
+        File partialDir = null;
         try {
 
-            File tempFile = File.createTempFile("dynamodb_local_", "");
-            tempFile.delete();
-            if (!tempFile.mkdirs()) {
-                throw new RuntimeException("Failed to create temporary "
-                                           + "directory for download");
+            File versionDir = getVersionDirectory(version.getName());
+            if (getInstallState(version.getName()) == InstallState.INSTALLED) {
+                return;
             }
 
-            File zipFile = new File(tempFile, "dynamodb_local.zip");
+            partialDir = new File(getInstallDirectory(),
+                                  version.getName() + PARTIAL_INSTALL_SUFFIX);
+            // Left over from an install that didn't finish.
+            FileUtils.deleteDirectory(partialDir);
+            if (!partialDir.mkdirs()) {
+                throw new RuntimeException("Failed to create directory "
+                                           + "for unzipping");
+            }
 
-            download(version.getDownloadKey(), zipFile, monitor);
+            downloadAndUnzip(version, partialDir, monitor);
 
-            File unzipped = new File(tempFile, "unzipped");
-            if (!unzipped.mkdirs()) {
-                throw new RuntimeException("Failed to create temporary "
-                                           + "directory for unzipping");
+            if (!new File(partialDir, "DynamoDBLocal.jar").isFile()) {
+                throw new IOException("The download does not contain "
+                                      + "DynamoDBLocal.jar");
             }
 
-            unzip(zipFile, unzipped);
-
-            File versionDir = getVersionDirectory(version.getName());
-            FileUtils.copyDirectory(unzipped, versionDir);
+            // Not an install, since it has no DynamoDBLocal.jar.
+            FileUtils.deleteDirectory(versionDir);
+            Files.move(partialDir.toPath(), versionDir.toPath(),
+                       StandardCopyOption.ATOMIC_MOVE);
 
         } catch (IOException exception) {
             throw new RuntimeException(
@@ -199,6 +229,9 @@ public class TestToolManager {
                 exception
             );
         } finally {
+            if (partialDir != null) {
+                FileUtils.deleteQuietly(partialDir);
+            }
             monitor.done();
             installing.remove(version.getName());
         }
@@ -208,181 +241,335 @@ public class TestToolManager {
      * @return  true if a local test tool process is currently running
      */
     public synchronized boolean isRunning() {
-        return (currentProcess != null);
+        return !instances.isEmpty();
     }
 
     /**
-     * @return  the port to which the current process is bound (or null if no
-     *          process is currently running)
+     * @param port  the port in question
+     * @return      true if a local test tool process is running on the given
+     *              port
+     */
+    public synchronized boolean isRunning(final int port) {
+        return instances.containsKey(port);
+    }
+
+    /**
+     * @return  the port of the process the "Local" region points at (or null
+     *          if no process is currently running)
      */
     public synchronized Integer getCurrentPort() {
-        if (currentProcess == null) {
-            return null;
+        Integer current = null;
+        for (Integer port : instances.keySet()) {
+            current = port;
         }
-        return currentProcess.getPort();
+        return current;
     }
 
     /**
-     * Start the given version of the DynamoDBLocal test tool.
+     * @return  the ports of the running processes, in the order they were
+     *          started
+     */
+    public synchronized List<Integer> getRunningPorts() {
+        return new ArrayList<>(instances.keySet());
+    }
+
+    /**
+     * Start the given version of the DynamoDBLocal test tool, with the
+     * default storage mode.
      *
      * @param version   the version of the test tool to start
      * @param port      the port to bind to
      */
-    public synchronized void startVersion(final TestToolVersion version,
-                                          final int port) {
-
-        if (!version.isInstalled()) {
-            throw new IllegalStateException("Cannot start a version which is "
-                                            + "not installed.");
-        }
+    public void startVersion(final TestToolVersion version,
+                             final int port) {
+        startInstance(version, port, StorageMode.DEFAULT, null);
+    }
 
-        // We should have cleaned this up already, but just to be safe...
-        if (currentProcess != null) {
-            currentProcess.stop();
-            currentProcess = null;
-            currentlyRunningVersion = null;
-        }
+    /**
+     * Start an instance of the given version of the DynamoDBLocal test tool,
+     * next to any instances already running on other ports, and wait until
+     * it accepts connections. The "Local" region is pointed at the new
+     * instance.
+     *
+     * @param version       the version of the test tool to start
+     * @param port          the port to bind to
+     * @param storageMode   where the instance keeps its tables; shared
+     *                      database files are kept per port
+     * @param monitor       checked for cancellation; may be null
+     * @return              the started process
+     */
+    public TestToolProcess startInstance(final TestToolVersion version,
+                                         final int port,
+                                         final StorageMode storageMode,
+                                         final IProgressMonitor monitor) {
+
+        final TestToolProcess process;
+        synchronized (this) {
+            // A running version is installed too.
+            if (getInstallState(version.getName()) != InstallState.INSTALLED) {
+                throw new IllegalStateException("Cannot start a version which "
+                                                + "is not installed.");
+            }
+            if (instances.containsKey(port)) {
+                throw new IllegalStateException("DynamoDB Local is already "
+                                                + "running on port " + port);
+            }
+            if (TestToolProcess.isListening(port)) {
+                throw new IllegalStateException("Port " + port + " is "
+                                                + "already in use");
+            }
 
-        IVMInstall jre = getJava7VM();
-        if (jre == null) {
-            throw new IllegalStateException("No Java 7 VM found!");
-        }
+            IVMInstall jre = getJava7VM();
+            if (jre == null) {
+                throw new IllegalStateException("No Java 7 VM found!");
+            }
 
-        try {
+            try {
 
-            File installDirectory = getVersionDirectory(version.getName());
-            final TestToolProcess process =
-                new TestToolProcess(jre, installDirectory, port);
-
-            currentProcess = process;
-            currentlyRunningVersion = version;
-
-            RegionUtils.addLocalService(ServiceAbbreviations.DYNAMODB,
-                                        "dynamodb",
-                                        port);
-
-            // If the process dies for some reason other than that we killed
-            // it, clear out our internal state so the user can start another
-            // instance.
-            process.start(new Runnable() {
-                @Override
-                public void run() {
-                    synchronized (TestToolManager.this) {
-                        if (process == currentProcess) {
-                            cleanUpProcess();
+                File installDirectory = getVersionDirectory(version.getName());
+                File dataDirectory = new File(new File(getInstallDirectory(),
+                                                       "data"),
+                                              Integer.toString(port));
+                process = new TestToolProcess(jre, installDirectory, port,
+                                              storageMode, dataDirectory);
+
+                instances.put(port, new Instance(version, process));
+                RegionUtils.addLocalService(ServiceAbbreviations.DYNAMODB,
+                                            "dynamodb",
+                                            port);
+
+                // If the process dies for some reason other than that we
+                // killed it, clear out our internal state so the user can
+                // start another instance on its port.
+                process.start(new Runnable() {
+                    @Override
+                    public void run() {
+                        synchronized (TestToolManager.this) {
+                            Instance instance = instances.get(port);
+                            if (instance != null
+                                    && instance.process == process) {
+                                cleanUpProcess(port);
+                            }
                         }
                     }
-                }
-            });
+                });
 
-        } catch (IOException exception) {
+            } catch (IOException exception) {
+                cleanUpProcess(port);
+                throw new RuntimeException(
+                    "Error starting the DynamoDB Local Test Tool: "
+                        + exception.getMessage(),
+                    exception
+                );
+            }
+        }
+
+        // Outside of the lock, so other instances can be managed meanwhile.
+        try {
+            process.waitUntilReady(STARTUP_TIMEOUT_MILLIS, monitor);
+        } catch (IOException | RuntimeException exception) {
+            stopInstance(port);
+            if (exception instanceof RuntimeException) {
+                throw (RuntimeException) exception;
+            }
             throw new RuntimeException(
                 "Error starting the DynamoDB Local Test Tool: "
                     + exception.getMessage(),
                 exception
             );
         }
-
+        return process;
     }
 
     /**
-     * Stop the currently-running DynamoDBLocal process.
+     * Stop all running DynamoDBLocal processes.
      */
     public synchronized void stopVersion() {
-        if (currentProcess != null) {
-            currentProcess.stop();
-            cleanUpProcess();
+        for (Integer port : new ArrayList<>(instances.keySet())) {
+            stopInstance(port);
         }
     }
 
-    private void cleanUpProcess() {
-        currentProcess = null;
-        currentlyRunningVersion = null;
-
-        // Revert to a default port setting.
+    /**
+     * Stop the DynamoDBLocal process running on the given port, if any.
+     *
+     * @param port  the port of the process to stop
+     */
+    public synchronized void stopInstance(final int port) {
+        Instance instance = instances.get(port);
+        if (instance != null) {
+            instance.process.stop();
+            cleanUpProcess(port);
+        }
+    }
 
-        DynamoDBPlugin.getDefault().setDefaultDynamoDBLocalPort();
+    private void cleanUpProcess(final int port) {
+        Integer current = getCurrentPort();
+        instances.remove(port);
+
+        if (current != null && current == port) {
+            Integer next = getCurrentPort();
+            if (next != null) {
+                // Point the "Local" region at the instance started before.
+                RegionUtils.addLocalService(ServiceAbbreviations.DYNAMODB,
+                                            "dynamodb",
+                                            next);
+            } else {
+                // Revert to a default port setting.
+                DynamoDBPlugin.getDefault().setDefaultDynamoDBLocalPort();
+            }
+        }
     }
 
     /**
-     * Download the given object from S3 to the given file, updating the
-     * given progress monitor periodically.
+     * Download the given version from S3 and unzip it into the given
+     * directory as it arrives, updating the given progress monitor
+     * periodically. The download is checked against the checksum in the
+     * manifest, or else against its ETag when that is a plain MD5 digest.
      *
-     * @param key The key of the object to download.
-     * @param destination The destination file to download to.
+     * @param version The version to download.
+     * @param destination The directory to put the unzipped files into.
      * @param monitor The progress monitor to update.
+     * @throws IOException on download or file system error, or if the
+     *         download doesn't match its checksum.
      */
-    private void download(final String key,
-                          final File destination,
-                          final IProgressMonitor monitor) {
-        try {
-
-            TransferManager tm = getTransferManager();
-            Download download = tm.download(
-                TEST_TOOL_BUCKET,
-                key,
-                destination
-            );
-
-            int totalWork =
-                (int) download.getProgress().getTotalBytesToTransfer();
-            monitor.beginTask("Downloading DynamoDB Local", totalWork);
-
-            int worked = 0;
-            while (!download.isDone()) {
-                int bytes = (int) download.getProgress().getBytesTransferred();
-                if (bytes > worked) {
-                    int newWork = bytes - worked;
-                    monitor.worked(newWork);
-                    worked = bytes;
-                }
-                Thread.sleep(500);
-            }
+    private void downloadAndUnzip(final TestToolVersion version,
+                                  final File destination,
+                                  final IProgressMonitor monitor)
+            throws IOException {
 
-        } catch (InterruptedException exception) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException(
-                "Interrupted while installing DynamoDB Local",
-                exception
-            );
+        S3Object object;
+        try {
+            object = AWSClientFactory.getAnonymousS3Client()
+                .getObject(TEST_TOOL_BUCKET, version.getDownloadKey());
         } catch (AmazonServiceException exception) {
-            throw new RuntimeException(
+            throw new IOException(
                 "Error downloading DynamoDB Local: " + exception.getMessage(),
                 exception
             );
         }
+
+        String algorithm = null;
+        String expected = null;
+        String etag = object.getObjectMetadata().getETag();
+        if (version.getSha256() != null) {
+            algorithm = "SHA-256";
+            expected = version.getSha256();
+        } else if (etag != null && MD5_ETAG.matcher(etag).matches()) {
+            algorithm = "MD5";
+            expected = etag;
+        }
+
+        monitor.beginTask("Downloading DynamoDB Local",
+                (int) object.getObjectMetadata().getContentLength());
+
+        try (InputStream content = object.getObjectContent()) {
+            MessageDigest digest = null;
+            InputStream input = content;
+            if (algorithm != null) {
+                digest = MessageDigest.getInstance(algorithm);
+                input = new DigestInputStream(input, digest);
+            }
+            CountingInputStream counting = new CountingInputStream(input);
+            unzip(counting, destination, monitor);
+
+            if (digest != null) {
+                String actual = toHex(digest.digest());
+                if (!actual.equalsIgnoreCase(expected)) {
+                    throw new IOException("The download of DynamoDB Local "
+                                          + "is corrupt: expected " + algorithm
+                                          + " " + expected + ", got " + actual);
+                }
+            }
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IOException(exception.getMessage(), exception);
+        }
     }
 
     /**
-     * Unzip the given file into the given directory.
+     * Unzip the given stream into the given directory, reading it to its end
+     * so that a digest computed over it covers the whole download.
      *
-     * @param zipFile The zip file to unzip.
-     * @param unzipped The directory to put the unzipped files into.
-     * @throws IOException on file system error.
+     * @param input The zip file being downloaded.
+     * @param destination The directory to put the unzipped files into.
+     * @param monitor The progress monitor to update.
+     * @throws IOException on download or file system error, or if an entry
+     *         would end up outside of the destination directory.
      */
-    private void unzip(final File zipFile, final File unzipped)
+    private static void unzip(final CountingInputStream input,
+                              final File destination,
+                              final IProgressMonitor monitor)
             throws IOException {
 
-        try (ZipInputStream zip = new ZipInputStream(new FileInputStream(zipFile))) {
+        String root = destination.getCanonicalPath() + File.separator;
+        byte[] buffer = new byte[64 * 1024];
+        long reported = 0;
+
+        ZipInputStream zip = new ZipInputStream(input);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            File dest = new File(destination, entry.getName()).getCanonicalFile();
+            if (!dest.getPath().startsWith(root)) {
+                throw new IOException("The download contains an entry "
+                                      + "outside of its directory: "
+                                      + entry.getName());
+            }
 
-            ZipEntry entry;
-            while ((entry = zip.getNextEntry()) != null) {
-                Path path = new Path(entry.getName());
+            if (entry.isDirectory()) {
+                if (!dest.isDirectory() && !dest.mkdirs()) {
+                    throw new IOException(
+                        "Failed to create directory while unzipping"
+                    );
+                }
+                continue;
+            }
 
-                File dest = new File(unzipped, path.toOSString());
-                if (entry.isDirectory()) {
-                    if (!dest.mkdirs()) {
-                        throw new RuntimeException(
-                            "Failed to create directory while unzipping"
-                        );
-                    }
-                } else {
-                    try (FileOutputStream output = new FileOutputStream(dest)) {
-                        IOUtils.copy(zip, output);
-                    }
+            File parent = dest.getParentFile();
+            if (!parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException(
+                    "Failed to create directory while unzipping"
+                );
+            }
+            try (FileOutputStream output = new FileOutputStream(dest)) {
+                int read;
+                while ((read = zip.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                    reported = reportProgress(input, reported, monitor);
                 }
             }
         }
+
+        // The central directory isn't part of any entry
+        while (input.read(buffer) != -1) {
+            reported = reportProgress(input, reported, monitor);
+        }
+        monitor.worked((int) (input.getByteCount() - reported));
+    }
+
+    /**
+     * Report the bytes downloaded since the last report, if there are at
+     * least {@link #PROGRESS_INTERVAL_BYTES} of them.
+     *
+     * @return The number of bytes reported so far.
+     */
+    private static long reportProgress(final CountingInputStream input,
+                                       final long reported,
+                                       final IProgressMonitor monitor) {
+        long count = input.getByteCount();
+        if (count - reported < PROGRESS_INTERVAL_BYTES) {
+            return reported;
+        }
+        monitor.worked((int) (count - reported));
+        return count;
+    }
+
+    private static String toHex(final byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+               .append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
     }
 
 
@@ -453,9 +640,7 @@ public class TestToolManager {
         for (TestToolVersion version : previous) {
             InstallState installState = getInstallState(version.getName());
 
-            if (currentlyRunningVersion != null
-                && currentlyRunningVersion.getName()
-                            .equals(version.getName())) {
+            if (isRunning(version)) {
                 installState = InstallState.RUNNING;
             } else if (installing.contains(version.getName())) {
                 installState = InstallState.INSTALLING;
@@ -468,6 +653,7 @@ public class TestToolManager {
                     version.getName(),
                     version.getDescription(),
                     version.getDownloadKey(),
+                    version.getSha256(),
                     installState
                 ));
             }
@@ -476,6 +662,19 @@ public class TestToolManager {
         return rval;
     }
 
+    /**
+     * @param version The version in question.
+     * @return true if an instance of the given version is running.
+     */
+    private boolean isRunning(final TestToolVersion version) {
+        for (Instance instance : instances.values()) {
+            if (instance.version.getName().equals(version.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Attempt to load the manifest file describing available versions of the
      * test tool from S3. On success, update our local cache of the manifest
@@ -684,6 +883,7 @@ public class TestToolManager {
         private String name;
         private String description;
         private String downloadKey;
+        private String sha256;
 
         /**
          * @return The loaded list of versions.
@@ -703,6 +903,7 @@ public class TestToolManager {
                 name = null;
                 description = null;
                 downloadKey = null;
+                sha256 = null;
             }
         }
 
@@ -721,6 +922,9 @@ public class TestToolManager {
             } else if (localName.equals("key")) {
                 downloadKey = trim(currText.toString());
                 currText = new StringBuilder();
+            } else if (localName.equals("sha256")) {
+                sha256 = trim(currText.toString());
+                currText = new StringBuilder();
             } else if (localName.equals("version")) {
                 if (name != null || downloadKey != null) {
                     // Skip versions with no name or download key to be safe.
@@ -728,12 +932,14 @@ public class TestToolManager {
                         name,
                         description,
                         downloadKey,
+                        sha256,
                         getInstallState(name)
                     ));
                 }
                 name = null;
                 description = null;
                 downloadKey = null;
+                sha256 = null;
             }
         }
 
@@ -757,4 +963,18 @@ public class TestToolManager {
         }
     }
 
+    /**
+     * A running instance of the test tool.
+     */
+    private static class Instance {
+        private final TestToolVersion version;
+        private final TestToolProcess process;
+
+        public Instance(final TestToolVersion version,
+                        final TestToolProcess process) {
+            this.version = version;
+            this.process = process;
+        }
+    }
+
 }
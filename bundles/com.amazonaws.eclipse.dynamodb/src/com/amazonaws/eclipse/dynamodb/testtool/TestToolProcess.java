@@ -19,13 +19,19 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.AbstractFileFilter;
 import org.apache.commons.io.filefilter.IOFileFilter;
 import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.launching.IVMInstall;
 import org.eclipse.swt.widgets.Display;
@@ -48,9 +54,26 @@ import com.amazonaws.eclipse.dynamodb.DynamoDBPlugin;
  */
 public class TestToolProcess {
 
+    /**
+     * Where a DynamoDBLocal process keeps its tables.
+     */
+    public static enum StorageMode {
+        /** One database file per access key and region, in the install directory. */
+        DEFAULT,
+        /** A single database file for all clients, in a data directory of its own. */
+        SHARED_DB,
+        /** Nothing is written to disk; the tables go away with the process. */
+        IN_MEMORY
+    }
+
+    private static final int PROBE_CONNECT_TIMEOUT_MILLIS = 200;
+    private static final long MAX_PROBE_INTERVAL_MILLIS = 250;
+
     private final IVMInstall jre;
     private final File installDirectory;
     private final int port;
+    private final StorageMode storageMode;
+    private final File dataDirectory;
 
     private final Thread shutdownHook = new Thread() {
         @Override
@@ -71,9 +94,29 @@ public class TestToolProcess {
     public TestToolProcess(final IVMInstall jre,
                            final File installDirectory,
                            final int port) {
+        this(jre, installDirectory, port, StorageMode.DEFAULT, null);
+    }
+
+    /**
+     * Create a new {@code TestToolProcess}.
+     *
+     * @param jre               the JRE to use to run DynamoDBLocal
+     * @param installDirectory  the root install directory for DynamoDBLocal
+     * @param port              the TCP port to bind to
+     * @param storageMode       where to keep the tables
+     * @param dataDirectory     the directory of the shared database file;
+     *                          only used with {@link StorageMode#SHARED_DB}
+     */
+    public TestToolProcess(final IVMInstall jre,
+                           final File installDirectory,
+                           final int port,
+                           final StorageMode storageMode,
+                           final File dataDirectory) {
         this.jre = jre;
         this.installDirectory = installDirectory;
         this.port = port;
+        this.storageMode = storageMode;
+        this.dataDirectory = dataDirectory;
     }
 
     /**
@@ -83,6 +126,20 @@ public class TestToolProcess {
         return port;
     }
 
+    /**
+     * @return where this DynamoDBLocal process keeps its tables
+     */
+    public StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    /**
+     * @return true if the process has been started and hasn't exited
+     */
+    public synchronized boolean isAlive() {
+        return (process != null && process.isAlive());
+    }
+
     /**
      * Start the DynamoDBLocal process.
      *
@@ -108,6 +165,17 @@ public class TestToolProcess {
             "--port",
             Integer.toString(port)
         );
+        if (storageMode == StorageMode.IN_MEMORY) {
+            builder.command().add("-inMemory");
+        } else if (storageMode == StorageMode.SHARED_DB) {
+            if (!dataDirectory.isDirectory() && !dataDirectory.mkdirs()) {
+                throw new IOException("Could not create data directory: "
+                                      + dataDirectory.getAbsolutePath());
+            }
+            builder.command().add("-sharedDb");
+            builder.command().add("-dbPath");
+            builder.command().add(dataDirectory.getAbsolutePath());
+        }
 
         // Drop STDERR into STDOUT so we can handle them together.
         builder.redirectErrorStream(true);
@@ -120,10 +188,80 @@ public class TestToolProcess {
 
         // Start a background thread to read any output from DynamoDBLocal
         // and dump it to an IConsole.
-        new ConsoleOutputLogger(process.getInputStream(), onExitAction)
+        new ConsoleOutputLogger(process.getInputStream(),
+                                "DynamoDB Local (port " + port + ")",
+                                onExitAction)
             .start();
     }
 
+    /**
+     * Wait until the DynamoDBLocal process accepts connections, checking
+     * often at first so that a fast start isn't held up by a fixed wait.
+     *
+     * @param timeoutMillis how long to wait at most
+     * @param monitor       checked for cancellation; may be null
+     * @throws IOException  if the process exits, or isn't ready in time
+     */
+    public void waitUntilReady(final long timeoutMillis,
+                               final IProgressMonitor monitor)
+            throws IOException {
+
+        long deadline = System.nanoTime()
+            + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long interval = 10;
+
+        while (true) {
+            if (isListening(port)) {
+                return;
+            }
+
+            synchronized (this) {
+                if (process == null) {
+                    throw new IOException("DynamoDB Local was stopped");
+                }
+                if (!process.isAlive()) {
+                    throw new IOException("DynamoDB Local exited with code "
+                                          + process.exitValue()
+                                          + "; see its console for details");
+                }
+            }
+            if (monitor != null && monitor.isCanceled()) {
+                throw new OperationCanceledException();
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IOException("DynamoDB Local did not accept "
+                                      + "connections on port " + port
+                                      + " within " + timeoutMillis + " ms");
+            }
+
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for "
+                                      + "DynamoDB Local", exception);
+            }
+            interval = Math.min(MAX_PROBE_INTERVAL_MILLIS, interval * 2);
+        }
+    }
+
+    /**
+     * @param port  the port to probe
+     * @return      true if something on this machine accepts connections on
+     *              the given port
+     */
+    public static boolean isListening(final int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                PROBE_CONNECT_TIMEOUT_MILLIS
+            );
+            return true;
+        } catch (IOException exception) {
+            return false;
+        }
+    }
+
     /**
      * Searches within the install directory for the native libraries required
      * by DyanmoDB Local (i.e. SQLite) and returns the directory containing the
@@ -182,19 +320,23 @@ public class TestToolProcess {
     private static class ConsoleOutputLogger extends Thread {
 
         private final BufferedReader input;
+        private final String consoleName;
         private final Runnable onExitAction;
 
         /**
          * Create a new logger.
          *
          * @param stream        the input stream to read from
+         * @param consoleName   the name of the console to log to
          * @param onExitaction  an optional action to be run when the process
          *                      exits
          */
         public ConsoleOutputLogger(final InputStream stream,
+                                   final String consoleName,
                                    final Runnable onExitAction) {
 
             this.input = new BufferedReader(new InputStreamReader(stream));
+            this.consoleName = consoleName;
             this.onExitAction = onExitAction;
 
             super.setDaemon(true);
@@ -253,12 +395,12 @@ public class TestToolProcess {
 
             IConsole[] existing = manager.getConsoles();
             for (int i = 0; i < existing.length; ++i) {
-                if (existing[i].getName().equals("DynamoDB Local")) {
+                if (existing[i].getName().equals(consoleName)) {
                     return (MessageConsole) existing[i];
                 }
             }
 
-            MessageConsole console = new MessageConsole("DynamoDB Local", null);
+            MessageConsole console = new MessageConsole(consoleName, null);
             manager.addConsoles(new IConsole[] { console });
 
             return console;
@@ -26,12 +26,25 @@ public class TestToolVersion {
     private final String name;
     private final String description;
     private final String downloadKey;
+    private final String sha256;
     private final InstallState installState;
 
     public TestToolVersion(final String name,
                            final String description,
                            final String downloadKey,
                            final InstallState installState) {
+        this(name, description, downloadKey, null, installState);
+    }
+
+    /**
+     * @param sha256 the hex encoded SHA-256 checksum of the download, or
+     *               null if the manifest doesn't list one
+     */
+    public TestToolVersion(final String name,
+                           final String description,
+                           final String downloadKey,
+                           final String sha256,
+                           final InstallState installState) {
 
         if (name == null) {
             throw new NullPointerException("name cannot be null");
@@ -46,6 +59,7 @@ public class TestToolVersion {
         this.name = name;
         this.description = (description == null ? "" : description);
         this.downloadKey = downloadKey;
+        this.sha256 = sha256;
         this.installState = installState;
     }
 
@@ -61,6 +75,14 @@ public class TestToolVersion {
         return downloadKey;
     }
 
+    /**
+     * @return the hex encoded SHA-256 checksum of the download, or null if
+     *         it isn't known
+     */
+    public String getSha256() {
+        return sha256;
+    }
+
     public boolean isInstalled() {
         return (installState == InstallState.INSTALLED);
     }
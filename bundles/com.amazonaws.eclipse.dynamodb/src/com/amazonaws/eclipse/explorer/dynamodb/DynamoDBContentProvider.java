@@ -1,83 +1,66 @@
 package com.amazonaws.eclipse.explorer.dynamodb;
 
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.swt.widgets.Display;
 
 import com.amazonaws.AmazonClientException;
-import com.amazonaws.AmazonServiceException;
 import com.amazonaws.eclipse.core.AwsToolkitCore;
 import com.amazonaws.eclipse.core.regions.ServiceAbbreviations;
 import com.amazonaws.eclipse.explorer.AWSResourcesRootElement;
 import com.amazonaws.eclipse.explorer.AbstractContentProvider;
 import com.amazonaws.eclipse.explorer.Loading;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
-import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
 import com.amazonaws.services.dynamodbv2.model.ListTablesRequest;
 import com.amazonaws.services.dynamodbv2.model.ListTablesResult;
-import com.amazonaws.services.dynamodbv2.model.TableStatus;
+import com.amazonaws.services.dynamodbv2.model.TableDescription;
 
 
 public class DynamoDBContentProvider extends AbstractContentProvider {
 
-    private static final long tableStatusRefreshDelay = 5 * 1000;
+    /* The table status watcher decides when each table is due */
+    private static final long MIN_REFRESH_DELAY = 500;
     
     private static DynamoDBContentProvider instance;
     
     public DynamoDBContentProvider() {
         /* Sets the background job that updates the table status. */
         setBackgroundJobFactory(new BackgroundContentUpdateJobFactory() {
-            
+
+            private volatile long refreshDelay = MIN_REFRESH_DELAY;
+
             @Override
             protected synchronized boolean executeBackgroundJob(final Object parentElement) throws AmazonClientException {
-                if ( null == cachedResponses || cachedResponses.isEmpty() || null == cachedResponses.get(parentElement) ) {
+                Object[] nodes = getCachedChildren(parentElement);
+                if ( null == nodes ) {
                     return false;
                 }
-                
-                AmazonDynamoDB dynamoDBClient = AwsToolkitCore.getClientFactory().getDynamoDBV2Client();
-                Object[] nodes = cachedResponses.get(parentElement);
-                
-                boolean refreshUI = false;
-                boolean shouldKeepRunning = false;
-                
+
+                Map<String, DynamoDBTableNode> tableNodes = new HashMap<>();
                 for ( Object node : nodes ) {
-                    DynamoDBTableNode dynamoDBNode;
                     if ( node instanceof DynamoDBTableNode ) {
-                        dynamoDBNode = (DynamoDBTableNode) node;
-                    } else {
-                        continue;
+                        tableNodes.put(((DynamoDBTableNode) node).getTableName(), (DynamoDBTableNode) node);
                     }
-                    if ( dynamoDBNode.getTableStatus() != TableStatus.ACTIVE ) {
-                        TableStatus updatedStatus;
-                        try {
-                            updatedStatus = TableStatus.valueOf(dynamoDBClient
-                                    .describeTable(
-                                            new DescribeTableRequest()
-                                                    .withTableName(dynamoDBNode
-                                                            .getTableName())).getTable()
-                                    .getTableStatus());
-                        } catch ( AmazonServiceException ase ) {
-                            if (ase.getErrorCode().equalsIgnoreCase(
-                                    "ResourceNotFoundException") == true) {
-                                /* Refresh both the cache and UI when a table node has already been deleted. */
-                                refresh();
-                                return false;
-                            } else {
-                                throw ase;
-                            }
-                        } catch ( IllegalArgumentException iae ) {
-                            throw new AmazonClientException("Unrecognized table status string.", iae);
-                        }
-                        
-                        /* Only refresh UI when some status has changed */
-                        if ( updatedStatus != dynamoDBNode.getTableStatus() ) {
-                            dynamoDBNode.setTableStatus(updatedStatus);
-                            refreshUI = true;
-                        }
-                        if ( updatedStatus != TableStatus.ACTIVE ) {
-                            shouldKeepRunning = true;
-                        }
+                }
+
+                TableStatusWatcher watcher = TableStatusWatcher.getInstance(AwsToolkitCore.getClientFactory()
+                        .getDynamoDBV2Client());
+                TableStatusWatcher.PollResult result = watcher.poll(tableNodes.keySet());
+                if ( !result.getDeletedTables().isEmpty() ) {
+                    /* Refresh both the cache and UI when a table node has already been deleted. */
+                    refresh();
+                    return false;
+                }
+
+                /* Only refresh UI when something shown has changed */
+                boolean refreshUI = false;
+                for ( TableDescription description : result.getDescriptions().values() ) {
+                    DynamoDBTableNode node = tableNodes.get(description.getTableName());
+                    if ( node != null && node.setTableDescription(description) ) {
+                        refreshUI = true;
                     }
                 }
                 if ( refreshUI ) {
@@ -88,12 +71,16 @@ public class DynamoDBContentProvider extends AbstractContentProvider {
                         }
                     });
                 }
-                return shouldKeepRunning;
+
+                /* Keep running only while some table is changing */
+                long untilNextPoll = watcher.getMillisUntilNextPoll(tableNodes.keySet());
+                refreshDelay = Math.max(MIN_REFRESH_DELAY, untilNextPoll);
+                return untilNextPoll >= 0;
             }
 
             @Override
             protected long getRefreshDelay() {
-                return tableStatusRefreshDelay;
+                return refreshDelay;
             }
         });
         instance = this;
@@ -103,6 +90,16 @@ public class DynamoDBContentProvider extends AbstractContentProvider {
         return instance;
     }
 
+    /**
+     * Polls the status of the listed tables again right away, e.g. after one
+     * of them has been changed.
+     */
+    public void refreshTableStatus() {
+        if ( getCachedChildren(DynamoDBRootNode.NODE) != null ) {
+            backgroundJobFactory.startBackgroundContentUpdateJob(DynamoDBRootNode.NODE);
+        }
+    }
+
     @Override
     public boolean hasChildren(Object element) {
         return element instanceof AWSResourcesRootElement || element instanceof DynamoDBRootNode;
@@ -119,14 +116,20 @@ public class DynamoDBContentProvider extends AbstractContentProvider {
                 @Override
                 public Object[] loadData() {
                     AmazonDynamoDB db = AwsToolkitCore.getClientFactory().getDynamoDBV2Client();
+                    TableStatusWatcher watcher = TableStatusWatcher.getInstance(db);
                     List<DynamoDBTableNode> nodes = new LinkedList<>();
                     ListTablesResult listTables = new ListTablesResult();
                     do {
                         listTables = db.listTables(new ListTablesRequest().withExclusiveStartTableName(listTables
                                 .getLastEvaluatedTableName()));
                         for ( String tableName : listTables.getTableNames() ) {
-                            /* Defer getting the table status */
-                            nodes.add(new DynamoDBTableNode(tableName, null));
+                            /* Defer getting the table status, unless it is already known */
+                            DynamoDBTableNode node = new DynamoDBTableNode(tableName, null);
+                            TableDescription description = watcher.getCachedDescription(tableName);
+                            if ( description != null ) {
+                                node.setTableDescription(description);
+                            }
+                            nodes.add(node);
                         }
                     } while ( listTables.getLastEvaluatedTableName() != null );
 
@@ -20,6 +20,7 @@ import com.amazonaws.eclipse.core.regions.RegionUtils;
 import com.amazonaws.eclipse.dynamodb.DynamoDBPlugin;
 import com.amazonaws.eclipse.dynamodb.testtool.StartTestToolWizard;
 import com.amazonaws.eclipse.dynamodb.testtool.TestToolManager;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.DeleteTableRequest;
 
 /**
@@ -44,10 +45,12 @@ public class DynamoDBExplorerActionProvider extends CommonActionProvider {
             menu.add(new TablePropertiesAction(tableName));
         } else {
             if ("local".equals(RegionUtils.getCurrentRegion().getId())) {
+                // Several instances can run at once, on different ports.
+                if (TestToolManager.INSTANCE.isJava7Available()) {
+                    menu.add(new StartTestToolAction());
+                }
                 if (TestToolManager.INSTANCE.isRunning()) {
                     menu.add(new StopTestToolAction());
-                } else if (TestToolManager.INSTANCE.isJava7Available()) {
-                    menu.add(new StartTestToolAction());
                 }
             }
         }
@@ -93,7 +96,7 @@ public class DynamoDBExplorerActionProvider extends CommonActionProvider {
     private static class StopTestToolAction extends Action {
         @Override
         public String getDescription() {
-            return "Stop the DynamoDB Local Test Tool";
+            return "Stop all running DynamoDB Local Test Tool instances";
         }
 
         @Override
@@ -192,8 +195,11 @@ public class DynamoDBExplorerActionProvider extends CommonActionProvider {
                     @Override
                     protected IStatus run(IProgressMonitor monitor) {
                         try {
-                            AwsToolkitCore.getClientFactory(accountId).getDynamoDBV2Client()
-                                    .deleteTable(new DeleteTableRequest().withTableName(tableName));
+                            AmazonDynamoDB dynamoDBClient = AwsToolkitCore.getClientFactory(accountId)
+                                    .getDynamoDBV2Client();
+                            /* Show the table as DELETING while it is still listed */
+                            TableStatusWatcher.getInstance(dynamoDBClient).update(dynamoDBClient
+                                    .deleteTable(new DeleteTableRequest().withTableName(tableName)).getTableDescription());
                         } catch ( AmazonClientException e ) {
                             return new Status(IStatus.ERROR, DynamoDBPlugin.PLUGIN_ID, "Failed to delete table", e);
                         }
@@ -241,12 +247,19 @@ public class DynamoDBExplorerActionProvider extends CommonActionProvider {
                     @Override
                     protected IStatus run(IProgressMonitor monitor) {
                         try {
-                            AwsToolkitCore.getClientFactory(accountId).getDynamoDBV2Client()
-                                    .updateTable(tablePropertiesDialog.getUpdateRequest());
+                            AmazonDynamoDB dynamoDBClient = AwsToolkitCore.getClientFactory(accountId)
+                                    .getDynamoDBV2Client();
+                            TableStatusWatcher.getInstance(dynamoDBClient).update(dynamoDBClient
+                                    .updateTable(tablePropertiesDialog.getUpdateRequest()).getTableDescription());
                         } catch ( AmazonClientException e ) {
                             return new Status(IStatus.ERROR, DynamoDBPlugin.PLUGIN_ID, "Failed to update table", e);
                         }
 
+                        /* Show the table as UPDATING until it is ACTIVE again */
+                        if ( null != DynamoDBContentProvider.getInstance() ) {
+                            DynamoDBContentProvider.getInstance().refreshTableStatus();
+                        }
+
                         return Status.OK_STATUS;
                     }
 
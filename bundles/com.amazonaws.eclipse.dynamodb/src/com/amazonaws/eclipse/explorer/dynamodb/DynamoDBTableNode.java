@@ -24,13 +24,14 @@ import com.amazonaws.eclipse.dynamodb.DynamoDBPlugin;
 import com.amazonaws.eclipse.dynamodb.editor.OpenTableEditorAction;
 import com.amazonaws.eclipse.explorer.ExplorerNode;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
-import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
+import com.amazonaws.services.dynamodbv2.model.TableDescription;
 import com.amazonaws.services.dynamodbv2.model.TableStatus;
 
 public class DynamoDBTableNode extends ExplorerNode {
 
     private final String tableName;
     private TableStatus tableStatus;
+    private TableDescription tableDescription;
 
     public String getTableName() {
         return tableName;
@@ -40,6 +41,43 @@ public class DynamoDBTableNode extends ExplorerNode {
         return tableStatus;
     }
     
+    /**
+     * Returns the last known description of the table, or null if the table
+     * hasn't been described yet.
+     */
+    public TableDescription getTableDescription() {
+        return tableDescription;
+    }
+
+    /**
+     * Sets the description of the table that this node represents, along with
+     * its status.
+     *
+     * @return Whether anything shown for the node has changed.
+     */
+    public boolean setTableDescription(TableDescription tableDescription) {
+        TableDescription previous = this.tableDescription;
+        this.tableDescription = tableDescription;
+        TableStatus updatedStatus;
+        try {
+            updatedStatus = TableStatus.fromValue(tableDescription.getTableStatus());
+        } catch ( IllegalArgumentException iae ) {
+            /* Unrecognized table status */
+            updatedStatus = null;
+        }
+        boolean changed = updatedStatus != tableStatus || previous == null
+                || !equals(previous.getItemCount(), tableDescription.getItemCount())
+                || !equals(previous.getTableSizeBytes(), tableDescription.getTableSizeBytes());
+        if ( updatedStatus != tableStatus ) {
+            setTableStatus(updatedStatus);
+        }
+        return changed;
+    }
+
+    private static boolean equals(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
     /**
      * Sets the status of the table that this node represents, and changes to
      * the corresponding open action.
@@ -57,13 +95,10 @@ public class DynamoDBTableNode extends ExplorerNode {
                      */
                     AmazonDynamoDB dynamoDBClient = AwsToolkitCore.getClientFactory().getDynamoDBV2Client();
                     boolean describeTableError = false;
-                    TableStatus updatedStatus = null;
+                    TableDescription updatedDescription = null;
                     try {
-                        updatedStatus = TableStatus.valueOf(dynamoDBClient
-                                .describeTable(
-                                        new DescribeTableRequest()
-                                                .withTableName(tableName)).getTable()
-                                .getTableStatus());
+                        updatedDescription = TableStatusWatcher.getInstance(dynamoDBClient).describe(tableName, 0);
+                        TableStatus.fromValue(updatedDescription.getTableStatus());
                     } catch ( AmazonServiceException ase ) {
                         if (ase.getErrorCode().equalsIgnoreCase(
                                 "ResourceNotFoundException") == true) {
@@ -102,8 +137,8 @@ public class DynamoDBTableNode extends ExplorerNode {
                         return;
                     }
                     
-                    /* assert: updatedStatus != null */
-                    setTableStatus(updatedStatus);
+                    /* assert: updatedDescription != null */
+                    setTableDescription(updatedDescription);
                     DynamoDBTableNode.this.getOpenAction().run();
                 }
             });
@@ -14,10 +14,14 @@
  */
 package com.amazonaws.eclipse.explorer.dynamodb;
 
+import java.text.NumberFormat;
+
+import org.apache.commons.io.FileUtils;
 import org.eclipse.jface.viewers.IDecoration;
 import org.eclipse.jface.viewers.ILabelProviderListener;
 import org.eclipse.jface.viewers.ILightweightLabelDecorator;
 
+import com.amazonaws.services.dynamodbv2.model.TableDescription;
 import com.amazonaws.services.dynamodbv2.model.TableStatus;
 
 public class DynamoDBTableNodeDecorator implements ILightweightLabelDecorator {
@@ -41,7 +45,17 @@ public class DynamoDBTableNodeDecorator implements ILightweightLabelDecorator {
 
             TableStatus tableStatus = dynamoDBTableNode.getTableStatus();
             if ( null != tableStatus ) {
-                decoration.addSuffix(" (" + tableStatus.toString() + ")");
+                StringBuilder suffix = new StringBuilder(" (").append(tableStatus.toString());
+                /* Already known from polling the status; DynamoDB updates these about every six hours */
+                TableDescription tableDescription = dynamoDBTableNode.getTableDescription();
+                if ( tableDescription != null && tableDescription.getItemCount() != null
+                        && tableDescription.getTableSizeBytes() != null ) {
+                    suffix.append(", ")
+                            .append(NumberFormat.getIntegerInstance().format(tableDescription.getItemCount()))
+                            .append(" items, ")
+                            .append(FileUtils.byteCountToDisplaySize(tableDescription.getTableSizeBytes()));
+                }
+                decoration.addSuffix(suffix.append(")").toString());
             }
         }
     }
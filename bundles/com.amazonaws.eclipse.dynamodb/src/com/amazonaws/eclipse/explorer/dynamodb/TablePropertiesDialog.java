@@ -40,7 +40,6 @@ import org.eclipse.swt.widgets.Text;
 
 import com.amazonaws.eclipse.core.AwsToolkitCore;
 import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
-import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
 import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
 import com.amazonaws.services.dynamodbv2.model.KeyType;
 import com.amazonaws.services.dynamodbv2.model.LocalSecondaryIndexDescription;
@@ -67,8 +66,9 @@ public class TablePropertiesDialog extends MessageDialog {
                 .get(AwsToolkitCore.IMAGE_AWS_ICON), null,
                 MessageDialog.NONE, new String[] { "Update", "Cancel" }, 1);
         this.tableName = tableName;
-        tableDescription = AwsToolkitCore.getClientFactory().getDynamoDBV2Client()
-                .describeTable(new DescribeTableRequest().withTableName(tableName)).getTable();
+        /* The throughput shown is the starting point of an update, so it shouldn't be stale */
+        tableDescription = TableStatusWatcher.getInstance(AwsToolkitCore.getClientFactory().getDynamoDBV2Client())
+                .describe(tableName, 0);
         readCapacity = tableDescription.getProvisionedThroughput().getReadCapacityUnits();
         writeCapacity = tableDescription.getProvisionedThroughput().getWriteCapacityUnits();
         setShellStyle(getShellStyle() | SWT.RESIZE);
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.explorer.dynamodb;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
+import com.amazonaws.services.dynamodbv2.model.GlobalSecondaryIndexDescription;
+import com.amazonaws.services.dynamodbv2.model.IndexStatus;
+import com.amazonaws.services.dynamodbv2.model.ResourceNotFoundException;
+import com.amazonaws.services.dynamodbv2.model.TableDescription;
+import com.amazonaws.services.dynamodbv2.model.TableStatus;
+
+/**
+ * Keeps track of the descriptions of the tables of one DynamoDB endpoint, so
+ * that the explorer, the table properties dialog and the table editor share
+ * them instead of each describing the tables on their own.
+ * <p>
+ * Every table is polled on its own schedule: shortly after it was seen
+ * changing, then less and less often while it stays in a transitional state
+ * (e.g. CREATING, UPDATING, or ACTIVE with an index being built). ACTIVE
+ * tables aren't polled; their descriptions are only fetched again when asked
+ * for after {@link #ACTIVE_MAX_AGE_MILLIS}. The tables due are described
+ * concurrently on a small shared pool.
+ */
+public class TableStatusWatcher {
+
+    /** How long the description of an ACTIVE table is used before it is fetched again. */
+    public static final long ACTIVE_MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final long MIN_POLL_MILLIS = 1000;
+    private static final long MAX_POLL_MILLIS = 30 * 1000;
+    private static final int MAX_CONCURRENT_REQUESTS = 4;
+
+    private static final Map<AmazonDynamoDB, TableStatusWatcher> watchers = new WeakHashMap<>();
+
+    private static final ThreadPoolExecutor executor;
+    static {
+        executor = new ThreadPoolExecutor(MAX_CONCURRENT_REQUESTS, MAX_CONCURRENT_REQUESTS, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "DynamoDB table status");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the watcher of the endpoint the given client talks to. Clients
+     * are cached per endpoint by the client factory, so the same client gets
+     * the same watcher; the watcher goes away with the client.
+     */
+    public static synchronized TableStatusWatcher getInstance(AmazonDynamoDB dynamo) {
+        TableStatusWatcher watcher = watchers.get(dynamo);
+        if ( watcher == null ) {
+            watcher = new TableStatusWatcher(dynamo);
+            watchers.put(dynamo, watcher);
+        }
+        return watcher;
+    }
+
+    /* Not a strong reference, which would keep the client in the weak map forever */
+    private final WeakReference<AmazonDynamoDB> dynamo;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private TableStatusWatcher(AmazonDynamoDB dynamo) {
+        this.dynamo = new WeakReference<>(dynamo);
+    }
+
+    private AmazonDynamoDB getClient() {
+        AmazonDynamoDB client = dynamo.get();
+        if ( client == null ) {
+            throw new AmazonClientException("The DynamoDB client has been discarded");
+        }
+        return client;
+    }
+
+    /**
+     * Returns the last known description of the given table, without calling
+     * DynamoDB; null if the table hasn't been described yet.
+     */
+    public TableDescription getCachedDescription(String tableName) {
+        Entry entry = entries.get(tableName);
+        return entry == null ? null : entry.description;
+    }
+
+    /**
+     * Returns the description of the given table, describing it only if the
+     * known one is older than the given age.
+     *
+     * @throws ResourceNotFoundException
+     *             If the table doesn't exist; it is forgotten.
+     */
+    public TableDescription describe(String tableName, long maxAgeMillis) throws AmazonClientException {
+        Entry entry = entries.get(tableName);
+        if ( entry != null && entry.description != null
+                && System.currentTimeMillis() - entry.fetchedMillis <= maxAgeMillis ) {
+            return entry.description;
+        }
+        try {
+            return update(getClient().describeTable(new DescribeTableRequest().withTableName(tableName)).getTable());
+        } catch ( ResourceNotFoundException e ) {
+            entries.remove(tableName);
+            throw e;
+        }
+    }
+
+    /**
+     * Records a description returned by DynamoDB, e.g. by UpdateTable, and
+     * polls the table again soon if it is changing.
+     */
+    public TableDescription update(TableDescription description) {
+        long now = System.currentTimeMillis();
+        Entry previous = entries.get(description.getTableName());
+        Entry entry = new Entry(description, now);
+        if ( isTransitional(description) ) {
+            boolean changed = previous == null || previous.description == null
+                    || !isTransitional(previous.description)
+                    || !description.getTableStatus().equals(previous.description.getTableStatus());
+            entry.pollIntervalMillis = changed ? MIN_POLL_MILLIS
+                    : Math.min(MAX_POLL_MILLIS, previous.pollIntervalMillis * 2);
+            entry.nextPollMillis = now + entry.pollIntervalMillis;
+        } else {
+            entry.nextPollMillis = now + ACTIVE_MAX_AGE_MILLIS;
+        }
+        entries.put(description.getTableName(), entry);
+        return description;
+    }
+
+    /** Forgets what is known about the given table. */
+    public void forget(String tableName) {
+        entries.remove(tableName);
+    }
+
+    /**
+     * Describes the given tables that are due, concurrently.
+     *
+     * @throws AmazonClientException
+     *             If no table could be described, and none was found to be
+     *             deleted; the tables are tried again later.
+     */
+    public PollResult poll(Collection<String> tableNames) throws AmazonClientException {
+        final AmazonDynamoDB client = getClient();
+        long now = System.currentTimeMillis();
+        List<Future<TableDescription>> futures = new ArrayList<>();
+        List<String> polled = new ArrayList<>();
+        for ( final String tableName : new LinkedHashSet<>(tableNames) ) {
+            Entry entry = entries.get(tableName);
+            if ( entry == null || entry.nextPollMillis <= now ) {
+                polled.add(tableName);
+                futures.add(executor.submit(new Callable<TableDescription>() {
+                    @Override
+                    public TableDescription call() {
+                        return client.describeTable(new DescribeTableRequest().withTableName(tableName)).getTable();
+                    }
+                }));
+            }
+        }
+
+        PollResult result = new PollResult();
+        AmazonClientException firstFailure = null;
+        try {
+            for ( int i = 0; i < futures.size(); i++ ) {
+                String tableName = polled.get(i);
+                try {
+                    result.descriptions.put(tableName, update(futures.get(i).get()));
+                } catch ( ExecutionException e ) {
+                    if ( e.getCause() instanceof ResourceNotFoundException ) {
+                        entries.remove(tableName);
+                        result.deletedTables.add(tableName);
+                    } else {
+                        backOff(tableName, now);
+                        if ( firstFailure == null ) {
+                            firstFailure = e.getCause() instanceof AmazonClientException
+                                    ? (AmazonClientException) e.getCause()
+                                    : new AmazonClientException("Unable to describe table " + tableName, e.getCause());
+                        }
+                    }
+                }
+            }
+        } catch ( InterruptedException e ) {
+            for ( Future<TableDescription> future : futures ) {
+                future.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            return result;
+        }
+
+        if ( firstFailure != null && result.descriptions.isEmpty() && result.deletedTables.isEmpty() ) {
+            throw firstFailure;
+        }
+        return result;
+    }
+
+    /**
+     * Returns how long until the next of the given tables that are changing,
+     * or haven't been described yet, is due; -1 if there's no such table.
+     */
+    public long getMillisUntilNextPoll(Collection<String> tableNames) {
+        long now = System.currentTimeMillis();
+        long next = Long.MAX_VALUE;
+        for ( String tableName : tableNames ) {
+            Entry entry = entries.get(tableName);
+            if ( entry == null ) {
+                return 0;
+            }
+            if ( entry.description == null || isTransitional(entry.description) ) {
+                next = Math.min(next, entry.nextPollMillis);
+            }
+        }
+        return next == Long.MAX_VALUE ? -1 : Math.max(0, next - now);
+    }
+
+    /** Tries a table that couldn't be described again later. */
+    private void backOff(String tableName, long now) {
+        Entry previous = entries.get(tableName);
+        Entry entry = previous == null ? new Entry(null, 0) : new Entry(previous.description, previous.fetchedMillis);
+        entry.pollIntervalMillis = previous == null ? MIN_POLL_MILLIS
+                : Math.min(MAX_POLL_MILLIS, previous.pollIntervalMillis * 2);
+        entry.nextPollMillis = now + entry.pollIntervalMillis;
+        entries.put(tableName, entry);
+    }
+
+    /**
+     * Returns whether the given table, or one of its global secondary indexes,
+     * is changing.
+     */
+    static boolean isTransitional(TableDescription description) {
+        if ( !TableStatus.ACTIVE.toString().equals(description.getTableStatus()) ) {
+            return true;
+        }
+        if ( description.getGlobalSecondaryIndexes() != null ) {
+            for ( GlobalSecondaryIndexDescription index : description.getGlobalSecondaryIndexes() ) {
+                if ( !IndexStatus.ACTIVE.toString().equals(index.getIndexStatus()) ) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static final class Entry {
+        private final TableDescription description;
+        private final long fetchedMillis;
+        private long pollIntervalMillis = MIN_POLL_MILLIS;
+        private long nextPollMillis;
+
+        Entry(TableDescription description, long fetchedMillis) {
+            this.description = description;
+            this.fetchedMillis = fetchedMillis;
+        }
+    }
+
+    /**
+     * The outcome of one poll.
+     */
+    public static final class PollResult {
+        private final Map<String, TableDescription> descriptions = new LinkedHashMap<>();
+        private final Set<String> deletedTables = new LinkedHashSet<>();
+
+        /** Returns the descriptions fetched, by table name. */
+        public Map<String, TableDescription> getDescriptions() {
+            return Collections.unmodifiableMap(descriptions);
+        }
+
+        /** Returns the tables that were found to be deleted. */
+        public Set<String> getDeletedTables() {
+            return Collections.unmodifiableSet(deletedTables);
+        }
+    }
+}
@@ -145,7 +145,7 @@ public class ElasticBeanstalkPlugin extends AbstractAwsPlugin implements IStartu
 
     public void syncEnvironments() {
         if ( syncEnvironmentsJob != null )
-            syncEnvironmentsJob.wakeUp();
+            syncEnvironmentsJob.syncAll();
     }
 
     @Override
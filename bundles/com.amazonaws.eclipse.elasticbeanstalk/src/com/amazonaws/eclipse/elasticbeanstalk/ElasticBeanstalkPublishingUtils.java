@@ -20,10 +20,12 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -47,7 +49,6 @@ import com.amazonaws.services.elasticbeanstalk.model.ConfigurationOptionSetting;
 import com.amazonaws.services.elasticbeanstalk.model.CreateApplicationRequest;
 import com.amazonaws.services.elasticbeanstalk.model.CreateApplicationVersionRequest;
 import com.amazonaws.services.elasticbeanstalk.model.CreateEnvironmentRequest;
-import com.amazonaws.services.elasticbeanstalk.model.DescribeEventsRequest;
 import com.amazonaws.services.elasticbeanstalk.model.EnvironmentDescription;
 import com.amazonaws.services.elasticbeanstalk.model.EnvironmentHealth;
 import com.amazonaws.services.elasticbeanstalk.model.EnvironmentStatus;
@@ -72,9 +73,6 @@ public class ElasticBeanstalkPublishingUtils {
     /** Duration (in milliseconds) before we give up polling for deployment status */
     private static final int POLLING_TIMEOUT = 1000 * 60 * 20;
 
-    /** Period (in milliseconds) between attempts to poll */
-    private static final int PAUSE = 1000 * 15;
-
     private final BeanstalkResourceProvider resourceProvider = new BeanstalkResourceProvider();
     private final AWSElasticBeanstalk beanstalkClient;
     private final ElasticBeanstalkClientExtensions beanstalkClientExtensions;
@@ -470,11 +468,16 @@ public class ElasticBeanstalkPublishingUtils {
         return false;
     }
 
+    /**
+     * Waits for the environment to become available, showing its latest event
+     * as the task name. The environment and its events are polled by the
+     * environment's {@link EnvironmentEventTailer}, which also streams the
+     * events into a console.
+     */
     public void waitForEnvironmentToBecomeAvailable(IModule moduleToPublish, IProgressMonitor monitor, Runnable runnable)
             throws CoreException {
         int errorCount = 0;
         long startTime = System.currentTimeMillis();
-        Date eventStartTime = new Date(startTime - (1000 * 60 * 30));
 
         String applicationName = environment.getApplicationName();
         String environmentName = environment.getEnvironmentName();
@@ -483,41 +486,57 @@ public class ElasticBeanstalkPublishingUtils {
         monitor.beginTask("Waiting for environment to become available", POLLING_TIMEOUT);
         monitor.setTaskName("Waiting for environment to become available");
 
-        while (System.currentTimeMillis() - startTime < POLLING_TIMEOUT) {
-            List<EventDescription> events = beanstalkClient.describeEvents(
-                    new DescribeEventsRequest().withEnvironmentName(environmentName).withStartTime(eventStartTime))
-                    .getEvents();
-            if (events.size() > 0) {
-                String status = "Latest Event: " + events.get(0).getMessage();
-                if (launchingNewEnvironment) {
-                    status += "  (Note: Launching a new environment may take several minutes)";
-                } else {
-                    status += "  (Note: Updating an environment may take several minutes)";
+        PollListener pollListener = new PollListener();
+        EnvironmentEventTailer tailer = EnvironmentEventTailer.getInstance(environment);
+        tailer.addListener(pollListener);
+        try {
+            while (System.currentTimeMillis() - startTime < POLLING_TIMEOUT) {
+                Poll poll;
+                try {
+                    // Wake up every second to notice cancellation
+                    poll = pollListener.polls.poll(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (monitor.isCanceled()) {
+                    return;
+                }
+                if (poll == null) {
+                    continue;
                 }
-                monitor.setTaskName(status);
-            }
 
-            try {
-                Thread.sleep(PAUSE);
-            } catch (Exception e) {
-            }
-            if (monitor.isCanceled()) {
-                return;
-            }
+                if (poll.latestEvent != null) {
+                    String status = "Latest Event: " + poll.latestEvent.getMessage();
+                    if (launchingNewEnvironment) {
+                        status += "  (Note: Launching a new environment may take several minutes)";
+                    } else {
+                        status += "  (Note: Updating an environment may take several minutes)";
+                    }
+                    monitor.setTaskName(status);
+                }
 
-            if (runnable != null) {
-                try {
-                    runnable.run();
-                } catch (Exception e) {
-                    Status status = new Status(Status.INFO, ElasticBeanstalkPlugin.PLUGIN_ID, e.getMessage(), e);
-                    StatusManager.getManager().handle(status, StatusManager.LOG);
+                if (runnable != null) {
+                    try {
+                        runnable.run();
+                    } catch (Exception e) {
+                        Status status = new Status(Status.INFO, ElasticBeanstalkPlugin.PLUGIN_ID, e.getMessage(), e);
+                        StatusManager.getManager().handle(status, StatusManager.LOG);
+                    }
                 }
-            }
 
-            try {
+                if (poll.error != null) {
+                    if (errorCount++ > 4) {
+                        throw new CoreException(new Status(Status.ERROR, ElasticBeanstalkPlugin.PLUGIN_ID,
+                                "Unable to detect application deployment: " + poll.error.getMessage(), poll.error));
+                    }
+                    continue;
+                }
+                // reset error count so that we only count consecutive errors
+                errorCount = 0;
+
                 trace("Polling environment for status...");
-                EnvironmentDescription environmentDesc = beanstalkClientExtensions
-                        .getEnvironmentDescription(environmentName);
+                EnvironmentDescription environmentDesc = poll.environmentDescription;
                 if (environmentDesc != null) {
                     trace(" - " + environmentDesc.getStatus());
 
@@ -550,21 +569,52 @@ public class ElasticBeanstalkPublishingUtils {
                                 "Environment failed to deploy.  Check environment events for more details."));
                     }
                 }
-
-                // reset error count so that we only count consecutive errors
-                errorCount = 0;
-            } catch (AmazonClientException ace) {
-                if (errorCount++ > 4) {
-                    throw new CoreException(new Status(Status.ERROR, ElasticBeanstalkPlugin.PLUGIN_ID,
-                            "Unable to detect application deployment: " + ace.getMessage(), ace));
-                }
             }
+        } finally {
+            tailer.removeListener(pollListener);
         }
 
         throw new CoreException(new Status(Status.ERROR, ElasticBeanstalkPlugin.PLUGIN_ID,
                 "Unable to detect application deployment"));
     }
 
+    /**
+     * The outcome of one poll of the environment being waited on.
+     */
+    private static final class Poll {
+        private final EnvironmentDescription environmentDescription;
+        private final EventDescription latestEvent;
+        private final AmazonClientException error;
+
+        Poll(EnvironmentDescription environmentDescription, EventDescription latestEvent, AmazonClientException error) {
+            this.environmentDescription = environmentDescription;
+            this.latestEvent = latestEvent;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Hands the polls of the environment's tailer over to the waiting thread,
+     * keeping the latest event seen.
+     */
+    private static final class PollListener implements EnvironmentEventTailer.Listener {
+        private final BlockingQueue<Poll> polls = new LinkedBlockingQueue<>();
+        private volatile EventDescription latestEvent;
+
+        @Override
+        public void environmentPolled(EnvironmentDescription environmentDescription, List<EventDescription> newEvents) {
+            if (!newEvents.isEmpty()) {
+                latestEvent = newEvents.get(newEvents.size() - 1);
+            }
+            polls.add(new Poll(environmentDescription, latestEvent, null));
+        }
+
+        @Override
+        public void pollFailed(AmazonClientException e) {
+            polls.add(new Poll(null, latestEvent, e));
+        }
+    }
+
     private void checkForCancellation(IProgressMonitor monitor) throws CoreException {
         if (monitor.isCanceled()) {
             throw new CoreException(new Status(Status.CANCEL, ElasticBeanstalkPlugin.PLUGIN_ID, "Canceled"));
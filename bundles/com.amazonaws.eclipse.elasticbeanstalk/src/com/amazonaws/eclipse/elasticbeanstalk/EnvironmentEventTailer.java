@@ -0,0 +1,279 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.elasticbeanstalk;
+
+import static com.amazonaws.eclipse.elasticbeanstalk.ElasticBeanstalkPlugin.trace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.ui.console.ConsolePlugin;
+import org.eclipse.ui.console.MessageConsole;
+import org.eclipse.ui.console.MessageConsoleStream;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.eclipse.core.util.PluginUtils;
+import com.amazonaws.eclipse.elasticbeanstalk.util.ElasticBeanstalkClientExtensions;
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEnvironmentsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEventsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEventsResult;
+import com.amazonaws.services.elasticbeanstalk.model.EnvironmentDescription;
+import com.amazonaws.services.elasticbeanstalk.model.EnvironmentStatus;
+import com.amazonaws.services.elasticbeanstalk.model.EventDescription;
+
+/**
+ * Follows the events of one AWS Elastic Beanstalk environment and streams
+ * them into a console as they arrive. There is one tailer per environment,
+ * shared by everything waiting on it, so concurrent waits on an environment
+ * make a single DescribeEvents and a single DescribeEnvironments request per
+ * poll.
+ * <p>
+ * Only the events newer than the latest one seen are asked for, and the
+ * events of that same instant that were seen already are skipped. The
+ * environment is polled every {@link #FAST_DELAY} while events keep arriving
+ * during a launch, update or termination, backing off to
+ * {@link #SLOW_DELAY} otherwise. The tailer stops once nobody listens to it
+ * and the environment it was asked to follow has settled.
+ */
+public final class EnvironmentEventTailer extends Job {
+
+    /**
+     * Receives the outcome of each poll. Called on the tailer's job.
+     */
+    public interface Listener {
+
+        /**
+         * Called after a poll with the current description of the environment,
+         * or null if it doesn't exist, and the events that arrived since the
+         * previous poll, oldest first.
+         */
+        void environmentPolled(EnvironmentDescription environmentDescription, List<EventDescription> newEvents);
+
+        /** Called when a poll failed; the tailer tries again later. */
+        void pollFailed(AmazonClientException e);
+    }
+
+    private static final int FAST_DELAY = 1000 * 5;
+    private static final int SLOW_DELAY = 1000 * 15;
+
+    /** How far back the first poll looks for events, allowing for clock skew. */
+    private static final int LOOK_BACK = 1000 * 60 * 30;
+
+    /** How long to wait for a followed environment to start changing. */
+    private static final int FOLLOW_GRACE_PERIOD = 1000 * 60;
+
+    /** How long an environment is followed at most. */
+    private static final int FOLLOW_TIMEOUT = 1000 * 60 * 30;
+
+    private static final Map<String, EnvironmentEventTailer> tailers = new HashMap<>();
+
+    /**
+     * Returns the tailer of the given environment.
+     */
+    public static synchronized EnvironmentEventTailer getInstance(Environment environment) {
+        String key = environment.getAccountId() + "|" + environment.getRegionEndpoint() + "|"
+                + environment.getEnvironmentName();
+        EnvironmentEventTailer tailer = tailers.get(key);
+        if (tailer == null) {
+            tailer = new EnvironmentEventTailer(environment);
+            tailers.put(key, tailer);
+        }
+        return tailer;
+    }
+
+    private final Environment environment;
+    private final String environmentName;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /* Guarded by this */
+    private boolean running;
+    private long followStartMillis;
+    private boolean followedEnvironmentChanging;
+
+    /* Only used by the job */
+    private Date highWaterMark;
+    private final Set<String> eventsAtHighWaterMark = new HashSet<>();
+    private int delay = FAST_DELAY;
+    private MessageConsoleStream consoleStream;
+
+    private EnvironmentEventTailer(Environment environment) {
+        super("Following events of AWS Elastic Beanstalk environment " + environment.getEnvironmentName());
+        this.environment = environment;
+        this.environmentName = environment.getEnvironmentName();
+        setSystem(true);
+    }
+
+    /**
+     * Starts notifying the given listener after each poll, polling right away.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+        start();
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Streams the events of the environment until it is done changing, e.g.
+     * after it was asked to restart; nobody needs to listen.
+     */
+    public void followUntilSettled() {
+        synchronized (this) {
+            followStartMillis = System.currentTimeMillis();
+            followedEnvironmentChanging = false;
+        }
+        start();
+    }
+
+    private void start() {
+        synchronized (this) {
+            if (!running) {
+                running = true;
+                delay = FAST_DELAY;
+                schedule();
+                return;
+            }
+        }
+        wakeUp();
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        EnvironmentDescription environmentDescription = null;
+        boolean polled = false;
+        try {
+            AWSElasticBeanstalk client = environment.getClient();
+            List<EventDescription> newEvents = pollEvents(client);
+            environmentDescription = ElasticBeanstalkClientExtensions.findEnvironment(
+                    client.describeEnvironments(new DescribeEnvironmentsRequest()
+                            .withEnvironmentNames(environmentName)).getEnvironments(),
+                    environmentName);
+            polled = true;
+
+            printEvents(newEvents);
+            trace("Polled events of environment " + environmentName + ": " + newEvents.size() + " new");
+            for (Listener listener : listeners) {
+                listener.environmentPolled(environmentDescription, newEvents);
+            }
+
+            boolean changing = environmentDescription != null && isChanging(environmentDescription);
+            delay = changing && !newEvents.isEmpty() ? FAST_DELAY
+                    : changing ? Math.min(SLOW_DELAY, delay * 2) : SLOW_DELAY;
+        } catch (AmazonClientException e) {
+            for (Listener listener : listeners) {
+                listener.pollFailed(e);
+            }
+            delay = SLOW_DELAY;
+        }
+
+        synchronized (this) {
+            if (followStartMillis > 0 && polled) {
+                long followedMillis = System.currentTimeMillis() - followStartMillis;
+                if (environmentDescription == null) {
+                    followStartMillis = 0;
+                } else if (isChanging(environmentDescription)) {
+                    followedEnvironmentChanging = true;
+                } else if (followedEnvironmentChanging || followedMillis > FOLLOW_GRACE_PERIOD) {
+                    followStartMillis = 0;
+                }
+                if (followedMillis > FOLLOW_TIMEOUT) {
+                    followStartMillis = 0;
+                }
+            }
+            if ((listeners.isEmpty() && followStartMillis == 0) || monitor.isCanceled()) {
+                running = false;
+                return Status.OK_STATUS;
+            }
+        }
+        schedule(delay);
+        return Status.OK_STATUS;
+    }
+
+    /**
+     * Returns the events that happened since the latest one seen, oldest
+     * first.
+     */
+    List<EventDescription> pollEvents(AWSElasticBeanstalk client) {
+        Date startTime = highWaterMark != null ? highWaterMark
+                : new Date(System.currentTimeMillis() - LOOK_BACK);
+        List<EventDescription> events = new ArrayList<>();
+        String nextToken = null;
+        do {
+            DescribeEventsResult result = client.describeEvents(new DescribeEventsRequest()
+                    .withEnvironmentName(environmentName).withStartTime(startTime).withNextToken(nextToken));
+            events.addAll(result.getEvents());
+            nextToken = result.getNextToken();
+        } while (nextToken != null);
+
+        // The events come newest first
+        Collections.reverse(events);
+        List<EventDescription> newEvents = new ArrayList<>();
+        for (EventDescription event : events) {
+            Date eventDate = event.getEventDate();
+            if (eventDate == null || highWaterMark != null && eventDate.before(highWaterMark)) {
+                continue;
+            }
+            if (highWaterMark == null || eventDate.after(highWaterMark)) {
+                highWaterMark = eventDate;
+                eventsAtHighWaterMark.clear();
+            }
+            if (eventsAtHighWaterMark.add(event.getRequestId() + "|" + event.getSeverity() + "|" + event.getMessage())) {
+                newEvents.add(event);
+            }
+        }
+        return newEvents;
+    }
+
+    private void printEvents(List<EventDescription> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (consoleStream == null) {
+            MessageConsole console = PluginUtils.getOrCreateMessageConsole(
+                    "AWS Elastic Beanstalk Events - " + environmentName);
+            ConsolePlugin.getDefault().getConsoleManager().showConsoleView(console);
+            consoleStream = console.newMessageStream();
+        }
+        for (EventDescription event : events) {
+            consoleStream.println(String.format("%tF %<tT  %-5s  %s",
+                    event.getEventDate(), event.getSeverity(), event.getMessage()));
+        }
+    }
+
+    /**
+     * Returns whether the given environment is launching, updating or
+     * terminating.
+     */
+    private static boolean isChanging(EnvironmentDescription environmentDescription) {
+        String status = environmentDescription.getStatus();
+        return EnvironmentStatus.Launching.toString().equals(status)
+                || EnvironmentStatus.Updating.toString().equals(status)
+                || EnvironmentStatus.Terminating.toString().equals(status);
+    }
+}
@@ -26,6 +26,7 @@ import com.amazonaws.eclipse.core.AwsToolkitCore;
 import com.amazonaws.eclipse.elasticbeanstalk.ElasticBeanstalkPlugin;
 import com.amazonaws.eclipse.elasticbeanstalk.Environment;
 import com.amazonaws.eclipse.elasticbeanstalk.EnvironmentBehavior;
+import com.amazonaws.eclipse.elasticbeanstalk.EnvironmentEventTailer;
 import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
 import com.amazonaws.services.elasticbeanstalk.model.RestartAppServerRequest;
 
@@ -51,6 +52,7 @@ public class RestartEnvironmentJob extends Job {
         try {
             client.restartAppServer(new RestartAppServerRequest().withEnvironmentName(environment.getEnvironmentName()));
             behavior.updateServerState(IServer.STATE_STARTED);
+            EnvironmentEventTailer.getInstance(environment).followUntilSettled();
             return Status.OK_STATUS;
         } catch (AmazonClientException ace) {
             return new Status(Status.ERROR, ElasticBeanstalkPlugin.PLUGIN_ID,
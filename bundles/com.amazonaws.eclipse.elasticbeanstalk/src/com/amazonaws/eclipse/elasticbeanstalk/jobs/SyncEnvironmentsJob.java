@@ -16,8 +16,20 @@ package com.amazonaws.eclipse.elasticbeanstalk.jobs;
 
 import static com.amazonaws.eclipse.elasticbeanstalk.ElasticBeanstalkPlugin.trace;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -36,15 +48,48 @@ import com.amazonaws.eclipse.elasticbeanstalk.ElasticBeanstalkPlugin;
 import com.amazonaws.eclipse.elasticbeanstalk.Environment;
 import com.amazonaws.eclipse.elasticbeanstalk.EnvironmentBehavior;
 import com.amazonaws.eclipse.elasticbeanstalk.util.ElasticBeanstalkClientExtensions;
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
 import com.amazonaws.services.elasticbeanstalk.model.ConfigurationSettingsDescription;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeConfigurationSettingsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEnvironmentsRequest;
 import com.amazonaws.services.elasticbeanstalk.model.EnvironmentDescription;
 import com.amazonaws.services.elasticbeanstalk.model.EnvironmentStatus;
 
+/**
+ * Keeps the AWS Elastic Beanstalk servers in sync with their environments.
+ * <p>
+ * The environments are grouped by account, region and application, and each
+ * group is described with a single DescribeEnvironments request; the groups
+ * are described concurrently. The configuration settings of an environment
+ * are only fetched again once its DateUpdated changed and it is done
+ * changing. Each environment is polled on its own schedule: every few seconds
+ * while it is launching, updating or terminating, backing off to
+ * {@link #SHORT_DELAY}, and every {@link #LONG_DELAY} otherwise; the job
+ * wakes up when the next one is due.
+ */
 public class SyncEnvironmentsJob extends Job {
 
-    private static final int SHORT_DELAY = 1000 * 30;
-    private static final int LONG_DELAY = 1000 * 60 * 4;
+    static final int TRANSITIONING_DELAY = 1000 * 5;
+    static final int SHORT_DELAY = 1000 * 30;
+    static final int LONG_DELAY = 1000 * 60 * 4;
+    private static final int MAX_CONCURRENT_REQUESTS = 4;
     private static final Random RANDOM = new Random();
+
+    private static final ThreadPoolExecutor executor;
+    static {
+        executor = new ThreadPoolExecutor(MAX_CONCURRENT_REQUESTS, MAX_CONCURRENT_REQUESTS, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "Elastic Beanstalk environment sync");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /** What is known about the environment of each server, by server id; only used by the job. */
+    private final Map<String, PollState> pollStates = new HashMap<>();
+
+    private volatile boolean syncAllRequested;
     private String previousErrorMessage;
 
 
@@ -58,36 +103,91 @@ public class SyncEnvironmentsJob extends Job {
         setUser(false);
     }
 
+    /**
+     * Synchronizes all environments as soon as possible, whether they are due
+     * or not, e.g. after one of them was changed from the toolkit.
+     */
+    public void syncAll() {
+        syncAllRequested = true;
+        wakeUp();
+    }
+
     @Override
     protected IStatus run(IProgressMonitor monitor) {
         monitor.beginTask("Syncing", IProgressMonitor.UNKNOWN);
         trace("Syncing environment statuses");
 
-        boolean transitioningEnvironment = false;
-        Exception syncingError = null;
+        boolean syncAll = syncAllRequested;
+        syncAllRequested = false;
+        long now = System.currentTimeMillis();
+
+        List<Target> due = new ArrayList<>();
+        Map<String, PollState> seenStates = new HashMap<>();
         for (IServer server : ServerCore.getServers()) {
             if (server.getServerType() == null) continue;
             String id = server.getServerType().getId();
 
             if (ElasticBeanstalkPlugin.SERVER_TYPE_IDS.contains(id)) {
+                PollState state = pollStates.get(server.getId());
+                if (state == null) {
+                    state = new PollState();
+                }
+                seenStates.put(server.getId(), state);
+                if (!syncAll && state.nextPollMillis > now) {
+                    continue;
+                }
+
                 convertLegacyServer(server, monitor);
                 Environment environment = (Environment)server.loadAdapter(Environment.class, monitor);
                 EnvironmentBehavior behavior = (EnvironmentBehavior)server.loadAdapter(EnvironmentBehavior.class, monitor);
+                due.add(new Target(server, environment, behavior, state));
+            }
+        }
+        // Forget the servers that were deleted
+        pollStates.keySet().retainAll(seenStates.keySet());
+        pollStates.putAll(seenStates);
 
-                monitor.setTaskName("Syncing environment " + environment.getEnvironmentName());
-                try {
-                    trace("Syncing server: " + server.getName() + ", " + "environment: " + environment.getEnvironmentName());
-                    transitioningEnvironment |= syncEnvironment(environment, behavior);
-                    previousErrorMessage = null;
-                } catch (AmazonClientException ace) {
-                    syncingError = ace;
+        Map<String, List<Target>> groups = groupByApplication(due);
+
+        List<Future<Map<Target, EnvironmentDescription>>> futures = new ArrayList<>();
+        for (final List<Target> group : groups.values()) {
+            futures.add(executor.submit(new Callable<Map<Target, EnvironmentDescription>>() {
+                @Override
+                public Map<Target, EnvironmentDescription> call() {
+                    return describeGroup(group);
                 }
+            }));
+        }
+
+        Exception syncingError = null;
+        int i = 0;
+        for (List<Target> group : groups.values()) {
+            Future<Map<Target, EnvironmentDescription>> future = futures.get(i++);
+            monitor.setTaskName("Syncing environments of application " + group.get(0).environment.getApplicationName());
+            try {
+                Map<Target, EnvironmentDescription> descriptions = future.get();
+                for (Target target : group) {
+                    trace("Syncing server: " + target.server.getName() + ", " + "environment: " + target.environment.getEnvironmentName());
+                    syncEnvironment(target, descriptions.get(target), now);
+                }
+            } catch (ExecutionException e) {
+                syncingError = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                for (Target target : group) {
+                    target.state.intervalMillis = LONG_DELAY;
+                    target.state.nextPollMillis = now + LONG_DELAY;
+                }
+            } catch (InterruptedException e) {
+                for (Future<Map<Target, EnvironmentDescription>> pending : futures) {
+                    pending.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                return Status.CANCEL_STATUS;
             }
         }
 
-        if ( syncingError != null ) {
-            schedule(LONG_DELAY);
+        schedule(getDelayUntilNextPoll() + RANDOM.nextInt(1000));
 
+        if ( syncingError != null ) {
             // Don't keep complaining about being unable to synchronize
             if ( previousErrorMessage != null &&
                     previousErrorMessage.equals(syncingError.getMessage()) ) {
@@ -99,25 +199,120 @@ public class SyncEnvironmentsJob extends Job {
                     "Unable to synchronize an environment", syncingError);
         }
 
-        if (transitioningEnvironment) schedule(SHORT_DELAY + RANDOM.nextInt(5 * 1000));
-        else schedule(LONG_DELAY + RANDOM.nextInt(5 * 1000));
-
+        if ( !groups.isEmpty() ) {
+            previousErrorMessage = null;
+        }
         return Status.OK_STATUS;
     }
 
     /**
-     * Synchronizes the environment given with its AWS Elastic Beanstalk state and returns whether
-     * it should be considered in a "transitioning" state.
+     * Groups the given servers by account, region and application, keeping
+     * their order, so that each group can be described with one request.
      */
-    private boolean syncEnvironment(Environment environment, EnvironmentBehavior behavior) {
-        ElasticBeanstalkClientExtensions clientExt = new ElasticBeanstalkClientExtensions(environment);
+    static Map<String, List<Target>> groupByApplication(List<Target> targets) {
+        Map<String, List<Target>> groups = new LinkedHashMap<>();
+        for (Target target : targets) {
+            Environment environment = target.environment;
+            String groupKey = environment.getAccountId() + "|" + environment.getRegionEndpoint() + "|"
+                    + environment.getApplicationName();
+            List<Target> group = groups.get(groupKey);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(groupKey, group);
+            }
+            group.add(target);
+        }
+        return groups;
+    }
 
-        EnvironmentDescription environmentDescription = clientExt.getEnvironmentDescription(environment.getEnvironmentName());
-        List<ConfigurationSettingsDescription> settings = environment.getCurrentSettings();
-        behavior.updateServer(environmentDescription, settings);
+    /**
+     * Returns how long until the first environment is due, or
+     * {@link #LONG_DELAY} if there is none.
+     */
+    private long getDelayUntilNextPoll() {
+        long now = System.currentTimeMillis();
+        long next = now + LONG_DELAY;
+        for (PollState state : pollStates.values()) {
+            next = Math.min(next, state.nextPollMillis);
+        }
+        return Math.max(1000, next - now);
+    }
 
-        if (environmentDescription == null) return false;
+    /**
+     * Describes the environments of one group with a single request, and
+     * fetches the configuration settings of those that have changed since
+     * their settings were last fetched and are done changing. Called on the
+     * executor.
+     */
+    static Map<Target, EnvironmentDescription> describeGroup(List<Target> group) {
+        Target first = group.get(0);
+        AWSElasticBeanstalk client = first.environment.getClient();
+
+        List<String> environmentNames = new ArrayList<>();
+        for (Target target : group) {
+            environmentNames.add(target.environment.getEnvironmentName());
+        }
+        List<EnvironmentDescription> environments = client.describeEnvironments(new DescribeEnvironmentsRequest()
+                .withApplicationName(first.environment.getApplicationName())
+                .withEnvironmentNames(environmentNames)).getEnvironments();
+
+        Map<Target, EnvironmentDescription> descriptions = new HashMap<>();
+        for (Target target : group) {
+            EnvironmentDescription description = ElasticBeanstalkClientExtensions.findEnvironment(environments, target.environment.getEnvironmentName());
+            descriptions.put(target, description);
+
+            if (description == null || isTerminatedOrTerminating(description)) {
+                target.fetchedSettings = Collections.emptyList();
+                continue;
+            }
+            PollState state = target.state;
+            boolean changed = state.settings == null || state.settingsDateUpdated == null
+                    || !state.settingsDateUpdated.equals(description.getDateUpdated());
+            if (changed && (state.settings == null || !isTransitioning(description))) {
+                target.fetchedSettings = client.describeConfigurationSettings(new DescribeConfigurationSettingsRequest()
+                        .withEnvironmentName(target.environment.getEnvironmentName())
+                        .withApplicationName(target.environment.getApplicationName())).getConfigurationSettings();
+            }
+        }
+        return descriptions;
+    }
+
+    /**
+     * Synchronizes the server given with the description of its environment,
+     * and schedules its next poll depending on whether the environment is in
+     * a "transitioning" state.
+     */
+    private void syncEnvironment(Target target, EnvironmentDescription environmentDescription, long now) {
+        PollState state = target.state;
+        if (target.fetchedSettings != null) {
+            state.settings = target.fetchedSettings;
+            state.settingsDateUpdated = environmentDescription == null ? null : environmentDescription.getDateUpdated();
+        }
+        target.behavior.updateServer(environmentDescription, state.settings);
+
+        state.intervalMillis = getNextPollInterval(state.intervalMillis,
+                environmentDescription != null && isTransitioning(environmentDescription));
+        state.nextPollMillis = now + state.intervalMillis;
+    }
+
+    /**
+     * Returns how long to wait before polling an environment again, given
+     * the previous wait: {@link #TRANSITIONING_DELAY} once it starts changing,
+     * doubling up to {@link #SHORT_DELAY} while it keeps changing, and
+     * {@link #LONG_DELAY} once it is done.
+     */
+    static long getNextPollInterval(long intervalMillis, boolean transitioning) {
+        if (!transitioning) {
+            return LONG_DELAY;
+        }
+        return intervalMillis < LONG_DELAY ? Math.min(SHORT_DELAY, intervalMillis * 2) : TRANSITIONING_DELAY;
+    }
 
+    /**
+     * Returns whether the environment given should be considered in a
+     * "transitioning" state.
+     */
+    private static boolean isTransitioning(EnvironmentDescription environmentDescription) {
         EnvironmentStatus environmentStatus = null;
         try {
             environmentStatus = EnvironmentStatus.fromValue(environmentDescription.getStatus());
@@ -132,6 +327,11 @@ public class SyncEnvironmentsJob extends Job {
                 environmentStatus == EnvironmentStatus.Terminating);
     }
 
+    private static boolean isTerminatedOrTerminating(EnvironmentDescription environmentDescription) {
+        return EnvironmentStatus.Terminated.toString().equals(environmentDescription.getStatus())
+                || EnvironmentStatus.Terminating.toString().equals(environmentDescription.getStatus());
+    }
+
     /**
      * We change the data model to save the server environment information. This
      * function is used to convert the old data format to the new one.
@@ -147,4 +347,33 @@ public class SyncEnvironmentsJob extends Job {
         }
     }
 
+    /**
+     * What is known about the environment of a server between syncs.
+     */
+    static final class PollState {
+        List<ConfigurationSettingsDescription> settings;
+        Date settingsDateUpdated;
+        long intervalMillis = LONG_DELAY;
+        long nextPollMillis;
+    }
+
+    /**
+     * A server being synchronized during one run of the job.
+     */
+    static final class Target {
+        private final IServer server;
+        private final Environment environment;
+        private final EnvironmentBehavior behavior;
+        private final PollState state;
+        /* Set by the executor if the settings were fetched */
+        List<ConfigurationSettingsDescription> fetchedSettings;
+
+        Target(IServer server, Environment environment, EnvironmentBehavior behavior, PollState state) {
+            this.server = server;
+            this.environment = environment;
+            this.behavior = behavior;
+            this.state = state;
+        }
+    }
+
 }
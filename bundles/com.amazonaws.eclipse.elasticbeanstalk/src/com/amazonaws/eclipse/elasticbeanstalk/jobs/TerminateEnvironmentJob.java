@@ -31,6 +31,7 @@ import com.amazonaws.eclipse.core.AwsToolkitCore;
 import com.amazonaws.eclipse.elasticbeanstalk.ElasticBeanstalkPlugin;
 import com.amazonaws.eclipse.elasticbeanstalk.Environment;
 import com.amazonaws.eclipse.elasticbeanstalk.EnvironmentBehavior;
+import com.amazonaws.eclipse.elasticbeanstalk.EnvironmentEventTailer;
 import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
 import com.amazonaws.services.elasticbeanstalk.model.EnvironmentDescription;
 import com.amazonaws.services.elasticbeanstalk.model.TerminateEnvironmentRequest;
@@ -77,6 +78,7 @@ public class TerminateEnvironmentJob extends Job {
         try {
             if (doesEnvironmentExist()) {
                 client.terminateEnvironment(new TerminateEnvironmentRequest().withEnvironmentName(environment.getEnvironmentName()));
+                EnvironmentEventTailer.getInstance(environment).followUntilSettled();
             }
             
             // It's more correct to set the state to stopping, rather than stopped immediately, 
@@ -149,6 +149,27 @@ public class ElasticBeanstalkClientExtensions {
         }
     }
 
+    /**
+     * Returns the description of the environment with the given name among
+     * the ones given, preferring a live environment over a terminated one of
+     * the same name; null if there's none.
+     */
+    public static EnvironmentDescription findEnvironment(List<EnvironmentDescription> environments,
+            String environmentName) {
+        EnvironmentDescription found = null;
+        for (EnvironmentDescription environment : environments) {
+            if (environmentName.equals(environment.getEnvironmentName())) {
+                if (!isStatusTerminatedOrTerminating(environment.getStatus())) {
+                    return environment;
+                }
+                if (found == null) {
+                    found = environment;
+                }
+            }
+        }
+        return found;
+    }
+
     private static boolean isStatusTerminatedOrTerminating(String status) {
         if (status.equals(EnvironmentStatus.Terminated.toString())
                 || status.equals(EnvironmentStatus.Terminating.toString())) {
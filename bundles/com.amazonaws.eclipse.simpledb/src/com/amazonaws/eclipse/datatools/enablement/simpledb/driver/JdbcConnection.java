@@ -15,6 +15,7 @@
 package com.amazonaws.eclipse.datatools.enablement.simpledb.driver;
 
 import java.sql.Array;
+import java.sql.BatchUpdateException;
 import java.sql.Blob;
 import java.sql.CallableStatement;
 import java.sql.Clob;
@@ -31,12 +32,14 @@ import java.sql.Savepoint;
 import java.sql.Statement;
 import java.sql.Struct;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Executor;
 
+import com.amazonaws.eclipse.datatools.enablement.simpledb.internal.driver.BatchRequestExecutor;
 import com.amazonaws.eclipse.datatools.enablement.simpledb.internal.driver.JdbcDatabaseMetaData;
 import com.amazonaws.eclipse.datatools.enablement.simpledb.internal.driver.JdbcPreparedStatement;
 import com.amazonaws.eclipse.datatools.enablement.simpledb.internal.driver.JdbcStatement;
@@ -58,9 +61,15 @@ public class JdbcConnection implements Connection {
     /** Map of domain_name to list of attribute_name, where attributes are temporary ones not yet existing in the SDB. */
     private Map<String, List<String>> pendingColumns = new HashMap<>();
 
+    /** Item writes of the current transaction, sent in batches when it is committed. */
+    private final List<Collection<?>> pendingWrites = new ArrayList<>();
+
     /** The SimpleDB service endpoint this JDBC driver will talk to */
     private final String endpoint;
 
+    /** The client of this connection, created when first needed */
+    private AmazonSimpleDB client;
+
     /**
      * Creates a new JDBC connection to Amazon SimpleDB, using the specified
      * driver to connect to the specified endpoint, and the access key and
@@ -86,12 +95,23 @@ public class JdbcConnection implements Connection {
     /**
      * @return an instance of the AmazonSDB driver
      */
-    public AmazonSimpleDB getClient() {
-        try {
-            return this.driver.getClient(this.accessKey, this.secretKey, this.endpoint);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+    public synchronized AmazonSimpleDB getClient() {
+        if (this.client == null) {
+            try {
+                this.client = this.driver.getClient(this.accessKey, this.secretKey, this.endpoint);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
         }
+        return this.client;
+    }
+
+    /**
+     * @return the domain and attribute names of the account and endpoint of this connection, shared with the other
+     *         connections and views of the same account and endpoint
+     */
+    public SimpleDBMetadataCache getMetadataCache() {
+        return SimpleDBMetadataCache.getInstance(this.accessKey, this.endpoint);
     }
 
     @Override
@@ -99,22 +119,80 @@ public class JdbcConnection implements Connection {
     }
 
     @Override
-    public void close() throws SQLException {
+    public synchronized void close() throws SQLException {
+        this.pendingWrites.clear();
+        this.client = null;
         this.driver = null;
         this.accessKey = null;
         this.secretKey = null;
     }
 
     @Override
-    public void commit() throws SQLException {
+    public synchronized void commit() throws SQLException {
         assertOpen();
-        //    close();
+        if (!this.pendingWrites.isEmpty()) {
+            List<Collection<?>> writes = new ArrayList<>(this.pendingWrites);
+            this.pendingWrites.clear();
+            execute(writes);
+        }
     }
 
     @Override
-    public void rollback() throws SQLException {
+    public synchronized void rollback() throws SQLException {
+        assertOpen();
+        this.pendingWrites.clear();
+    }
+
+    /**
+     * Executes the given groups of SimpleDB requests, e.g. one group per statement of a batch, sending the item writes
+     * in batches. In auto-commit mode, or if there are other requests than item writes, the requests are sent right
+     * away, after the writes of the current transaction; otherwise they are only sent when the transaction is
+     * committed, along with its other writes.
+     *
+     * @return The update count of every group
+     * @throws java.sql.BatchUpdateException
+     *           If a request failed
+     */
+    public synchronized int[] executeRequests(final List<? extends Collection<?>> groups) throws SQLException {
         assertOpen();
-        //    close();
+        if (!this.autoCommit && isItemWrites(groups)) {
+            int[] counts = BatchRequestExecutor.getUpdateCounts(groups);
+            this.pendingWrites.addAll(groups);
+            return counts;
+        }
+        commit();
+        return execute(groups);
+    }
+
+    private int[] execute(final List<? extends Collection<?>> groups) throws SQLException {
+        SimpleDBMetadataCache cache = getMetadataCache();
+        try {
+            int[] counts = new BatchRequestExecutor(getClient()).execute(groups);
+            cache.requestExecuted(groups);
+            return counts;
+        } catch (BatchUpdateException e) {
+            int[] counts = e.getUpdateCounts();
+            for (int i = 0; i < groups.size(); i++) {
+                if (counts != null && i < counts.length && counts[i] != Statement.EXECUTE_FAILED) {
+                    cache.requestExecuted(groups.get(i));
+                } else {
+                    // Some of the requests of the group may have been executed
+                    cache.requestFailed(groups.get(i));
+                }
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isItemWrites(final List<? extends Collection<?>> groups) {
+        for (Collection<?> group : groups) {
+            for (Object request : group) {
+                if (!BatchRequestExecutor.isItemWrite(request)) {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
     private void assertCursorOptions(final int resultSetType, final int resultSetConcurrency,
@@ -269,7 +347,10 @@ public class JdbcConnection implements Connection {
     }
 
     @Override
-    public void setAutoCommit(final boolean autoCommit) throws SQLException {
+    public synchronized void setAutoCommit(final boolean autoCommit) throws SQLException {
+        if (autoCommit && !this.autoCommit) {
+            commit();
+        }
         this.autoCommit = autoCommit;
     }
 
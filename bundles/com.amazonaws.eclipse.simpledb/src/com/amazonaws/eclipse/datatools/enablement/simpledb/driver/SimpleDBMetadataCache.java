@@ -0,0 +1,472 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.datatools.enablement.simpledb.driver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.eclipse.core.AccountInfo;
+import com.amazonaws.eclipse.core.AwsToolkitCore;
+import com.amazonaws.eclipse.core.regions.RegionUtils;
+import com.amazonaws.eclipse.core.regions.ServiceAbbreviations;
+import com.amazonaws.services.simpledb.AmazonSimpleDB;
+import com.amazonaws.services.simpledb.model.Attribute;
+import com.amazonaws.services.simpledb.model.BatchDeleteAttributesRequest;
+import com.amazonaws.services.simpledb.model.BatchPutAttributesRequest;
+import com.amazonaws.services.simpledb.model.CreateDomainRequest;
+import com.amazonaws.services.simpledb.model.DeleteAttributesRequest;
+import com.amazonaws.services.simpledb.model.DeleteDomainRequest;
+import com.amazonaws.services.simpledb.model.DomainMetadataRequest;
+import com.amazonaws.services.simpledb.model.DomainMetadataResult;
+import com.amazonaws.services.simpledb.model.Item;
+import com.amazonaws.services.simpledb.model.ListDomainsRequest;
+import com.amazonaws.services.simpledb.model.ListDomainsResult;
+import com.amazonaws.services.simpledb.model.NoSuchDomainException;
+import com.amazonaws.services.simpledb.model.PutAttributesRequest;
+import com.amazonaws.services.simpledb.model.ReplaceableAttribute;
+import com.amazonaws.services.simpledb.model.ReplaceableItem;
+import com.amazonaws.services.simpledb.model.SelectRequest;
+import com.amazonaws.services.simpledb.model.SelectResult;
+
+/**
+ * Keeps the domain names and attribute names of one SimpleDB account and
+ * endpoint, so that JDBC connections, the explorer and the query editor share
+ * them instead of each listing the domains and sampling their items on their
+ * own.
+ * <p>
+ * Once known, names are always returned right away; when they are older than
+ * their max age they are fetched again in the background. The attribute names
+ * of a domain are only sampled again if its {@code DomainMetadata} shows that
+ * they changed, and sampling reads at most {@link #SAMPLE_ITEM_BUDGET} items,
+ * stopping as soon as all the attribute names the metadata counts have been
+ * seen.
+ */
+public class SimpleDBMetadataCache {
+
+    /** How long a list of domains is used before it is fetched again. */
+    public static final long DOMAINS_MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /** How long the attribute names of a domain are used before its metadata is checked again. */
+    public static final long ATTRIBUTES_MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /** The most items read from a domain to find its attribute names. */
+    public static final int SAMPLE_ITEM_BUDGET = 5000;
+
+    private static final int MAX_DOMAINS_PER_REQUEST = 100;
+    private static final int MAX_ITEMS_PER_SELECT = 2500;
+    private static final int MAX_CONCURRENT_REQUESTS = 4;
+
+    private static final Map<String, SimpleDBMetadataCache> caches = new HashMap<>();
+
+    private static final ThreadPoolExecutor executor;
+    static {
+        executor = new ThreadPoolExecutor(MAX_CONCURRENT_REQUESTS, MAX_CONCURRENT_REQUESTS, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "SimpleDB metadata"); //$NON-NLS-1$
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the cache of the given account and endpoint.
+     *
+     * @param accessKey
+     *            The AWS access key of the account.
+     * @param endpoint
+     *            The SimpleDB endpoint, with or without its scheme.
+     */
+    public static synchronized SimpleDBMetadataCache getInstance(final String accessKey, final String endpoint) {
+        String key = accessKey + "@" + normalizeEndpoint(endpoint); //$NON-NLS-1$
+        SimpleDBMetadataCache cache = caches.get(key);
+        if (cache == null) {
+            cache = new SimpleDBMetadataCache();
+            caches.put(key, cache);
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the cache of the given toolkit account and the current region,
+     * i.e. the one of the clients the explorer and the editors use.
+     *
+     * @param accountId
+     *            The account, or null for the currently selected one.
+     */
+    public static SimpleDBMetadataCache getInstance(final String accountId) {
+        AccountInfo accountInfo = accountId == null ? AwsToolkitCore.getDefault().getAccountInfo()
+                : AwsToolkitCore.getDefault().getAccountManager().getAccountInfo(accountId);
+        return getInstance(accountInfo.getAccessKey(),
+                RegionUtils.getCurrentRegion().getServiceEndpoint(ServiceAbbreviations.SIMPLEDB));
+    }
+
+    private static String normalizeEndpoint(String endpoint) {
+        if (endpoint == null) {
+            return ""; //$NON-NLS-1$
+        }
+        endpoint = endpoint.trim().toLowerCase();
+        int pos = endpoint.indexOf("://"); //$NON-NLS-1$
+        if (pos >= 0) {
+            endpoint = endpoint.substring(pos + 3);
+        }
+        while (endpoint.endsWith("/")) { //$NON-NLS-1$
+            endpoint = endpoint.substring(0, endpoint.length() - 1);
+        }
+        return endpoint;
+    }
+
+    private volatile DomainList domains;
+    private final Map<String, AttributeNames> attributes = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    private SimpleDBMetadataCache() {
+    }
+
+    /**
+     * Returns the names of all domains, sorted. They are listed only the
+     * first time; after that the known names are returned, and listed again
+     * in the background once they are older than
+     * {@link #DOMAINS_MAX_AGE_MILLIS}.
+     */
+    public List<String> getDomainNames(final AmazonSimpleDB client) throws AmazonClientException {
+        DomainList known = this.domains;
+        if (known == null) {
+            return loadDomainNames(client);
+        }
+        if (System.currentTimeMillis() - known.fetchedMillis > DOMAINS_MAX_AGE_MILLIS) {
+            refreshInBackground("", () -> loadDomainNames(client)); //$NON-NLS-1$
+        }
+        return known.names;
+    }
+
+    /** Returns the known names of all domains, without calling SimpleDB; null if they haven't been listed yet. */
+    public List<String> getCachedDomainNames() {
+        DomainList known = this.domains;
+        return known == null ? null : known.names;
+    }
+
+    /** Lists the domains again, page by page, and returns their names. */
+    public List<String> loadDomainNames(final AmazonSimpleDB client) throws AmazonClientException {
+        long now = System.currentTimeMillis();
+        Set<String> names = new TreeSet<>();
+        String nextToken = null;
+        do {
+            ListDomainsResult result = client.listDomains(new ListDomainsRequest()
+                    .withMaxNumberOfDomains(MAX_DOMAINS_PER_REQUEST).withNextToken(nextToken));
+            names.addAll(result.getDomainNames());
+            nextToken = result.getNextToken();
+        } while (nextToken != null);
+
+        for (String domain : this.attributes.keySet()) {
+            if (!names.contains(domain)) {
+                this.attributes.remove(domain);
+            }
+        }
+        DomainList list = new DomainList(names, now);
+        this.domains = list;
+        return list.names;
+    }
+
+    /**
+     * Returns the attribute names of the given domain, sorted. They are
+     * sampled only the first time; after that the known names are returned,
+     * and once they are older than {@link #ATTRIBUTES_MAX_AGE_MILLIS} the
+     * metadata of the domain is checked in the background, sampling its items
+     * again only if their attribute names changed.
+     *
+     * @throws NoSuchDomainException
+     *             If the domain doesn't exist; it is forgotten.
+     */
+    public List<String> getAttributeNames(final AmazonSimpleDB client, final String domain)
+            throws AmazonClientException {
+        AttributeNames known = this.attributes.get(domain);
+        if (known == null) {
+            return loadAttributeNames(client, domain);
+        }
+        if (System.currentTimeMillis() - known.checkedMillis > ATTRIBUTES_MAX_AGE_MILLIS) {
+            refreshInBackground(domain, () -> loadAttributeNames(client, domain));
+        }
+        return known.names;
+    }
+
+    /** Returns the known attribute names of the given domain, without calling SimpleDB; null if none are known. */
+    public List<String> getCachedAttributeNames(final String domain) {
+        AttributeNames known = this.attributes.get(domain);
+        return known == null ? null : known.names;
+    }
+
+    /**
+     * Checks the metadata of the given domain and returns its attribute
+     * names, sampling its items again if the names might have changed since
+     * they were last sampled.
+     */
+    public List<String> loadAttributeNames(final AmazonSimpleDB client, final String domain)
+            throws AmazonClientException {
+        long now = System.currentTimeMillis();
+        DomainMetadataResult metadata;
+        try {
+            metadata = client.domainMetadata(new DomainMetadataRequest().withDomainName(domain));
+        } catch (NoSuchDomainException e) {
+            forgetDomain(domain);
+            throw e;
+        }
+
+        AttributeNames known = this.attributes.get(domain);
+        if (known != null && known.isSampledFrom(metadata)) {
+            // Merged with the entry as it is now, so that names written meanwhile are kept
+            AttributeNames checked = this.attributes.computeIfPresent(domain,
+                    (key, current) -> current.isSampledFrom(metadata) ? current.checkedAt(now) : current);
+            return checked == null ? known.names : checked.names;
+        }
+
+        Set<String> names = new TreeSet<>();
+        int expected = metadata.getAttributeNameCount() == null ? Integer.MAX_VALUE
+                : metadata.getAttributeNameCount();
+        int budget = SAMPLE_ITEM_BUDGET;
+        String nextToken = null;
+        do {
+            String query = "select * from `" + domain.replace("`", "``") + "` limit " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+                    + Math.min(budget, MAX_ITEMS_PER_SELECT);
+            SelectResult result = client.select(new SelectRequest(query).withNextToken(nextToken));
+            for (Item item : result.getItems()) {
+                for (Attribute attribute : item.getAttributes()) {
+                    names.add(attribute.getName());
+                }
+            }
+            budget -= result.getItems().size();
+            nextToken = result.getNextToken();
+        } while (nextToken != null && budget > 0 && names.size() < expected);
+
+        // Keep the names written since the metadata was last calculated, including those written while sampling
+        AttributeNames sampled = this.attributes.compute(domain, (key, current) -> {
+            Set<String> merged = new TreeSet<>(names);
+            if (current != null) {
+                merged.addAll(current.written);
+            }
+            return new AttributeNames(merged, metadata, now);
+        });
+        return sampled.names;
+    }
+
+    /**
+     * Lists the domains and samples the attribute names of the given domain in
+     * the background, unless they are known already, so that they can be
+     * proposed without waiting for SimpleDB.
+     */
+    public void prefetch(final AmazonSimpleDB client, final String domain) {
+        if (this.domains == null) {
+            refreshInBackground("", () -> loadDomainNames(client)); //$NON-NLS-1$
+        }
+        if (domain != null && !this.attributes.containsKey(domain)) {
+            refreshInBackground(domain, () -> loadAttributeNames(client, domain));
+        }
+    }
+
+    /** Forgets everything that is known, e.g. after the domains were changed outside of this cache. */
+    public void invalidate() {
+        this.domains = null;
+        this.attributes.clear();
+    }
+
+    /** Forgets the attribute names of the given domain, so they are sampled again when next asked for. */
+    public void invalidate(final String domain) {
+        this.attributes.remove(domain);
+    }
+
+    /** Records that the given domain was created. */
+    public void domainCreated(final String domain) {
+        DomainList known = this.domains;
+        if (known != null && !known.names.contains(domain)) {
+            Set<String> names = new TreeSet<>(known.names);
+            names.add(domain);
+            this.domains = new DomainList(names, known.fetchedMillis);
+        }
+        this.attributes.remove(domain);
+    }
+
+    /** Records that the given domain was deleted. */
+    public void forgetDomain(final String domain) {
+        DomainList known = this.domains;
+        if (known != null && known.names.contains(domain)) {
+            Set<String> names = new TreeSet<>(known.names);
+            names.remove(domain);
+            this.domains = new DomainList(names, known.fetchedMillis);
+        }
+        this.attributes.remove(domain);
+    }
+
+    /** Records that the given attributes were written to the given domain. */
+    public void attributesWritten(final String domain, final Collection<String> names) {
+        this.attributes.computeIfPresent(domain,
+                (key, known) -> known.names.containsAll(names) ? known : known.withWritten(names));
+    }
+
+    /**
+     * Records the effect of a request sent to SimpleDB, e.g. a domain created
+     * or attributes put. Other requests are ignored.
+     */
+    public void requestExecuted(final Object request) {
+        if (request instanceof Collection) {
+            for (Object single : (Collection<?>) request) {
+                requestExecuted(single);
+            }
+        } else if (request instanceof CreateDomainRequest) {
+            domainCreated(((CreateDomainRequest) request).getDomainName());
+        } else if (request instanceof DeleteDomainRequest) {
+            forgetDomain(((DeleteDomainRequest) request).getDomainName());
+        } else if (request instanceof PutAttributesRequest) {
+            PutAttributesRequest put = (PutAttributesRequest) request;
+            attributesWritten(put.getDomainName(), getNames(put.getAttributes()));
+        } else if (request instanceof BatchPutAttributesRequest) {
+            BatchPutAttributesRequest batchPut = (BatchPutAttributesRequest) request;
+            for (ReplaceableItem item : batchPut.getItems()) {
+                attributesWritten(batchPut.getDomainName(), getNames(item.getAttributes()));
+            }
+        } else if (request instanceof DeleteAttributesRequest) {
+            // The last values of an attribute may be gone
+            DeleteAttributesRequest delete = (DeleteAttributesRequest) request;
+            if (delete.getAttributes() != null && !delete.getAttributes().isEmpty()) {
+                invalidate(delete.getDomainName());
+            }
+        } else if (request instanceof BatchDeleteAttributesRequest) {
+            invalidate(((BatchDeleteAttributesRequest) request).getDomainName());
+        }
+    }
+
+    /**
+     * Forgets what a request that failed, or might have been executed only in
+     * part, might have changed.
+     */
+    public void requestFailed(final Object request) {
+        if (request instanceof Collection) {
+            for (Object single : (Collection<?>) request) {
+                requestFailed(single);
+            }
+        } else if (request instanceof CreateDomainRequest || request instanceof DeleteDomainRequest) {
+            this.domains = null;
+        } else {
+            String domain = getDomainName(request);
+            if (domain != null) {
+                invalidate(domain);
+            }
+        }
+    }
+
+    private static String getDomainName(final Object request) {
+        if (request instanceof PutAttributesRequest) {
+            return ((PutAttributesRequest) request).getDomainName();
+        } else if (request instanceof BatchPutAttributesRequest) {
+            return ((BatchPutAttributesRequest) request).getDomainName();
+        } else if (request instanceof DeleteAttributesRequest) {
+            return ((DeleteAttributesRequest) request).getDomainName();
+        } else if (request instanceof BatchDeleteAttributesRequest) {
+            return ((BatchDeleteAttributesRequest) request).getDomainName();
+        }
+        return null;
+    }
+
+    private static List<String> getNames(final List<ReplaceableAttribute> attributes) {
+        List<String> names = new ArrayList<>();
+        if (attributes == null) {
+            return names;
+        }
+        for (ReplaceableAttribute attribute : attributes) {
+            names.add(attribute.getName());
+        }
+        return names;
+    }
+
+    /** Runs the given refresh on the shared pool, unless one for the same key is running already. */
+    private void refreshInBackground(final String key, final Runnable refresh) {
+        if (!this.refreshing.add(key)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                refresh.run();
+            } catch (AmazonClientException e) {
+                // Keep the names known; they are refreshed again when next asked for
+            } finally {
+                this.refreshing.remove(key);
+            }
+        });
+    }
+
+    private static final class DomainList {
+        private final List<String> names;
+        private final long fetchedMillis;
+
+        DomainList(final Collection<String> names, final long fetchedMillis) {
+            this.names = Collections.unmodifiableList(new ArrayList<>(names));
+            this.fetchedMillis = fetchedMillis;
+        }
+    }
+
+    private static final class AttributeNames {
+        private final List<String> names;
+        /** The names written through this cache that the metadata might not count yet. */
+        private final Set<String> written;
+        private final Integer attributeNameCount;
+        private final Long attributeNamesSizeBytes;
+        private final long checkedMillis;
+
+        AttributeNames(final Collection<String> names, final DomainMetadataResult metadata, final long checkedMillis) {
+            this(names, Collections.<String>emptySet(), metadata.getAttributeNameCount(),
+                    metadata.getAttributeNamesSizeBytes(), checkedMillis);
+        }
+
+        private AttributeNames(final Collection<String> names, final Set<String> written,
+                final Integer attributeNameCount, final Long attributeNamesSizeBytes, final long checkedMillis) {
+            this.names = Collections.unmodifiableList(new ArrayList<>(names));
+            this.written = written;
+            this.attributeNameCount = attributeNameCount;
+            this.attributeNamesSizeBytes = attributeNamesSizeBytes;
+            this.checkedMillis = checkedMillis;
+        }
+
+        AttributeNames withWritten(final Collection<String> newNames) {
+            Set<String> names = new TreeSet<>(this.names);
+            names.addAll(newNames);
+            Set<String> written = new TreeSet<>(this.written);
+            written.addAll(newNames);
+            return new AttributeNames(names, written, this.attributeNameCount, this.attributeNamesSizeBytes,
+                    this.checkedMillis);
+        }
+
+        AttributeNames checkedAt(final long millis) {
+            return new AttributeNames(this.names, this.written, this.attributeNameCount, this.attributeNamesSizeBytes,
+                    millis);
+        }
+
+        /** Returns whether the names were sampled when the domain had the given attribute names. */
+        boolean isSampledFrom(final DomainMetadataResult metadata) {
+            return this.attributeNameCount != null && this.attributeNameCount.equals(metadata.getAttributeNameCount())
+                    && this.attributeNamesSizeBytes != null
+                    && this.attributeNamesSizeBytes.equals(metadata.getAttributeNamesSizeBytes());
+        }
+    }
+}
@@ -0,0 +1,411 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.datatools.enablement.simpledb.internal.driver;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.simpledb.AmazonSimpleDB;
+import com.amazonaws.services.simpledb.model.Attribute;
+import com.amazonaws.services.simpledb.model.BatchDeleteAttributesRequest;
+import com.amazonaws.services.simpledb.model.BatchPutAttributesRequest;
+import com.amazonaws.services.simpledb.model.CreateDomainRequest;
+import com.amazonaws.services.simpledb.model.DeletableItem;
+import com.amazonaws.services.simpledb.model.DeleteAttributesRequest;
+import com.amazonaws.services.simpledb.model.DeleteDomainRequest;
+import com.amazonaws.services.simpledb.model.PutAttributesRequest;
+import com.amazonaws.services.simpledb.model.ReplaceableItem;
+
+/**
+ * Sends the requests of one or more statements, e.g. of a JDBC batch or of a transaction, with as few calls to
+ * SimpleDB as possible.
+ * <p>
+ * PutAttributes and DeleteAttributes requests are coalesced into BatchPutAttributes and BatchDeleteAttributes
+ * requests of up to {@value #MAX_ITEMS_PER_BATCH} items, which are sent several at a time. The writes of one item are
+ * applied in the order they were given, and none is sent after one of them failed. Calls failing with a transient
+ * error are retried with backoff; a batch the service rejects is sent again one item at a time, so that only the
+ * offending items fail. Other requests, e.g. creating a domain, are sent on their own once the writes before them are
+ * done.
+ */
+public class BatchRequestExecutor {
+
+    static final int MAX_ITEMS_PER_BATCH = 25;
+    static final int MAX_CONCURRENT_REQUESTS = 8;
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long MIN_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 5 * 1000;
+
+    /** Sends the batches of all executors, so that all the connections together send at most a few at a time. */
+    private static final ThreadPoolExecutor executor;
+    static {
+        executor = new ThreadPoolExecutor(MAX_CONCURRENT_REQUESTS, MAX_CONCURRENT_REQUESTS, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "SimpleDB batch"); //$NON-NLS-1$
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    private final AmazonSimpleDB client;
+
+    public BatchRequestExecutor(final AmazonSimpleDB client) {
+        this.client = client;
+    }
+
+    /**
+     * @return <code>true</code> if the given request writes a single item, so that it can be sent in a batch
+     */
+    public static boolean isItemWrite(final Object request) {
+        return Write.of(request, 0) != null;
+    }
+
+    /**
+     * @return <code>true</code> if the given requests write more than one item, i.e. if some of them could share a
+     *         batch
+     */
+    public static boolean isBatchable(final Collection<?> requests) {
+        Set<List<String>> items = new HashSet<>();
+        for (Object request : requests) {
+            Write write = Write.of(request, 0);
+            if (write != null && items.add(write.item) && items.size() > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The update count of every group of requests, provided all of them succeed
+     */
+    public static int[] getUpdateCounts(final List<? extends Collection<?>> groups) throws SQLException {
+        int[] counts = new int[groups.size()];
+        for (int group = 0; group < groups.size(); group++) {
+            for (Object request : groups.get(group)) {
+                counts[group] += getUpdateCount(request);
+            }
+        }
+        return counts;
+    }
+
+    private static int getUpdateCount(final Object request) throws SQLException {
+        if (request instanceof PutAttributesRequest) {
+            return 1;
+        } else if (request instanceof BatchPutAttributesRequest) {
+            return ((BatchPutAttributesRequest) request).getItems().size();
+        } else if (request instanceof DeleteAttributesRequest) {
+            List<Attribute> attribute = ((DeleteAttributesRequest) request).getAttributes();
+            return attribute == null || attribute.isEmpty() ? 1 : 0;
+        } else if (request instanceof CreateDomainRequest || request instanceof DeleteDomainRequest) {
+            return 0;
+        } else {
+            throw new SQLException("unsupported query"); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Sends the given groups of requests, e.g. one group per statement of a batch. Every group succeeds or fails on
+     * its own.
+     *
+     * @return The update count of every group
+     * @throws BatchUpdateException
+     *           If a request failed; the groups with a failed request have an update count of
+     *           {@link Statement#EXECUTE_FAILED}, the cause is the first failure.
+     */
+    public int[] execute(final List<? extends Collection<?>> groups) throws SQLException {
+        int[] counts = getUpdateCounts(groups); // rejects unsupported requests before anything is sent
+
+        Map<Integer, AmazonClientException> failures = new TreeMap<>();
+        Map<List<String>, AmazonClientException> failedItems = new HashMap<>();
+        List<Write> writes = new ArrayList<>();
+        for (int group = 0; group < groups.size(); group++) {
+            for (final Object request : groups.get(group)) {
+                Write write = Write.of(request, group);
+                if (write != null) {
+                    writes.add(write);
+                    continue;
+                }
+
+                executeWrites(writes, failures, failedItems);
+                writes.clear();
+                try {
+                    executeWithRetries(request);
+                } catch (AmazonClientException e) {
+                    putFailure(failures, group, e);
+                }
+            }
+        }
+        executeWrites(writes, failures, failedItems);
+
+        if (failures.isEmpty()) {
+            return counts;
+        }
+        for (Integer group : failures.keySet()) {
+            counts[group] = Statement.EXECUTE_FAILED;
+        }
+        AmazonClientException first = failures.values().iterator().next();
+        throw new BatchUpdateException(first.getLocalizedMessage(), counts, first);
+    }
+
+    /*
+     * Sends the given writes in batches. The n'th write of every item goes in the n'th round, so that the writes of
+     * an item keep their order and no batch names an item twice; the batches of a round are sent concurrently. Once a
+     * write of an item fails, its later writes are not sent, and their groups fail as well; the items that failed are
+     * kept in the given map.
+     */
+    private void executeWrites(final List<Write> writes, final Map<Integer, AmazonClientException> failures,
+            final Map<List<String>, AmazonClientException> failedItems) throws SQLException {
+        if (writes.isEmpty()) {
+            return;
+        }
+
+        Map<List<String>, Integer> writesPerItem = new HashMap<>();
+        List<List<Write>> rounds = new ArrayList<>();
+        for (Write write : writes) {
+            Integer round = writesPerItem.get(write.item);
+            round = round == null ? 0 : round + 1;
+            writesPerItem.put(write.item, round);
+            if (round == rounds.size()) {
+                rounds.add(new ArrayList<Write>());
+            }
+            rounds.get(round).add(write);
+        }
+
+        for (List<Write> round : rounds) {
+            List<Write> pending = new ArrayList<>();
+            for (Write write : round) {
+                AmazonClientException itemFailure = failedItems.get(write.item);
+                if (itemFailure != null) {
+                    // Applying the later writes of the item would leave it half updated
+                    putFailure(failures, write.group, itemFailure);
+                } else {
+                    pending.add(write);
+                }
+            }
+
+            List<Future<Map<Write, AmazonClientException>>> futures = new ArrayList<>();
+            for (final List<Write> batch : toBatches(pending)) {
+                futures.add(executor.submit(() -> executeBatch(batch)));
+            }
+            try {
+                for (Future<Map<Write, AmazonClientException>> future : futures) {
+                    for (Map.Entry<Write, AmazonClientException> failure : future.get().entrySet()) {
+                        Write write = failure.getKey();
+                        putFailure(failures, write.group, failure.getValue());
+                        if (!failedItems.containsKey(write.item)) {
+                            failedItems.put(write.item, failure.getValue());
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                cancel(futures);
+                Thread.currentThread().interrupt();
+                throw new SQLException("interrupted while writing items", e); //$NON-NLS-1$
+            } catch (ExecutionException e) {
+                cancel(futures);
+                throw new SQLException(e.getCause().getLocalizedMessage(), e.getCause());
+            }
+        }
+    }
+
+    private static void cancel(final List<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /* Splits the given writes into batches of the same kind of writes to the same domain. */
+    private static List<List<Write>> toBatches(final List<Write> writes) {
+        Map<List<Object>, List<Write>> writesPerKind = new LinkedHashMap<>();
+        for (Write write : writes) {
+            List<Object> kind = Arrays.<Object>asList(write.domain, write.request.getClass());
+            List<Write> sameKind = writesPerKind.get(kind);
+            if (sameKind == null) {
+                sameKind = new ArrayList<>();
+                writesPerKind.put(kind, sameKind);
+            }
+            sameKind.add(write);
+        }
+
+        List<List<Write>> batches = new ArrayList<>();
+        for (List<Write> sameKind : writesPerKind.values()) {
+            for (int i = 0; i < sameKind.size(); i += MAX_ITEMS_PER_BATCH) {
+                batches.add(sameKind.subList(i, Math.min(sameKind.size(), i + MAX_ITEMS_PER_BATCH)));
+            }
+        }
+        return batches;
+    }
+
+    /* Sends one batch of writes of the same kind, returning the writes that failed. */
+    private Map<Write, AmazonClientException> executeBatch(final List<Write> batch) {
+        Map<Write, AmazonClientException> failures = new HashMap<>();
+        try {
+            executeWithRetries(batch.size() == 1 ? batch.get(0).request : toBatchRequest(batch));
+        } catch (AmazonServiceException e) {
+            if (batch.size() > 1 && !isRetryable(e)) {
+                // The whole batch is rejected for a single bad item; only that one should fail
+                for (Write write : batch) {
+                    try {
+                        executeWithRetries(write.request);
+                    } catch (AmazonClientException ex) {
+                        failures.put(write, ex);
+                    }
+                }
+            } else {
+                putFailures(failures, batch, e);
+            }
+        } catch (AmazonClientException e) {
+            putFailures(failures, batch, e);
+        }
+        return failures;
+    }
+
+    private static Object toBatchRequest(final List<Write> batch) {
+        String domain = batch.get(0).domain;
+        if (batch.get(0).request instanceof PutAttributesRequest) {
+            List<ReplaceableItem> items = new ArrayList<>();
+            for (Write write : batch) {
+                PutAttributesRequest put = (PutAttributesRequest) write.request;
+                items.add(new ReplaceableItem().withName(put.getItemName()).withAttributes(put.getAttributes()));
+            }
+            return new BatchPutAttributesRequest().withDomainName(domain).withItems(items);
+        } else {
+            List<DeletableItem> items = new ArrayList<>();
+            for (Write write : batch) {
+                DeleteAttributesRequest delete = (DeleteAttributesRequest) write.request;
+                items.add(new DeletableItem().withName(delete.getItemName()).withAttributes(delete.getAttributes()));
+            }
+            return new BatchDeleteAttributesRequest().withDomainName(domain).withItems(items);
+        }
+    }
+
+    private void executeWithRetries(final Object request) throws AmazonClientException {
+        for (int attempt = 1;; attempt++) {
+            try {
+                executeRequest(request);
+                return;
+            } catch (AmazonClientException e) {
+                if (attempt >= MAX_ATTEMPTS || !isRetryable(e)) {
+                    throw e;
+                }
+            }
+            try {
+                Thread.sleep(backoffDelay(attempt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AmazonClientException("Interrupted while retrying " + request, e); //$NON-NLS-1$
+            }
+        }
+    }
+
+    private void executeRequest(final Object request) {
+        if (request instanceof PutAttributesRequest) {
+            this.client.putAttributes((PutAttributesRequest) request);
+        } else if (request instanceof DeleteAttributesRequest) {
+            this.client.deleteAttributes((DeleteAttributesRequest) request);
+        } else if (request instanceof BatchPutAttributesRequest) {
+            this.client.batchPutAttributes((BatchPutAttributesRequest) request);
+        } else if (request instanceof BatchDeleteAttributesRequest) {
+            this.client.batchDeleteAttributes((BatchDeleteAttributesRequest) request);
+        } else if (request instanceof CreateDomainRequest) {
+            this.client.createDomain((CreateDomainRequest) request);
+        } else if (request instanceof DeleteDomainRequest) {
+            this.client.deleteDomain((DeleteDomainRequest) request);
+        } else {
+            throw new IllegalArgumentException("Unsupported request " + request); //$NON-NLS-1$
+        }
+    }
+
+    /* Server errors, throttling included, and failures to reach SimpleDB may go away on their own. */
+    private static boolean isRetryable(final AmazonClientException e) {
+        if (e instanceof AmazonServiceException) {
+            return ((AmazonServiceException) e).getStatusCode() >= 500;
+        }
+        return e.isRetryable();
+    }
+
+    private static long backoffDelay(final int retry) {
+        long delay = Math.min(MAX_BACKOFF_MILLIS, MIN_BACKOFF_MILLIS << Math.min(retry - 1, 16));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private static void putFailure(final Map<Integer, AmazonClientException> failures, final int group,
+            final AmazonClientException e) {
+        if (!failures.containsKey(group)) {
+            failures.put(group, e);
+        }
+    }
+
+    private static void putFailures(final Map<Write, AmazonClientException> failures, final List<Write> batch,
+            final AmazonClientException e) {
+        for (Write write : batch) {
+            failures.put(write, e);
+        }
+    }
+
+    /*
+     * A PutAttributes or DeleteAttributes request of the given group, which can be sent in a batch.
+     */
+    private static final class Write {
+        private final Object request;
+        private final int group;
+        private final String domain;
+        /** The domain and name of the item written */
+        private final List<String> item;
+
+        private Write(final Object request, final int group, final String domain, final String itemName) {
+            this.request = request;
+            this.group = group;
+            this.domain = domain;
+            this.item = Arrays.asList(domain, itemName);
+        }
+
+        /* @return null if the given request can't be sent in a batch, e.g. a conditional put */
+        static Write of(final Object request, final int group) {
+            if (request instanceof PutAttributesRequest) {
+                PutAttributesRequest put = (PutAttributesRequest) request;
+                if (put.getExpected() == null) {
+                    return new Write(request, group, put.getDomainName(), put.getItemName());
+                }
+            } else if (request instanceof DeleteAttributesRequest) {
+                DeleteAttributesRequest delete = (DeleteAttributesRequest) request;
+                if (delete.getExpected() == null) {
+                    return new Write(request, group, delete.getDomainName(), delete.getItemName());
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -209,10 +209,10 @@ public class JdbcDatabaseMetaData implements DatabaseMetaData {
             return new JdbcResultSet(null);
         }
 
+        // No limit: the attribute names come from the metadata cache, not from the items this query would return
         return this.getColumns
         .executeQuery("select * from " + JdbcStatement.DELIMITED_IDENTIFIER_QUOTE + tableNamePattern //$NON-NLS-1$
-                + JdbcStatement.DELIMITED_IDENTIFIER_QUOTE
-                + " limit 10"); //$NON-NLS-1$
+                + JdbcStatement.DELIMITED_IDENTIFIER_QUOTE);
     }
 
     @Override
@@ -274,13 +274,13 @@ public class JdbcPreparedStatement extends JdbcStatement implements PreparedStat
         return this;
     }
 
-    // NOT SUPPORTED ////////////////////////////////////////////////////////////
-
     @Override
     public void addBatch() throws SQLException {
-        throw new SQLException("unsupported by SDB"); //$NON-NLS-1$
+        addBatchRequest(prepareRequest(this.sql));
     }
 
+    // NOT SUPPORTED ////////////////////////////////////////////////////////////
+
     @Override
     public void setAsciiStream(final int parameterIndex, final InputStream x, final int length) throws SQLException {
         throw new SQLException("unsupported by SDB"); //$NON-NLS-1$
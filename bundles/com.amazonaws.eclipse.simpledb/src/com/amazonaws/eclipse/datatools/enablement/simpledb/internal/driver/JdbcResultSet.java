@@ -44,6 +44,10 @@ import com.ibm.icu.text.SimpleDateFormat;
 
 /**
  * JDBC ResultSet implementation for the Amazon SimpleDB. Wraps around a simple raw data received from the SDB request.
+ * <p>
+ * A forward only cursor: the statement keeps one page of the select at a time, and the next page is fetched when the
+ * cursor moves past it. The size of the pages follows the fetch size. Attributes first seen in a later page are added
+ * as columns when that page is fetched.
  */
 public class JdbcResultSet implements ResultSet, ResultSetMetaData {
 
@@ -52,6 +56,7 @@ public class JdbcResultSet implements ResultSet, ResultSetMetaData {
     private boolean open = false; // true means have results and can iterate them
     private int row = 0; // number of current row, starts at 1
     private int lastCol; // last column accessed, for wasNull(). -1 if none
+    private int fetchSize = 0; // number of rows per page, 0 lets SimpleDB decide
 
     SQLWarning warning = null;
 
@@ -136,12 +141,18 @@ public class JdbcResultSet implements ResultSet, ResultSetMetaData {
         this.lastCol = -1;
         this.row++;
 
+        if (this.stmt.cancel) {
+            close();
+            return false;
+        }
+
         // check if we are row limited by the statement or the ResultSet
-        if (this.stmt.getMaxRows() != 0 && this.row > this.stmt.getMaxRows()) {
+        if (this.stmt.queryMaxRows != 0 && this.row > this.stmt.queryMaxRows) {
             return false;
         }
 
-        if (this.row > this.stmt.data.getRowNum()) {
+        if (this.row > this.stmt.data.getRowNum()
+                && (!this.stmt.fetchNextPage() || this.row > this.stmt.data.getRowNum())) {
             close();
             return false;
         }
@@ -176,14 +187,15 @@ public class JdbcResultSet implements ResultSet, ResultSetMetaData {
 
     @Override
     public int getFetchSize() throws SQLException {
-        return 0;
+        return this.fetchSize;
     }
 
     @Override
     public void setFetchSize(final int rows) throws SQLException {
-        //    if (0 > rows || (this.stmt.getMaxRows() != 0 && rows > this.stmt.getMaxRows())) {
-        //      throw new SQLException("fetch size " + rows + " out of bounds " + this.stmt.getMaxRows());
-        //    }
+        if (0 > rows) {
+            throw new SQLException("fetch size " + rows + " cannot be negative"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        this.fetchSize = rows;
     }
 
     @Override
@@ -217,7 +229,8 @@ public class JdbcResultSet implements ResultSet, ResultSetMetaData {
 
     @Override
     public boolean isLast() throws SQLException {
-        return this.stmt.data.getRowNum() == this.row;
+        // not known before the next page is fetched, unless there is none
+        return this.stmt.exhausted && this.stmt.data.getRowNum() == this.row;
     }
 
     @Override
@@ -508,6 +521,11 @@ public class JdbcResultSet implements ResultSet, ResultSetMetaData {
         return "java.lang.String"; //$NON-NLS-1$
     }
 
+    /**
+     * Returns the number of columns known so far: attributes first seen in a later page are only added once that
+     * page is fetched, so the count can grow as the cursor moves on. A "select *" starts with the attribute names of
+     * the domain known to the connection's metadata cache.
+     */
     @Override
     public int getColumnCount() throws SQLException {
         toNativeCol(1);
@@ -14,6 +14,7 @@
  */
 package com.amazonaws.eclipse.datatools.enablement.simpledb.internal.driver;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -21,6 +22,7 @@ import java.sql.SQLWarning;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -42,11 +44,10 @@ import org.eclipse.datatools.sqltools.parsers.sql.query.SQLQueryParserFactory;
 import org.eclipse.datatools.sqltools.parsers.sql.query.SQLQueryParserManager;
 import org.eclipse.emf.common.util.EList;
 
-import com.amazonaws.AmazonServiceException;
 import com.amazonaws.eclipse.datatools.enablement.simpledb.driver.JdbcConnection;
 import com.amazonaws.eclipse.datatools.enablement.simpledb.driver.SimpleDBItemName;
+import com.amazonaws.eclipse.datatools.enablement.simpledb.driver.SimpleDBMetadataCache;
 import com.amazonaws.services.simpledb.model.Attribute;
-import com.amazonaws.services.simpledb.model.BatchPutAttributesRequest;
 import com.amazonaws.services.simpledb.model.CreateDomainRequest;
 import com.amazonaws.services.simpledb.model.DeleteAttributesRequest;
 import com.amazonaws.services.simpledb.model.DeleteDomainRequest;
@@ -78,7 +79,8 @@ public class JdbcStatement implements Statement {
     /** Amazon SDB prefers all the identifiers in the select clause to be quoted with the given character. */
     public static final char DELIMITED_IDENTIFIER_QUOTE = '`';
 
-    private static final int MAX_ITEMS_PER_QUERY_RESPONSE = 251;
+    /** The highest limit SimpleDB accepts in a select expression, i.e. the most items of one page. */
+    private static final int MAX_ITEMS_PER_QUERY_RESPONSE = 2500;
 
     JdbcConnection conn;
     String sql = null;
@@ -91,7 +93,21 @@ public class JdbcStatement implements Statement {
     /** PreparedStatement parameters or filled from usual statement upon parsing */
     List<Object> params = null;
 
-    boolean cancel = false;
+    volatile boolean cancel = false;
+
+    /** The requests of every statement added to the batch, and the parameters each was made from */
+    private final List<Collection<?>> batch = new ArrayList<>();
+    private final List<List<Object>> batchParams = new ArrayList<>();
+
+    /*
+     * Paging state of the current select. Its pages are fetched as the result
+     * set is read, and only the last page is kept in the raw data.
+     */
+    private String pageQuery; // the select without its limit; each page gets its own
+    private String nextToken;
+    int queryMaxRows; // max. number of rows of the current select, 0 for no limit
+    private int fetchedRows;
+    boolean exhausted = true;
 
     public JdbcStatement(final JdbcConnection conn) {
         this.conn = conn;
@@ -113,6 +129,8 @@ public class JdbcStatement implements Statement {
     @Override
     public boolean execute(final String sql) throws SQLException {
         close();
+        this.cancel = false;
+        this.exhausted = true;
         this.sql = sql;
 
         if (this.sql == null) {
@@ -136,6 +154,7 @@ public class JdbcStatement implements Statement {
         //    System.out.println("GET MAXROWS: " + maxRows);
 
         int limit = -1;
+        this.pageQuery = this.sql;
         boolean countQuery = PATTERN_SELECT_COUNT.matcher(lowcaseSql).matches();
         if (!countQuery) {
             // NB! Assuming here that limit word is never a part of an identifier, e.g. attribute
@@ -151,38 +170,91 @@ public class JdbcStatement implements Statement {
                     if (limit >= 0 && (limit < maxRows || maxRows <= 0)) {
                         maxRows = limit;
                     }
+                    // the limit of every page is set when it is fetched
+                    this.pageQuery = this.sql.substring(0, limitPos) + this.sql.substring(endPos);
                 }
             }
-
-            if (limit < 0 && maxRows > 0) {
-                this.sql += " limit " + maxRows;
-            }
         } else {
             maxRows = 1;
+            this.pageQuery = null; // a count must not be limited, it would stop counting at the limit
         }
 
         //    System.out.println("EFFECTIVE MAXROWS: " + maxRows);
 
-        int row = 0;
-        ExecutionResult result = new ExecutionResult(null, -1);
-        do {
-            result = execute(this.sql, row, maxRows, MAX_ITEMS_PER_QUERY_RESPONSE, result.nextToken);
+        if (!countQuery && PATTERN_SELECT_STAR.matcher(lowcaseSql).matches()) {
+            addKnownAttributes();
+        }
+
+        this.queryMaxRows = maxRows;
+        this.nextToken = null;
+        this.fetchedRows = 0;
+        this.exhausted = false;
+        fetchNextPage();
+        this.resultSet.open();
+
+        return true; //this.data.getRowNum() > 0;
+    }
+
+    /*
+     * Adds the attribute names of the selected domain known to the metadata
+     * cache of the connection as columns, so that a "select *" has them from
+     * its first page on instead of gaining them as later pages arrive. Only
+     * names known already are used; SimpleDB is not asked for them here.
+     */
+    private void addKnownAttributes() {
+        String domain = getDomainName();
+        if (this.conn == null || domain == null) {
+            return;
+        }
+        SimpleDBMetadataCache cache = this.conn.getMetadataCache();
+        List<String> names = cache.getCachedAttributeNames(domain);
+        if (names == null || names.isEmpty()) {
+            return;
+        }
+        this.data.addAttribute(SimpleDBItemName.ITEM_HEADER);
+        for (String name : names) {
+            this.data.addAttribute(name);
+        }
+    }
+
+    /*
+     * Replaces the rows kept in the raw data with the next page of the current
+     * select, skipping the empty pages SimpleDB may return. Returns false if
+     * there are no more rows, or the statement was cancelled.
+     */
+    boolean fetchNextPage() throws SQLException {
+        this.data.discardRows();
+        while (!this.exhausted && !this.cancel) {
+            int pageSize = getPageSize();
+            String queryText = this.pageQuery != null && pageSize > 0 ? this.pageQuery + " limit " + pageSize //$NON-NLS-1$
+                    : this.sql;
+            ExecutionResult result = execute(queryText, this.fetchedRows, this.queryMaxRows, pageSize, this.nextToken);
             if (result == null) {
+                this.exhausted = true;
                 break;
             }
-            this.resultSet.open();
-            row += result.items;
-            if (maxRows > 0 && row >= maxRows) { // reached the limit
-                //        if (result.nextToken != null) {
-                //          this.resultSet.warning = new SQLWarning("This request has exceeded the limits. The NextToken value is: "
-                //              + result.nextToken);
-                //        }
-                break;
+            this.fetchedRows += result.items;
+            this.nextToken = result.nextToken;
+            this.exhausted = this.nextToken == null || this.nextToken.length() == 0
+                    || (this.queryMaxRows > 0 && this.fetchedRows >= this.queryMaxRows);
+            if (result.items > 0) {
+                return true;
             }
-            //      System.out.println("NEXT TOKEN: " + result.nextToken);
-        } while (result.nextToken != null && result.nextToken.length() > 0);
+        }
+        return false;
+    }
 
-        return true; //this.data.getRowNum() > 0;
+    /*
+     * The number of items to ask for in the next page: the fetch size, but no
+     * more than are left of the max. rows; 0 leaves it to SimpleDB.
+     */
+    private int getPageSize() throws SQLException {
+        int pageSize = this.resultSet.getFetchSize();
+        if (this.queryMaxRows > 0) {
+            int remaining = this.queryMaxRows - this.fetchedRows;
+            pageSize = pageSize > 0 ? Math.min(pageSize, remaining) : remaining;
+        }
+        return Math.min(pageSize, MAX_ITEMS_PER_QUERY_RESPONSE);
     }
 
     private void extractColumnNamesFromSelect() throws SQLException {
@@ -430,8 +502,18 @@ public class JdbcStatement implements Statement {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public int executeUpdate(final String inSql) throws SQLException {
+        Object req = prepareRequest(inSql);
+        int result = executeSDBRequest(req);
+        setItemNamesPersisted(this.params);
+        return result;
+    }
+
+    /*
+     * Converts the given update into the SimpleDB request(s) executing it.
+     */
+    @SuppressWarnings("unchecked")
+    Object prepareRequest(final String inSql) throws SQLException {
         this.sql = inSql;
         if (this.sql == null) {
             throw new SQLException("sql is null");
@@ -487,53 +569,45 @@ public class JdbcStatement implements Statement {
         }
 
         if (req != null) {
-            int result = executeSDBRequest(req);
-            if (this.params != null) {
-                for (Object obj : this.params) {
-                    if (obj instanceof SimpleDBItemName) {
-                        ((SimpleDBItemName) obj).setPersisted(true);
-                    }
-                }
-            }
-            return result;
+            return req;
         }
 
         throw new SQLException("unsupported update: " + this.sql);
     }
 
+    private void setItemNamesPersisted(final List<Object> parameters) {
+        if (parameters != null) {
+            for (Object obj : parameters) {
+                if (obj instanceof SimpleDBItemName) {
+                    ((SimpleDBItemName) obj).setPersisted(true);
+                }
+            }
+        }
+    }
+
+    /*
+     * Executes the given request(s) through the connection, which sends the item writes of many items in batches,
+     * and defers them to the commit of the current transaction if not in auto-commit mode.
+     */
     @SuppressWarnings("unchecked")
     int executeSDBRequest(final Object req) throws SQLException {
-        try {
-            if (req == null) {
-                // do nothing
-                return 0;
-            } else if (req instanceof Collection) {
-                int sum = 0;
-                for (Object singleReq : (Collection<Object>) req) {
-                    sum += executeSDBRequest(singleReq);
-                }
-                return sum;
-            } else if (req instanceof CreateDomainRequest) {
-                this.conn.getClient().createDomain((CreateDomainRequest) req);
-                return 0;
-            } else if (req instanceof DeleteDomainRequest) {
-                this.conn.getClient().deleteDomain((DeleteDomainRequest) req);
-                return 0;
-            } else if (req instanceof PutAttributesRequest) {
-                this.conn.getClient().putAttributes((PutAttributesRequest) req);
-                return 1;
-            } else if (req instanceof BatchPutAttributesRequest) {
-                this.conn.getClient().batchPutAttributes((BatchPutAttributesRequest) req);
-                return ((BatchPutAttributesRequest) req).getItems().size();
-            } else if (req instanceof DeleteAttributesRequest) {
-                this.conn.getClient().deleteAttributes((DeleteAttributesRequest) req);
-                List<Attribute> attribute = ((DeleteAttributesRequest) req).getAttributes();
-                return attribute == null || attribute.isEmpty() ? 1 : 0;
-            } else {
-                throw new SQLException("unsupported query");
+        if (req == null) {
+            // do nothing
+            return 0;
+        } else if (req instanceof Collection && !BatchRequestExecutor.isBatchable((Collection<Object>) req)) {
+            // nothing to coalesce, e.g. the put and the delete of an update
+            int sum = 0;
+            for (Object singleReq : (Collection<Object>) req) {
+                sum += executeSDBRequest(singleReq);
             }
-        } catch (AmazonServiceException e) {
-            throw wrapIntoSqlException(e);
+            return sum;
+        }
+
+        Collection<?> requests = req instanceof Collection ? (Collection<?>) req : Collections.singletonList(req);
+        try {
+            return this.conn.executeRequests(Collections.singletonList(requests))[0];
+        } catch (BatchUpdateException e) {
+            throw e.getCause() instanceof Exception ? wrapIntoSqlException((Exception) e.getCause()) : e;
         }
     }
 
@@ -909,17 +983,45 @@ public class JdbcStatement implements Statement {
 
     @Override
     public void addBatch(final String sql) throws SQLException {
-        throw new SQLException("unsupported by SDB yet"); //$NON-NLS-1$
+        addBatchRequest(prepareRequest(sql));
+    }
+
+    /*
+     * Adds the given request(s) to the batch, along with the parameters they were made from.
+     */
+    void addBatchRequest(final Object req) {
+        this.batch.add(req instanceof Collection ? (Collection<?>) req : Collections.singletonList(req));
+        this.batchParams.add(this.params == null ? null : new ArrayList<>(this.params));
     }
 
     @Override
     public void clearBatch() throws SQLException {
-        throw new SQLException("unsupported by SDB yet"); //$NON-NLS-1$
+        this.batch.clear();
+        this.batchParams.clear();
     }
 
     @Override
     public int[] executeBatch() throws SQLException {
-        throw new SQLException("unsupported by SDB yet"); //$NON-NLS-1$
+        List<Collection<?>> requests = new ArrayList<>(this.batch);
+        List<List<Object>> parameters = new ArrayList<>(this.batchParams);
+        clearBatch();
+
+        try {
+            int[] counts = this.conn.executeRequests(requests);
+            setItemNamesPersisted(parameters, counts);
+            return counts;
+        } catch (BatchUpdateException e) {
+            setItemNamesPersisted(parameters, e.getUpdateCounts());
+            throw e;
+        }
+    }
+
+    private void setItemNamesPersisted(final List<List<Object>> parameters, final int[] counts) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != EXECUTE_FAILED) {
+                setItemNamesPersisted(parameters.get(i));
+            }
+        }
     }
 
     @Override
@@ -967,6 +1069,9 @@ public class JdbcStatement implements Statement {
 
         private List<Integer> itemNameColumn;
 
+        // The index of the first row kept; the rows before it have been read and discarded
+        private int firstRow;
+
         /**
          * Constructor
          */
@@ -986,8 +1091,8 @@ public class JdbcStatement implements Statement {
          * @return A list of values or null if the attribute doesn't apply to this item.
          */
         public List<String> get(final int row, final int column) {
-            if (this.rows.size() > row) {
-                return this.rows.get(row).get(column);
+            if (row >= this.firstRow && getRowNum() > row) {
+                return this.rows.get(row - this.firstRow).get(column);
             } else {
                 return null;
             }
@@ -1016,31 +1121,31 @@ public class JdbcStatement implements Statement {
         public void addItemName(final String value, final int rowNum) {
             ensureItemNameColumn(rowNum);
             int column = add(SimpleDBItemName.ITEM_HEADER, value, rowNum);
-            this.itemNameColumn.set(rowNum, column);
+            this.itemNameColumn.set(rowNum - this.firstRow, column);
         }
 
         public boolean isItemNameColumn(final int row, final int column) {
-            if (row < 0 || row >= this.rows.size()) {
+            if (row < this.firstRow || row >= getRowNum()) {
                 List<String> attrs = getAttributes();
                 return !attrs.isEmpty() && SimpleDBItemName.ITEM_HEADER.equals(attrs.get(column));
             }
             ensureItemNameColumn(row);
-            Integer itemName = this.itemNameColumn.get(row);
+            Integer itemName = this.itemNameColumn.get(row - this.firstRow);
             return itemName != null && itemName.intValue() == column;
         }
 
         public int getItemNameColumn(final int row) {
-            if (row < 0 || row >= this.rows.size()) {
+            if (row < this.firstRow || row >= getRowNum()) {
                 List<String> attrs = getAttributes();
                 return attrs.indexOf(SimpleDBItemName.ITEM_HEADER);
             }
             ensureItemNameColumn(row);
-            Integer itemName = this.itemNameColumn.get(row);
+            Integer itemName = this.itemNameColumn.get(row - this.firstRow);
             return itemName != null ? itemName.intValue() : -1;
         }
 
         private void ensureItemNameColumn(final int row) {
-            for (int i = this.itemNameColumn.size() - 1; i < row; i++) {
+            for (int i = this.itemNameColumn.size() - 1; i < row - this.firstRow; i++) {
                 this.itemNameColumn.add(null);
             }
         }
@@ -1072,7 +1177,7 @@ public class JdbcStatement implements Statement {
             }
 
             ensureRows(rowNum);
-            Map<Integer, List<String>> row = this.rows.get(rowNum);
+            Map<Integer, List<String>> row = this.rows.get(rowNum - this.firstRow);
 
             List<String> values = row.get(column);
             if (values == null) {
@@ -1086,19 +1191,33 @@ public class JdbcStatement implements Statement {
         }
 
         public void ensureRows(final int rowNum) {
-            for (int i = this.rows.size() - 1; i < rowNum; i++) {
+            for (int i = this.rows.size() - 1; i < rowNum - this.firstRow; i++) {
                 this.rows.add(new HashMap<Integer, List<String>>());
             }
         }
 
         /**
-         * @return The number of rows/items in the query
+         * Discards the rows kept so far, e.g. before the next page of the query is fetched. The columns are kept, so
+         * that they keep their indexes; rows keep their numbers, the next row added being {@link #getRowNum()}.
+         */
+        public void discardRows() {
+            this.firstRow = getRowNum();
+            this.rows.clear();
+            this.itemNameColumn.clear();
+        }
+
+        /**
+         * @return The number of rows/items in the query fetched so far, including the discarded ones
          */
         public int getRowNum() {
-            return this.rows.size();
+            return this.firstRow + this.rows.size();
         }
 
         /**
+         * Returns the number of columns known so far. Attributes first seen in a page fetched later are added as
+         * columns when that page arrives, so the number can grow while the result set is read; for a "select *" the
+         * attribute names already known to the connection's metadata cache are columns from the start.
+         *
          * @return The number of columns/attributes in the query
          */
         public int getColumnNum() {
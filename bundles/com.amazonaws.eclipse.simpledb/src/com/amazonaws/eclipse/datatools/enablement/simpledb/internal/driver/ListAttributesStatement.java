@@ -15,10 +15,12 @@
 package com.amazonaws.eclipse.datatools.enablement.simpledb.internal.driver;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 import com.amazonaws.eclipse.datatools.enablement.simpledb.driver.JdbcConnection;
+import com.amazonaws.eclipse.datatools.enablement.simpledb.driver.SimpleDBItemName;
 
 /**
  * Fetches domain attributes for the given domain from the Amazon SimpleDB.
@@ -61,38 +63,34 @@ public class ListAttributesStatement extends JdbcPreparedStatement {
     ExecutionResult execute(final String queryText, final int startingRow, final int maxRows, final int requestSize,
             final String nextToken) throws SQLException {
 
-        super.execute(queryText, startingRow, maxRows, requestSize, nextToken);
+        String domainName = getDomainName();
 
-        ArrayList<String> attrs = new ArrayList<>(this.data.getAttributes());
-        int itemNameColumn = -1;
-        if (attrs.size() > 0) { // there was something in the domain
-            itemNameColumn = this.data.getItemNameColumn(0);
+        // The attribute names are shared with the explorer and the other connections, and only sampled again when the
+        // domain metadata shows they changed
+        List<String> attributeNames;
+        try {
+            attributeNames = this.conn.getMetadataCache().getAttributeNames(this.conn.getClient(), domainName);
+        } catch (Exception e) {
+            throw wrapIntoSqlException(e);
         }
 
-        this.data = new RawData();
-
         // to avoid attr order change on new value appearance, which breaks open editors' table structure
-        String itemName = null;
-        if (itemNameColumn >= 0) {
-            itemName = attrs.remove(itemNameColumn);
-        }
-        Collections.sort(attrs);
-        if (itemNameColumn >= 0) {
-            attrs.add(itemNameColumn, itemName);
+        Set<String> attrs = new TreeSet<>(attributeNames);
+        List<String> pending = this.conn.getPendingColumns(domainName);
+        if (pending != null) {
+            attrs.addAll(pending);
         }
+        attrs.remove(SimpleDBItemName.ITEM_HEADER);
 
-        String domainName = getDomainName();
-        for (int i = 0; i < attrs.size(); i++) {
-            addColumnData(domainName, attrs.get(i), i == itemNameColumn, i);
-        }
-
-        // If no attributes were returned, we still want to report itemName()
-        // otherwise we'll cause an error when opening the TableData editor.
-        if (attrs.size() == 0) {
-            addColumnData(domainName, "itemName()", true, 0);
+        // itemName() is always reported, otherwise we'll cause an error when opening the TableData editor.
+        this.data = new RawData();
+        addColumnData(domainName, SimpleDBItemName.ITEM_HEADER, true, 0);
+        int column = 1;
+        for (String attr : attrs) {
+            addColumnData(domainName, attr, false, column++);
         }
 
-        return new ExecutionResult(null, attrs.size());
+        return new ExecutionResult(null, column);
     }
 
     private void addColumnData(final String domainName, final String columnName, final boolean isItemNameAttribute, final int columnNumber) {
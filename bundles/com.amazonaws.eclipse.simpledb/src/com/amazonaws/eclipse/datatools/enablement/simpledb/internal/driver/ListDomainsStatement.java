@@ -15,10 +15,9 @@
 package com.amazonaws.eclipse.datatools.enablement.simpledb.internal.driver;
 
 import java.sql.SQLException;
+import java.util.List;
 
 import com.amazonaws.eclipse.datatools.enablement.simpledb.driver.JdbcConnection;
-import com.amazonaws.services.simpledb.model.ListDomainsRequest;
-import com.amazonaws.services.simpledb.model.ListDomainsResult;
 
 /**
  * Fetches domain names from the Amazon SimpleDB belonging to the logged in user.
@@ -30,25 +29,17 @@ public class ListDomainsStatement extends JdbcPreparedStatement {
     }
 
     /*
-     * Collect as many items as SimpleDB allows and return the NextToken, which
-     * is used to continue the query in a subsequent call to SimpleDB.
+     * Return all the domains matching the filter at once, up to the max. rows;
+     * there is no NextToken.
      */
     @Override
     ExecutionResult execute(final String queryText, final int startingRow, final int maxRows, final int requestSize,
             final String nextToken) throws SQLException {
-        ListDomainsRequest request = new ListDomainsRequest();
-
-        if (maxRows > 0) {
-            request.setMaxNumberOfDomains(Math.min(maxRows, 100));
-        }
-
-        if (nextToken != null) {
-            request.setNextToken(nextToken);
-        }
-
-        ListDomainsResult queryResult;
+        // The domain names are shared with the explorer and the other connections, so listing them again only costs a
+        // round trip once they are stale, and even then it happens in the background
+        List<String> domains;
         try {
-            queryResult = this.conn.getClient().listDomains(request);
+            domains = this.conn.getMetadataCache().getDomainNames(this.conn.getClient());
         } catch (Exception e) {
             throw wrapIntoSqlException(e);
         }
@@ -66,8 +57,8 @@ public class ListDomainsStatement extends JdbcPreparedStatement {
         }
 
         int row = startingRow;
-        for (String domain : queryResult.getDomainNames()) {
-            if (this.cancel) {
+        for (String domain : domains) {
+            if (this.cancel || (maxRows > 0 && row - startingRow >= maxRows)) {
                 break;
             }
 
@@ -106,7 +97,7 @@ public class ListDomainsStatement extends JdbcPreparedStatement {
             row++;
         }
 
-        return new ExecutionResult(queryResult.getNextToken(), row - startingRow);
+        return new ExecutionResult(null, row - startingRow);
 
     }
 }
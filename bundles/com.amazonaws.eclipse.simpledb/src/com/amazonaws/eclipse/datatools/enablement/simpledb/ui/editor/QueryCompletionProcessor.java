@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.datatools.enablement.simpledb.ui.editor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.contentassist.CompletionProposal;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+import org.eclipse.jface.text.contentassist.IContentAssistProcessor;
+import org.eclipse.jface.text.contentassist.IContextInformation;
+import org.eclipse.jface.text.contentassist.IContextInformationValidator;
+
+import com.amazonaws.eclipse.datatools.enablement.simpledb.driver.SimpleDBItemName;
+import com.amazonaws.eclipse.datatools.enablement.simpledb.driver.SimpleDBMetadataCache;
+
+/**
+ * Proposes the attribute names of the domain of the query editor, and the
+ * names of the other domains, as they are known to the shared metadata cache.
+ * Never calls SimpleDB; names that aren't known yet aren't proposed.
+ */
+class QueryCompletionProcessor implements IContentAssistProcessor {
+
+    /** The keywords of the SimpleDB select expression, which can only be used as names when quoted. */
+    private static final Set<String> RESERVED_WORDS = new HashSet<>(Arrays.asList(
+            "select from where and or not like is null in between intersection every order by asc desc limit" //$NON-NLS-1$
+                    .split(" "))); //$NON-NLS-1$
+
+    private final SimpleDBMetadataCache cache;
+    private final String domainName;
+
+    QueryCompletionProcessor(final SimpleDBMetadataCache cache, final String domainName) {
+        this.cache = cache;
+        this.domainName = domainName;
+    }
+
+    @Override
+    public ICompletionProposal[] computeCompletionProposals(final ITextViewer viewer, final int offset) {
+        String prefix = getPrefix(viewer.getDocument(), offset);
+        String unquotedPrefix = prefix.startsWith(String.valueOf(QueryEditor.DELIMITED_IDENTIFIER_QUOTE))
+                ? prefix.substring(1) : prefix;
+
+        List<String> names = new ArrayList<>();
+        names.add(SimpleDBItemName.ITEM_HEADER);
+        List<String> attributeNames = this.cache.getCachedAttributeNames(this.domainName);
+        if (attributeNames != null) {
+            names.addAll(attributeNames);
+        }
+        List<String> domainNames = this.cache.getCachedDomainNames();
+        if (domainNames != null) {
+            names.addAll(domainNames);
+        }
+
+        List<ICompletionProposal> proposals = new ArrayList<>();
+        for (String name : names) {
+            if (!name.toLowerCase().startsWith(unquotedPrefix.toLowerCase())) {
+                continue;
+            }
+            String replacement = SimpleDBItemName.ITEM_HEADER.equals(name) ? name : quote(name);
+            proposals.add(new CompletionProposal(replacement, offset - prefix.length(), prefix.length(),
+                    replacement.length(), null, name, null, null));
+        }
+        return proposals.toArray(new ICompletionProposal[proposals.size()]);
+    }
+
+    /** Returns the identifier being typed before the given offset, with its opening quote if any. */
+    private static String getPrefix(final IDocument document, final int offset) {
+        try {
+            int start = offset;
+            while (start > 0) {
+                char c = document.getChar(start - 1);
+                if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.' && c != '$') {
+                    if (c == QueryEditor.DELIMITED_IDENTIFIER_QUOTE) {
+                        start--;
+                    }
+                    break;
+                }
+                start--;
+            }
+            return document.get(start, offset - start);
+        } catch (BadLocationException e) {
+            return ""; //$NON-NLS-1$
+        }
+    }
+
+    /** Quotes the given name unless it is a plain identifier that isn't a keyword. */
+    private static String quote(final String name) {
+        boolean plain = !name.isEmpty() && (Character.isLetter(name.charAt(0)) || name.charAt(0) == '_')
+                && !RESERVED_WORDS.contains(name.toLowerCase());
+        for (int i = 0; plain && i < name.length(); i++) {
+            char c = name.charAt(i);
+            plain = Character.isLetterOrDigit(c) || c == '_' || c == '$';
+        }
+        if (plain) {
+            return name;
+        }
+        String quote = String.valueOf(QueryEditor.DELIMITED_IDENTIFIER_QUOTE);
+        return quote + name.replace(quote, quote + quote) + quote;
+    }
+
+    @Override
+    public IContextInformation[] computeContextInformation(final ITextViewer viewer, final int offset) {
+        return null;
+    }
+
+    @Override
+    public char[] getCompletionProposalAutoActivationCharacters() {
+        return null;
+    }
+
+    @Override
+    public char[] getContextInformationAutoActivationCharacters() {
+        return null;
+    }
+
+    @Override
+    public String getErrorMessage() {
+        return null;
+    }
+
+    @Override
+    public IContextInformationValidator getContextInformationValidator() {
+        return null;
+    }
+}
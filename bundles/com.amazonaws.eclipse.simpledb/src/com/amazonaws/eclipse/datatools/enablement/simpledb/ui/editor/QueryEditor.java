@@ -26,21 +26,26 @@ import org.eclipse.jface.layout.GridDataFactory;
 import org.eclipse.jface.layout.TableColumnLayout;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.contentassist.ContentAssistant;
+import org.eclipse.jface.text.contentassist.IContentAssistant;
 import org.eclipse.jface.text.source.AnnotationModel;
 import org.eclipse.jface.text.source.CompositeRuler;
 import org.eclipse.jface.text.source.ISharedTextColors;
+import org.eclipse.jface.text.source.ISourceViewer;
 import org.eclipse.jface.text.source.SourceViewer;
 import org.eclipse.jface.viewers.ColumnWeightData;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.TableEditor;
+import org.eclipse.swt.custom.VerifyKeyListener;
 import org.eclipse.swt.events.ModifyEvent;
 import org.eclipse.swt.events.ModifyListener;
 import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.events.TraverseEvent;
 import org.eclipse.swt.events.TraverseListener;
+import org.eclipse.swt.events.VerifyEvent;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.layout.FillLayout;
@@ -74,6 +79,7 @@ import com.amazonaws.eclipse.core.BrowserUtils;
 import com.amazonaws.eclipse.core.ui.AbstractTableContentProvider;
 import com.amazonaws.eclipse.core.ui.AbstractTableLabelProvider;
 import com.amazonaws.eclipse.datatools.enablement.simpledb.driver.SimpleDBItemName;
+import com.amazonaws.eclipse.datatools.enablement.simpledb.driver.SimpleDBMetadataCache;
 import com.amazonaws.services.simpledb.AmazonSimpleDB;
 import com.amazonaws.services.simpledb.model.BatchPutAttributesRequest;
 import com.amazonaws.services.simpledb.model.Item;
@@ -142,7 +148,9 @@ public class QueryEditor extends EditorPart {
         }
 
         if ( !items.isEmpty() ) {
-            simpleDBClient.batchPutAttributes(new BatchPutAttributesRequest(domain, items));
+            BatchPutAttributesRequest request = new BatchPutAttributesRequest(domain, items);
+            simpleDBClient.batchPutAttributes(request);
+            SimpleDBMetadataCache.getInstance(this.domainEditorInput.getAccountId()).requestExecuted(request);
         }
 
         for ( String itemName : QueryEditor.this.editedCells.keySet() ) {
@@ -263,10 +271,35 @@ public class QueryEditor extends EditorPart {
         this.sqlSourceViewer = new SourceViewer(this.sqlSourceViewerComposite, ruler, null, true, styles);
 
         SQLSourceEditingEnvironment.connect();
-        SQLSourceViewerConfiguration configuration = new SQLSourceViewerConfiguration();
+        // Names are proposed from the metadata shared with the explorer and the SimpleDB connections
+        String accountId = this.domainEditorInput.getAccountId();
+        final SimpleDBMetadataCache metadataCache = SimpleDBMetadataCache.getInstance(accountId);
+        metadataCache.prefetch(AwsToolkitCore.getClientFactory(accountId).getSimpleDBClient(),
+                this.domainEditorInput.getDomainName());
+        SQLSourceViewerConfiguration configuration = new SQLSourceViewerConfiguration() {
+            @Override
+            public IContentAssistant getContentAssistant(final ISourceViewer sourceViewer) {
+                ContentAssistant assistant = new ContentAssistant();
+                assistant.setContentAssistProcessor(new QueryCompletionProcessor(metadataCache,
+                        QueryEditor.this.domainEditorInput.getDomainName()), IDocument.DEFAULT_CONTENT_TYPE);
+                assistant.enableAutoInsert(true);
+                return assistant;
+            }
+        };
         configuration.getCompletionProcessor().setCompletionProposalAutoActivationCharacters(new char[0]);
         this.sqlSourceViewer.configure(configuration);
         this.sqlSourceViewer.setDocument(this.sqlSourceDocument, annotationModel);
+
+        // There is no key binding for content assist outside of a text editor
+        this.sqlSourceViewer.appendVerifyKeyListener(new VerifyKeyListener() {
+            @Override
+            public void verifyKey(final VerifyEvent event) {
+                if ((event.stateMask & SWT.MOD1) != 0 && event.character == ' ') {
+                    QueryEditor.this.sqlSourceViewer.doOperation(ISourceViewer.CONTENTASSIST_PROPOSALS);
+                    event.doit = false;
+                }
+            }
+        });
     }
 
     /**
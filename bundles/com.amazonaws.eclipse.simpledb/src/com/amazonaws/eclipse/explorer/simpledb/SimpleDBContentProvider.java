@@ -21,6 +21,7 @@ import org.eclipse.jface.viewers.ITreeContentProvider;
 
 import com.amazonaws.eclipse.core.AwsToolkitCore;
 import com.amazonaws.eclipse.core.regions.ServiceAbbreviations;
+import com.amazonaws.eclipse.datatools.enablement.simpledb.driver.SimpleDBMetadataCache;
 import com.amazonaws.eclipse.explorer.AWSResourcesRootElement;
 import com.amazonaws.eclipse.explorer.AbstractContentProvider;
 import com.amazonaws.eclipse.explorer.Loading;
@@ -57,9 +58,12 @@ public class SimpleDBContentProvider extends AbstractContentProvider implements
                 public Object[] loadData() {
                     AmazonSimpleDB client = AwsToolkitCore.getClientFactory().getSimpleDBClient();
 
+                    // List all the pages of domains, and share them with the SimpleDB connections
+                    List<String> domainNames = SimpleDBMetadataCache.getInstance(null).loadDomainNames(client);
+
                     // Translate the domain names to objects so we can work with them more easily
                     List<DomainNode> domainNodes = new ArrayList<>();
-                    for (String domainName : client.listDomains().getDomainNames()) {
+                    for (String domainName : domainNames) {
                         domainNodes.add(new DomainNode(domainName));
                     }
 
@@ -38,6 +38,7 @@ import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.navigator.CommonActionProvider;
 
 import com.amazonaws.eclipse.core.AwsToolkitCore;
+import com.amazonaws.eclipse.datatools.enablement.simpledb.driver.SimpleDBMetadataCache;
 import com.amazonaws.eclipse.explorer.ContentProviderRegistry;
 import com.amazonaws.eclipse.explorer.simpledb.SimpleDBExplorerNodes.DomainNode;
 import com.amazonaws.services.simpledb.AmazonSimpleDB;
@@ -159,6 +160,7 @@ public class SimpleDBNavigatorActionProvider extends CommonActionProvider {
             try {
                 AmazonSimpleDB sdb = AwsToolkitCore.getClientFactory().getSimpleDBClient();
                 sdb.createDomain(new CreateDomainRequest(createDomainDialog.getDomainName()));
+                SimpleDBMetadataCache.getInstance(null).domainCreated(createDomainDialog.getDomainName());
                 ContentProviderRegistry.refreshAllContentProviders();
             } catch (Exception e) {
                 AwsToolkitCore.getDefault().reportException("Unable to create domain '" + createDomainDialog.getDomainName() + "'", e);
@@ -238,6 +240,7 @@ public class SimpleDBNavigatorActionProvider extends CommonActionProvider {
             for (String domainName : this.domainNames) {
                 try {
                     simpleDB.deleteDomain(new DeleteDomainRequest(domainName));
+                    SimpleDBMetadataCache.getInstance(null).forgetDomain(domainName);
                 } catch (Exception e) {
                     AwsToolkitCore.getDefault().logError("Unable to delete domain '" + domainName + "'", e);
                 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.core;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AwsClientCacheTest {
+
+    @Test
+    public void testHitAndMissCounters() {
+        AwsClientCache cache = new AwsClientCache();
+        Object first = cache.getOrCreate(Object.class, "us-west-2", Object::new);
+        Object second = cache.getOrCreate(Object.class, "us-west-2", Object::new);
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testInvalidateAllStartsNewGeneration() {
+        AwsClientCache cache = new AwsClientCache();
+        Object first = cache.getOrCreate(Object.class, "us-west-2", Object::new);
+        cache.invalidateAll();
+        Object second = cache.getOrCreate(Object.class, "us-west-2", Object::new);
+
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testInvalidateLocation() {
+        AwsClientCache cache = new AwsClientCache();
+        cache.getOrCreate(Object.class, "us-west-2", Object::new);
+        cache.getOrCreate(Object.class, "eu-west-1", Object::new);
+        cache.invalidateLocation("us-west-2");
+
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedClientIsEvicted() {
+        AwsClientCache cache = new AwsClientCache(2);
+        Object west = cache.getOrCreate(Object.class, "us-west-2", Object::new);
+        cache.getOrCreate(Object.class, "us-east-1", Object::new);
+        cache.getOrCreate(Object.class, "us-west-2", Object::new);
+        cache.getOrCreate(Object.class, "eu-west-1", Object::new);
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertSame(west, cache.getOrCreate(Object.class, "us-west-2", Object::new));
+    }
+
+    @Test
+    public void testEvictedClientsAreShutDown() throws InterruptedException {
+        AwsClientCache cache = new AwsClientCache(1, 0);
+        ClosableClient west = cache.getOrCreate(ClosableClient.class, "us-west-2", ClosableClient::new);
+        ClosableClient east = cache.getOrCreate(ClosableClient.class, "us-east-1", ClosableClient::new);
+
+        Assert.assertTrue(west.shutDown.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(1, east.shutDown.getCount());
+
+        cache.invalidateAll();
+        Assert.assertTrue(east.shutDown.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testEvictedClientsGetGracePeriod() throws InterruptedException {
+        AwsClientCache cache = new AwsClientCache(1, TimeUnit.MINUTES.toMillis(1));
+        ClosableClient west = cache.getOrCreate(ClosableClient.class, "us-west-2", ClosableClient::new);
+        cache.invalidateAll();
+
+        Assert.assertFalse(west.shutDown.await(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testConcurrentMissesCreateSingleClient() throws InterruptedException {
+        AwsClientCache cache = new AwsClientCache();
+        AtomicInteger creations = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int i = 0; i < 64; i++) {
+            executor.submit(() -> {
+                start.await();
+                return cache.getOrCreate(Object.class, "us-west-2", () -> {
+                    creations.incrementAndGet();
+                    return new Object();
+                });
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        Assert.assertEquals(1, creations.get());
+        Assert.assertEquals(64, cache.getHitCount() + cache.getMissCount());
+    }
+
+    public static class ClosableClient {
+        private final CountDownLatch shutDown = new CountDownLatch(1);
+
+        public void shutdown() {
+            shutDown.countDown();
+        }
+    }
+}
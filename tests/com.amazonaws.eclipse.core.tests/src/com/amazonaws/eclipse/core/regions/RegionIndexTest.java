@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.core.regions;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RegionIndexTest {
+
+    private static final String REGIONS =
+            "<regions>"
+            + region("us-east-1",
+                    service("S3", "https://s3.amazonaws.com/"),
+                    service("IAM", "https://iam.amazonaws.com/"),
+                    service("EC2", "https://ec2.us-east-1.amazonaws.com/"))
+            + region("us-west-2",
+                    service("S3", "https://s3-us-west-2.amazonaws.com/"),
+                    service("IAM", "https://iam.amazonaws.com/"),
+                    service("EC2", "https://ec2.us-west-2.amazonaws.com/"))
+            + region("us-east-1",
+                    service("SQS", "https://sqs.us-east-1.amazonaws.com/"))
+            + "</regions>";
+
+    private final List<Region> regions = new RegionMetadataParser().parseRegionMetadata(
+            new ByteArrayInputStream(REGIONS.getBytes(StandardCharsets.UTF_8)));
+    private final RegionIndex index = new RegionIndex(regions);
+
+    @Test
+    public void testKeepsTheOrderOfTheRegions() {
+        Assert.assertEquals(regions, index.getRegions());
+        Assert.assertEquals(Arrays.asList(regions.get(0), regions.get(1)), index.getRegionsForService("S3"));
+        Assert.assertEquals(Collections.emptyList(), index.getRegionsForService("Lambda"));
+    }
+
+    @Test
+    public void testFirstRegionWinsOnSharedId() {
+        Assert.assertSame(regions.get(0), index.getRegion("us-east-1"));
+        Assert.assertSame(regions.get(1), index.getRegion("us-west-2"));
+        Assert.assertNull(index.getRegion("eu-west-1"));
+    }
+
+    @Test
+    public void testFirstRegionWinsOnSharedHost() {
+        Assert.assertSame(regions.get(0), index.getRegionByHost("iam.amazonaws.com"));
+        Assert.assertSame(regions.get(1), index.getRegionByHost("ec2.us-west-2.amazonaws.com"));
+        Assert.assertSame(regions.get(2), index.getRegionByHost("sqs.us-east-1.amazonaws.com"));
+        Assert.assertNull(index.getRegionByHost("ec2.eu-west-1.amazonaws.com"));
+    }
+
+    @Test
+    public void testFirstServiceWinsOnSharedEndpoint() {
+        Service iam = index.getServiceByEndpoint("https://iam.amazonaws.com/");
+        Assert.assertSame(regions.get(0).getServicesByName().get("IAM"), iam);
+        Assert.assertNotSame(regions.get(1).getServicesByName().get("IAM"), iam);
+        Assert.assertSame(regions.get(1).getServicesByName().get("S3"),
+                index.getServiceByEndpoint("https://s3-us-west-2.amazonaws.com/"));
+    }
+
+    private static String region(String id, String... services) {
+        StringBuilder builder = new StringBuilder("<region><displayname>" + id + "</displayname><systemname>" + id
+                + "</systemname><flag-icon>flags/usa.png</flag-icon><services>");
+        for (String service : services) {
+            builder.append(service);
+        }
+        return builder.append("</services></region>").toString();
+    }
+
+    private static String service(String name, String endpoint) {
+        return "<service name=\"" + name + "\">" + endpoint + "</service>";
+    }
+}
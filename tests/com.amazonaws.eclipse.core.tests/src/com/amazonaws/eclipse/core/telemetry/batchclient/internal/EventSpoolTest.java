@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.core.telemetry.batchclient.internal;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import software.amazon.awssdk.services.toolkittelemetry.model.MetadataEntry;
+import software.amazon.awssdk.services.toolkittelemetry.model.MetricDatum;
+
+public class EventSpoolTest {
+
+    private File folder;
+
+    @Before
+    public void setUp() throws Exception {
+        folder = Files.createTempDirectory("telemetry-spool").toFile();
+    }
+
+    @Test
+    public void testReadsEventsInOrderAcrossSegments() throws Exception {
+        EventSpool spool = new EventSpool(folder, 1024 * 1024, 300);
+        spool.append(events(0, 10));
+        spool.append(events(10, 20));
+        Assert.assertTrue(segments().length > 2);
+
+        List<String> names = new ArrayList<>();
+        for (List<MetricDatum> batch = spool.peek(7); !batch.isEmpty(); batch = spool.peek(7)) {
+            for (MetricDatum event : batch) {
+                names.add(event.getMetricName());
+            }
+            spool.commit();
+        }
+
+        Assert.assertEquals(names(0, 20), names);
+        Assert.assertTrue(spool.isEmpty());
+        Assert.assertTrue(segments().length <= 1);
+    }
+
+    @Test
+    public void testKeepsPeekedEventsUntilCommitted() throws Exception {
+        EventSpool spool = new EventSpool(folder, 1024 * 1024, 300);
+        spool.append(events(0, 10));
+
+        Assert.assertEquals(names(0, 4), names(spool.peek(4)));
+        Assert.assertEquals(names(0, 4), names(spool.peek(4)));
+        spool.commit();
+        Assert.assertEquals(names(4, 8), names(spool.peek(4)));
+
+        // Not committed, so read again after a restart
+        spool = new EventSpool(folder, 1024 * 1024, 300);
+        Assert.assertEquals(names(4, 10), names(spool.peek(10)));
+        spool.commit();
+        Assert.assertTrue(spool.isEmpty());
+    }
+
+    @Test
+    public void testKeepsEventMetadata() throws Exception {
+        EventSpool spool = new EventSpool(folder);
+        MetricDatum event = new MetricDatum().metricName("event").unit("Count").value(2.0)
+                .epochTimestamp(1234L).metadata(Arrays.asList(new MetadataEntry().key("k").value("v")));
+        spool.append(Arrays.asList(event));
+
+        MetricDatum read = spool.peek(1).get(0);
+        Assert.assertEquals("event", read.getMetricName());
+        Assert.assertEquals("Count", read.getUnit());
+        Assert.assertEquals(2.0, read.getValue(), 0);
+        Assert.assertEquals(Long.valueOf(1234), read.getEpochTimestamp());
+        Assert.assertEquals("k", read.getMetadata().get(0).getKey());
+        Assert.assertEquals("v", read.getMetadata().get(0).getValue());
+    }
+
+    @Test
+    public void testCutsOffTornWriteWhenOpened() throws Exception {
+        EventSpool spool = new EventSpool(folder, 1024 * 1024, 300);
+        spool.append(events(0, 3));
+        File[] segments = segments();
+        try (OutputStream out = new FileOutputStream(segments[segments.length - 1], true)) {
+            out.write("{\"metricName\":\"tor".getBytes(StandardCharsets.UTF_8));
+        }
+
+        spool = new EventSpool(folder, 1024 * 1024, 300);
+        spool.append(events(3, 5));
+
+        Assert.assertEquals(names(0, 5), names(spool.peek(10)));
+        Assert.assertEquals(1, spool.getDroppedCount());
+    }
+
+    @Test
+    public void testDropsOldestSegmentsBeyondMaximumSize() throws Exception {
+        EventSpool spool = new EventSpool(folder, 600, 300);
+        spool.append(events(0, 30));
+
+        List<String> names = names(spool.peek(30));
+        Assert.assertFalse(names.isEmpty());
+        Assert.assertEquals("event-29", names.get(names.size() - 1));
+        Assert.assertEquals(30, names.size() + spool.getDroppedCount());
+    }
+
+    private File[] segments() {
+        File[] segments = folder.listFiles((dir, name) -> name.endsWith(".jsonl"));
+        Arrays.sort(segments);
+        return segments;
+    }
+
+    private static List<MetricDatum> events(int from, int to) {
+        List<MetricDatum> events = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            events.add(new MetricDatum().metricName("event-" + i).unit("None").value(1.0).epochTimestamp((long) i));
+        }
+        return events;
+    }
+
+    private static List<String> names(int from, int to) {
+        return names(events(from, to));
+    }
+
+    private static List<String> names(List<MetricDatum> events) {
+        List<String> names = new ArrayList<>();
+        for (MetricDatum event : events) {
+            names.add(event.getMetricName());
+        }
+        return names;
+    }
+}
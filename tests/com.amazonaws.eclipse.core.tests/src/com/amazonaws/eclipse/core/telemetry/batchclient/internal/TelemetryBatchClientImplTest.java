@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.core.telemetry.batchclient.internal;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.amazonaws.eclipse.core.telemetry.TelemetryClientV2;
+
+import software.amazon.awssdk.services.toolkittelemetry.model.MetricDatum;
+
+public class TelemetryBatchClientImplTest {
+
+    @Test
+    public void testShutdownSpoolsEventsStillInMemory() throws Exception {
+        File folder = Files.createTempDirectory("telemetry-spool").toFile();
+        final CountDownLatch serviceDown = new CountDownLatch(1);
+        TelemetryClientV2 stalledClient = new TelemetryClientV2(null, null) {
+            @Override
+            public void publish(Collection<MetricDatum> events) {
+                try {
+                    serviceDown.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        TelemetryBatchClientImpl client = new TelemetryBatchClientImpl(stalledClient, folder);
+        // More than the queue holds, so some of them overflow
+        for (int i = 0; i < 1200; i++) {
+            client.putEvent(new MetricDatum().metricName("event-" + i));
+        }
+        client.shutdown();
+        serviceDown.countDown();
+
+        List<String> names = new ArrayList<>();
+        for (MetricDatum event : new EventSpool(folder).peek(2000)) {
+            names.add(event.getMetricName());
+        }
+        Assert.assertEquals(1200, names.size());
+        Assert.assertEquals("event-0", names.get(0));
+        Assert.assertEquals("event-1199", names.get(1199));
+        Assert.assertEquals(0, client.getDroppedCount());
+    }
+}
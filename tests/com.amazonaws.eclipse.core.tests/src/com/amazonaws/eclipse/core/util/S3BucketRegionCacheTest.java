@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.core.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.eclipse.explorer.s3.FakeS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+
+public class S3BucketRegionCacheTest {
+
+    @Test
+    public void testRegionIsResolvedOnce() {
+        FakeS3 s3 = new FakeS3("eu-central-1");
+        S3BucketRegionCache cache = new S3BucketRegionCache(null);
+
+        Assert.assertEquals("eu-central-1", cache.getBucketRegion("foo", s3));
+        Assert.assertEquals("eu-central-1", cache.getBucketRegion("foo", s3));
+        Assert.assertEquals(1, s3.getRequestCount());
+    }
+
+    @Test
+    public void testLegacyLocationsAreNormalized() {
+        S3BucketRegionCache cache = new S3BucketRegionCache(null);
+
+        Assert.assertEquals("us-east-1", cache.getBucketRegion("us", new FakeS3("US")));
+        Assert.assertEquals("eu-west-1", cache.getBucketRegion("eu", new FakeS3("EU")));
+    }
+
+    @Test
+    public void testFailuresAreCached() {
+        FakeS3 s3 = new FakeS3(null);
+        S3BucketRegionCache cache = new S3BucketRegionCache(null);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.getBucketRegion("missing", s3);
+                Assert.fail("Expected the lookup to fail");
+            } catch (AmazonClientException expected) {
+                // Expected
+            }
+        }
+        Assert.assertEquals(1, s3.getRequestCount());
+    }
+
+    @Test
+    public void testFailuresAreCachedPerAccount() {
+        FakeS3 forbidden = new FakeS3(null);
+        FakeS3 allowed = new FakeS3("eu-west-2");
+        S3BucketRegionCache cache = new S3BucketRegionCache(null);
+
+        try {
+            cache.getBucketRegion("first", "shared", forbidden);
+            Assert.fail("Expected the lookup to fail");
+        } catch (AmazonClientException expected) {
+            // Expected
+        }
+        Assert.assertEquals("eu-west-2", cache.getBucketRegion("second", "shared", allowed));
+        // Once known, the region is the same for every account
+        Assert.assertEquals("eu-west-2", cache.getBucketRegion("first", "shared", forbidden));
+        Assert.assertEquals(1, forbidden.getRequestCount());
+        Assert.assertEquals(1, allowed.getRequestCount());
+    }
+
+    @Test
+    public void testInvalidateDropsFailures() {
+        FakeS3 s3 = new FakeS3(null);
+        S3BucketRegionCache cache = new S3BucketRegionCache(null);
+        try {
+            cache.getBucketRegion("account", "foo", s3);
+            Assert.fail("Expected the lookup to fail");
+        } catch (AmazonClientException expected) {
+            // Expected
+        }
+
+        cache.invalidate("foo");
+        s3.setRegion("us-west-1");
+        Assert.assertEquals("us-west-1", cache.getBucketRegion("account", "foo", s3));
+        Assert.assertEquals(2, s3.getRequestCount());
+    }
+
+    @Test
+    public void testRedirectInvalidatesEntry() {
+        FakeS3 s3 = new FakeS3("us-west-2");
+        S3BucketRegionCache cache = new S3BucketRegionCache(null);
+        cache.getBucketRegion("foo", s3);
+
+        AmazonS3Exception redirect = new AmazonS3Exception("Moved");
+        redirect.setStatusCode(301);
+        redirect.setErrorCode("PermanentRedirect");
+        Map<String, String> details = new HashMap<>();
+        details.put("Bucket", "foo");
+        redirect.setAdditionalDetails(details);
+        cache.newRedirectHandler().afterError(null, null, redirect);
+
+        s3.setRegion("ap-south-1");
+        Assert.assertEquals("ap-south-1", cache.getBucketRegion("foo", s3));
+        Assert.assertEquals(2, s3.getRequestCount());
+    }
+
+    @Test
+    public void testPutBucketRegion() {
+        FakeS3 s3 = new FakeS3("us-west-2");
+        S3BucketRegionCache cache = new S3BucketRegionCache(null);
+        cache.putBucketRegion("foo", "sa-east-1");
+
+        Assert.assertEquals("sa-east-1", cache.getBucketRegion("foo", s3));
+        Assert.assertEquals(0, s3.getRequestCount());
+    }
+}
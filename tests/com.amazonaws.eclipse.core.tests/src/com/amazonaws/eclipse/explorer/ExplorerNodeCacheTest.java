@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.explorer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExplorerNodeCacheTest {
+
+    private static final Object[] CHILDREN = new Object[] { "foo", "bar" };
+
+    @Test
+    public void testFreshEntry() {
+        ExplorerNodeCache cache = new ExplorerNodeCache();
+        cache.put("root", CHILDREN, ExplorerNodeCache.DEFAULT_TTL_MILLIS);
+
+        ExplorerNodeCache.Entry entry = cache.get("root");
+        Assert.assertTrue(entry.isFresh());
+        Assert.assertSame(CHILDREN, entry.getChildren());
+    }
+
+    @Test
+    public void testExpiredEntryIsStillServed() {
+        ExplorerNodeCache cache = new ExplorerNodeCache();
+        cache.put("root", CHILDREN, -1);
+
+        ExplorerNodeCache.Entry entry = cache.get("root");
+        Assert.assertFalse(entry.isFresh());
+        Assert.assertSame(CHILDREN, entry.getChildren());
+    }
+
+    @Test
+    public void testMarkAllStale() {
+        ExplorerNodeCache cache = new ExplorerNodeCache();
+        cache.put("root", CHILDREN, ExplorerNodeCache.DEFAULT_TTL_MILLIS);
+        cache.put("child", CHILDREN, ExplorerNodeCache.DEFAULT_TTL_MILLIS);
+        cache.markAllStale();
+
+        Assert.assertFalse(cache.get("root").isFresh());
+        Assert.assertFalse(cache.get("child").isFresh());
+        Assert.assertEquals(2, cache.size());
+
+        cache.put("root", CHILDREN, ExplorerNodeCache.DEFAULT_TTL_MILLIS);
+        Assert.assertTrue(cache.get("root").isFresh());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        ExplorerNodeCache cache = new ExplorerNodeCache(2);
+        cache.put("a", CHILDREN, ExplorerNodeCache.DEFAULT_TTL_MILLIS);
+        cache.put("b", CHILDREN, ExplorerNodeCache.DEFAULT_TTL_MILLIS);
+        cache.get("a");
+        cache.put("c", CHILDREN, ExplorerNodeCache.DEFAULT_TTL_MILLIS);
+
+        Assert.assertNotNull(cache.get("a"));
+        Assert.assertNull(cache.get("b"));
+        Assert.assertNotNull(cache.get("c"));
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.explorer.s3;
+
+import java.io.ByteArrayInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ListObjectsRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.util.BinaryUtils;
+
+/**
+ * In-memory stand-in for a single S3 bucket, shared by the tests of the
+ * toolkit's S3 helpers. It answers ListObjects(V2) with delimiter and paging
+ * semantics, ranged and ETag-constrained GETs, HEAD and GetBucketLocation.
+ * Every request is counted, and requests for a given prefix or range can be
+ * made to fail.
+ */
+public class FakeS3 extends AbstractAmazonS3 {
+
+    private final NavigableMap<String, StoredObject> objects = new ConcurrentSkipListMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile String region;
+    private volatile String failingPrefix;
+    private volatile long failingRangeStart = -1;
+
+    public FakeS3() {
+        this("us-east-1");
+    }
+
+    /**
+     * @param region
+     *            The location reported for the bucket, or null if the bucket
+     *            doesn't exist.
+     */
+    public FakeS3(String region) {
+        this.region = region;
+    }
+
+    /** Adds an empty object under the given key. */
+    public void addKey(String key) {
+        addObject(key, new byte[0]);
+    }
+
+    /** Adds an object with the given content, computing its ETag. */
+    public void addObject(String key, byte[] content) {
+        try {
+            String eTag = BinaryUtils.toHex(MessageDigest.getInstance("MD5").digest(content));
+            objects.put(key, new StoredObject(content, eTag));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Returns every key in the bucket in key order. */
+    public List<String> getKeys() {
+        return new ArrayList<>(objects.keySet());
+    }
+
+    /**
+     * Returns the content of the given object. Changing it doesn't change the
+     * object's ETag.
+     */
+    public byte[] getContent(String key) {
+        return objects.get(key).content;
+    }
+
+    public String getETag(String key) {
+        return objects.get(key).eTag;
+    }
+
+    /** Returns the number of requests made since the last reset. */
+    public int getRequestCount() {
+        return requests.get();
+    }
+
+    public void resetRequestCount() {
+        requests.set(0);
+    }
+
+    /** Sets the bucket's location; null makes the bucket missing. */
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    /** Makes every listing of exactly the given prefix fail. */
+    public void setFailingPrefix(String failingPrefix) {
+        this.failingPrefix = failingPrefix;
+    }
+
+    /** Makes every GET of a range starting at the given offset fail. */
+    public void setFailingRangeStart(long failingRangeStart) {
+        this.failingRangeStart = failingRangeStart;
+    }
+
+    @Override
+    public String getBucketLocation(String bucketName) {
+        requests.incrementAndGet();
+        if (region == null) {
+            AmazonS3Exception e = new AmazonS3Exception("The specified bucket does not exist");
+            e.setStatusCode(404);
+            e.setErrorCode("NoSuchBucket");
+            throw e;
+        }
+        return region;
+    }
+
+    @Override
+    public ObjectListing listObjects(ListObjectsRequest request) {
+        ObjectListing listing = new ObjectListing();
+        String next = listPage(request.getPrefix(), request.getDelimiter(), request.getMarker(),
+                request.getMaxKeys(), listing.getObjectSummaries(), listing.getCommonPrefixes());
+        listing.setTruncated(next != null);
+        listing.setNextMarker(next);
+        return listing;
+    }
+
+    @Override
+    public ListObjectsV2Result listObjectsV2(ListObjectsV2Request request) {
+        ListObjectsV2Result result = new ListObjectsV2Result();
+        String next = listPage(request.getPrefix(), request.getDelimiter(), request.getContinuationToken(),
+                request.getMaxKeys(), result.getObjectSummaries(), result.getCommonPrefixes());
+        result.setTruncated(next != null);
+        result.setNextContinuationToken(next);
+        return result;
+    }
+
+    @Override
+    public ObjectMetadata getObjectMetadata(String bucketName, String key) {
+        requests.incrementAndGet();
+        StoredObject object = objects.get(key);
+        if (object == null) {
+            AmazonS3Exception e = new AmazonS3Exception("Not Found");
+            e.setStatusCode(404);
+            throw e;
+        }
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(object.content.length);
+        metadata.setHeader("ETag", object.eTag);
+        return metadata;
+    }
+
+    @Override
+    public S3Object getObject(GetObjectRequest request) {
+        requests.incrementAndGet();
+        StoredObject object = objects.get(request.getKey());
+        if (object == null) {
+            AmazonS3Exception e = new AmazonS3Exception("The specified key does not exist");
+            e.setStatusCode(404);
+            e.setErrorCode("NoSuchKey");
+            throw e;
+        }
+        List<String> eTags = request.getMatchingETagConstraints();
+        if (!eTags.isEmpty() && !eTags.contains(object.eTag)) {
+            // The client returns null when a constraint isn't met
+            return null;
+        }
+        long[] range = request.getRange();
+        long start = range == null ? 0 : range[0];
+        long end = range == null ? object.content.length - 1 : Math.min(range[1], object.content.length - 1);
+        if (range != null && start == failingRangeStart) {
+            throw new AmazonS3Exception("Internal Error");
+        }
+        S3Object s3Object = new S3Object();
+        s3Object.setBucketName(request.getBucketName());
+        s3Object.setKey(request.getKey());
+        s3Object.setObjectContent(new ByteArrayInputStream(object.content, (int) start, (int) (end - start + 1)));
+        return s3Object;
+    }
+
+    /**
+     * Lists one page of keys after the given marker, rolling keys up to common
+     * prefixes at the delimiter, and returns the marker of the next page or
+     * null if this was the last page.
+     */
+    private String listPage(String prefix, String delimiter, String marker, Integer maxKeys,
+            List<S3ObjectSummary> summaries, List<String> commonPrefixes) {
+        requests.incrementAndGet();
+        String actualPrefix = prefix == null ? "" : prefix;
+        if (actualPrefix.equals(failingPrefix)) {
+            throw new AmazonS3Exception("Access Denied");
+        }
+
+        int limit = maxKeys == null ? 1000 : maxKeys;
+        NavigableMap<String, StoredObject> candidates = marker == null ? objects : objects.tailMap(marker, false);
+        String last = null;
+        int count = 0;
+        for (String key : candidates.keySet()) {
+            if (!key.startsWith(actualPrefix)) {
+                continue;
+            }
+            String entry = key;
+            int index = delimiter == null ? -1 : key.indexOf(delimiter, actualPrefix.length());
+            if (index >= 0) {
+                entry = key.substring(0, index + delimiter.length());
+                if (entry.equals(last) || (marker != null && entry.compareTo(marker) <= 0)) {
+                    continue;
+                }
+            }
+            if (count == limit) {
+                return last;
+            }
+            if (index >= 0) {
+                commonPrefixes.add(entry);
+            } else {
+                S3ObjectSummary summary = new S3ObjectSummary();
+                summary.setKey(key);
+                summary.setSize(objects.get(key).content.length);
+                summary.setETag(objects.get(key).eTag);
+                summaries.add(summary);
+            }
+            last = entry;
+            count++;
+        }
+        return null;
+    }
+
+    private static final class StoredObject {
+        private final byte[] content;
+        private final String eTag;
+
+        StoredObject(byte[] content, String eTag) {
+            this.content = content;
+            this.eTag = eTag;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.explorer.s3;
+
+import java.util.Arrays;
+
+import org.eclipse.core.runtime.IPath;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+public class S3ObjectListingPagerTest {
+
+    @Test
+    public void testPagesAreFetchedOnDemand() {
+        FakeS3 s3 = newFakeS3(25);
+        S3ObjectListingPager pager = new S3ObjectListingPager("bucket", "", "/", true, 10, 5);
+
+        Assert.assertTrue(pager.needsLoad(0));
+        pager.loadPage(s3, 0);
+        Assert.assertEquals(10, pager.getLoadedCount());
+        Assert.assertFalse(pager.isComplete());
+        Assert.assertEquals(1, s3.getRequestCount());
+
+        pager.loadPage(s3, 1);
+        pager.loadPage(s3, 2);
+        Assert.assertEquals(25, pager.getLoadedCount());
+        Assert.assertTrue(pager.isComplete());
+        Assert.assertFalse(pager.needsLoad(3));
+        Assert.assertEquals("key-24", ((S3ObjectSummary) pager.getItem(24)).getKey());
+        Assert.assertEquals(2, pager.getPageIndex(24));
+    }
+
+    @Test
+    public void testEvictedPagesAreFetchedAgain() {
+        FakeS3 s3 = newFakeS3(40);
+        S3ObjectListingPager pager = new S3ObjectListingPager("bucket", "", "/", false, 10, 2);
+
+        pager.loadPage(s3, 0);
+        pager.loadPage(s3, 1);
+        Assert.assertEquals(Arrays.asList(0), pager.loadPage(s3, 2));
+        Assert.assertEquals(2, pager.getResidentPageCount());
+        Assert.assertNull(pager.getItem(3));
+        Assert.assertTrue(pager.needsLoad(0));
+
+        pager.loadPage(s3, 0);
+        Assert.assertEquals("key-03", ((S3ObjectSummary) pager.getItem(3)).getKey());
+        Assert.assertFalse(pager.isListingChanged());
+    }
+
+    @Test
+    public void testPagesHeldByTheUiCountAgainstTheLimit() {
+        FakeS3 s3 = newFakeS3(50);
+        S3ObjectListingPager pager = new S3ObjectListingPager("bucket", "", "/", true, 10, 2);
+
+        pager.loadPage(s3, 0);
+        pager.loadPage(s3, 1);
+        Assert.assertEquals(Arrays.asList(0), pager.loadPage(s3, 2));
+        Assert.assertEquals(1, pager.getHeldPageCount());
+
+        // Page 0 wasn't released yet, so fetching page 3 leaves room for it
+        Assert.assertEquals(Arrays.asList(1, 2), pager.loadPage(s3, 3));
+        Assert.assertEquals(1, pager.getResidentPageCount());
+        Assert.assertEquals(3, pager.getHeldPageCount());
+
+        pager.releasePage(0);
+        pager.releasePage(1);
+        pager.releasePage(2);
+        Assert.assertEquals(0, pager.getHeldPageCount());
+        Assert.assertEquals(Arrays.asList(), pager.loadPage(s3, 4));
+        Assert.assertEquals(2, pager.getResidentPageCount());
+    }
+
+    @Test
+    public void testCommonPrefixesAndFolderPlaceholder() {
+        FakeS3 s3 = new FakeS3();
+        s3.addKey("dir/");
+        s3.addKey("dir/a");
+        s3.addKey("dir/sub/b");
+        S3ObjectListingPager pager = new S3ObjectListingPager("bucket", "dir/", "/", true);
+
+        pager.loadPage(s3, 0);
+        Assert.assertEquals(2, pager.getLoadedCount());
+        Assert.assertEquals("dir/a", ((S3ObjectSummary) pager.getItem(0)).getKey());
+        Assert.assertTrue(pager.getItem(1) instanceof IPath);
+    }
+
+    private static FakeS3 newFakeS3(int keyCount) {
+        FakeS3 s3 = new FakeS3();
+        for (int i = 0; i < keyCount; i++) {
+            s3.addKey(String.format("key-%02d", i));
+        }
+        return s3;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.explorer.s3;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+/**
+ * Runs the lister against an in-memory stand-in for S3's ListObjectsV2. Point
+ * {@link S3ParallelLister} at a client for a local S3-compatible server to
+ * exercise it end to end.
+ */
+public class S3ParallelListerTest {
+
+    @Test
+    public void testListsEveryKeyInOrder() {
+        FakeS3 s3 = new FakeS3();
+        for (int i = 0; i < 30; i++) {
+            s3.addKey(String.format("top-%02d", i));
+            for (int j = 0; j < 15; j++) {
+                s3.addKey(String.format("dir-%02d/key-%02d", i, j));
+                s3.addKey(String.format("dir-%02d/sub/deep/key-%02d", i, j));
+            }
+        }
+
+        S3ParallelLister lister = new S3ParallelLister(s3, "bucket", 4, 2, true);
+        List<S3ObjectSummary> summaries = lister.listAll("", null);
+
+        List<String> keys = new ArrayList<>();
+        for (S3ObjectSummary summary : summaries) {
+            keys.add(summary.getKey());
+        }
+        Assert.assertEquals(s3.getKeys(), keys);
+        Assert.assertEquals(s3.getKeys().size(), lister.getKeyCount());
+        Assert.assertTrue(lister.getRequestCount() > 1);
+    }
+
+    @Test
+    public void testListsUnderPrefix() {
+        FakeS3 s3 = new FakeS3();
+        s3.addKey("a/1");
+        s3.addKey("a/b/2");
+        s3.addKey("ab/3");
+
+        List<S3ObjectSummary> summaries = new S3ParallelLister(s3, "bucket").listAll("a/", null);
+
+        Assert.assertEquals(2, summaries.size());
+        Assert.assertEquals("a/1", summaries.get(0).getKey());
+        Assert.assertEquals("a/b/2", summaries.get(1).getKey());
+    }
+
+    @Test
+    public void testFailureIsPropagated() {
+        FakeS3 s3 = new FakeS3();
+        s3.addKey("a/1");
+        s3.addKey("b/1");
+        s3.setFailingPrefix("b/");
+
+        try {
+            new S3ParallelLister(s3, "bucket").listAll("", null);
+            Assert.fail("Expected the listing to fail");
+        } catch (AmazonClientException expected) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void testUnexpectedExceptionIsPropagated() {
+        FakeS3 s3 = new FakeS3();
+        s3.addKey("a/1");
+        s3.addKey("b/1");
+        final IllegalStateException failure = new IllegalStateException("Consumer failed");
+
+        try {
+            new S3ParallelLister(s3, "bucket").list("", summaries -> {
+                throw failure;
+            }, null);
+            Assert.fail("Expected the listing to fail");
+        } catch (IllegalStateException expected) {
+            Assert.assertSame(failure, expected);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.explorer.s3.util;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.amazonaws.eclipse.explorer.s3.FakeS3;
+import com.amazonaws.eclipse.explorer.s3.util.S3ParallelDownloader.ObjectDownload;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+public class S3ParallelDownloaderTest {
+
+    private File folder;
+
+    @Before
+    public void setUp() throws Exception {
+        folder = Files.createTempDirectory("s3-download").toFile();
+    }
+
+    @Test
+    public void testDownloadsRangesIntoPlace() throws Exception {
+        FakeS3 s3 = new FakeS3();
+        File file = new File(folder, "sub/object");
+
+        ObjectDownload download = describe(s3, 100_000, file);
+        new S3ParallelDownloader(s3, 4, 8_000).download(Collections.singletonList(download), null);
+
+        Assert.assertNull(download.getFailure());
+        Assert.assertTrue(download.isCompleted());
+        Assert.assertArrayEquals(s3.getContent("key"), Files.readAllBytes(file.toPath()));
+        Assert.assertEquals(13, s3.getRequestCount());
+        Assert.assertEquals(1, new File(folder, "sub").list().length);
+    }
+
+    @Test
+    public void testResumesFromCompletedParts() throws Exception {
+        FakeS3 s3 = new FakeS3();
+        s3.setFailingRangeStart(40_000);
+        File file = new File(folder, "object");
+
+        // One request at a time, so exactly the five parts before the failing
+        // one are written
+        ObjectDownload download = describe(s3, 100_000, file);
+        new S3ParallelDownloader(s3, 1, 8_000).download(Collections.singletonList(download), null);
+        Assert.assertNotNull(download.getFailure());
+        Assert.assertFalse(file.exists());
+
+        s3.setFailingRangeStart(-1);
+        download = describe(s3, 100_000, file);
+        new S3ParallelDownloader(s3, 4, 8_000).download(Collections.singletonList(download), null);
+
+        Assert.assertNull(download.getFailure());
+        Assert.assertArrayEquals(s3.getContent("key"), Files.readAllBytes(file.toPath()));
+        Assert.assertEquals(8, s3.getRequestCount());
+    }
+
+    @Test
+    public void testChecksumMismatchFails() throws Exception {
+        FakeS3 s3 = new FakeS3();
+        s3.addObject("key", new byte[10_000]);
+        S3ObjectSummary summary = new S3ObjectSummary();
+        summary.setBucketName("bucket");
+        summary.setKey("key");
+        summary.setSize(10_000);
+        summary.setETag(s3.getETag("key"));
+        s3.getContent("key")[5] ^= 1;
+
+        ObjectDownload download = ObjectDownload.of(summary, new File(folder, "object"));
+        new S3ParallelDownloader(s3).download(Arrays.asList(download), null);
+
+        Assert.assertNotNull(download.getFailure());
+        Assert.assertFalse(download.getFile().exists());
+    }
+
+    /**
+     * Adds an object of the given size with random content and returns a
+     * download of it, not counting the HEAD request this takes.
+     */
+    private static ObjectDownload describe(FakeS3 s3, int size, File file) {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        s3.addObject("key", content);
+        ObjectDownload download = new S3ParallelDownloader(s3).describe("bucket", "key", file);
+        s3.resetRequestCount();
+        return download;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.explorer.sqs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.amazonaws.eclipse.explorer.sqs.QueueMessageBrowser.BatchFailure;
+import com.amazonaws.services.sqs.AbstractAmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequest;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchResult;
+import com.amazonaws.services.sqs.model.Message;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.amazonaws.services.sqs.model.ReceiveMessageResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+
+public class QueueMessageBrowserTest {
+
+    @Test
+    public void testSamplesDistinctMessagesUpToSampleSize() {
+        FakeSQS sqs = new FakeSQS(200);
+        final Set<String> ids = Collections.synchronizedSet(new HashSet<String>());
+        final AtomicInteger handedOut = new AtomicInteger();
+
+        new QueueMessageBrowser(sqs, "queue", 50, 4, 0).browse(messages -> {
+            handedOut.addAndGet(messages.size());
+            for (Message message : messages) {
+                ids.add(message.getMessageId());
+            }
+        }, null);
+
+        Assert.assertEquals(50, handedOut.get());
+        Assert.assertEquals(50, ids.size());
+    }
+
+    @Test
+    public void testStopsOnSmallQueue() {
+        FakeSQS sqs = new FakeSQS(7);
+        final Set<String> ids = Collections.synchronizedSet(new HashSet<String>());
+
+        QueueMessageBrowser browser = new QueueMessageBrowser(sqs, "queue", 100, 2, 0);
+        browser.browse(messages -> {
+            for (Message message : messages) {
+                Assert.assertTrue(ids.add(message.getMessageId()));
+            }
+        }, null);
+
+        Assert.assertEquals(7, ids.size());
+        Assert.assertTrue(browser.getRequestCount() < 50);
+    }
+
+    @Test
+    public void testDeletesInBatchesAndReportsFailures() {
+        FakeSQS sqs = new FakeSQS(0);
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            messages.add(new Message().withMessageId("m" + i).withReceiptHandle(i == 13 ? "bad" : "r" + i));
+        }
+
+        List<BatchFailure<Message>> failures = QueueMessageBrowser.deleteMessages(sqs, "queue", messages);
+
+        Assert.assertEquals(3, sqs.batchRequests.get());
+        Assert.assertEquals(1, failures.size());
+        Assert.assertEquals("m13", failures.get(0).getItem().getMessageId());
+    }
+
+    @Test
+    public void testSendBatchesRespectPayloadLimit() {
+        FakeSQS sqs = new FakeSQS(0);
+        char[] large = new char[100 * 1024];
+        Arrays.fill(large, 'x');
+        List<String> bodies = Arrays.asList(new String(large), new String(large), new String(large), "a", "b");
+
+        List<BatchFailure<String>> failures = QueueMessageBrowser.sendMessages(sqs, "queue", bodies, null);
+
+        Assert.assertTrue(failures.isEmpty());
+        Assert.assertEquals(2, sqs.batchRequests.get());
+        Assert.assertEquals(bodies, sqs.sentBodies);
+    }
+
+    /**
+     * Returns a random subset of a fixed set of messages on every receive,
+     * like SQS does with a visibility timeout of zero.
+     */
+    private static class FakeSQS extends AbstractAmazonSQS {
+        private final List<Message> messages = new ArrayList<>();
+        private final Random random = new Random(42);
+        private final AtomicInteger batchRequests = new AtomicInteger();
+        private final List<String> sentBodies = Collections.synchronizedList(new ArrayList<String>());
+
+        FakeSQS(int messageCount) {
+            for (int i = 0; i < messageCount; i++) {
+                messages.add(new Message().withMessageId("m" + i).withBody("body " + i));
+            }
+        }
+
+        @Override
+        public ReceiveMessageResult receiveMessage(ReceiveMessageRequest request) {
+            Assert.assertEquals(Integer.valueOf(0), request.getVisibilityTimeout());
+            List<Message> result = new ArrayList<>();
+            synchronized (random) {
+                for (int i = 0; i < request.getMaxNumberOfMessages() && !messages.isEmpty(); i++) {
+                    result.add(messages.get(random.nextInt(messages.size())));
+                }
+            }
+            return new ReceiveMessageResult().withMessages(result);
+        }
+
+        @Override
+        public DeleteMessageBatchResult deleteMessageBatch(DeleteMessageBatchRequest request) {
+            batchRequests.incrementAndGet();
+            Assert.assertTrue(request.getEntries().size() <= 10);
+            DeleteMessageBatchResult result = new DeleteMessageBatchResult();
+            for (DeleteMessageBatchRequestEntry entry : request.getEntries()) {
+                if ("bad".equals(entry.getReceiptHandle())) {
+                    result.withFailed(new BatchResultErrorEntry().withId(entry.getId())
+                            .withCode("ReceiptHandleIsInvalid").withMessage("invalid"));
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public SendMessageBatchResult sendMessageBatch(SendMessageBatchRequest request) {
+            batchRequests.incrementAndGet();
+            int payload = 0;
+            for (SendMessageBatchRequestEntry entry : request.getEntries()) {
+                payload += entry.getMessageBody().length();
+                sentBodies.add(entry.getMessageBody());
+            }
+            Assert.assertTrue(payload <= QueueMessageBrowser.MAX_BATCH_PAYLOAD_BYTES);
+            return new SendMessageBatchResult();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.dynamodb.editor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+
+public class BatchItemWriterTest {
+
+    private static final String TABLE = "table";
+
+    @Test
+    public void testSplitsDeletesIntoBatches() {
+        FakeDynamoDB dynamo = new FakeDynamoDB();
+
+        BatchItemWriter.Result<Map<String, AttributeValue>> result = new BatchItemWriter(dynamo, TABLE, 4)
+                .deleteItems(keys(0, 60), null);
+
+        Assert.assertEquals(60, result.getSucceeded().size());
+        Assert.assertTrue(result.getFailures().isEmpty());
+        List<Integer> sizes = dynamo.batchSizes();
+        Collections.sort(sizes);
+        Assert.assertEquals(Arrays.asList(10, 25, 25), sizes);
+        Assert.assertEquals(new HashSet<>(keys(0, 60)), new HashSet<>(dynamo.written));
+    }
+
+    @Test
+    public void testRetriesUnprocessedItems() {
+        FakeDynamoDB dynamo = new FakeDynamoDB();
+        dynamo.unprocessedOnce.addAll(keys(0, 5));
+
+        BatchItemWriter.Result<Map<String, AttributeValue>> result = new BatchItemWriter(dynamo, TABLE, 1)
+                .deleteItems(keys(0, 20), null);
+
+        Assert.assertEquals(20, result.getSucceeded().size());
+        Assert.assertTrue(result.getFailures().isEmpty());
+        Assert.assertEquals(Arrays.asList(20, 5), dynamo.batchSizes());
+        Assert.assertEquals(new HashSet<>(keys(0, 5)), new HashSet<>(dynamo.batches.get(1)));
+    }
+
+    @Test
+    public void testFailsItemsNeverProcessed() {
+        FakeDynamoDB dynamo = new FakeDynamoDB();
+        dynamo.alwaysUnprocessed.addAll(keys(0, 1));
+
+        BatchItemWriter.Result<Map<String, AttributeValue>> result = new BatchItemWriter(dynamo, TABLE, 1)
+                .deleteItems(keys(0, 3), null);
+
+        Assert.assertEquals(new HashSet<>(keys(1, 3)), result.getSucceeded());
+        Assert.assertEquals(keys(0, 1), new ArrayList<>(result.getFailures().keySet()));
+        // The first attempt and seven retries
+        Assert.assertEquals(8, dynamo.batches.size());
+    }
+
+    @Test
+    public void testResendsBatchRejectedByServiceItemByItem() {
+        FakeDynamoDB dynamo = new FakeDynamoDB();
+        dynamo.rejected.addAll(keys(30, 31));
+
+        BatchItemWriter.Result<Map<String, AttributeValue>> result = new BatchItemWriter(dynamo, TABLE, 2)
+                .deleteItems(keys(0, 40), null);
+
+        // The second batch holds items 25 to 39; only the bad item fails
+        Set<Map<String, AttributeValue>> succeeded = new HashSet<>(keys(0, 40));
+        succeeded.remove(key(30));
+        Assert.assertEquals(succeeded, result.getSucceeded());
+        Assert.assertEquals(Collections.singleton(key(30)), result.getFailures().keySet());
+        Assert.assertEquals(1 + 1 + 15, dynamo.batches.size());
+    }
+
+    @Test
+    public void testDoesNotResendThrottledBatchItemByItem() {
+        FakeDynamoDB dynamo = new FakeDynamoDB();
+        dynamo.rejected.addAll(keys(3, 4));
+        dynamo.rejectionErrorCode = "ProvisionedThroughputExceededException";
+
+        BatchItemWriter.Result<Map<String, AttributeValue>> result = new BatchItemWriter(dynamo, TABLE, 1)
+                .deleteItems(keys(0, 10), null);
+
+        Assert.assertEquals(new HashSet<>(keys(0, 10)), result.getFailures().keySet());
+        Assert.assertEquals(1, dynamo.batches.size());
+    }
+
+    @Test
+    public void testWritesConditionalRequestsOneByOne() {
+        FakeDynamoDB dynamo = new FakeDynamoDB();
+        Map<String, AmazonWebServiceRequest> requests = new LinkedHashMap<>();
+        requests.put("put", new PutItemRequest().withTableName(TABLE).withItem(key(1)));
+        requests.put("update", new UpdateItemRequest().withTableName(TABLE).withKey(key(2)));
+        requests.put("failing", new PutItemRequest().withTableName(TABLE).withItem(key(3)));
+        dynamo.rejected.add(key(3));
+
+        BatchItemWriter.Result<String> result = new BatchItemWriter(dynamo, TABLE, 4).writeItems(requests, null);
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("put", "update")), result.getSucceeded());
+        Assert.assertEquals(Collections.singleton("failing"), result.getFailures().keySet());
+        Assert.assertTrue(dynamo.batches.isEmpty());
+    }
+
+    private static Map<String, AttributeValue> key(int i) {
+        return Collections.singletonMap("id", new AttributeValue().withN(Integer.toString(i)));
+    }
+
+    private static List<Map<String, AttributeValue>> keys(int from, int to) {
+        List<Map<String, AttributeValue>> keys = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            keys.add(key(i));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.dynamodb.editor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.dynamodbv2.AbstractAmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.DescribeTableRequest;
+import com.amazonaws.services.dynamodbv2.model.DescribeTableResult;
+import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
+import com.amazonaws.services.dynamodbv2.model.KeyType;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemResult;
+import com.amazonaws.services.dynamodbv2.model.ResourceNotFoundException;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.amazonaws.services.dynamodbv2.model.TableDescription;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+
+/**
+ * In-memory stand-in for DynamoDB, shared by the editor and explorer tests.
+ * Tables are described from {@link #tables}, and scans serve {@link #items}
+ * in pages of two per segment. Writes are recorded in {@link #written} in the
+ * order they arrive, and each BatchWriteItem call in {@link #batches}. Items
+ * can be left unprocessed by a batch, or rejected.
+ */
+public class FakeDynamoDB extends AbstractAmazonDynamoDB {
+
+    private static final int SCAN_PAGE_SIZE = 2;
+
+    public final Map<String, TableDescription> tables = new ConcurrentHashMap<>();
+    public final List<Map<String, AttributeValue>> items = new ArrayList<>();
+
+    /** Items put and keys deleted, in the order they were written. */
+    public final List<Map<String, AttributeValue>> written = new ArrayList<>();
+    /** Items put and keys deleted by each BatchWriteItem call. */
+    public final List<List<Map<String, AttributeValue>>> batches = new ArrayList<>();
+
+    public final Set<Map<String, AttributeValue>> unprocessedOnce = new HashSet<>();
+    public final Set<Map<String, AttributeValue>> alwaysUnprocessed = new HashSet<>();
+    /** Items and keys whose writes fail with {@link #rejectionErrorCode}. */
+    public final Set<Map<String, AttributeValue>> rejected = new HashSet<>();
+    public volatile String rejectionErrorCode = "ValidationException";
+
+    public final AtomicInteger describeCount = new AtomicInteger();
+    public volatile boolean describeFailing;
+
+    /** Adds a table with a hash key named "id" of the given attribute type. */
+    public FakeDynamoDB withTable(String tableName, String keyType) {
+        tables.put(tableName, new TableDescription()
+                .withTableName(tableName)
+                .withKeySchema(new KeySchemaElement("id", KeyType.HASH))
+                .withAttributeDefinitions(new AttributeDefinition("id", keyType)));
+        return this;
+    }
+
+    @Override
+    public DescribeTableResult describeTable(String tableName) {
+        return describeTable(new DescribeTableRequest().withTableName(tableName));
+    }
+
+    @Override
+    public DescribeTableResult describeTable(DescribeTableRequest request) {
+        describeCount.incrementAndGet();
+        if (describeFailing) {
+            throw new AmazonServiceException("Throttled");
+        }
+        TableDescription table = tables.get(request.getTableName());
+        if (table == null) {
+            throw new ResourceNotFoundException("Not found: " + request.getTableName());
+        }
+        return new DescribeTableResult().withTable(table);
+    }
+
+    @Override
+    public synchronized ScanResult scan(ScanRequest request) {
+        List<Map<String, AttributeValue>> segment = new ArrayList<>();
+        for (int i = request.getSegment(); i < items.size(); i += request.getTotalSegments()) {
+            segment.add(items.get(i));
+        }
+        int start = request.getExclusiveStartKey() == null ? 0
+                : Integer.parseInt(request.getExclusiveStartKey().get("position").getN());
+        int end = Math.min(segment.size(), start + SCAN_PAGE_SIZE);
+        return new ScanResult()
+                .withItems(new ArrayList<>(segment.subList(start, end)))
+                .withLastEvaluatedKey(end < segment.size() ? Collections.singletonMap("position",
+                        new AttributeValue().withN(Integer.toString(end))) : null);
+    }
+
+    @Override
+    public synchronized BatchWriteItemResult batchWriteItem(BatchWriteItemRequest request) {
+        Map<String, List<WriteRequest>> unprocessed = new HashMap<>();
+        for (Map.Entry<String, List<WriteRequest>> entry : request.getRequestItems().entrySet()) {
+            List<WriteRequest> writes = entry.getValue();
+            Assert.assertTrue(writes.size() <= BatchItemWriter.MAX_BATCH_WRITE_ITEMS);
+
+            List<Map<String, AttributeValue>> targets = new ArrayList<>();
+            for (WriteRequest write : writes) {
+                targets.add(write.getDeleteRequest() != null ? write.getDeleteRequest().getKey()
+                        : write.getPutRequest().getItem());
+            }
+            batches.add(targets);
+            for (Map<String, AttributeValue> target : targets) {
+                if (rejected.contains(target)) {
+                    throw rejection("Rejected");
+                }
+            }
+
+            List<WriteRequest> left = new ArrayList<>();
+            for (int i = 0; i < writes.size(); i++) {
+                if (unprocessedOnce.remove(targets.get(i)) || alwaysUnprocessed.contains(targets.get(i))) {
+                    left.add(writes.get(i));
+                } else {
+                    written.add(targets.get(i));
+                }
+            }
+            if (!left.isEmpty()) {
+                unprocessed.put(entry.getKey(), left);
+            }
+        }
+        return new BatchWriteItemResult().withUnprocessedItems(unprocessed);
+    }
+
+    @Override
+    public synchronized PutItemResult putItem(PutItemRequest request) {
+        if (rejected.contains(request.getItem())) {
+            throw rejection("The conditional request failed");
+        }
+        written.add(request.getItem());
+        return new PutItemResult();
+    }
+
+    @Override
+    public synchronized UpdateItemResult updateItem(UpdateItemRequest request) {
+        if (rejected.contains(request.getKey())) {
+            throw rejection("The conditional request failed");
+        }
+        written.add(request.getKey());
+        return new UpdateItemResult();
+    }
+
+    /** Returns the number of writes in each BatchWriteItem call so far. */
+    public synchronized List<Integer> batchSizes() {
+        List<Integer> sizes = new ArrayList<>();
+        for (List<Map<String, AttributeValue>> batch : batches) {
+            sizes.add(batch.size());
+        }
+        return sizes;
+    }
+
+    private AmazonServiceException rejection(String message) {
+        AmazonServiceException e = new AmazonServiceException(message);
+        e.setStatusCode(400);
+        e.setErrorCode(rejectionErrorCode);
+        return e;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.dynamodb.editor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+
+public class ItemStoreTest {
+
+    private ItemStore store;
+
+    @Before
+    public void setUp() {
+        store = new ItemStore();
+    }
+
+    @Test
+    public void testReadsBackEveryKindOfValue() {
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("s", new AttributeValue().withS("text"));
+        item.put("n", new AttributeValue().withN("42"));
+        item.put("bool", new AttributeValue().withBOOL(false));
+        item.put("null", new AttributeValue().withNULL(true));
+        item.put("ss", new AttributeValue().withSS(Arrays.asList("a", "b")));
+        item.put("m", new AttributeValue().withM(
+                Collections.singletonMap("inner", new AttributeValue().withS("x"))));
+
+        ItemStore.Row row = store.add(item);
+
+        Assert.assertEquals(item.size(), row.size());
+        for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+            Assert.assertEquals(attribute.getKey(), attribute.getValue(), row.get(attribute.getKey()));
+        }
+        // A number must not come back as a string with the same text
+        Assert.assertNull(row.get("n").getS());
+        Assert.assertNull(row.get("missing"));
+    }
+
+    @Test
+    public void testAddAllReturnsOnlyNewAttributeNames() {
+        Assert.assertEquals(Arrays.asList("id", "name"),
+                store.addAll(Arrays.asList(item("id", "1", "name", "a"), item("id", "2"))));
+        Assert.assertEquals(Arrays.asList("color"),
+                store.addAll(Arrays.asList(item("name", "b", "color", "red"))));
+        Assert.assertEquals(3, store.size());
+    }
+
+    @Test
+    public void testPutReplacesAndRemoveDropsValues() {
+        ItemStore.Row row = store.add(item("id", "1", "name", "a", "color", "red"));
+
+        Assert.assertEquals(new AttributeValue().withS("a"), row.put("name", new AttributeValue().withN("7")));
+        Assert.assertEquals(new AttributeValue().withN("7"), row.get("name"));
+        Assert.assertEquals(new AttributeValue().withS("1"), row.remove("id"));
+        Assert.assertNull(row.remove("id"));
+        Assert.assertEquals(2, row.size());
+        Assert.assertEquals(new AttributeValue().withS("red"), row.get("color"));
+
+        row.put("size", new AttributeValue().withS("L"));
+        row.put("weight", new AttributeValue().withS("3"));
+        Assert.assertEquals(4, row.size());
+        Assert.assertEquals(new AttributeValue().withS("3"), row.get("weight"));
+    }
+
+    @Test
+    public void testIteratorRemovesEntries() {
+        ItemStore.Row row = store.add(item("id", "1", "name", "a", "color", "red"));
+
+        for (Iterator<Map.Entry<String, AttributeValue>> it = row.entrySet().iterator(); it.hasNext();) {
+            if (!it.next().getKey().equals("color")) {
+                it.remove();
+            }
+        }
+
+        Assert.assertEquals(Collections.singletonMap("color", new AttributeValue().withS("red")),
+                new HashMap<>(row));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIteratorRemovesOnlyOnce() {
+        Iterator<Map.Entry<String, AttributeValue>> it = store.add(item("id", "1")).entrySet().iterator();
+        it.next();
+        it.remove();
+        it.remove();
+    }
+
+    @Test
+    public void testRowsWithTheSameAttributesAreStillDistinct() {
+        ItemStore.Row first = store.add(item("id", "1"));
+        ItemStore.Row second = store.add(item("id", "1"));
+
+        Assert.assertNotEquals(first, second);
+        Assert.assertEquals(item("id", "1"), first);
+
+        Set<ItemStore.Row> rows = new HashSet<>();
+        rows.add(first);
+        int hashCode = first.hashCode();
+        first.put("name", new AttributeValue().withS("edited"));
+        Assert.assertEquals(hashCode, first.hashCode());
+        Assert.assertTrue(rows.contains(first));
+        Assert.assertFalse(rows.contains(second));
+    }
+
+    @Test
+    public void testRowsKeepTheirIdentityWhenOthersAreRemoved() {
+        store.addAll(Arrays.asList(item("id", "1"), item("id", "2"), item("id", "3")));
+        ItemStore.Row last = store.get(2);
+
+        Assert.assertEquals(item("id", "1"), store.remove(0));
+
+        Assert.assertSame(last, store.get(1));
+        Assert.assertEquals(2, store.getRows().size());
+    }
+
+    @Test
+    public void testClearForgetsAttributeNames() {
+        store.add(item("id", "1"));
+        store.clear();
+
+        Assert.assertEquals(0, store.size());
+        Assert.assertEquals(Arrays.asList("id"), store.addAll(Arrays.asList(item("id", "2"))));
+    }
+
+    private static Map<String, AttributeValue> item(String... namesAndValues) {
+        Map<String, AttributeValue> item = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            item.put(namesAndValues[i], new AttributeValue().withS(namesAndValues[i + 1]));
+        }
+        return item;
+    }
+}
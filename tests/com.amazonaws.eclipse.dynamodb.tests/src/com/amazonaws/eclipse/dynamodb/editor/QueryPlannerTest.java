@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.dynamodb.editor;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import com.amazonaws.services.dynamodbv2.model.GlobalSecondaryIndexDescription;
+import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
+import com.amazonaws.services.dynamodbv2.model.KeyType;
+import com.amazonaws.services.dynamodbv2.model.LocalSecondaryIndexDescription;
+import com.amazonaws.services.dynamodbv2.model.Projection;
+import com.amazonaws.services.dynamodbv2.model.ProjectionType;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.Select;
+import com.amazonaws.services.dynamodbv2.model.TableDescription;
+
+public class QueryPlannerTest {
+
+    private QueryPlanner planner;
+
+    @Before
+    public void setUp() {
+        TableDescription table = new TableDescription()
+                .withTableName("orders")
+                .withKeySchema(new KeySchemaElement("customer", KeyType.HASH),
+                        new KeySchemaElement("orderId", KeyType.RANGE))
+                .withGlobalSecondaryIndexes(
+                        new GlobalSecondaryIndexDescription()
+                                .withIndexName("byStatus")
+                                .withIndexStatus("ACTIVE")
+                                .withKeySchema(new KeySchemaElement("status", KeyType.HASH),
+                                        new KeySchemaElement("date", KeyType.RANGE))
+                                .withProjection(new Projection().withProjectionType(ProjectionType.ALL)),
+                        new GlobalSecondaryIndexDescription()
+                                .withIndexName("bySku")
+                                .withIndexStatus("ACTIVE")
+                                .withKeySchema(new KeySchemaElement("sku", KeyType.HASH))
+                                .withProjection(new Projection().withProjectionType(ProjectionType.KEYS_ONLY)),
+                        new GlobalSecondaryIndexDescription()
+                                .withIndexName("byRegion")
+                                .withIndexStatus("CREATING")
+                                .withKeySchema(new KeySchemaElement("region", KeyType.HASH))
+                                .withProjection(new Projection().withProjectionType(ProjectionType.ALL)))
+                .withLocalSecondaryIndexes(new LocalSecondaryIndexDescription()
+                        .withIndexName("byDate")
+                        .withKeySchema(new KeySchemaElement("customer", KeyType.HASH),
+                                new KeySchemaElement("date", KeyType.RANGE))
+                        .withProjection(new Projection().withProjectionType(ProjectionType.KEYS_ONLY)));
+        planner = new QueryPlanner(table);
+    }
+
+    @Test
+    public void testListsTableAndActiveIndexes() {
+        List<QueryPlanner.AccessPath> paths = planner.getAccessPaths();
+        Assert.assertEquals(4, paths.size());
+        Assert.assertNull(paths.get(0).getIndexName());
+        Assert.assertEquals("byStatus", paths.get(1).getIndexName());
+        Assert.assertEquals("bySku", paths.get(2).getIndexName());
+        Assert.assertEquals("byDate", paths.get(3).getIndexName());
+    }
+
+    @Test
+    public void testScansWithoutKeyCondition() {
+        QueryPlanner.Plan plan = planner.plan(conditions(condition("price", ComparisonOperator.GT, "5")), null,
+                Collections.<String>emptyList());
+
+        Assert.assertNull(plan.getQuery());
+        ScanRequest scan = plan.getScan();
+        Assert.assertNull(scan.getIndexName());
+        Assert.assertEquals("#a0 > :v0", scan.getFilterExpression());
+        Assert.assertEquals("price", scan.getExpressionAttributeNames().get("#a0"));
+        Assert.assertEquals("5", scan.getExpressionAttributeValues().get(":v0").getS());
+    }
+
+    @Test
+    public void testQueriesTableOnHashKey() {
+        QueryPlanner.Plan plan = planner.plan(conditions(
+                condition("customer", ComparisonOperator.EQ, "c1"),
+                condition("price", ComparisonOperator.GT, "5")), null, Collections.<String>emptyList());
+
+        QueryRequest query = plan.getQuery();
+        Assert.assertNull(plan.getScan());
+        Assert.assertNull(query.getIndexName());
+        Assert.assertEquals("#a0 = :v0", query.getKeyConditionExpression());
+        Assert.assertEquals("#a1 > :v1", query.getFilterExpression());
+    }
+
+    @Test
+    public void testPrefersPathWithRangeKeyCondition() {
+        QueryPlanner.Plan plan = planner.plan(conditions(
+                condition("customer", ComparisonOperator.EQ, "c1"),
+                condition("date", ComparisonOperator.BETWEEN, "2026-01", "2026-02")), null,
+                Collections.<String>emptyList());
+
+        QueryRequest query = plan.getQuery();
+        Assert.assertEquals("byDate", query.getIndexName());
+        Assert.assertEquals("#a0 = :v0 AND #a1 BETWEEN :v1 AND :v2", query.getKeyConditionExpression());
+        Assert.assertNull(query.getFilterExpression());
+        // The local index only has the keys; the rest comes from the table
+        Assert.assertEquals(Select.ALL_ATTRIBUTES.toString(), query.getSelect());
+    }
+
+    @Test
+    public void testQueriesGlobalIndexOnItsHashKey() {
+        QueryPlanner.Plan plan = planner.plan(conditions(
+                condition("status", ComparisonOperator.EQ, "open"),
+                condition("date", ComparisonOperator.BEGINS_WITH, "2026")), null, Collections.<String>emptyList());
+
+        QueryRequest query = plan.getQuery();
+        Assert.assertEquals("byStatus", query.getIndexName());
+        Assert.assertEquals("#a0 = :v0 AND begins_with(#a1, :v1)", query.getKeyConditionExpression());
+    }
+
+    @Test
+    public void testOnlyUsesPartialGlobalIndexWhenPicked() {
+        List<Entry<String, Condition>> conditions = conditions(condition("sku", ComparisonOperator.EQ, "s1"));
+
+        QueryPlanner.Plan automatic = planner.plan(conditions, null, Collections.<String>emptyList());
+        Assert.assertNotNull(automatic.getScan());
+        Assert.assertNull(automatic.getScan().getIndexName());
+
+        QueryPlanner.Plan picked = planner.plan(conditions, planner.getAccessPaths().get(2),
+                Collections.<String>emptyList());
+        Assert.assertEquals("bySku", picked.getQuery().getIndexName());
+    }
+
+    @Test
+    public void testIgnoresIndexesThatAreNotActive() {
+        QueryPlanner.Plan plan = planner.plan(conditions(condition("region", ComparisonOperator.EQ, "eu")), null,
+                Collections.<String>emptyList());
+
+        Assert.assertNotNull(plan.getScan());
+    }
+
+    @Test
+    public void testRangeConditionWithoutHashKeyIsFilter() {
+        QueryPlanner.Plan plan = planner.plan(conditions(condition("orderId", ComparisonOperator.GT, "1")), null,
+                Collections.<String>emptyList());
+
+        Assert.assertEquals("#a0 > :v0", plan.getScan().getFilterExpression());
+    }
+
+    @Test
+    public void testProjectionAlwaysIncludesTableKeys() {
+        QueryPlanner.Plan plan = planner.plan(conditions(condition("customer", ComparisonOperator.EQ, "c1")), null,
+                Arrays.asList("price", "customer"));
+
+        QueryRequest query = plan.getQuery();
+        Assert.assertEquals("#a0, #a1, #a2", query.getProjectionExpression());
+        Assert.assertEquals("customer", query.getExpressionAttributeNames().get("#a0"));
+        Assert.assertEquals("orderId", query.getExpressionAttributeNames().get("#a1"));
+        Assert.assertEquals("price", query.getExpressionAttributeNames().get("#a2"));
+        Assert.assertNull(query.getSelect());
+    }
+
+    @Test
+    public void testTranslatesOperatorsToExpressions() {
+        QueryPlanner.Plan plan = planner.plan(conditions(
+                condition("a", ComparisonOperator.IN, "1", "2"),
+                condition("b", ComparisonOperator.NULL),
+                condition("c", ComparisonOperator.NOT_CONTAINS, "x")), null, Collections.<String>emptyList());
+
+        Assert.assertEquals("#a0 IN (:v0, :v1) AND attribute_not_exists(#a1) AND NOT contains(#a2, :v2)",
+                plan.getScan().getFilterExpression());
+    }
+
+    private static Entry<String, Condition> condition(String attributeName, ComparisonOperator operator,
+            String... values) {
+        AttributeValue[] attributeValues = new AttributeValue[values.length];
+        for (int i = 0; i < values.length; i++) {
+            attributeValues[i] = new AttributeValue(values[i]);
+        }
+        return new SimpleImmutableEntry<>(attributeName,
+                new Condition().withComparisonOperator(operator).withAttributeValueList(attributeValues));
+    }
+
+    @SafeVarargs
+    private static List<Entry<String, Condition>> conditions(Entry<String, Condition>... conditions) {
+        return Arrays.asList(conditions);
+    }
+}
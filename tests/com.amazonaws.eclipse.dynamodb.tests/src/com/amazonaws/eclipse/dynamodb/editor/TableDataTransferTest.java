@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.dynamodb.editor;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+
+public class TableDataTransferTest {
+
+    private static final String TABLE = "items";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testJsonLinesRoundTripKeepsEveryType() throws IOException {
+        FakeDynamoDB source = new FakeDynamoDB().withTable(TABLE, "S");
+        for (int i = 0; i < 7; i++) {
+            Map<String, AttributeValue> item = new LinkedHashMap<>();
+            item.put("id", new AttributeValue().withS("item" + i));
+            item.put("count", new AttributeValue().withN(Integer.toString(i)));
+            item.put("data", new AttributeValue().withB(ByteBuffer.wrap(new byte[] { 0, (byte) i, -1 })));
+            item.put("tags", new AttributeValue().withSS("a", "b"));
+            item.put("enabled", new AttributeValue().withBOOL(i % 2 == 0));
+            item.put("nothing", new AttributeValue().withNULL(true));
+            item.put("details", new AttributeValue().withM(Collections.singletonMap("list",
+                    new AttributeValue().withL(new AttributeValue().withS("x"), new AttributeValue().withN("1")))));
+            source.items.add(item);
+        }
+        File file = new File(folder.getRoot(), "items.jsonl.gz");
+
+        IStatus exported = new TableDataTransfer(source, TABLE).exportTable(file, 3, new NullProgressMonitor());
+        FakeDynamoDB target = new FakeDynamoDB().withTable(TABLE, "S");
+        IStatus imported = new TableDataTransfer(target, TABLE).importItems(file, 0, new NullProgressMonitor());
+
+        Assert.assertTrue(exported.isOK());
+        Assert.assertTrue(imported.isOK());
+        try (InputStream in = new FileInputStream(file)) {
+            Assert.assertEquals(0x1f, in.read());
+            Assert.assertEquals(0x8b, in.read());
+        }
+        Assert.assertEquals(source.items.size(), target.written.size());
+        Assert.assertEquals(new HashSet<>(source.items), new HashSet<>(target.written));
+    }
+
+    @Test
+    public void testCsvRoundTripKeepsKeyTypesAndEmptyValues() throws IOException {
+        FakeDynamoDB source = new FakeDynamoDB().withTable(TABLE, "N");
+        source.items.add(item("id", new AttributeValue().withN("1"),
+                "name", new AttributeValue().withS("a, \"quoted\"\nname")));
+        source.items.add(item("id", new AttributeValue().withN("2"), "name", new AttributeValue().withS("")));
+        source.items.add(item("id", new AttributeValue().withN("3"), "color", new AttributeValue().withS("red")));
+        File file = new File(folder.getRoot(), "items.csv");
+
+        new TableDataTransfer(source, TABLE).exportTable(file, 1, new NullProgressMonitor());
+        FakeDynamoDB target = new FakeDynamoDB().withTable(TABLE, "N");
+        new TableDataTransfer(target, TABLE).importItems(file, 0, new NullProgressMonitor());
+
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            // The header names the column that only showed up in the last item
+            Assert.assertEquals("\"id\",\"name\",\"color\"", in.readLine());
+        }
+        Assert.assertEquals(source.items, target.written);
+    }
+
+    @Test
+    public void testImportKeepsTheLastItemWithTheSameKey() throws IOException {
+        File file = folder.newFile("items.jsonl");
+        Files.write(file.toPath(), Arrays.asList(
+                "{\"id\":{\"S\":\"a\"},\"version\":{\"N\":\"1\"}}",
+                "",
+                "{\"id\":{\"S\":\"b\"},\"version\":{\"N\":\"1\"}}",
+                "{\"id\":{\"S\":\"a\"},\"version\":{\"N\":\"2\"}}"), StandardCharsets.UTF_8);
+
+        FakeDynamoDB target = new FakeDynamoDB().withTable(TABLE, "S");
+        new TableDataTransfer(target, TABLE).importItems(file, 0, new NullProgressMonitor());
+
+        Assert.assertEquals(Arrays.asList(
+                item("id", new AttributeValue().withS("a"), "version", new AttributeValue().withN("2")),
+                item("id", new AttributeValue().withS("b"), "version", new AttributeValue().withN("1"))),
+                target.written);
+    }
+
+    @Test
+    public void testImportReportsTheLineOfAnInvalidItem() throws IOException {
+        File file = folder.newFile("items.jsonl");
+        Files.write(file.toPath(), Arrays.asList(
+                "{\"id\":{\"S\":\"a\"}}",
+                "{\"id\":\"a\"}"), StandardCharsets.UTF_8);
+
+        try {
+            new TableDataTransfer(new FakeDynamoDB().withTable(TABLE, "S"), TABLE).importItems(file, 0, new NullProgressMonitor());
+            Assert.fail("Expected the invalid item to be reported");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Invalid item on line 2"));
+        }
+    }
+
+    private static Map<String, AttributeValue> item(String name, AttributeValue value, String otherName,
+            AttributeValue otherValue) {
+        Map<String, AttributeValue> item = new LinkedHashMap<>();
+        item.put(name, value);
+        item.put(otherName, otherValue);
+        return item;
+    }
+}
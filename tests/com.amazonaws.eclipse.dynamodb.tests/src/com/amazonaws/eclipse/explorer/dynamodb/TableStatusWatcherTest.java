@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.explorer.dynamodb;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.eclipse.dynamodb.editor.FakeDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.GlobalSecondaryIndexDescription;
+import com.amazonaws.services.dynamodbv2.model.TableDescription;
+import com.amazonaws.services.dynamodbv2.model.TableStatus;
+
+public class TableStatusWatcherTest {
+
+    private FakeDynamoDB dynamo;
+    private TableStatusWatcher watcher;
+
+    @Before
+    public void setUp() {
+        dynamo = new FakeDynamoDB();
+        watcher = TableStatusWatcher.getInstance(dynamo);
+    }
+
+    @Test
+    public void testSharesWatcherPerClient() {
+        Assert.assertSame(watcher, TableStatusWatcher.getInstance(dynamo));
+        Assert.assertNotSame(watcher, TableStatusWatcher.getInstance(new FakeDynamoDB()));
+    }
+
+    @Test
+    public void testBacksOffWhileTableKeepsChanging() {
+        watcher.update(table("t", TableStatus.CREATING));
+        assertNextPollWithin(1000);
+        watcher.update(table("t", TableStatus.CREATING));
+        assertNextPollWithin(2000);
+        watcher.update(table("t", TableStatus.CREATING));
+        assertNextPollWithin(4000);
+        for (int i = 0; i < 10; i++) {
+            watcher.update(table("t", TableStatus.CREATING));
+        }
+        assertNextPollWithin(30 * 1000);
+
+        // A new status is polled again soon
+        watcher.update(table("t", TableStatus.UPDATING));
+        assertNextPollWithin(1000);
+    }
+
+    @Test
+    public void testDoesNotPollActiveTables() {
+        watcher.update(table("t", TableStatus.ACTIVE));
+        Assert.assertEquals(-1, watcher.getMillisUntilNextPoll(Collections.singleton("t")));
+
+        TableDescription indexing = table("t", TableStatus.ACTIVE).withGlobalSecondaryIndexes(
+                new GlobalSecondaryIndexDescription().withIndexName("i").withIndexStatus("CREATING"));
+        watcher.update(indexing);
+        assertNextPollWithin(1000);
+    }
+
+    @Test
+    public void testPollsUnknownTablesRightAway() {
+        Assert.assertEquals(0, watcher.getMillisUntilNextPoll(Collections.singleton("t")));
+    }
+
+    @Test
+    public void testPollsOnlyTablesThatAreDue() {
+        dynamo.tables.put("due", table("due", TableStatus.ACTIVE));
+        dynamo.tables.put("waiting", table("waiting", TableStatus.CREATING));
+        watcher.update(table("waiting", TableStatus.CREATING));
+
+        TableStatusWatcher.PollResult result = watcher.poll(Arrays.asList("due", "waiting"));
+
+        Assert.assertEquals(Collections.singleton("due"), result.getDescriptions().keySet());
+        Assert.assertEquals(1, dynamo.describeCount.get());
+    }
+
+    @Test
+    public void testReportsDeletedTables() {
+        dynamo.tables.put("t", table("t", TableStatus.ACTIVE));
+
+        TableStatusWatcher.PollResult result = watcher.poll(Arrays.asList("t", "gone"));
+
+        Assert.assertEquals(Collections.singleton("t"), result.getDescriptions().keySet());
+        Assert.assertEquals(Collections.singleton("gone"), result.getDeletedTables());
+        Assert.assertNull(watcher.getCachedDescription("gone"));
+    }
+
+    @Test
+    public void testBacksOffWhenDescribeFails() {
+        dynamo.describeFailing = true;
+        try {
+            watcher.poll(Collections.singleton("t"));
+            Assert.fail("The failure should be reported when no table could be described");
+        } catch (AmazonServiceException expected) {
+        }
+        assertNextPollWithin(1000);
+        Assert.assertEquals(0, watcher.poll(Collections.singleton("t")).getDescriptions().size());
+        Assert.assertEquals(1, dynamo.describeCount.get());
+    }
+
+    @Test
+    public void testUsesDescriptionsUntilTooOld() {
+        dynamo.tables.put("t", table("t", TableStatus.ACTIVE));
+
+        watcher.describe("t", TableStatusWatcher.ACTIVE_MAX_AGE_MILLIS);
+        watcher.describe("t", TableStatusWatcher.ACTIVE_MAX_AGE_MILLIS);
+        Assert.assertEquals(1, dynamo.describeCount.get());
+
+        watcher.describe("t", -1);
+        Assert.assertEquals(2, dynamo.describeCount.get());
+        Assert.assertEquals("t", watcher.getCachedDescription("t").getTableName());
+    }
+
+    private void assertNextPollWithin(long millis) {
+        long next = watcher.getMillisUntilNextPoll(Collections.singleton("t"));
+        Assert.assertTrue("Next poll in " + next + " ms", next > millis - 500 && next <= millis);
+    }
+
+    private static TableDescription table(String name, TableStatus status) {
+        return new TableDescription().withTableName(name).withTableStatus(status.toString());
+    }
+}
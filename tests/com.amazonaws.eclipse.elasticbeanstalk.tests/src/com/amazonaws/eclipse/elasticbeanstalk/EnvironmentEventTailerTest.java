@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.elasticbeanstalk;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEventsResult;
+import com.amazonaws.services.elasticbeanstalk.model.EventDescription;
+
+public class EnvironmentEventTailerTest {
+
+    private final FakeElasticBeanstalk client = new FakeElasticBeanstalk();
+
+    @Test
+    public void testFirstPollReturnsRecentEventsOldestFirst() {
+        EnvironmentEventTailer tailer = newTailer("first-poll");
+        long before = System.currentTimeMillis();
+        client.eventPages.add(page(null, event(3, "third"), event(2, "second"), event(1, "first")));
+
+        assertEquals(Arrays.asList("first", "second", "third"), messages(tailer.pollEvents(client)));
+        Date startTime = client.describeEventsRequests.get(0).getStartTime();
+        assertTrue(startTime.getTime() <= before - 1000 * 60 * 29);
+        assertEquals("first-poll", client.describeEventsRequests.get(0).getEnvironmentName());
+    }
+
+    @Test
+    public void testNextPollStartsAtTheHighWaterMarkAndSkipsEventsSeenThere() {
+        EnvironmentEventTailer tailer = newTailer("high-water-mark");
+        client.eventPages.add(page(null, event(2, "second"), event(2, "also second"), event(1, "first")));
+        tailer.pollEvents(client);
+
+        // DescribeEvents returns the events at the start time again
+        client.eventPages.add(page(null, event(3, "third"), event(2, "late second"), event(2, "second"),
+                event(2, "also second")));
+        assertEquals(Arrays.asList("late second", "third"), messages(tailer.pollEvents(client)));
+        assertEquals(new Date(2), client.describeEventsRequests.get(1).getStartTime());
+
+        client.eventPages.add(page(null, event(3, "third")));
+        assertEquals(new ArrayList<String>(), messages(tailer.pollEvents(client)));
+        assertEquals(new Date(3), client.describeEventsRequests.get(2).getStartTime());
+    }
+
+    @Test
+    public void testSkipsEventsBeforeTheHighWaterMarkOrWithoutDate() {
+        EnvironmentEventTailer tailer = newTailer("old-events");
+        client.eventPages.add(page(null, event(5, "fifth")));
+        tailer.pollEvents(client);
+
+        client.eventPages.add(page(null, event(6, "sixth"), new EventDescription().withMessage("undated"),
+                event(4, "fourth")));
+        assertEquals(Arrays.asList("sixth"), messages(tailer.pollEvents(client)));
+    }
+
+    @Test
+    public void testReadsAllPages() {
+        EnvironmentEventTailer tailer = newTailer("pages");
+        client.eventPages.add(page("token", event(4, "fourth"), event(3, "third")));
+        client.eventPages.add(page(null, event(2, "second"), event(1, "first")));
+
+        assertEquals(Arrays.asList("first", "second", "third", "fourth"), messages(tailer.pollEvents(client)));
+        assertEquals(2, client.describeEventsRequests.size());
+        assertEquals("token", client.describeEventsRequests.get(1).getNextToken());
+    }
+
+    /* Every test follows an environment of its own, so they don't share a tailer. */
+    private EnvironmentEventTailer newTailer(final String environmentName) {
+        return EnvironmentEventTailer.getInstance(new Environment() {
+            @Override
+            public String getAccountId() {
+                return "account";
+            }
+
+            @Override
+            public String getRegionEndpoint() {
+                return "https://elasticbeanstalk.us-west-2.amazonaws.com";
+            }
+
+            @Override
+            public String getEnvironmentName() {
+                return environmentName;
+            }
+
+            @Override
+            public AWSElasticBeanstalk getClient() {
+                return client;
+            }
+        });
+    }
+
+    private static EventDescription event(long millis, String message) {
+        return new EventDescription().withEventDate(new Date(millis)).withSeverity("INFO").withMessage(message);
+    }
+
+    private static DescribeEventsResult page(String nextToken, EventDescription... events) {
+        return new DescribeEventsResult().withEvents(Arrays.asList(events)).withNextToken(nextToken);
+    }
+
+    private static List<String> messages(List<EventDescription> events) {
+        List<String> messages = new ArrayList<>();
+        for (EventDescription event : events) {
+            messages.add(event.getMessage());
+        }
+        return messages;
+    }
+}
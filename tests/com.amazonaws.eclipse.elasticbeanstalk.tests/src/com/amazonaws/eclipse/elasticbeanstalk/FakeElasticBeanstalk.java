@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.elasticbeanstalk;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import com.amazonaws.services.elasticbeanstalk.AbstractAWSElasticBeanstalk;
+import com.amazonaws.services.elasticbeanstalk.model.ConfigurationSettingsDescription;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeConfigurationSettingsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeConfigurationSettingsResult;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEnvironmentsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEnvironmentsResult;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEventsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEventsResult;
+import com.amazonaws.services.elasticbeanstalk.model.EnvironmentDescription;
+
+/**
+ * In-memory stand-in for Elastic Beanstalk, shared by the tests of the
+ * plugin's pollers. It describes the given environments, returns the given
+ * pages of events, newest first like the service, and records the requests
+ * it's sent.
+ */
+public class FakeElasticBeanstalk extends AbstractAWSElasticBeanstalk {
+    public final List<EnvironmentDescription> environments = new ArrayList<>();
+    public final List<DescribeEnvironmentsRequest> describeEnvironmentsRequests = new ArrayList<>();
+    public final List<String> settingsRequests = new ArrayList<>();
+    public final LinkedList<DescribeEventsResult> eventPages = new LinkedList<>();
+    public final List<DescribeEventsRequest> describeEventsRequests = new ArrayList<>();
+
+    @Override
+    public DescribeEnvironmentsResult describeEnvironments(DescribeEnvironmentsRequest request) {
+        describeEnvironmentsRequests.add(request);
+        return new DescribeEnvironmentsResult().withEnvironments(environments);
+    }
+
+    @Override
+    public DescribeConfigurationSettingsResult describeConfigurationSettings(
+            DescribeConfigurationSettingsRequest request) {
+        settingsRequests.add(request.getEnvironmentName());
+        return new DescribeConfigurationSettingsResult().withConfigurationSettings(
+                new ConfigurationSettingsDescription().withEnvironmentName(request.getEnvironmentName()));
+    }
+
+    @Override
+    public DescribeEventsResult describeEvents(DescribeEventsRequest request) {
+        describeEventsRequests.add(request);
+        return eventPages.removeFirst();
+    }
+}
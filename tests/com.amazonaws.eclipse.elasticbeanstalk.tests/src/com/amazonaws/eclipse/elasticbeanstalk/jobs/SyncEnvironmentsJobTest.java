@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.elasticbeanstalk.jobs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.amazonaws.eclipse.elasticbeanstalk.Environment;
+import com.amazonaws.eclipse.elasticbeanstalk.FakeElasticBeanstalk;
+import com.amazonaws.eclipse.elasticbeanstalk.jobs.SyncEnvironmentsJob.PollState;
+import com.amazonaws.eclipse.elasticbeanstalk.jobs.SyncEnvironmentsJob.Target;
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEnvironmentsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.EnvironmentDescription;
+
+public class SyncEnvironmentsJobTest {
+
+    private final FakeElasticBeanstalk client = new FakeElasticBeanstalk();
+
+    @Test
+    public void testGroupsByAccountRegionAndApplication() {
+        Target first = target(environment("account", "us-west-2", "app", "first"));
+        Target otherApplication = target(environment("account", "us-west-2", "other", "second"));
+        Target sameApplication = target(environment("account", "us-west-2", "app", "third"));
+        Target otherAccount = target(environment("other", "us-west-2", "app", "fourth"));
+        Target otherRegion = target(environment("account", "us-east-1", "app", "fifth"));
+
+        Map<String, List<Target>> groups = SyncEnvironmentsJob.groupByApplication(
+                Arrays.asList(first, otherApplication, sameApplication, otherAccount, otherRegion));
+
+        assertEquals(Arrays.asList(
+                Arrays.asList(first, sameApplication),
+                Arrays.asList(otherApplication),
+                Arrays.asList(otherAccount),
+                Arrays.asList(otherRegion)),
+                new ArrayList<>(groups.values()));
+    }
+
+    @Test
+    public void testDescribesAGroupWithOneRequest() {
+        client.environments.add(description("ready", "Ready", new Date(1)));
+        client.environments.add(description("updating", "Updating", new Date(1)));
+        Target ready = target(environment("account", "us-west-2", "app", "ready"));
+        Target updating = target(environment("account", "us-west-2", "app", "updating"));
+        Target missing = target(environment("account", "us-west-2", "app", "missing"));
+
+        Map<Target, EnvironmentDescription> descriptions =
+                SyncEnvironmentsJob.describeGroup(Arrays.asList(ready, updating, missing));
+
+        assertEquals(1, client.describeEnvironmentsRequests.size());
+        DescribeEnvironmentsRequest request = client.describeEnvironmentsRequests.get(0);
+        assertEquals("app", request.getApplicationName());
+        assertEquals(Arrays.asList("ready", "updating", "missing"), request.getEnvironmentNames());
+
+        assertEquals("ready", descriptions.get(ready).getEnvironmentName());
+        assertEquals("updating", descriptions.get(updating).getEnvironmentName());
+        assertNull(descriptions.get(missing));
+
+        // Settings never fetched yet are fetched even while the environment is changing
+        assertEquals(Arrays.asList("ready", "updating"), client.settingsRequests);
+        assertNotNull(ready.fetchedSettings);
+        assertNotNull(updating.fetchedSettings);
+        assertEquals(Collections.emptyList(), missing.fetchedSettings);
+    }
+
+    @Test
+    public void testFetchesSettingsOnlyOnceChangedAndSettled() {
+        Date fetched = new Date(1);
+        PollState state = new PollState();
+        state.settings = new ArrayList<>();
+        state.settingsDateUpdated = fetched;
+        Target target = new Target(null, environment("account", "us-west-2", "app", "env"), null, state);
+
+        client.environments.add(description("env", "Ready", fetched));
+        SyncEnvironmentsJob.describeGroup(Arrays.asList(target));
+        assertNull(target.fetchedSettings);
+
+        client.environments.set(0, description("env", "Updating", new Date(2)));
+        SyncEnvironmentsJob.describeGroup(Arrays.asList(target));
+        assertNull(target.fetchedSettings);
+
+        client.environments.set(0, description("env", "Ready", new Date(2)));
+        SyncEnvironmentsJob.describeGroup(Arrays.asList(target));
+        assertNotNull(target.fetchedSettings);
+        assertEquals(Arrays.asList("env"), client.settingsRequests);
+    }
+
+    @Test
+    public void testBacksOffWhileTransitioning() {
+        long interval = SyncEnvironmentsJob.LONG_DELAY;
+        List<Long> intervals = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            interval = SyncEnvironmentsJob.getNextPollInterval(interval, true);
+            intervals.add(interval);
+        }
+
+        assertEquals(Arrays.asList(5000L, 10000L, 20000L, 30000L, 30000L), intervals);
+        assertEquals(SyncEnvironmentsJob.SHORT_DELAY, interval);
+        assertEquals(SyncEnvironmentsJob.LONG_DELAY, SyncEnvironmentsJob.getNextPollInterval(interval, false));
+        assertEquals(SyncEnvironmentsJob.LONG_DELAY,
+                SyncEnvironmentsJob.getNextPollInterval(SyncEnvironmentsJob.LONG_DELAY, false));
+    }
+
+    private static Target target(Environment environment) {
+        return new Target(null, environment, null, new PollState());
+    }
+
+    private static EnvironmentDescription description(String name, String status, Date dateUpdated) {
+        return new EnvironmentDescription().withEnvironmentName(name).withStatus(status).withDateUpdated(dateUpdated);
+    }
+
+    private Environment environment(final String accountId, final String regionEndpoint,
+            final String applicationName, final String environmentName) {
+        return new Environment() {
+            @Override
+            public String getAccountId() {
+                return accountId;
+            }
+
+            @Override
+            public String getRegionEndpoint() {
+                return regionEndpoint;
+            }
+
+            @Override
+            public String getApplicationName() {
+                return applicationName;
+            }
+
+            @Override
+            public String getEnvironmentName() {
+                return environmentName;
+            }
+
+            @Override
+            public AWSElasticBeanstalk getClient() {
+                return client;
+            }
+        };
+    }
+}
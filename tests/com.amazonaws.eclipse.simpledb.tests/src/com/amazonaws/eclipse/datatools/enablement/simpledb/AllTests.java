@@ -18,6 +18,8 @@ package com.amazonaws.eclipse.datatools.enablement.simpledb;
 import junit.framework.Test;
 import junit.framework.TestSuite;
 
+import com.amazonaws.eclipse.datatools.enablement.simpledb.driver.SimpleDBMetadataCacheTest;
+import com.amazonaws.eclipse.datatools.enablement.simpledb.internal.driver.BatchRequestExecutorTest;
 import com.amazonaws.eclipse.datatools.enablement.simpledb.internal.driver.JdbcStatementTest;
 
 public class AllTests {
@@ -26,6 +28,8 @@ public class AllTests {
         TestSuite suite = new TestSuite("Test for com.amazonaws.eclipse.datatools.enablement.simpledb");
 
         suite.addTestSuite(JdbcStatementTest.class);
+        suite.addTestSuite(BatchRequestExecutorTest.class);
+        suite.addTestSuite(SimpleDBMetadataCacheTest.class);
 
         return suite;
     }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.datatools.enablement.simpledb;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.simpledb.AbstractAmazonSimpleDB;
+import com.amazonaws.services.simpledb.model.Attribute;
+import com.amazonaws.services.simpledb.model.BatchDeleteAttributesRequest;
+import com.amazonaws.services.simpledb.model.BatchDeleteAttributesResult;
+import com.amazonaws.services.simpledb.model.BatchPutAttributesRequest;
+import com.amazonaws.services.simpledb.model.BatchPutAttributesResult;
+import com.amazonaws.services.simpledb.model.DeletableItem;
+import com.amazonaws.services.simpledb.model.DeleteAttributesRequest;
+import com.amazonaws.services.simpledb.model.DeleteAttributesResult;
+import com.amazonaws.services.simpledb.model.DomainMetadataRequest;
+import com.amazonaws.services.simpledb.model.DomainMetadataResult;
+import com.amazonaws.services.simpledb.model.Item;
+import com.amazonaws.services.simpledb.model.ListDomainsRequest;
+import com.amazonaws.services.simpledb.model.ListDomainsResult;
+import com.amazonaws.services.simpledb.model.NoSuchDomainException;
+import com.amazonaws.services.simpledb.model.PutAttributesRequest;
+import com.amazonaws.services.simpledb.model.PutAttributesResult;
+import com.amazonaws.services.simpledb.model.ReplaceableItem;
+import com.amazonaws.services.simpledb.model.SelectRequest;
+import com.amazonaws.services.simpledb.model.SelectResult;
+
+/*
+ * In-memory stand-in for SimpleDB, shared by the driver tests. Has the given domains, every one with an item of each
+ * of the given attribute names; its metadata counts the attribute names and their length. Records the writes it's
+ * sent, as "item=value" and "delete item", and fails the requests naming one of the rejected items, as SimpleDB does
+ * with a whole batch.
+ */
+public class FakeSimpleDB extends AbstractAmazonSimpleDB {
+    public List<String> domainNames = Arrays.asList("domain");
+    public List<String> attributeNames = new ArrayList<String>();
+    public int selects;
+    public int metadataRequests;
+    public int listDomainsRequests;
+
+    public final List<String> writes = Collections.synchronizedList(new ArrayList<String>());
+    public final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<Integer>());
+    public final Set<String> rejectedItems = Collections.synchronizedSet(new HashSet<String>());
+
+    @Override
+    public ListDomainsResult listDomains(final ListDomainsRequest request) {
+        this.listDomainsRequests++;
+        return new ListDomainsResult().withDomainNames(this.domainNames);
+    }
+
+    @Override
+    public DomainMetadataResult domainMetadata(final DomainMetadataRequest request) {
+        this.metadataRequests++;
+        if (!this.domainNames.contains(request.getDomainName())) {
+            throw new NoSuchDomainException("no domain " + request.getDomainName());
+        }
+        long size = 0;
+        for (String name : this.attributeNames) {
+            size += name.length();
+        }
+        return new DomainMetadataResult().withAttributeNameCount(this.attributeNames.size())
+                .withAttributeNamesSizeBytes(size);
+    }
+
+    @Override
+    public SelectResult select(final SelectRequest request) {
+        this.selects++;
+        List<Item> items = new ArrayList<Item>();
+        for (String name : this.attributeNames) {
+            items.add(new Item().withName(name).withAttributes(new Attribute(name, "value")));
+        }
+        return new SelectResult().withItems(items);
+    }
+
+    @Override
+    public PutAttributesResult putAttributes(final PutAttributesRequest request) {
+        reject(request.getItemName());
+        this.writes.add(request.getItemName() + "=" + request.getAttributes().get(0).getValue());
+        return new PutAttributesResult();
+    }
+
+    @Override
+    public DeleteAttributesResult deleteAttributes(final DeleteAttributesRequest request) {
+        reject(request.getItemName());
+        this.writes.add("delete " + request.getItemName());
+        return new DeleteAttributesResult();
+    }
+
+    @Override
+    public BatchPutAttributesResult batchPutAttributes(final BatchPutAttributesRequest request) {
+        this.batchSizes.add(request.getItems().size());
+        for (ReplaceableItem item : request.getItems()) {
+            reject(item.getName());
+        }
+        for (ReplaceableItem item : request.getItems()) {
+            this.writes.add(item.getName() + "=" + item.getAttributes().get(0).getValue());
+        }
+        return new BatchPutAttributesResult();
+    }
+
+    @Override
+    public BatchDeleteAttributesResult batchDeleteAttributes(final BatchDeleteAttributesRequest request) {
+        this.batchSizes.add(request.getItems().size());
+        for (DeletableItem item : request.getItems()) {
+            reject(item.getName());
+        }
+        for (DeletableItem item : request.getItems()) {
+            this.writes.add("delete " + item.getName());
+        }
+        return new BatchDeleteAttributesResult();
+    }
+
+    private void reject(final String itemName) {
+        if (this.rejectedItems.contains(itemName)) {
+            AmazonServiceException e = new AmazonServiceException("invalid item " + itemName);
+            e.setStatusCode(400);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.datatools.enablement.simpledb.driver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import com.amazonaws.eclipse.datatools.enablement.simpledb.FakeSimpleDB;
+import com.amazonaws.services.simpledb.model.Attribute;
+import com.amazonaws.services.simpledb.model.BatchDeleteAttributesRequest;
+import com.amazonaws.services.simpledb.model.CreateDomainRequest;
+import com.amazonaws.services.simpledb.model.DeleteAttributesRequest;
+import com.amazonaws.services.simpledb.model.DeleteDomainRequest;
+import com.amazonaws.services.simpledb.model.NoSuchDomainException;
+import com.amazonaws.services.simpledb.model.PutAttributesRequest;
+import com.amazonaws.services.simpledb.model.ReplaceableAttribute;
+
+public class SimpleDBMetadataCacheTest extends TestCase {
+
+    private FakeSimpleDB client;
+    private SimpleDBMetadataCache cache;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        this.client = new FakeSimpleDB();
+        // every test gets an endpoint of its own, so they don't share a cache
+        this.cache = SimpleDBMetadataCache.getInstance("access", getName());
+    }
+
+    public void testSamplesAttributeNamesOnlyOnce() throws Exception {
+        this.client.attributeNames = Arrays.asList("b", "a");
+
+        assertEquals(Arrays.asList("a", "b"), this.cache.getAttributeNames(this.client, "domain"));
+        assertEquals(Arrays.asList("a", "b"), this.cache.getAttributeNames(this.client, "domain"));
+        assertEquals(1, this.client.selects);
+    }
+
+    public void testUnchangedMetadataDoesNotSampleAgain() throws Exception {
+        this.client.attributeNames = Arrays.asList("a");
+        this.cache.loadAttributeNames(this.client, "domain");
+
+        assertEquals(Arrays.asList("a"), this.cache.loadAttributeNames(this.client, "domain"));
+        assertEquals(1, this.client.selects);
+        assertEquals(2, this.client.metadataRequests);
+    }
+
+    public void testChangedMetadataSamplesAgain() throws Exception {
+        this.client.attributeNames = Arrays.asList("a");
+        this.cache.loadAttributeNames(this.client, "domain");
+
+        this.client.attributeNames = Arrays.asList("a", "b");
+        assertEquals(Arrays.asList("a", "b"), this.cache.loadAttributeNames(this.client, "domain"));
+        assertEquals(2, this.client.selects);
+    }
+
+    public void testWrittenNamesAreKeptUntilTheMetadataCountsThem() throws Exception {
+        this.client.attributeNames = Arrays.asList("a");
+        this.cache.loadAttributeNames(this.client, "domain");
+
+        this.cache.requestExecuted(new PutAttributesRequest().withDomainName("domain").withItemName("item")
+                .withAttributes(new ReplaceableAttribute("c", "value", true)));
+        assertEquals(Arrays.asList("a", "c"), this.cache.getCachedAttributeNames("domain"));
+        assertEquals(Arrays.asList("a", "c"), this.cache.loadAttributeNames(this.client, "domain"));
+
+        // The metadata changed, but the sample doesn't show the new name yet
+        this.client.attributeNames = Arrays.asList("a", "b");
+        assertEquals(Arrays.asList("a", "b", "c"), this.cache.loadAttributeNames(this.client, "domain"));
+    }
+
+    public void testDeletingAttributesForgetsTheNamesOfTheDomain() throws Exception {
+        this.client.attributeNames = Arrays.asList("a");
+        this.cache.loadAttributeNames(this.client, "domain");
+
+        this.cache.requestExecuted(new DeleteAttributesRequest().withDomainName("domain").withItemName("item"));
+        assertNotNull(this.cache.getCachedAttributeNames("domain"));
+
+        this.cache.requestExecuted(new DeleteAttributesRequest().withDomainName("domain").withItemName("item")
+                .withAttributes(new Attribute("a", null)));
+        assertNull(this.cache.getCachedAttributeNames("domain"));
+
+        this.cache.loadAttributeNames(this.client, "domain");
+        this.cache.requestExecuted(new BatchDeleteAttributesRequest().withDomainName("domain"));
+        assertNull(this.cache.getCachedAttributeNames("domain"));
+    }
+
+    public void testFailedRequestForgetsWhatItMightHaveChanged() throws Exception {
+        this.client.domainNames = Arrays.asList("domain");
+        this.cache.getDomainNames(this.client);
+        this.cache.loadAttributeNames(this.client, "domain");
+
+        this.cache.requestFailed(new PutAttributesRequest().withDomainName("domain").withItemName("item"));
+        assertNull(this.cache.getCachedAttributeNames("domain"));
+        assertNotNull(this.cache.getCachedDomainNames());
+
+        this.cache.requestFailed(new CreateDomainRequest("other"));
+        assertNull(this.cache.getCachedDomainNames());
+    }
+
+    public void testCreatedAndDeletedDomainsUpdateTheDomainNames() throws Exception {
+        this.client.domainNames = Arrays.asList("b");
+        this.cache.getDomainNames(this.client);
+
+        this.cache.requestExecuted(new CreateDomainRequest("a"));
+        assertEquals(Arrays.asList("a", "b"), this.cache.getCachedDomainNames());
+
+        this.cache.loadAttributeNames(this.client, "b");
+        this.cache.requestExecuted(new DeleteDomainRequest("b"));
+        assertEquals(Arrays.asList("a"), this.cache.getCachedDomainNames());
+        assertNull(this.cache.getCachedAttributeNames("b"));
+        assertEquals(1, this.client.listDomainsRequests);
+    }
+
+    public void testListingDomainsForgetsTheAttributeNamesOfDeletedDomains() throws Exception {
+        this.client.domainNames = Arrays.asList("a", "b");
+        this.cache.loadAttributeNames(this.client, "a");
+        this.cache.loadAttributeNames(this.client, "b");
+
+        this.client.domainNames = Arrays.asList("a");
+        assertEquals(Arrays.asList("a"), this.cache.loadDomainNames(this.client));
+        assertNotNull(this.cache.getCachedAttributeNames("a"));
+        assertNull(this.cache.getCachedAttributeNames("b"));
+    }
+
+    public void testMissingDomainIsForgotten() throws Exception {
+        this.client.domainNames = Arrays.asList("domain");
+        this.cache.getDomainNames(this.client);
+        this.cache.loadAttributeNames(this.client, "domain");
+
+        this.client.domainNames = new ArrayList<String>();
+        try {
+            this.cache.loadAttributeNames(this.client, "domain");
+            fail("expected a NoSuchDomainException");
+        } catch (NoSuchDomainException e) {
+            // expected
+        }
+        assertNull(this.cache.getCachedAttributeNames("domain"));
+        assertEquals(new ArrayList<String>(), this.cache.getCachedDomainNames());
+    }
+
+    public void testInvalidateForgetsEverything() throws Exception {
+        this.client.domainNames = Arrays.asList("domain");
+        this.cache.getDomainNames(this.client);
+        this.cache.loadAttributeNames(this.client, "domain");
+
+        this.cache.invalidate();
+        assertNull(this.cache.getCachedDomainNames());
+        assertNull(this.cache.getCachedAttributeNames("domain"));
+    }
+}
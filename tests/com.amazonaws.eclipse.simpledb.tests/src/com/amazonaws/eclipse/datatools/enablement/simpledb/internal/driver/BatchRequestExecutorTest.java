@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazonaws.eclipse.datatools.enablement.simpledb.internal.driver;
+
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.eclipse.datatools.enablement.simpledb.FakeSimpleDB;
+import com.amazonaws.services.simpledb.model.DeleteAttributesRequest;
+import com.amazonaws.services.simpledb.model.PutAttributesRequest;
+import com.amazonaws.services.simpledb.model.ReplaceableAttribute;
+
+public class BatchRequestExecutorTest extends TestCase {
+
+    private FakeSimpleDB client;
+    private BatchRequestExecutor executor;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        this.client = new FakeSimpleDB();
+        this.executor = new BatchRequestExecutor(this.client);
+    }
+
+    public void testSplitsWritesIntoBatchesOfAtMost25Items() throws Exception {
+        List<Object> puts = new ArrayList<Object>();
+        for (int i = 0; i < 60; i++) {
+            puts.add(put("item" + i, "v"));
+        }
+
+        int[] counts = this.executor.execute(Collections.singletonList(puts));
+
+        assertTrue(Arrays.equals(new int[] { 60 }, counts));
+        List<Integer> sizes = new ArrayList<Integer>(this.client.batchSizes);
+        Collections.sort(sizes);
+        assertEquals(Arrays.asList(10, 25, 25), sizes);
+        assertEquals(60, this.client.writes.size());
+    }
+
+    public void testKeepsTheOrderOfTheWritesOfAnItem() throws Exception {
+        List<List<Object>> groups = new ArrayList<List<Object>>();
+        groups.add(Arrays.<Object>asList(put("a", "1"), put("b", "1")));
+        groups.add(Arrays.<Object>asList(put("a", "2")));
+        groups.add(Arrays.<Object>asList(delete("a"), put("c", "1")));
+
+        int[] counts = this.executor.execute(groups);
+
+        assertTrue(Arrays.equals(new int[] { 2, 1, 2 }, counts));
+        List<String> writes = this.client.writes;
+        assertEquals(5, writes.size());
+        assertTrue(writes.indexOf("a=1") < writes.indexOf("a=2"));
+        assertTrue(writes.indexOf("a=2") < writes.indexOf("delete a"));
+    }
+
+    public void testRejectedBatchIsSentAgainOneItemAtATime() throws Exception {
+        this.client.rejectedItems.add("bad");
+        List<List<Object>> groups = new ArrayList<List<Object>>();
+        groups.add(Arrays.<Object>asList(put("a", "1")));
+        groups.add(Arrays.<Object>asList(put("bad", "1")));
+        groups.add(Arrays.<Object>asList(put("c", "1")));
+
+        try {
+            this.executor.execute(groups);
+            fail("expected a BatchUpdateException");
+        } catch (BatchUpdateException e) {
+            assertTrue(Arrays.equals(new int[] { 1, Statement.EXECUTE_FAILED, 1 }, e.getUpdateCounts()));
+            assertTrue(e.getCause() instanceof AmazonServiceException);
+        }
+        assertEquals(Arrays.asList(3), this.client.batchSizes);
+        assertEquals(new HashSet<String>(Arrays.asList("a=1", "c=1")), new HashSet<String>(this.client.writes));
+    }
+
+    public void testLaterWritesOfAFailedItemAreNotSent() throws Exception {
+        this.client.rejectedItems.add("bad");
+        List<List<Object>> groups = new ArrayList<List<Object>>();
+        groups.add(Arrays.<Object>asList(put("bad", "1")));
+        groups.add(Arrays.<Object>asList(put("a", "1")));
+        groups.add(Arrays.<Object>asList(delete("bad")));
+
+        try {
+            this.executor.execute(groups);
+            fail("expected a BatchUpdateException");
+        } catch (BatchUpdateException e) {
+            assertTrue(Arrays.equals(new int[] { Statement.EXECUTE_FAILED, 1, Statement.EXECUTE_FAILED },
+                    e.getUpdateCounts()));
+        }
+        assertEquals(Arrays.asList("a=1"), this.client.writes);
+    }
+
+    private static PutAttributesRequest put(final String item, final String value) {
+        return new PutAttributesRequest().withDomainName("domain").withItemName(item)
+                .withAttributes(new ReplaceableAttribute("attribute", value, true));
+    }
+
+    private static DeleteAttributesRequest delete(final String item) {
+        return new DeleteAttributesRequest().withDomainName("domain").withItemName(item);
+    }
+}
@@ -15,24 +15,143 @@
 
 package com.amazonaws.eclipse.datatools.enablement.simpledb.internal.driver;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
 import org.jmock.integration.junit3.MockObjectTestCase;
+import org.jmock.lib.action.CustomAction;
 
+import com.amazonaws.eclipse.datatools.enablement.simpledb.driver.JdbcConnection;
+import com.amazonaws.eclipse.datatools.enablement.simpledb.driver.JdbcDriver;
 import com.amazonaws.eclipse.datatools.enablement.simpledb.driver.SimpleDBItemName;
+import com.amazonaws.services.simpledb.AmazonSimpleDB;
 import com.amazonaws.services.simpledb.model.Attribute;
 import com.amazonaws.services.simpledb.model.DeleteAttributesRequest;
+import com.amazonaws.services.simpledb.model.DomainMetadataRequest;
+import com.amazonaws.services.simpledb.model.DomainMetadataResult;
+import com.amazonaws.services.simpledb.model.Item;
 import com.amazonaws.services.simpledb.model.PutAttributesRequest;
+import com.amazonaws.services.simpledb.model.SelectRequest;
+import com.amazonaws.services.simpledb.model.SelectResult;
 
 
 public class JdbcStatementTest extends MockObjectTestCase {
 
+    private AmazonSimpleDB client;
+    private JdbcConnection conn;
+    private final List<SelectRequest> selects = new ArrayList<SelectRequest>();
+
     @Override
     protected void setUp() throws Exception {
         super.setUp();
+        this.client = mock(AmazonSimpleDB.class);
+        // every test gets an endpoint of its own, so they don't share the metadata cache
+        this.conn = new JdbcConnection(new JdbcDriver(null) {
+            @Override
+            public AmazonSimpleDB getClient(final String access, final String secret, final String endpoint) {
+                return JdbcStatementTest.this.client;
+            }
+        }, "access", "secret", getName());
+    }
+
+    public void testFetchesPagesAsTheResultSetIsRead() throws Exception {
+        expectPages(page("token1", item("a1")), page("token2"), page(null, item("a2"), item("a3")));
+
+        ResultSet rs = this.conn.createStatement().executeQuery("select * from `mydomain`");
+        assertEquals(1, this.selects.size());
+
+        assertEquals(Arrays.asList("a1", "a2", "a3"), readItemNames(rs));
+        assertEquals(3, this.selects.size());
+        assertNull(this.selects.get(0).getNextToken());
+        assertEquals("token1", this.selects.get(1).getNextToken());
+        assertEquals("token2", this.selects.get(2).getNextToken());
+        for (SelectRequest select : this.selects) {
+            assertEquals("select * from `mydomain`", select.getSelectExpression());
+        }
+    }
+
+    public void testLimitsPagesToTheFetchSizeAndTheRowsLeft() throws Exception {
+        expectPages(page("token1", item("a1"), item("a2")), page("token2", item("a3")));
+
+        JdbcStatement stmt = (JdbcStatement) this.conn.createStatement();
+        stmt.setFetchSize(2);
+        ResultSet rs = stmt.executeQuery("select * from `mydomain` limit 3");
+
+        assertEquals(Arrays.asList("a1", "a2", "a3"), readItemNames(rs));
+        // the limit of the query is reached, so the third token is not followed
+        assertEquals(2, this.selects.size());
+        assertEquals("select * from `mydomain` limit 2", this.selects.get(0).getSelectExpression());
+        assertEquals("select * from `mydomain` limit 1", this.selects.get(1).getSelectExpression());
+    }
+
+    public void testLimitsPagesToTheMaxRows() throws Exception {
+        expectPages(page("token1", item("a1"), item("a2")));
+
+        JdbcStatement stmt = (JdbcStatement) this.conn.createStatement();
+        stmt.setMaxRows(2);
+        ResultSet rs = stmt.executeQuery("select * from `mydomain`");
+
+        assertEquals(Arrays.asList("a1", "a2"), readItemNames(rs));
+        assertEquals(1, this.selects.size());
+        assertEquals("select * from `mydomain` limit 2", this.selects.get(0).getSelectExpression());
+    }
+
+    public void testDoesNotLimitCountQueries() throws Exception {
+        expectPages(page(null, item("Domain", "Count", "42")));
+
+        JdbcStatement stmt = (JdbcStatement) this.conn.createStatement();
+        stmt.setMaxRows(10);
+        stmt.setFetchSize(5);
+        ResultSet rs = stmt.executeQuery("select count(*) from `mydomain`");
+
+        assertTrue(rs.next());
+        assertEquals("42", rs.getString("Count"));
+        assertFalse(rs.next());
+        assertEquals(1, this.selects.size());
+        assertEquals("select count(*) from `mydomain`", this.selects.get(0).getSelectExpression());
+    }
+
+    public void testCancelStopsFetching() throws Exception {
+        expectPages(page("token1", item("a1")), page(null, item("a2")));
+
+        JdbcStatement stmt = (JdbcStatement) this.conn.createStatement();
+        ResultSet rs = stmt.executeQuery("select * from `mydomain`");
+        assertTrue(rs.next());
+        stmt.cancel();
+
+        assertFalse(rs.next());
+        assertEquals(1, this.selects.size());
+    }
+
+    public void testSelectStarStartsWithTheKnownAttributes() throws Exception {
+        final AmazonSimpleDB sampleClient = mock(AmazonSimpleDB.class, "sampleClient");
+        checking(new Expectations() {{
+            one(sampleClient).domainMetadata(with(any(DomainMetadataRequest.class)));
+            will(returnValue(new DomainMetadataResult().withAttributeNameCount(2).withAttributeNamesSizeBytes(9L)));
+            one(sampleClient).select(with(any(SelectRequest.class)));
+            will(returnValue(page(null, item("s1", "color", "red"), item("s2", "size", "L"))));
+        }});
+        this.conn.getMetadataCache().loadAttributeNames(sampleClient, "mydomain");
+        expectPages(page("token1", item("a1", "size", "M")), page(null, item("a2", "weight", "3")));
+
+        ResultSet rs = this.conn.createStatement().executeQuery("select * from `mydomain`");
+
+        // the attributes known up front are there before any item has them
+        assertEquals(Arrays.asList(SimpleDBItemName.ITEM_HEADER, "color", "size"), getColumnNames(rs));
+        assertTrue(rs.next());
+        assertEquals("M", rs.getString("size"));
+        assertEquals("", rs.getString("color")); // no values
+        // attributes the cache doesn't know yet are added when their page arrives
+        assertTrue(rs.next());
+        assertEquals(Arrays.asList(SimpleDBItemName.ITEM_HEADER, "color", "size", "weight"), getColumnNames(rs));
+        assertEquals("3", rs.getString("weight"));
+        assertFalse(rs.next());
     }
 
     public void testSimpleUpdate() throws Exception {
@@ -91,6 +210,46 @@ public class JdbcStatementTest extends MockObjectTestCase {
         assertTrue(attribute == null || attribute.isEmpty());
     }
 
+    private void expectPages(final SelectResult... pages) {
+        checking(new Expectations() {{
+            allowing(JdbcStatementTest.this.client).select(with(any(SelectRequest.class)));
+            will(new CustomAction("return the next page") {
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    JdbcStatementTest.this.selects.add((SelectRequest) invocation.getParameter(0));
+                    return pages[JdbcStatementTest.this.selects.size() - 1];
+                }
+            });
+        }});
+    }
+
+    private static SelectResult page(final String nextToken, final Item... items) {
+        return new SelectResult().withItems(items).withNextToken(nextToken);
+    }
+
+    private static Item item(final String name) {
+        return new Item().withName(name);
+    }
+
+    private static Item item(final String name, final String attribute, final String value) {
+        return new Item().withName(name).withAttributes(new Attribute(attribute, value));
+    }
+
+    private static List<String> readItemNames(final ResultSet rs) throws SQLException {
+        List<String> names = new ArrayList<String>();
+        while (rs.next()) {
+            names.add(rs.getString(SimpleDBItemName.ITEM_HEADER));
+        }
+        return names;
+    }
+
+    private static List<String> getColumnNames(final ResultSet rs) throws SQLException {
+        List<String> names = new ArrayList<String>();
+        for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+            names.add(rs.getMetaData().getColumnName(i));
+        }
+        return names;
+    }
+
     private List<Object> assertUpdate(final String sql, final String[] params, final String domain, final String item,
             final String[][] setAttrs) throws SQLException {
         final List<Object> reqHolder = new ArrayList<Object>();